@@ -687,6 +687,9 @@ public class MockServerClient implements Stoppable {
                         );
                     }
                 }
+                if (nettyHttpClient != null) {
+                    nettyHttpClient.close();
+                }
                 if (!eventLoopGroup.isShuttingDown()) {
                     eventLoopGroup.shutdownGracefully();
                 }
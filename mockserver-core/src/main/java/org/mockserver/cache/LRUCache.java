@@ -1,34 +1,58 @@
 package org.mockserver.cache;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 
-import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
-import static org.slf4j.event.Level.TRACE;
-
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent least recently used cache, each entry expires after a time to live that is extended every time the
+ * entry is read
+ * <p>
+ * entries are split into segments by key hash, each segment is an access ordered map guarded by its own lock, so reads,
+ * writes and evictions are constant time and only contend with other keys in the same segment, small caches have a
+ * single segment so eviction is strictly least recently used, expired entries are removed lazily when they are read or
+ * are the least recently used entry in a full segment
+ * <p>
+ * hits, misses and evictions are counted for each cache and for all caches together (surfaced as metrics)
+ */
 @SuppressWarnings("unused")
 public class LRUCache<K, V> {
 
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 32;
     private static boolean allCachesEnabled = true;
     private static int maxSizeOverride = 0;
-    private static final List<LRUCache<?, ?>> allCaches = new ArrayList<>();
+    private static final List<LRUCache<?, ?>> allCaches = new CopyOnWriteArrayList<>();
+    private static final LongAdder allHits = new LongAdder();
+    private static final LongAdder allMisses = new LongAdder();
+    private static final LongAdder allEvictions = new LongAdder();
     private final long ttlInMillis;
     private final int maxSize;
-    private final ConcurrentHashMap<K, Entry<V>> map;
-    private final ConcurrentLinkedQueue<K> queue;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
     private final MockServerLogger mockServerLogger;
 
+    @SuppressWarnings("unchecked")
     public LRUCache(final MockServerLogger mockServerLogger, final int maxSize, long ttlInMillis) {
         this.mockServerLogger = mockServerLogger;
         this.maxSize = maxSize;
-        this.map = new ConcurrentHashMap<>(maxSize);
-        this.queue = new ConcurrentLinkedQueue<>();
         this.ttlInMillis = ttlInMillis;
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maxSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment<>(i, segmentCount);
+        }
         LRUCache.allCaches.add(this);
     }
 
@@ -45,25 +69,38 @@ public class LRUCache<K, V> {
         }
     }
 
+    public static long allHits() {
+        return allHits.sum();
+    }
+
+    public static long allMisses() {
+        return allMisses.sum();
+    }
+
+    public static long allEvictions() {
+        return allEvictions.sum();
+    }
+
     public void put(K key, final V value) {
         put(key, value, ttlInMillis);
     }
 
     public void put(K key, final V value, long ttl) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // ensure the queue is in FIFO order
-                queue.remove(key);
-            }
-            while (queue.size() >= maxSize
-                || maxSizeOverride > 0 && queue.size() >= maxSizeOverride) {
-                K oldestKey = queue.poll();
-                if (null != oldestKey) {
-                    map.remove(oldestKey);
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                segment.entries.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
+                int segmentMaxSize = segment.maxSize(maxSize, maxSizeOverride);
+                Iterator<Map.Entry<K, Entry<V>>> leastRecentlyUsed = segment.entries.entrySet().iterator();
+                while (segment.entries.size() > segmentMaxSize && leastRecentlyUsed.hasNext()) {
+                    Entry<V> evicted = leastRecentlyUsed.next().getValue();
+                    leastRecentlyUsed.remove();
+                    if (evicted.getExpiryInMillis() > System.currentTimeMillis()) {
+                        evictions.increment();
+                        allEvictions.increment();
+                    }
                 }
             }
-            queue.add(key);
-            map.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
         }
     }
 
@@ -73,40 +110,93 @@ public class LRUCache<K, V> {
 
     public V get(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // remove from the queue and add it again in FIFO queue
-                queue.remove(key);
-                queue.add(key);
-            }
-
-            Entry<V> entry = map.get(key);
-            if (entry != null) {
-                if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
-                    return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
-                } else {
-                    delete(key);
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                // reading an access ordered map moves the entry to most recently used
+                Entry<V> entry = segment.entries.get(key);
+                if (entry != null) {
+                    if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
+                        hits.increment();
+                        allHits.increment();
+                        return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
+                    } else {
+                        segment.entries.remove(key);
+                    }
                 }
             }
+            misses.increment();
+            allMisses.increment();
         }
         return null;
     }
 
     public void delete(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                map.remove(key);
-                queue.remove(key);
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                segment.entries.remove(key);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
             }
         }
+        return size;
     }
 
-    private void clear() {
-        map.clear();
-        queue.clear();
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private Segment<K, V> segment(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
     }
 
     public static void setMaxSizeOverride(int maxSizeOverride) {
         LRUCache.maxSizeOverride = maxSizeOverride;
     }
 
+    private static class Segment<K, V> {
+
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int index;
+        private final int segmentCount;
+
+        private Segment(int index, int segmentCount) {
+            this.index = index;
+            this.segmentCount = segmentCount;
+        }
+
+        /**
+         * This segment's share of the maximum size, the remainder is spread over the first segments so the segment sizes
+         * add up to the maximum size
+         */
+        private int maxSize(int maxSize, int maxSizeOverride) {
+            int cacheMaxSize = maxSizeOverride > 0 ? Math.min(maxSize, maxSizeOverride) : maxSize;
+            return cacheMaxSize / segmentCount + (index < cacheMaxSize % segmentCount ? 1 : 0);
+        }
+    }
+
 }
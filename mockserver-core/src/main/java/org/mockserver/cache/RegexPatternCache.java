@@ -0,0 +1,95 @@
+package org.mockserver.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.mockserver.logging.MockServerLogger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded least recently used cache of compiled case-insensitive regex patterns shared by all string matchers, so
+ * values received in requests (which are new string instances for every request) are only compiled once.
+ * <p>
+ * Strings that are not valid regexes are also cached (as the exception's description and index) so the relatively
+ * expensive regex compilation isn't repeated for every match, a new exception is thrown each time.
+ */
+public class RegexPatternCache {
+
+    private static final int MAX_SIZE = 5000;
+    private static final int FLAGS = Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+    private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final LRUCache<String, Object> patterns = new LRUCache<>(new MockServerLogger(RegexPatternCache.class), MAX_SIZE, TimeUnit.HOURS.toMillis(1));
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the compiled pattern for the regex, throwing a PatternSyntaxException if it isn't a valid regex
+     */
+    public static Pattern compile(String regex) {
+        Object pattern = patterns.get(regex);
+        if (pattern != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            try {
+                pattern = Pattern.compile(regex, FLAGS);
+            } catch (PatternSyntaxException pse) {
+                pattern = new InvalidRegex(pse.getDescription(), pse.getIndex());
+            }
+            patterns.put(regex, pattern);
+        }
+        if (pattern instanceof InvalidRegex) {
+            throw new PatternSyntaxException(((InvalidRegex) pattern).description, regex, ((InvalidRegex) pattern).index);
+        }
+        return (Pattern) pattern;
+    }
+
+    /**
+     * True if the value contains no regex special characters (and only ascii characters so case-insensitive matching
+     * is the same as {@link String#equalsIgnoreCase(String)}), in which case matching it as a regex is the same as
+     * a case-insensitive string comparison and no pattern needs to be compiled
+     */
+    public static boolean isLiteral(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character > 127 || REGEX_CHARACTERS.indexOf(character) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static long hits() {
+        return hits.sum();
+    }
+
+    public static long misses() {
+        return misses.sum();
+    }
+
+    public static int size() {
+        return patterns.size();
+    }
+
+    @VisibleForTesting
+    public static void clear() {
+        patterns.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private static class InvalidRegex {
+        private final String description;
+        private final int index;
+
+        private InvalidRegex(String description, int index) {
+            this.description = description;
+            this.index = index;
+        }
+    }
+}
@@ -54,7 +54,7 @@ public class BodyDecoderEncoder {
         }
     }
 
-    byte[] bodyToBytes(Body body, String contentTypeHeader) {
+    public byte[] bodyToBytes(Body body, String contentTypeHeader) {
         if (body != null) {
             if (body instanceof BinaryBody) {
                 return body.getRawBytes();
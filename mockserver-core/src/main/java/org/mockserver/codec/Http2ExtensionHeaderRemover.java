@@ -0,0 +1,34 @@
+package org.mockserver.codec;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Removes the x-http2-* headers (i.e. stream id and scheme) that Netty adds when converting HTTP/2 frames into
+ * HTTP/1.1 messages so they are not recorded, matched or forwarded
+ */
+@ChannelHandler.Sharable
+public class Http2ExtensionHeaderRemover extends MessageToMessageDecoder<HttpObject> {
+
+    private static final String HTTP2_EXTENSION_HEADER_PREFIX = "x-http2-";
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject httpObject, List<Object> out) {
+        if (httpObject instanceof HttpMessage) {
+            HttpHeaders headers = ((HttpMessage) httpObject).headers();
+            for (String name : headers.names().stream().filter(name -> name.regionMatches(true, 0, HTTP2_EXTENSION_HEADER_PREFIX, 0, HTTP2_EXTENSION_HEADER_PREFIX.length())).collect(Collectors.toList())) {
+                headers.remove(name);
+            }
+        }
+        ReferenceCountUtil.retain(httpObject);
+        out.add(httpObject);
+    }
+}
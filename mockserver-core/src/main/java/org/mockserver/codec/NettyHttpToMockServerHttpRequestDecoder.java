@@ -6,25 +6,31 @@ import io.netty.handler.codec.http.FullHttpRequest;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mappers.FullHttpRequestToMockServerHttpRequest;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.Header;
 
 import java.net.SocketAddress;
 import java.security.cert.Certificate;
 import java.util.List;
 
+import static org.mockserver.metrics.Metrics.Latency.REQUEST_DECODE_DURATION_SECONDS;
+
 /**
  * @author jamesdbloom
  */
 public class NettyHttpToMockServerHttpRequestDecoder extends MessageToMessageDecoder<FullHttpRequest> {
 
     private final FullHttpRequestToMockServerHttpRequest fullHttpRequestToMockServerRequest;
+    private final Metrics metrics;
 
     public NettyHttpToMockServerHttpRequestDecoder(Configuration configuration, MockServerLogger mockServerLogger, boolean isSecure, Certificate[] clientCertificates, Integer port) {
         fullHttpRequestToMockServerRequest = new FullHttpRequestToMockServerHttpRequest(configuration, mockServerLogger, isSecure, clientCertificates, port);
+        metrics = new Metrics(configuration);
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, FullHttpRequest fullHttpRequest, List<Object> out) {
+        long startTime = metrics.startTimer();
         List<Header> preservedHeaders = null;
         SocketAddress localAddress = null;
         SocketAddress remoteAddress = null;
@@ -34,6 +40,7 @@ public class NettyHttpToMockServerHttpRequestDecoder extends MessageToMessageDec
             remoteAddress = ctx.channel().remoteAddress();
         }
         out.add(fullHttpRequestToMockServerRequest.mapFullHttpRequestToMockServerRequest(fullHttpRequest, preservedHeaders, localAddress, remoteAddress));
+        metrics.observe(REQUEST_DECODE_DURATION_SECONDS, startTime);
     }
 
 }
@@ -2,14 +2,19 @@ package org.mockserver.collections;
 
 import java.util.Collection;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * Size is counted as elements are added and removed, instead of by traversing every element, so adding to a large
+ * deque is constant time, elements must only be added and removed using add, offer, poll, remove, removeItem and clear
+ *
  * @author jamesdbloom
  */
 public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     private int maxSize;
     private final Consumer<E> onEvictCallback;
+    private final AtomicInteger size = new AtomicInteger();
 
     public CircularConcurrentLinkedDeque(int maxSize, Consumer<E> onEvictCallback) {
         this.maxSize = maxSize;
@@ -24,7 +29,7 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     public boolean add(E element) {
         if (maxSize > 0) {
             evictExcessElements();
-            return super.add(element);
+            return added(super.add(element));
         } else {
             return false;
         }
@@ -49,30 +54,54 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     public boolean offer(E element) {
         if (maxSize > 0) {
             evictExcessElements();
-            return super.offer(element);
+            return added(super.offer(element));
         } else {
             return false;
         }
     }
 
+    private boolean added(boolean added) {
+        if (added) {
+            size.incrementAndGet();
+        }
+        return added;
+    }
+
+    private boolean removed(boolean removed) {
+        if (removed) {
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
     private void evictExcessElements() {
-        if (onEvictCallback == null) {
-            while (size() >= maxSize) {
-                super.poll();
-            }
-        } else {
-            while (size() >= maxSize) {
-                onEvictCallback.accept(super.poll());
+        while (size() >= maxSize) {
+            E evicted = poll();
+            if (evicted == null) {
+                break;
+            } else if (onEvictCallback != null) {
+                onEvictCallback.accept(evicted);
             }
         }
     }
 
+    @Override
+    public E poll() {
+        E element = super.poll();
+        removed(element != null);
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
     public void clear() {
-        if (onEvictCallback == null) {
-            super.clear();
-        } else {
-            while (size() > 0) {
-                onEvictCallback.accept(super.poll());
+        E element;
+        while ((element = poll()) != null) {
+            if (onEvictCallback != null) {
+                onEvictCallback.accept(element);
             }
         }
     }
@@ -82,13 +111,13 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
      */
     @Deprecated
     public boolean remove(Object o) {
-        return super.remove(o);
+        return removed(super.remove(o));
     }
 
     public boolean removeItem(E e) {
         if (onEvictCallback != null) {
             onEvictCallback.accept(e);
         }
-        return super.remove(e);
+        return removed(super.remove(e));
     }
 }
@@ -2,14 +2,17 @@ package org.mockserver.collections;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * Reads (i.e. stream, getByKey, size) are lock free, writes are serialised on the insertion order map which is
+ * indexed by key so removal and eviction of the oldest element are constant time
+ *
  * @author jamesdbloom
  */
 public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
@@ -17,7 +20,8 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     private final Function<V, SLK> skipListKeyFunction;
     private final Function<V, K> mapKeyFunction;
     private final ConcurrentSkipListSet<SLK> sortOrderSkipList;
-    private final ConcurrentLinkedQueue<V> insertionOrderQueue = new ConcurrentLinkedQueue<>();
+    private final LinkedHashMap<K, V> insertionOrder = new LinkedHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
     private final ConcurrentMap<K, V> byKey = new ConcurrentHashMap<>();
 
     public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction) {
@@ -41,29 +45,44 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
 
     public void add(V element) {
         if (maxSize > 0 && element != null) {
-            insertionOrderQueue.offer(element);
-            sortOrderSkipList.add(skipListKeyFunction.apply(element));
-            byKey.put(mapKeyFunction.apply(element), element);
-            while (insertionOrderQueue.size() > maxSize) {
-                V elementToRemove = insertionOrderQueue.poll();
-                sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
-                byKey.remove(mapKeyFunction.apply(elementToRemove));
+            K key = mapKeyFunction.apply(element);
+            synchronized (insertionOrder) {
+                // re-adding an existing key moves it to the end of the insertion order
+                V previousElement = insertionOrder.remove(key);
+                if (previousElement != null) {
+                    sortOrderSkipList.remove(skipListKeyFunction.apply(previousElement));
+                }
+                insertionOrder.put(key, element);
+                sortOrderSkipList.add(skipListKeyFunction.apply(element));
+                byKey.put(key, element);
+                Iterator<V> oldestFirst = insertionOrder.values().iterator();
+                while (insertionOrder.size() > maxSize && oldestFirst.hasNext()) {
+                    V elementToRemove = oldestFirst.next();
+                    oldestFirst.remove();
+                    sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
+                    byKey.remove(mapKeyFunction.apply(elementToRemove));
+                }
+                size.set(insertionOrder.size());
             }
         }
     }
 
     public boolean remove(V element) {
         if (element != null) {
-            insertionOrderQueue.remove(element);
-            byKey.remove(mapKeyFunction.apply(element));
-            return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            K key = mapKeyFunction.apply(element);
+            synchronized (insertionOrder) {
+                insertionOrder.remove(key);
+                byKey.remove(key);
+                size.set(insertionOrder.size());
+                return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            }
         } else {
             return false;
         }
     }
 
     public int size() {
-        return insertionOrderQueue.size();
+        return size.get();
     }
 
     public Stream<V> stream() {
@@ -83,7 +102,7 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     }
 
     public boolean isEmpty() {
-        return insertionOrderQueue.isEmpty();
+        return size.get() == 0;
     }
 
     public List<V> toSortedList() {
@@ -20,6 +20,8 @@ public class NottableStringHashMap {
 
     private final Map<NottableString, NottableString> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
+    private transient List<ImmutableEntry> entryList;
+    private transient SubSetMatcher.KeyIndex keyIndex;
 
     public NottableStringHashMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, List<? extends KeyAndValue> entries) {
         regexStringMatcher = new RegexStringMatcher(mockServerLogger, controlPlaneMatcher);
@@ -39,7 +41,7 @@ public class NottableStringHashMap {
     }
 
     public boolean containsAll(MockServerLogger mockServerLogger, MatchDifference context, NottableStringHashMap subset) {
-        return containsSubset(mockServerLogger, context, regexStringMatcher, subset.entryList(), entryList());
+        return containsSubset(mockServerLogger, context, regexStringMatcher, subset.entryList(), entryList(), keyIndex());
     }
 
     public boolean allKeysNotted() {
@@ -69,14 +71,24 @@ public class NottableStringHashMap {
     }
 
     private List<ImmutableEntry> entryList() {
-        if (!backingMap.isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
-            for (Map.Entry<NottableString, NottableString> entry : backingMap.entrySet()) {
-                entrySet.add(entry(regexStringMatcher, entry.getKey(), entry.getValue()));
+        if (entryList == null) {
+            if (!backingMap.isEmpty()) {
+                List<ImmutableEntry> entrySet = new ArrayList<>();
+                for (Map.Entry<NottableString, NottableString> entry : backingMap.entrySet()) {
+                    entrySet.add(entry(regexStringMatcher, entry.getKey(), entry.getValue()));
+                }
+                entryList = Collections.unmodifiableList(entrySet);
+            } else {
+                entryList = Collections.emptyList();
             }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
         }
+        return entryList;
+    }
+
+    private SubSetMatcher.KeyIndex keyIndex() {
+        if (keyIndex == null) {
+            keyIndex = new SubSetMatcher.KeyIndex(entryList());
+        }
+        return keyIndex;
     }
 }
@@ -19,6 +19,8 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     private final Map<NottableString, List<NottableString>> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
     private final KeyMatchStyle keyMatchStyle;
+    private transient List<ImmutableEntry> entryList;
+    private transient SubSetMatcher.KeyIndex keyIndex;
 
     public NottableStringMultiMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, KeyMatchStyle keyMatchStyle, List<? extends KeyToMultiValue> entries) {
         this.keyMatchStyle = keyMatchStyle;
@@ -46,7 +48,7 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     public boolean containsAll(MockServerLogger mockServerLogger, MatchDifference context, NottableStringMultiMap subset) {
         switch (subset.keyMatchStyle) {
             case SUB_SET: {
-                boolean isSubset = containsSubset(mockServerLogger, context, regexStringMatcher, subset.entryList(), entryList());
+                boolean isSubset = containsSubset(mockServerLogger, context, regexStringMatcher, subset.entryList(), entryList(), keyIndex());
                 if (!isSubset && context != null) {
                     context.addDifference(mockServerLogger, "multimap subset match failed subset:{}was not a subset of:{}", subset.entryList(), entryList());
                 }
@@ -132,19 +134,45 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     }
 
     private List<ImmutableEntry> entryList() {
-        if (!isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
-            for (Map.Entry<NottableString, List<NottableString>> entry : backingMap.entrySet()) {
-                for (NottableString value : entry.getValue()) {
-                    entrySet.add(entry(regexStringMatcher, entry.getKey(), value));
+        if (entryList == null) {
+            if (!isEmpty()) {
+                List<ImmutableEntry> entrySet = new ArrayList<>();
+                for (Map.Entry<NottableString, List<NottableString>> entry : backingMap.entrySet()) {
+                    for (NottableString value : entry.getValue()) {
+                        entrySet.add(entry(regexStringMatcher, entry.getKey(), value));
+                    }
                 }
+                entryList = Collections.unmodifiableList(entrySet);
+            } else {
+                entryList = Collections.emptyList();
             }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
         }
+        return entryList;
     }
-}
 
+    private SubSetMatcher.KeyIndex keyIndex() {
+        if (keyIndex == null) {
+            keyIndex = new SubSetMatcher.KeyIndex(entryList());
+        }
+        return keyIndex;
+    }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NottableStringMultiMap that = (NottableStringMultiMap) o;
+        return Objects.equals(backingMap, that.backingMap) &&
+            Objects.equals(regexStringMatcher, that.regexStringMatcher) &&
+            keyMatchStyle == that.keyMatchStyle;
+    }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(backingMap, regexStringMatcher, keyMatchStyle);
+    }
+}
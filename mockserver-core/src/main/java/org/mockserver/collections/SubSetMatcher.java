@@ -1,25 +1,36 @@
 package org.mockserver.collections;
 
+import org.mockserver.cache.RegexPatternCache;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.RegexStringMatcher;
+import org.mockserver.model.NottableSchemaString;
 import org.mockserver.model.NottableString;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.model.NottableString.string;
 
 public class SubSetMatcher {
 
     static boolean containsSubset(MockServerLogger mockServerLogger, MatchDifference context, RegexStringMatcher regexStringMatcher, List<ImmutableEntry> subset, List<ImmutableEntry> superset) {
+        return containsSubset(mockServerLogger, context, regexStringMatcher, subset, superset, null);
+    }
+
+    /**
+     * When a key index of the superset is provided, and no match differences are being collected, literal subset keys
+     * are resolved using the index so only superset entries with an equal (ignoring case) key, or a key that can't be
+     * indexed, are matched, otherwise every superset entry is matched
+     */
+    static boolean containsSubset(MockServerLogger mockServerLogger, MatchDifference context, RegexStringMatcher regexStringMatcher, List<ImmutableEntry> subset, List<ImmutableEntry> superset, KeyIndex supersetKeyIndex) {
+        KeyIndex keyIndex = context == null ? supersetKeyIndex : null;
         boolean result = true;
         Set<Integer> matchingIndexes = new HashSet<>();
         for (ImmutableEntry subsetItem : subset) {
-            Set<Integer> subsetItemMatchingIndexes = matchesIndexes(mockServerLogger, context, regexStringMatcher, subsetItem, superset);
-            boolean optionalAndNotPresent = subsetItem.isOptional() && !containsKey(regexStringMatcher, subsetItem, superset);
-            boolean nottedAndPresent = nottedAndPresent(regexStringMatcher, subsetItem, superset);
+            Set<Integer> subsetItemMatchingIndexes = matchesIndexes(mockServerLogger, context, regexStringMatcher, subsetItem, superset, candidateIndexes(keyIndex, subsetItem.getKey()));
+            boolean optionalAndNotPresent = subsetItem.isOptional() && !containsKey(regexStringMatcher, subsetItem, superset, candidateIndexes(keyIndex, subsetItem.getKey()));
+            boolean nottedAndPresent = nottedAndPresent(regexStringMatcher, subsetItem, superset, keyIndex);
             if ((!optionalAndNotPresent && subsetItemMatchingIndexes.isEmpty()) || nottedAndPresent) {
                 result = false;
                 break;
@@ -35,20 +46,39 @@ public class SubSetMatcher {
         return result;
     }
 
-    private static Set<Integer> matchesIndexes(MockServerLogger mockServerLogger, MatchDifference context, RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
+    private static Set<Integer> matchesIndexes(MockServerLogger mockServerLogger, MatchDifference context, RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList, List<Integer> candidateIndexes) {
         Set<Integer> matchingIndexes = new HashSet<>();
-        for (int i = 0; i < matchedList.size(); i++) {
-            ImmutableEntry matchedItem = matchedList.get(i);
-            boolean keyMatches = regexStringMatcher.matches(mockServerLogger, context, matcherItem.getKey(), matchedItem.getKey());
-            boolean valueMatches = regexStringMatcher.matches(mockServerLogger, context, matcherItem.getValue(), matchedItem.getValue());
-            if (keyMatches && valueMatches) {
-                matchingIndexes.add(i);
+        if (candidateIndexes != null) {
+            for (int i : candidateIndexes) {
+                if (matches(mockServerLogger, context, regexStringMatcher, matcherItem, matchedList.get(i))) {
+                    matchingIndexes.add(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < matchedList.size(); i++) {
+                if (matches(mockServerLogger, context, regexStringMatcher, matcherItem, matchedList.get(i))) {
+                    matchingIndexes.add(i);
+                }
             }
         }
         return matchingIndexes;
     }
 
-    private static boolean containsKey(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
+    private static boolean matches(MockServerLogger mockServerLogger, MatchDifference context, RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, ImmutableEntry matchedItem) {
+        boolean keyMatches = regexStringMatcher.matches(mockServerLogger, context, matcherItem.getKey(), matchedItem.getKey());
+        boolean valueMatches = regexStringMatcher.matches(mockServerLogger, context, matcherItem.getValue(), matchedItem.getValue());
+        return keyMatches && valueMatches;
+    }
+
+    private static boolean containsKey(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList, List<Integer> candidateIndexes) {
+        if (candidateIndexes != null) {
+            for (int i : candidateIndexes) {
+                if (regexStringMatcher.matches(matcherItem.getKey(), matchedList.get(i).getKey())) {
+                    return true;
+                }
+            }
+            return false;
+        }
         for (ImmutableEntry matchedItem : matchedList) {
             if (regexStringMatcher.matches(matcherItem.getKey(), matchedItem.getKey())) {
                 return true;
@@ -57,9 +87,19 @@ public class SubSetMatcher {
         return false;
     }
 
-    private static boolean nottedAndPresent(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
+    private static boolean nottedAndPresent(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList, KeyIndex keyIndex) {
         if (matcherItem.getKey().isNot()) {
             NottableString unNottedMatcherItemKey = string(matcherItem.getKey().getValue());
+            List<Integer> candidateIndexes = candidateIndexes(keyIndex, unNottedMatcherItemKey);
+            if (candidateIndexes != null) {
+                for (int i : candidateIndexes) {
+                    ImmutableEntry matchedItem = matchedList.get(i);
+                    if (!matchedItem.getKey().isNot() && regexStringMatcher.matches(unNottedMatcherItemKey, matchedItem.getKey())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
             for (ImmutableEntry matchedItem : matchedList) {
                 if (!matchedItem.getKey().isNot()) {
                     if (regexStringMatcher.matches(unNottedMatcherItemKey, matchedItem.getKey())) {
@@ -71,4 +111,53 @@ public class SubSetMatcher {
         return false;
     }
 
+    /**
+     * Indexes of the superset entries whose key could match the key, or null if every entry must be matched
+     */
+    private static List<Integer> candidateIndexes(KeyIndex keyIndex, NottableString key) {
+        return keyIndex != null && isLiteral(key) && isNotBlank(key.getValue()) ? keyIndex.candidateIndexes(key.getValue()) : null;
+    }
+
+    /**
+     * A literal key only matches, or is matched by, an equal (ignoring case) key, as RegexStringMatcher compares strings
+     * ignoring case first and a pattern without regex characters only matches an equal (ignoring case) string
+     */
+    private static boolean isLiteral(NottableString key) {
+        return !key.isNot() && !(key instanceof NottableSchemaString) && RegexPatternCache.isLiteral(key.getValue());
+    }
+
+    /**
+     * Index of the entries of a superset by lower case literal key, entries with a regex, notted, schema or non ascii key
+     * could match any key so are candidates for every key
+     */
+    static class KeyIndex {
+
+        private final Map<String, List<Integer>> literalKeyIndexes = new HashMap<>();
+        private final List<Integer> anyKeyIndexes = new ArrayList<>();
+
+        KeyIndex(List<ImmutableEntry> superset) {
+            for (int i = 0; i < superset.size(); i++) {
+                NottableString key = superset.get(i).getKey();
+                if (isLiteral(key)) {
+                    literalKeyIndexes.computeIfAbsent(key.getValue().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(i);
+                } else {
+                    anyKeyIndexes.add(i);
+                }
+            }
+        }
+
+        List<Integer> candidateIndexes(String literalKey) {
+            List<Integer> literalIndexes = literalKeyIndexes.get(literalKey.toLowerCase(Locale.ROOT));
+            if (literalIndexes == null) {
+                return anyKeyIndexes;
+            } else if (anyKeyIndexes.isEmpty()) {
+                return literalIndexes;
+            } else {
+                List<Integer> candidateIndexes = new ArrayList<>(literalIndexes);
+                candidateIndexes.addAll(anyKeyIndexes);
+                return candidateIndexes;
+            }
+        }
+    }
+
 }
@@ -2,6 +2,9 @@ package org.mockserver.configuration;
 
 import com.google.common.collect.Sets;
 import com.google.common.net.InetAddresses;
+import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
+import org.mockserver.scheduler.RequestExecutionModel;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.slf4j.event.Level;
 
@@ -29,27 +32,43 @@ public class Configuration {
     private Boolean disableSystemOut;
     private Boolean disableLogging;
     private Boolean detailedMatchFailures;
+    private Boolean deferredMatchFailureLogging;
     private Boolean launchUIForLogLevelDebug;
     private Boolean metricsEnabled;
+    private String metricsLatencyBuckets;
 
     // memory usage
     private Integer maxExpectations;
     private Integer maxLogEntries;
+    private Long compactLogEntriesMaxBytes;
     private Integer maxWebSocketExpectations;
     private Boolean outputMemoryUsageCsv;
     private String memoryUsageCsvDirectory;
 
     // scalability
     private Integer nioEventLoopThreadCount;
+    private NettyTransport nettyTransport;
+    private Boolean socketReusePort;
     private Integer actionHandlerThreadCount;
+    private Boolean actionHandlerVirtualThreads;
     private Integer clientNioEventLoopThreadCount;
     private Integer webSocketClientEventLoopThreadCount;
     private Long maxFutureTimeoutInMillis;
     private Boolean matchersFailFast;
+    private Boolean indexedExpectationLookup;
+    private Boolean parallelExpectationMatching;
+    private Integer parallelExpectationMatchingThreshold;
+    private RequestExecutionModel requestExecutionModel;
+    private Integer requestWorkerThreadCount;
+    private Integer requestWorkerQueueSize;
 
     // socket
     private Long maxSocketTimeoutInMillis;
     private Long socketConnectionTimeoutInMillis;
+    private Integer forwardConnectionPoolSize;
+    private Long forwardConnectionPoolIdleTimeoutInMillis;
+    private Integer forwardStreamingThresholdInBytes;
+    private Integer forwardStreamingRecordedBodySize;
     private Boolean alwaysCloseSocketConnections;
     private String localBoundIP;
 
@@ -59,6 +78,7 @@ public class Configuration {
     private Integer maxChunkSize;
     private Boolean useSemicolonAsQueryParameterSeparator;
     private Boolean assumeAllRequestsAreHttp;
+    private Boolean http2Enabled;
 
     // CORS
     private Boolean enableCORSForAPI;
@@ -84,6 +104,10 @@ public class Configuration {
     // mock persistence
     private Boolean persistExpectations;
     private String persistedExpectationsPath;
+    private Boolean persistLogEntries;
+    private String persistedLogEntriesDirectory;
+    private Long persistedLogEntriesMaxBytes;
+    private Long persistedLogEntriesMaxAgeInSeconds;
 
     // verification
     private Integer maximumNumberOfRequestToReturnInVerificationFailure;
@@ -127,6 +151,10 @@ public class Configuration {
     private String sslCertificateDomainName;
     private Set<String> sslSubjectAlternativeNameDomains;
     private Set<String> sslSubjectAlternativeNameIps;
+    private Boolean perHostCertificates;
+    private AsymmetricKeyPairAlgorithm perHostCertificateKeyAlgorithm;
+    private Set<String> perHostCertificatePreWarmHosts;
+    private Integer perHostCertificateCacheSize;
 
     // inbound - fixed CA
     private String certificateAuthorityPrivateKey;
@@ -233,6 +261,27 @@ public class Configuration {
         return this;
     }
 
+    public Boolean deferredMatchFailureLogging() {
+        if (deferredMatchFailureLogging == null) {
+            return ConfigurationProperties.deferredMatchFailureLogging();
+        }
+        return deferredMatchFailureLogging;
+    }
+
+    /**
+     * If true the log event recording that a request matcher did not match only records which fields did not match, the expectation and the reason are formatted when the log event is read, i.e. retrieved, displayed in the dashboard or written to system out.
+     * <p>
+     * This avoids cloning each non matching expectation for every request, however the expectation shown is the current state of the expectation (i.e. remaining times) not its state when the request was matched.
+     * <p>
+     * The default is false
+     *
+     * @param deferredMatchFailureLogging defer formatting of match failure log events until they are read
+     */
+    public Configuration deferredMatchFailureLogging(Boolean deferredMatchFailureLogging) {
+        this.deferredMatchFailureLogging = deferredMatchFailureLogging;
+        return this;
+    }
+
     public Boolean launchUIForLogLevelDebug() {
         if (launchUIForLogLevelDebug == null) {
             return ConfigurationProperties.launchUIForLogLevelDebug();
@@ -267,6 +316,25 @@ public class Configuration {
         return this;
     }
 
+    public String metricsLatencyBuckets() {
+        if (metricsLatencyBuckets == null) {
+            return ConfigurationProperties.metricsLatencyBuckets();
+        }
+        return metricsLatencyBuckets;
+    }
+
+    /**
+     * Comma separated upper bounds, in seconds, of the buckets used by the latency histogram metrics (i.e. request decoding, expectation matching, actions, template rendering, forwarded request connect and time to first byte and event log processing lag), only used when metrics are enabled
+     * <p>
+     * The default is 0.0001,0.00025,0.0005,0.001,0.0025,0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10
+     *
+     * @param metricsLatencyBuckets comma separated upper bounds, in seconds, of the latency histogram buckets
+     */
+    public Configuration metricsLatencyBuckets(String metricsLatencyBuckets) {
+        this.metricsLatencyBuckets = metricsLatencyBuckets;
+        return this;
+    }
+
     public Integer maxExpectations() {
         if (maxExpectations == null) {
             return ConfigurationProperties.maxExpectations();
@@ -311,6 +379,31 @@ public class Configuration {
         return this;
     }
 
+    public Long compactLogEntriesMaxBytes() {
+        if (compactLogEntriesMaxBytes == null) {
+            return ConfigurationProperties.compactLogEntriesMaxBytes();
+        }
+        return compactLogEntriesMaxBytes;
+    }
+
+    /**
+     * <p>
+     * Maximum number of bytes of off-heap memory used to store log entries in a compact form, if greater than 0 the requests and responses of each log entry are serialised into off-heap memory, and read back each time they are retrieved, so log entries don't hold request and response objects on the heap
+     * </p>
+     * <p>
+     * The off-heap memory is a circular buffer so once this limit is reached the oldest log entries are overwritten, log entries are also still limited by maxLogEntries but as each log entry is much smaller maxLogEntries can be much higher
+     * </p>
+     * <p>
+     * The default is 0 (disabled)
+     * </p>
+     *
+     * @param compactLogEntriesMaxBytes maximum number of bytes of off-heap memory used to store log entries
+     */
+    public Configuration compactLogEntriesMaxBytes(Long compactLogEntriesMaxBytes) {
+        this.compactLogEntriesMaxBytes = compactLogEntriesMaxBytes;
+        return this;
+    }
+
     public Integer maxWebSocketExpectations() {
         if (maxWebSocketExpectations == null) {
             return ConfigurationProperties.maxWebSocketExpectations();
@@ -384,6 +477,51 @@ public class Configuration {
         return this;
     }
 
+    public NettyTransport nettyTransport() {
+        if (nettyTransport == null) {
+            return ConfigurationProperties.nettyTransport();
+        }
+        return nettyTransport;
+    }
+
+    /**
+     * Netty transport used for the event loops, server sockets and client sockets, as follows:
+     * <p>
+     * NIO - Java NIO transport supported on all platforms
+     * EPOLL - native Linux epoll transport, which reduces system call overhead and supports SO_REUSEPORT
+     * IO_URING - native Linux io_uring transport, which requires netty-incubator-transport-native-io_uring to be added to the classpath
+     * AUTO - the first available of IO_URING, EPOLL or NIO
+     * <p>
+     * The default is NIO
+     *
+     * @param nettyTransport Netty transport, allowed values: AUTO, NIO, EPOLL, IO_URING
+     */
+    public Configuration nettyTransport(NettyTransport nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return this;
+    }
+
+    public Boolean socketReusePort() {
+        if (socketReusePort == null) {
+            return ConfigurationProperties.socketReusePort();
+        }
+        return socketReusePort;
+    }
+
+    /**
+     * If enabled each port is bound once for each accept (i.e. boss) event loop thread using SO_REUSEPORT, so the kernel spreads new connections across multiple accept threads
+     * <p>
+     * SO_REUSEPORT is only supported by the EPOLL and IO_URING transports, for the NIO transport a warning is logged and each port is bound once
+     * <p>
+     * The default is false
+     *
+     * @param socketReusePort bind each port once for each accept event loop thread using SO_REUSEPORT
+     */
+    public Configuration socketReusePort(Boolean socketReusePort) {
+        this.socketReusePort = socketReusePort;
+        return this;
+    }
+
     public Integer actionHandlerThreadCount() {
         if (actionHandlerThreadCount == null) {
             return ConfigurationProperties.actionHandlerThreadCount();
@@ -410,6 +548,25 @@ public class Configuration {
         return this;
     }
 
+    public Boolean actionHandlerVirtualThreads() {
+        if (actionHandlerVirtualThreads == null) {
+            return ConfigurationProperties.actionHandlerVirtualThreads();
+        }
+        return actionHandlerVirtualThreads;
+    }
+
+    /**
+     * If true, and the JVM supports virtual threads (Java 21 or later), actions (i.e. writing responses, class callbacks and handling forwarded responses) are handled on a new virtual thread for each action instead of the action handler thread pool, so blocking actions don't saturate the pool, response delays are timed by a single platform thread which hands each delayed action to a virtual thread
+     * <p>
+     * If the JVM doesn't support virtual threads a warning is logged and the action handler thread pool is used, the default is false
+     *
+     * @param actionHandlerVirtualThreads handle actions on virtual threads
+     */
+    public Configuration actionHandlerVirtualThreads(Boolean actionHandlerVirtualThreads) {
+        this.actionHandlerVirtualThreads = actionHandlerVirtualThreads;
+        return this;
+    }
+
     public Integer clientNioEventLoopThreadCount() {
         if (clientNioEventLoopThreadCount == null) {
             return ConfigurationProperties.clientNioEventLoopThreadCount();
@@ -485,6 +642,121 @@ public class Configuration {
         return this;
     }
 
+    public Boolean indexedExpectationLookup() {
+        if (indexedExpectationLookup == null) {
+            return ConfigurationProperties.indexedExpectationLookup();
+        }
+        return indexedExpectationLookup;
+    }
+
+    /**
+     * If true expectations are indexed by literal method and path so only expectations that could match a request are evaluated, if false (the default) every expectation is evaluated in priority order.
+     * <p>
+     * Expectations using a regex, schema, 'not' operator, path parameters or an OpenAPI definition are always evaluated, and the priority / creation order of expectations is unchanged.
+     * This reduces matching latency when a large number of expectations are loaded, however the log event recording that a request matcher did not match is only created for evaluated expectations.
+     *
+     * @param indexedExpectationLookup enable indexed expectation lookup
+     */
+    public Configuration indexedExpectationLookup(Boolean indexedExpectationLookup) {
+        this.indexedExpectationLookup = indexedExpectationLookup;
+        return this;
+    }
+
+    public Boolean parallelExpectationMatching() {
+        if (parallelExpectationMatching == null) {
+            return ConfigurationProperties.parallelExpectationMatching();
+        }
+        return parallelExpectationMatching;
+    }
+
+    /**
+     * If true, when a request is matched against at least parallelExpectationMatchingThreshold expectations, the expectations are split into partitions matched in parallel, if false (the default) expectations are matched one at a time in priority order.
+     * <p>
+     * The highest priority matching expectation is still returned and only that expectation's remaining times are decremented, however the log events recording that a request matcher did not match may include lower priority expectations and may be out of priority order.
+     *
+     * @param parallelExpectationMatching enable parallel expectation matching
+     */
+    public Configuration parallelExpectationMatching(Boolean parallelExpectationMatching) {
+        this.parallelExpectationMatching = parallelExpectationMatching;
+        return this;
+    }
+
+    public Integer parallelExpectationMatchingThreshold() {
+        if (parallelExpectationMatchingThreshold == null) {
+            return ConfigurationProperties.parallelExpectationMatchingThreshold();
+        }
+        return parallelExpectationMatchingThreshold;
+    }
+
+    /**
+     * The minimum number of expectations a request is matched against for parallel expectation matching to be used, requests matched against fewer expectations are matched one at a time, the default is 1000
+     *
+     * @param parallelExpectationMatchingThreshold minimum number of expectations matched in parallel
+     */
+    public Configuration parallelExpectationMatchingThreshold(Integer parallelExpectationMatchingThreshold) {
+        this.parallelExpectationMatchingThreshold = parallelExpectationMatchingThreshold;
+        return this;
+    }
+
+    public RequestExecutionModel requestExecutionModel() {
+        if (requestExecutionModel == null) {
+            return ConfigurationProperties.requestExecutionModel();
+        }
+        return requestExecutionModel;
+    }
+
+    /**
+     * Where received requests are matched against expectations and their actions dispatched, as follows:
+     * <p>
+     * EVENT_LOOP - inline on the event loop that read the request, which avoids a thread hand off but slow matchers (i.e. json schema or xpath) block other connections on the same event loop
+     * WORKER_POOL - handed off to a pool of requestWorkerThreadCount threads, when more than requestWorkerQueueSize connections are waiting requests are handled on the event loop
+     * VIRTUAL_THREADS - handed off to a new virtual thread for each request, which requires Java 21 or later
+     * <p>
+     * Requests received on the same connection (or HTTP/2 stream) are always handled in the order they were received.
+     * <p>
+     * The default is EVENT_LOOP
+     *
+     * @param requestExecutionModel request execution model, allowed values: EVENT_LOOP, WORKER_POOL, VIRTUAL_THREADS
+     */
+    public Configuration requestExecutionModel(RequestExecutionModel requestExecutionModel) {
+        this.requestExecutionModel = requestExecutionModel;
+        return this;
+    }
+
+    public Integer requestWorkerThreadCount() {
+        if (requestWorkerThreadCount == null) {
+            return ConfigurationProperties.requestWorkerThreadCount();
+        }
+        return requestWorkerThreadCount;
+    }
+
+    /**
+     * Number of threads requests are handed off to when the requestExecutionModel is WORKER_POOL, the default is the maximum of 5 or available processors count
+     *
+     * @param requestWorkerThreadCount number of request worker threads
+     */
+    public Configuration requestWorkerThreadCount(Integer requestWorkerThreadCount) {
+        this.requestWorkerThreadCount = requestWorkerThreadCount;
+        return this;
+    }
+
+    public Integer requestWorkerQueueSize() {
+        if (requestWorkerQueueSize == null) {
+            return ConfigurationProperties.requestWorkerQueueSize();
+        }
+        return requestWorkerQueueSize;
+    }
+
+    /**
+     * Maximum number of connections with requests waiting for a request worker thread when the requestExecutionModel is WORKER_POOL, once full requests are handled on the event loop that read them, the default is 10000
+     *
+     * @param requestWorkerQueueSize maximum number of connections waiting for a request worker thread
+     */
+    public Configuration requestWorkerQueueSize(Integer requestWorkerQueueSize) {
+        this.requestWorkerQueueSize = requestWorkerQueueSize;
+        return this;
+    }
+
     public Long maxSocketTimeoutInMillis() {
         if (maxSocketTimeoutInMillis == null) {
             return ConfigurationProperties.maxSocketTimeout();
@@ -523,6 +795,86 @@ public class Configuration {
         return this;
     }
 
+    public Integer forwardConnectionPoolSize() {
+        if (forwardConnectionPoolSize == null) {
+            return ConfigurationProperties.forwardConnectionPoolSize();
+        }
+        return forwardConnectionPoolSize;
+    }
+
+    /**
+     * Maximum number of keep-alive connections pooled for each remote address when forwarding or proxying HTTP requests, if 0 (the default) a new connection is opened for every forwarded request
+     * <p>
+     * Requests are queued, until the socket connection timeout, when all connections for a remote address are in use
+     * <p>
+     * The default is 0
+     *
+     * @param forwardConnectionPoolSize maximum number of pooled connections for each remote address
+     */
+    public Configuration forwardConnectionPoolSize(Integer forwardConnectionPoolSize) {
+        this.forwardConnectionPoolSize = forwardConnectionPoolSize;
+        return this;
+    }
+
+    public Long forwardConnectionPoolIdleTimeoutInMillis() {
+        if (forwardConnectionPoolIdleTimeoutInMillis == null) {
+            return ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis();
+        }
+        return forwardConnectionPoolIdleTimeoutInMillis;
+    }
+
+    /**
+     * Time in milliseconds a pooled forward connection can be idle before it is closed
+     * <p>
+     * Default is 60,000 ms
+     *
+     * @param forwardConnectionPoolIdleTimeoutInMillis maximum idle time in milliseconds for a pooled connection
+     */
+    public Configuration forwardConnectionPoolIdleTimeoutInMillis(Long forwardConnectionPoolIdleTimeoutInMillis) {
+        this.forwardConnectionPoolIdleTimeoutInMillis = forwardConnectionPoolIdleTimeoutInMillis;
+        return this;
+    }
+
+    public Integer forwardStreamingThresholdInBytes() {
+        if (forwardStreamingThresholdInBytes == null) {
+            return ConfigurationProperties.forwardStreamingThresholdInBytes();
+        }
+        return forwardStreamingThresholdInBytes;
+    }
+
+    /**
+     * Minimum size in bytes of a request body (or any chunked request body) that is streamed to the remote server, instead of being aggregated in memory, when the request is forwarded by a forward expectation or proxied without a matching expectation, if 0 (the default) request bodies are never streamed
+     * <p>
+     * Requests are only streamed when no active expectation matches on the request body, the event log only records a truncated body together with the total length and SHA-256 hash of the streamed body
+     * <p>
+     * The default is 0
+     *
+     * @param forwardStreamingThresholdInBytes minimum size in bytes of a request body that is streamed
+     */
+    public Configuration forwardStreamingThresholdInBytes(Integer forwardStreamingThresholdInBytes) {
+        this.forwardStreamingThresholdInBytes = forwardStreamingThresholdInBytes;
+        return this;
+    }
+
+    public Integer forwardStreamingRecordedBodySize() {
+        if (forwardStreamingRecordedBodySize == null) {
+            return ConfigurationProperties.forwardStreamingRecordedBodySize();
+        }
+        return forwardStreamingRecordedBodySize;
+    }
+
+    /**
+     * Number of bytes of a streamed request or response body that are recorded in the event log, the remainder of the body is only recorded as a total length and SHA-256 hash
+     * <p>
+     * The default is 1024
+     *
+     * @param forwardStreamingRecordedBodySize number of bytes of a streamed body that are recorded
+     */
+    public Configuration forwardStreamingRecordedBodySize(Integer forwardStreamingRecordedBodySize) {
+        this.forwardStreamingRecordedBodySize = forwardStreamingRecordedBodySize;
+        return this;
+    }
+
     public Boolean alwaysCloseSocketConnections() {
         if (alwaysCloseSocketConnections == null) {
             return ConfigurationProperties.alwaysCloseSocketConnections();
@@ -656,6 +1008,30 @@ public class Configuration {
         return this;
     }
 
+    public Boolean http2Enabled() {
+        if (http2Enabled == null) {
+            return ConfigurationProperties.http2Enabled();
+        }
+        return http2Enabled;
+    }
+
+    /**
+     * If enabled MockServer supports HTTP/2 as follows:
+     * <p>
+     * h2 - HTTP/2 over TLS negotiated using ALPN
+     * h2c - HTTP/2 without TLS using prior knowledge or an HTTP/1.1 Upgrade: h2c request
+     * <p>
+     * Each HTTP/2 stream is handled the same way as an HTTP/1.1 request, and HTTP/2 is also negotiated using ALPN for forwarded or proxied HTTPS requests
+     * <p>
+     * The default is false
+     *
+     * @param http2Enabled enable HTTP/2 (h2 and h2c) support
+     */
+    public Configuration http2Enabled(Boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+        return this;
+    }
+
     public Boolean enableCORSForAPI() {
         if (enableCORSForAPI == null) {
             return ConfigurationProperties.enableCORSForAPI();
@@ -981,6 +1357,82 @@ public class Configuration {
         return this;
     }
 
+    public Boolean persistLogEntries() {
+        if (persistLogEntries == null) {
+            return ConfigurationProperties.persistLogEntries();
+        }
+        return persistLogEntries;
+    }
+
+    /**
+     * Enable the persisting of log entries (i.e. received requests, forwarded requests and responses, etc.) in append only memory mapped segment files, so log entries can be retrieved (and verified) after MockServer is restarted and are limited by persistedLogEntriesMaxBytes and persistedLogEntriesMaxAgeInSeconds instead of maxLogEntries
+     * <p>
+     * The default is false
+     *
+     * @param persistLogEntries enable the persisting of log entries
+     */
+    public Configuration persistLogEntries(Boolean persistLogEntries) {
+        this.persistLogEntries = persistLogEntries;
+        return this;
+    }
+
+    public String persistedLogEntriesDirectory() {
+        if (persistedLogEntriesDirectory == null) {
+            return ConfigurationProperties.persistedLogEntriesDirectory();
+        }
+        return persistedLogEntriesDirectory;
+    }
+
+    /**
+     * The directory used to save persisted log entries, segment files are created in this directory and are reopened when MockServer is restarted, the directory can only be used by one MockServer at a time
+     * <p>
+     * The default is "persistedLogEntries"
+     *
+     * @param persistedLogEntriesDirectory directory used to save persisted log entries
+     */
+    public Configuration persistedLogEntriesDirectory(String persistedLogEntriesDirectory) {
+        this.persistedLogEntriesDirectory = persistedLogEntriesDirectory;
+        return this;
+    }
+
+    public Long persistedLogEntriesMaxBytes() {
+        if (persistedLogEntriesMaxBytes == null) {
+            return ConfigurationProperties.persistedLogEntriesMaxBytes();
+        }
+        return persistedLogEntriesMaxBytes;
+    }
+
+    /**
+     * Maximum total size in bytes of the persisted log entries segment files, once this limit is reached the oldest segments (and their log entries) are deleted
+     * <p>
+     * The default is 1073741824 (1GB)
+     *
+     * @param persistedLogEntriesMaxBytes maximum total size in bytes of the persisted log entries
+     */
+    public Configuration persistedLogEntriesMaxBytes(Long persistedLogEntriesMaxBytes) {
+        this.persistedLogEntriesMaxBytes = persistedLogEntriesMaxBytes;
+        return this;
+    }
+
+    public Long persistedLogEntriesMaxAgeInSeconds() {
+        if (persistedLogEntriesMaxAgeInSeconds == null) {
+            return ConfigurationProperties.persistedLogEntriesMaxAgeInSeconds();
+        }
+        return persistedLogEntriesMaxAgeInSeconds;
+    }
+
+    /**
+     * Maximum age in seconds of persisted log entries, segments are deleted (with their log entries) once every log entry in them is older than this, the newest segment is never deleted by age
+     * <p>
+     * The default is 0 (no maximum age)
+     *
+     * @param persistedLogEntriesMaxAgeInSeconds maximum age in seconds of persisted log entries
+     */
+    public Configuration persistedLogEntriesMaxAgeInSeconds(Long persistedLogEntriesMaxAgeInSeconds) {
+        this.persistedLogEntriesMaxAgeInSeconds = persistedLogEntriesMaxAgeInSeconds;
+        return this;
+    }
+
     public Integer maximumNumberOfRequestToReturnInVerificationFailure() {
         if (maximumNumberOfRequestToReturnInVerificationFailure == null) {
             return ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1559,6 +2011,84 @@ public class Configuration {
         return this;
     }
 
+    public Boolean perHostCertificates() {
+        if (perHostCertificates == null) {
+            return ConfigurationProperties.perHostCertificates();
+        }
+        return perHostCertificates;
+    }
+
+    /**
+     * Generate a separate X.509 certificate and private key, signed by the Certificate Authority, for each host name received in the TLS Server Name Indication (SNI) extension instead of adding every host name to the Subject Alternative Names of a single certificate
+     * <p>
+     * Certificates are generated asynchronously and cached so a new host name never delays TLS handshakes for other host names, TLS connections without SNI continue to use the single certificate
+     * <p>
+     * The default is false
+     *
+     * @param perHostCertificates generate a certificate for each host name received using SNI
+     */
+    public Configuration perHostCertificates(Boolean perHostCertificates) {
+        this.perHostCertificates = perHostCertificates;
+        return this;
+    }
+
+    public AsymmetricKeyPairAlgorithm perHostCertificateKeyAlgorithm() {
+        if (perHostCertificateKeyAlgorithm == null) {
+            return ConfigurationProperties.perHostCertificateKeyAlgorithm();
+        }
+        return perHostCertificateKeyAlgorithm;
+    }
+
+    /**
+     * The key pair algorithm used for the private key of each per host certificate, EC keys (i.e. EC256_SHA256) are much quicker to generate than RSA keys
+     * <p>
+     * The default is RSA2048_SHA256
+     *
+     * @param perHostCertificateKeyAlgorithm key pair algorithm for per host certificates
+     */
+    public Configuration perHostCertificateKeyAlgorithm(AsymmetricKeyPairAlgorithm perHostCertificateKeyAlgorithm) {
+        this.perHostCertificateKeyAlgorithm = perHostCertificateKeyAlgorithm;
+        return this;
+    }
+
+    public Set<String> perHostCertificatePreWarmHosts() {
+        if (perHostCertificatePreWarmHosts == null) {
+            return ConfigurationProperties.perHostCertificatePreWarmHosts();
+        }
+        return perHostCertificatePreWarmHosts;
+    }
+
+    /**
+     * Host names to generate per host certificates for during start up so the first TLS connection for these host names doesn't wait for a certificate to be generated
+     * <p>
+     * This configuration will be ignored unless perHostCertificates is enabled
+     *
+     * @param perHostCertificatePreWarmHosts host names to generate per host certificates for during start up
+     */
+    public Configuration perHostCertificatePreWarmHosts(String... perHostCertificatePreWarmHosts) {
+        this.perHostCertificatePreWarmHosts = Sets.newConcurrentHashSet(Arrays.asList(perHostCertificatePreWarmHosts));
+        return this;
+    }
+
+    public Integer perHostCertificateCacheSize() {
+        if (perHostCertificateCacheSize == null) {
+            return ConfigurationProperties.perHostCertificateCacheSize();
+        }
+        return perHostCertificateCacheSize;
+    }
+
+    /**
+     * Maximum number of per host certificates cached, when the maximum is reached the certificate for the least recently used host name is removed
+     * <p>
+     * The default is 1000
+     *
+     * @param perHostCertificateCacheSize maximum number of per host certificates cached
+     */
+    public Configuration perHostCertificateCacheSize(Integer perHostCertificateCacheSize) {
+        this.perHostCertificateCacheSize = perHostCertificateCacheSize;
+        return this;
+    }
+
     public String certificateAuthorityPrivateKey() {
         if (certificateAuthorityPrivateKey == null) {
             return ConfigurationProperties.certificateAuthorityPrivateKey();
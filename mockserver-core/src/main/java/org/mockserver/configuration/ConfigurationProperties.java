@@ -8,10 +8,13 @@ import com.google.common.collect.Sets;
 import com.google.common.net.InetAddresses;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.file.FileReader;
+import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
 import org.mockserver.memory.Summary;
+import org.mockserver.scheduler.RequestExecutionModel;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 import org.slf4j.event.Level;
@@ -47,27 +50,43 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_DISABLE_SYSTEM_OUT = "mockserver.disableSystemOut";
     private static final String MOCKSERVER_DISABLE_LOGGING = "mockserver.disableLogging";
     private static final String MOCKSERVER_DETAILED_MATCH_FAILURES = "mockserver.detailedMatchFailures";
+    private static final String MOCKSERVER_DEFERRED_MATCH_FAILURE_LOGGING = "mockserver.deferredMatchFailureLogging";
     private static final String MOCKSERVER_LAUNCH_UI_FOR_LOG_LEVEL_DEBUG = "mockserver.launchUIForLogLevelDebug";
     private static final String MOCKSERVER_METRICS_ENABLED = "mockserver.metricsEnabled";
+    private static final String MOCKSERVER_METRICS_LATENCY_BUCKETS = "mockserver.metricsLatencyBuckets";
 
     // memory usage
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
+    private static final String MOCKSERVER_COMPACT_LOG_ENTRIES_MAX_BYTES = "mockserver.compactLogEntriesMaxBytes";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
     private static final String MOCKSERVER_MEMORY_USAGE_CSV_DIRECTORY = "mockserver.memoryUsageCsvDirectory";
 
     // scalability
     private static final String MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.nioEventLoopThreadCount";
+    private static final String MOCKSERVER_NETTY_TRANSPORT = "mockserver.nettyTransport";
+    private static final String MOCKSERVER_SOCKET_REUSE_PORT = "mockserver.socketReusePort";
     private static final String MOCKSERVER_ACTION_HANDLER_THREAD_COUNT = "mockserver.actionHandlerThreadCount";
+    private static final String MOCKSERVER_ACTION_HANDLER_VIRTUAL_THREADS = "mockserver.actionHandlerVirtualThreads";
     private static final String MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.clientNioEventLoopThreadCount";
     private static final String MOCKSERVER_WEB_SOCKET_CLIENT_EVENT_LOOP_THREAD_COUNT = "mockserver.webSocketClientEventLoopThreadCount";
     private static final String MOCKSERVER_MAX_FUTURE_TIMEOUT = "mockserver.maxFutureTimeout";
     private static final String MOCKSERVER_MATCHERS_FAIL_FAST = "mockserver.matchersFailFast";
+    private static final String MOCKSERVER_INDEXED_EXPECTATION_LOOKUP = "mockserver.indexedExpectationLookup";
+    private static final String MOCKSERVER_PARALLEL_EXPECTATION_MATCHING = "mockserver.parallelExpectationMatching";
+    private static final String MOCKSERVER_PARALLEL_EXPECTATION_MATCHING_THRESHOLD = "mockserver.parallelExpectationMatchingThreshold";
+    private static final String MOCKSERVER_REQUEST_EXECUTION_MODEL = "mockserver.requestExecutionModel";
+    private static final String MOCKSERVER_REQUEST_WORKER_THREAD_COUNT = "mockserver.requestWorkerThreadCount";
+    private static final String MOCKSERVER_REQUEST_WORKER_QUEUE_SIZE = "mockserver.requestWorkerQueueSize";
 
     // socket
     private static final String MOCKSERVER_MAX_SOCKET_TIMEOUT = "mockserver.maxSocketTimeout";
     private static final String MOCKSERVER_SOCKET_CONNECTION_TIMEOUT = "mockserver.socketConnectionTimeout";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_SIZE = "mockserver.forwardConnectionPoolSize";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT_IN_MILLIS = "mockserver.forwardConnectionPoolIdleTimeoutInMillis";
+    private static final String MOCKSERVER_FORWARD_STREAMING_THRESHOLD_IN_BYTES = "mockserver.forwardStreamingThresholdInBytes";
+    private static final String MOCKSERVER_FORWARD_STREAMING_RECORDED_BODY_SIZE = "mockserver.forwardStreamingRecordedBodySize";
     private static final String MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "mockserver.alwaysCloseSocketConnections";
     private static final String MOCKSERVER_LOCAL_BOUND_IP = "mockserver.localBoundIP";
 
@@ -77,6 +96,7 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_MAX_CHUNK_SIZE = "mockserver.maxChunkSize";
     private static final String MOCKSERVER_USE_SEMICOLON_AS_QUERY_PARAMETER_SEPARATOR = "mockserver.useSemicolonAsQueryParameterSeparator";
     private static final String MOCKSERVER_ASSUME_ALL_REQUESTS_ARE_HTTP = "mockserver.assumeAllRequestsAreHttp";
+    private static final String MOCKSERVER_HTTP2_ENABLED = "mockserver.http2Enabled";
 
     // CORS
     private static final String MOCKSERVER_ENABLE_CORS_FOR_API = "mockserver.enableCORSForAPI";
@@ -102,6 +122,10 @@ public class ConfigurationProperties {
     // mock persistence
     private static final String MOCKSERVER_PERSIST_EXPECTATIONS = "mockserver.persistExpectations";
     private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_PATH = "mockserver.persistedExpectationsPath";
+    private static final String MOCKSERVER_PERSIST_LOG_ENTRIES = "mockserver.persistLogEntries";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_DIRECTORY = "mockserver.persistedLogEntriesDirectory";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES = "mockserver.persistedLogEntriesMaxBytes";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE_IN_SECONDS = "mockserver.persistedLogEntriesMaxAgeInSeconds";
 
     // verification
     private static final String MOCKSERVER_MAXIMUM_NUMBER_OF_REQUESTS_TO_RETURN_IN_VERIFICATION_FAILURE = "mockserver.maximumNumberOfRequestToReturnInVerificationFailure";
@@ -143,6 +167,10 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_SSL_CERTIFICATE_DOMAIN_NAME = "mockserver.sslCertificateDomainName";
     private static final String MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_DOMAINS = "mockserver.sslSubjectAlternativeNameDomains";
     private static final String MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_IPS = "mockserver.sslSubjectAlternativeNameIps";
+    private static final String MOCKSERVER_PER_HOST_CERTIFICATES = "mockserver.perHostCertificates";
+    private static final String MOCKSERVER_PER_HOST_CERTIFICATE_KEY_ALGORITHM = "mockserver.perHostCertificateKeyAlgorithm";
+    private static final String MOCKSERVER_PER_HOST_CERTIFICATE_PRE_WARM_HOSTS = "mockserver.perHostCertificatePreWarmHosts";
+    private static final String MOCKSERVER_PER_HOST_CERTIFICATE_CACHE_SIZE = "mockserver.perHostCertificateCacheSize";
 
     // inbound - fixed CA
     private static final String MOCKSERVER_CERTIFICATE_AUTHORITY_PRIVATE_KEY = "mockserver.certificateAuthorityPrivateKey";
@@ -320,6 +348,23 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_DETAILED_MATCH_FAILURES, "" + enable);
     }
 
+    public static boolean deferredMatchFailureLogging() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_DEFERRED_MATCH_FAILURE_LOGGING, "MOCKSERVER_DEFERRED_MATCH_FAILURE_LOGGING", "" + false));
+    }
+
+    /**
+     * If true the log event recording that a request matcher did not match only records which fields did not match, the expectation and the reason are formatted when the log event is read, i.e. retrieved, displayed in the dashboard or written to system out.
+     * <p>
+     * This avoids cloning each non matching expectation for every request, however the expectation shown is the current state of the expectation (i.e. remaining times) not its state when the request was matched.
+     * <p>
+     * The default is false
+     *
+     * @param enable defer formatting of match failure log events until they are read
+     */
+    public static void deferredMatchFailureLogging(boolean enable) {
+        setProperty(MOCKSERVER_DEFERRED_MATCH_FAILURE_LOGGING, "" + enable);
+    }
+
     public static boolean launchUIForLogLevelDebug() {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_LAUNCH_UI_FOR_LOG_LEVEL_DEBUG, "MOCKSERVER_LAUNCH_UI_FOR_LOG_LEVEL_DEBUG", "" + false));
     }
@@ -346,6 +391,21 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_METRICS_ENABLED, "" + enable);
     }
 
+    public static String metricsLatencyBuckets() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_METRICS_LATENCY_BUCKETS, "MOCKSERVER_METRICS_LATENCY_BUCKETS", "0.0001,0.00025,0.0005,0.001,0.0025,0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10");
+    }
+
+    /**
+     * Comma separated upper bounds, in seconds, of the buckets used by the latency histogram metrics (i.e. request decoding, expectation matching, actions, template rendering, forwarded request connect and time to first byte and event log processing lag), only used when metrics are enabled
+     * <p>
+     * The default is 0.0001,0.00025,0.0005,0.001,0.0025,0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10
+     *
+     * @param buckets comma separated upper bounds, in seconds, of the latency histogram buckets
+     */
+    public static void metricsLatencyBuckets(String buckets) {
+        setProperty(MOCKSERVER_METRICS_LATENCY_BUCKETS, buckets);
+    }
+
     // memory usage
 
     public static long heapAvailableInKB() {
@@ -390,6 +450,27 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_LOG_ENTRIES, "" + count);
     }
 
+    public static long compactLogEntriesMaxBytes() {
+        return readLongProperty(MOCKSERVER_COMPACT_LOG_ENTRIES_MAX_BYTES, "MOCKSERVER_COMPACT_LOG_ENTRIES_MAX_BYTES", 0L);
+    }
+
+    /**
+     * <p>
+     * Maximum number of bytes of off-heap memory used to store log entries in a compact form, if greater than 0 the requests and responses of each log entry are serialised into off-heap memory, and read back each time they are retrieved, so log entries don't hold request and response objects on the heap
+     * </p>
+     * <p>
+     * The off-heap memory is a circular buffer so once this limit is reached the oldest log entries are overwritten, log entries are also still limited by maxLogEntries but as each log entry is much smaller maxLogEntries can be much higher
+     * </p>
+     * <p>
+     * The default is 0 (disabled)
+     * </p>
+     *
+     * @param bytes maximum number of bytes of off-heap memory used to store log entries
+     */
+    public static void compactLogEntriesMaxBytes(long bytes) {
+        setProperty(MOCKSERVER_COMPACT_LOG_ENTRIES_MAX_BYTES, "" + bytes);
+    }
+
     public static int maxWebSocketExpectations() {
         return readIntegerProperty(MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS, "MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS", 1500);
     }
@@ -450,6 +531,48 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT, "" + count);
     }
 
+    public static NettyTransport nettyTransport() {
+        String nettyTransport = readPropertyHierarchically(PROPERTIES, MOCKSERVER_NETTY_TRANSPORT, "MOCKSERVER_NETTY_TRANSPORT", "NIO");
+        try {
+            return NettyTransport.valueOf(nettyTransport);
+        } catch (Throwable ignore) {
+            throw new IllegalArgumentException("Invalid value for NettyTransport \"" + nettyTransport + "\" the only supported values are: " + Arrays.stream(NettyTransport.values()).map(Enum::name).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Netty transport used for the event loops, server sockets and client sockets, as follows:
+     * <p>
+     * NIO - Java NIO transport supported on all platforms
+     * EPOLL - native Linux epoll transport, which reduces system call overhead and supports SO_REUSEPORT
+     * IO_URING - native Linux io_uring transport, which requires netty-incubator-transport-native-io_uring to be added to the classpath
+     * AUTO - the first available of IO_URING, EPOLL or NIO
+     * <p>
+     * The default is NIO
+     *
+     * @param transport Netty transport, allowed values: AUTO, NIO, EPOLL, IO_URING
+     */
+    public static void nettyTransport(NettyTransport transport) {
+        setProperty(MOCKSERVER_NETTY_TRANSPORT, transport.name());
+    }
+
+    public static boolean socketReusePort() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_SOCKET_REUSE_PORT, "MOCKSERVER_SOCKET_REUSE_PORT", "" + false));
+    }
+
+    /**
+     * If enabled each port is bound once for each accept (i.e. boss) event loop thread using SO_REUSEPORT, so the kernel spreads new connections across multiple accept threads
+     * <p>
+     * SO_REUSEPORT is only supported by the EPOLL and IO_URING transports, for the NIO transport a warning is logged and each port is bound once
+     * <p>
+     * The default is false
+     *
+     * @param enable bind each port once for each accept event loop thread using SO_REUSEPORT
+     */
+    public static void socketReusePort(boolean enable) {
+        setProperty(MOCKSERVER_SOCKET_REUSE_PORT, "" + enable);
+    }
+
     public static int actionHandlerThreadCount() {
         return readIntegerProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "MOCKSERVER_ACTION_HANDLER_THREAD_COUNT", Math.max(5, Runtime.getRuntime().availableProcessors()));
     }
@@ -472,6 +595,21 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "" + count);
     }
 
+    public static boolean actionHandlerVirtualThreads() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_ACTION_HANDLER_VIRTUAL_THREADS, "MOCKSERVER_ACTION_HANDLER_VIRTUAL_THREADS", "" + false));
+    }
+
+    /**
+     * If true, and the JVM supports virtual threads (Java 21 or later), actions (i.e. writing responses, class callbacks and handling forwarded responses) are handled on a new virtual thread for each action instead of the action handler thread pool, so blocking actions don't saturate the pool, response delays are timed by a single platform thread which hands each delayed action to a virtual thread
+     * <p>
+     * If the JVM doesn't support virtual threads a warning is logged and the action handler thread pool is used, the default is false
+     *
+     * @param enable handle actions on virtual threads
+     */
+    public static void actionHandlerVirtualThreads(boolean enable) {
+        setProperty(MOCKSERVER_ACTION_HANDLER_VIRTUAL_THREADS, "" + enable);
+    }
+
     public static int clientNioEventLoopThreadCount() {
         return readIntegerProperty(MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT, "MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT", 5);
     }
@@ -531,6 +669,102 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MATCHERS_FAIL_FAST, "" + enable);
     }
 
+    public static boolean indexedExpectationLookup() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_INDEXED_EXPECTATION_LOOKUP, "MOCKSERVER_INDEXED_EXPECTATION_LOOKUP", "" + false));
+    }
+
+    /**
+     * If true expectations are indexed by literal method and path so only expectations that could match a request are evaluated, if false (the default) every expectation is evaluated in priority order.
+     * <p>
+     * Expectations using a regex, schema, 'not' operator, path parameters or an OpenAPI definition are always evaluated, and the priority / creation order of expectations is unchanged.
+     * This reduces matching latency when a large number of expectations are loaded, however the log event recording that a request matcher did not match is only created for evaluated expectations.
+     *
+     * @param enable enable indexed expectation lookup
+     */
+    public static void indexedExpectationLookup(boolean enable) {
+        setProperty(MOCKSERVER_INDEXED_EXPECTATION_LOOKUP, "" + enable);
+    }
+
+    public static boolean parallelExpectationMatching() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PARALLEL_EXPECTATION_MATCHING, "MOCKSERVER_PARALLEL_EXPECTATION_MATCHING", "" + false));
+    }
+
+    /**
+     * If true, when a request is matched against at least parallelExpectationMatchingThreshold expectations, the expectations are split into partitions matched in parallel, if false (the default) expectations are matched one at a time in priority order.
+     * <p>
+     * The highest priority matching expectation is still returned and only that expectation's remaining times are decremented, however the log events recording that a request matcher did not match may include lower priority expectations and may be out of priority order.
+     *
+     * @param enable enable parallel expectation matching
+     */
+    public static void parallelExpectationMatching(boolean enable) {
+        setProperty(MOCKSERVER_PARALLEL_EXPECTATION_MATCHING, "" + enable);
+    }
+
+    public static int parallelExpectationMatchingThreshold() {
+        return readIntegerProperty(MOCKSERVER_PARALLEL_EXPECTATION_MATCHING_THRESHOLD, "MOCKSERVER_PARALLEL_EXPECTATION_MATCHING_THRESHOLD", 1000);
+    }
+
+    /**
+     * The minimum number of expectations a request is matched against for parallel expectation matching to be used, requests matched against fewer expectations are matched one at a time, the default is 1000
+     *
+     * @param threshold minimum number of expectations matched in parallel
+     */
+    public static void parallelExpectationMatchingThreshold(int threshold) {
+        setProperty(MOCKSERVER_PARALLEL_EXPECTATION_MATCHING_THRESHOLD, "" + threshold);
+    }
+
+    public static RequestExecutionModel requestExecutionModel() {
+        String requestExecutionModel = readPropertyHierarchically(PROPERTIES, MOCKSERVER_REQUEST_EXECUTION_MODEL, "MOCKSERVER_REQUEST_EXECUTION_MODEL", "EVENT_LOOP");
+        try {
+            return RequestExecutionModel.valueOf(requestExecutionModel);
+        } catch (Throwable ignore) {
+            throw new IllegalArgumentException("Invalid value for RequestExecutionModel \"" + requestExecutionModel + "\" the only supported values are: " + Arrays.stream(RequestExecutionModel.values()).map(Enum::name).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Where received requests are matched against expectations and their actions dispatched, as follows:
+     * <p>
+     * EVENT_LOOP - inline on the event loop that read the request, which avoids a thread hand off but slow matchers (i.e. json schema or xpath) block other connections on the same event loop
+     * WORKER_POOL - handed off to a pool of requestWorkerThreadCount threads, when more than requestWorkerQueueSize connections are waiting requests are handled on the event loop
+     * VIRTUAL_THREADS - handed off to a new virtual thread for each request, which requires Java 21 or later
+     * <p>
+     * Requests received on the same connection (or HTTP/2 stream) are always handled in the order they were received.
+     * <p>
+     * The default is EVENT_LOOP
+     *
+     * @param requestExecutionModel request execution model, allowed values: EVENT_LOOP, WORKER_POOL, VIRTUAL_THREADS
+     */
+    public static void requestExecutionModel(RequestExecutionModel requestExecutionModel) {
+        setProperty(MOCKSERVER_REQUEST_EXECUTION_MODEL, requestExecutionModel.name());
+    }
+
+    public static int requestWorkerThreadCount() {
+        return readIntegerProperty(MOCKSERVER_REQUEST_WORKER_THREAD_COUNT, "MOCKSERVER_REQUEST_WORKER_THREAD_COUNT", Math.max(5, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Number of threads requests are handed off to when the requestExecutionModel is WORKER_POOL, the default is the maximum of 5 or available processors count
+     *
+     * @param count number of request worker threads
+     */
+    public static void requestWorkerThreadCount(int count) {
+        setProperty(MOCKSERVER_REQUEST_WORKER_THREAD_COUNT, "" + count);
+    }
+
+    public static int requestWorkerQueueSize() {
+        return readIntegerProperty(MOCKSERVER_REQUEST_WORKER_QUEUE_SIZE, "MOCKSERVER_REQUEST_WORKER_QUEUE_SIZE", 10000);
+    }
+
+    /**
+     * Maximum number of connections with requests waiting for a request worker thread when the requestExecutionModel is WORKER_POOL, once full requests are handled on the event loop that read them, the default is 10000
+     *
+     * @param size maximum number of connections waiting for a request worker thread
+     */
+    public static void requestWorkerQueueSize(int size) {
+        setProperty(MOCKSERVER_REQUEST_WORKER_QUEUE_SIZE, "" + size);
+    }
+
     // socket
 
     public static long maxSocketTimeout() {
@@ -563,6 +797,70 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_SOCKET_CONNECTION_TIMEOUT, "" + milliseconds);
     }
 
+    public static int forwardConnectionPoolSize() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_SIZE, "MOCKSERVER_FORWARD_CONNECTION_POOL_SIZE", 0);
+    }
+
+    /**
+     * Maximum number of keep-alive connections pooled for each remote address when forwarding or proxying HTTP requests, if 0 (the default) a new connection is opened for every forwarded request
+     * <p>
+     * Requests are queued, until the socket connection timeout, when all connections for a remote address are in use
+     * <p>
+     * The default is 0
+     *
+     * @param size maximum number of pooled connections for each remote address
+     */
+    public static void forwardConnectionPoolSize(int size) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_SIZE, "" + size);
+    }
+
+    public static long forwardConnectionPoolIdleTimeoutInMillis() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT_IN_MILLIS, "MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT_IN_MILLIS", TimeUnit.SECONDS.toMillis(60));
+    }
+
+    /**
+     * Time in milliseconds a pooled forward connection can be idle before it is closed
+     * <p>
+     * Default is 60,000 ms
+     *
+     * @param milliseconds maximum idle time in milliseconds for a pooled connection
+     */
+    public static void forwardConnectionPoolIdleTimeoutInMillis(long milliseconds) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT_IN_MILLIS, "" + milliseconds);
+    }
+
+    public static int forwardStreamingThresholdInBytes() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_STREAMING_THRESHOLD_IN_BYTES, "MOCKSERVER_FORWARD_STREAMING_THRESHOLD_IN_BYTES", 0);
+    }
+
+    /**
+     * Minimum size in bytes of a request body (or any chunked request body) that is streamed to the remote server, instead of being aggregated in memory, when the request is forwarded by a forward expectation or proxied without a matching expectation, if 0 (the default) request bodies are never streamed
+     * <p>
+     * Requests are only streamed when no active expectation matches on the request body, the event log only records a truncated body together with the total length and SHA-256 hash of the streamed body
+     * <p>
+     * The default is 0
+     *
+     * @param size minimum size in bytes of a request body that is streamed
+     */
+    public static void forwardStreamingThresholdInBytes(int size) {
+        setProperty(MOCKSERVER_FORWARD_STREAMING_THRESHOLD_IN_BYTES, "" + size);
+    }
+
+    public static int forwardStreamingRecordedBodySize() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_STREAMING_RECORDED_BODY_SIZE, "MOCKSERVER_FORWARD_STREAMING_RECORDED_BODY_SIZE", 1024);
+    }
+
+    /**
+     * Number of bytes of a streamed request or response body that are recorded in the event log, the remainder of the body is only recorded as a total length and SHA-256 hash
+     * <p>
+     * The default is 1024
+     *
+     * @param size number of bytes of a streamed body that are recorded
+     */
+    public static void forwardStreamingRecordedBodySize(int size) {
+        setProperty(MOCKSERVER_FORWARD_STREAMING_RECORDED_BODY_SIZE, "" + size);
+    }
+
     /**
      * <p>If true socket connections will always be closed after a response is returned, if false connection is only closed if request header indicate connection should be closed.</p>
      * <p>
@@ -668,6 +966,26 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_ASSUME_ALL_REQUESTS_ARE_HTTP, "" + assumeAllRequestsAreHttp);
     }
 
+    public static boolean http2Enabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_HTTP2_ENABLED, "MOCKSERVER_HTTP2_ENABLED", "" + false));
+    }
+
+    /**
+     * If enabled MockServer supports HTTP/2 as follows:
+     * <p>
+     * h2 - HTTP/2 over TLS negotiated using ALPN
+     * h2c - HTTP/2 without TLS using prior knowledge or an HTTP/1.1 Upgrade: h2c request
+     * <p>
+     * Each HTTP/2 stream is handled the same way as an HTTP/1.1 request, and HTTP/2 is also negotiated using ALPN for forwarded or proxied HTTPS requests
+     * <p>
+     * The default is false
+     *
+     * @param enable enable HTTP/2 (h2 and h2c) support
+     */
+    public static void http2Enabled(boolean enable) {
+        setProperty(MOCKSERVER_HTTP2_ENABLED, "" + enable);
+    }
+
     public static boolean assumeAllRequestsAreHttp() {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_ASSUME_ALL_REQUESTS_ARE_HTTP, "MOCKSERVER_ASSUME_ALL_REQUESTS_ARE_HTTP", "false"));
     }
@@ -936,6 +1254,66 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_PATH, persistedExpectationsPath);
     }
 
+    public static boolean persistLogEntries() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PERSIST_LOG_ENTRIES, "MOCKSERVER_PERSIST_LOG_ENTRIES", "" + false));
+    }
+
+    /**
+     * Enable the persisting of log entries (i.e. received requests, forwarded requests and responses, etc.) in append only memory mapped segment files, so log entries can be retrieved (and verified) after MockServer is restarted and are limited by persistedLogEntriesMaxBytes and persistedLogEntriesMaxAgeInSeconds instead of maxLogEntries
+     * <p>
+     * The default is false
+     *
+     * @param enable enable the persisting of log entries
+     */
+    public static void persistLogEntries(boolean enable) {
+        setProperty(MOCKSERVER_PERSIST_LOG_ENTRIES, "" + enable);
+    }
+
+    public static String persistedLogEntriesDirectory() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_PERSISTED_LOG_ENTRIES_DIRECTORY, "MOCKSERVER_PERSISTED_LOG_ENTRIES_DIRECTORY", "persistedLogEntries");
+    }
+
+    /**
+     * The directory used to save persisted log entries, segment files are created in this directory and are reopened when MockServer is restarted, the directory can only be used by one MockServer at a time
+     * <p>
+     * The default is "persistedLogEntries"
+     *
+     * @param persistedLogEntriesDirectory directory used to save persisted log entries
+     */
+    public static void persistedLogEntriesDirectory(String persistedLogEntriesDirectory) {
+        setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_DIRECTORY, persistedLogEntriesDirectory);
+    }
+
+    public static long persistedLogEntriesMaxBytes() {
+        return readLongProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES, "MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES", 1024L * 1024L * 1024L);
+    }
+
+    /**
+     * Maximum total size in bytes of the persisted log entries segment files, once this limit is reached the oldest segments (and their log entries) are deleted
+     * <p>
+     * The default is 1073741824 (1GB)
+     *
+     * @param bytes maximum total size in bytes of the persisted log entries
+     */
+    public static void persistedLogEntriesMaxBytes(long bytes) {
+        setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES, "" + bytes);
+    }
+
+    public static long persistedLogEntriesMaxAgeInSeconds() {
+        return readLongProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE_IN_SECONDS, "MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE_IN_SECONDS", 0L);
+    }
+
+    /**
+     * Maximum age in seconds of persisted log entries, segments are deleted (with their log entries) once every log entry in them is older than this, the newest segment is never deleted by age
+     * <p>
+     * The default is 0 (no maximum age)
+     *
+     * @param seconds maximum age in seconds of persisted log entries
+     */
+    public static void persistedLogEntriesMaxAgeInSeconds(long seconds) {
+        setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE_IN_SECONDS, "" + seconds);
+    }
+
     // verification
 
     public static Integer maximumNumberOfRequestToReturnInVerificationFailure() {
@@ -1427,6 +1805,77 @@ public class ConfigurationProperties {
         return Sets.newConcurrentHashSet(Arrays.asList(readPropertyHierarchically(PROPERTIES, MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_IPS, "MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_IPS", "127.0.0.1,0.0.0.0").split(",")));
     }
 
+    public static boolean perHostCertificates() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PER_HOST_CERTIFICATES, "MOCKSERVER_PER_HOST_CERTIFICATES", "false"));
+    }
+
+    /**
+     * Generate a separate X.509 certificate and private key, signed by the Certificate Authority, for each host name received in the TLS Server Name Indication (SNI) extension instead of adding every host name to the Subject Alternative Names of a single certificate
+     * <p>
+     * Certificates are generated asynchronously and cached so a new host name never delays TLS handshakes for other host names, TLS connections without SNI continue to use the single certificate
+     * <p>
+     * The default is false
+     *
+     * @param enable generate a certificate for each host name received using SNI
+     */
+    public static void perHostCertificates(boolean enable) {
+        setProperty(MOCKSERVER_PER_HOST_CERTIFICATES, "" + enable);
+    }
+
+    public static AsymmetricKeyPairAlgorithm perHostCertificateKeyAlgorithm() {
+        String perHostCertificateKeyAlgorithm = readPropertyHierarchically(PROPERTIES, MOCKSERVER_PER_HOST_CERTIFICATE_KEY_ALGORITHM, "MOCKSERVER_PER_HOST_CERTIFICATE_KEY_ALGORITHM", KeyAndCertificateFactory.DEFAULT_KEY_GENERATION_AND_SIGNING_ALGORITHM.name());
+        try {
+            return AsymmetricKeyPairAlgorithm.valueOf(perHostCertificateKeyAlgorithm);
+        } catch (Throwable ignore) {
+            throw new IllegalArgumentException("Invalid value for AsymmetricKeyPairAlgorithm \"" + perHostCertificateKeyAlgorithm + "\" the only supported values are: " + Arrays.stream(AsymmetricKeyPairAlgorithm.values()).map(Enum::name).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * The key pair algorithm used for the private key of each per host certificate, EC keys (i.e. EC256_SHA256) are much quicker to generate than RSA keys
+     * <p>
+     * The default is RSA2048_SHA256
+     *
+     * @param keyAlgorithm key pair algorithm for per host certificates, allowed values: EC256_SHA256, EC384_SHA384, ECP512_SHA512, RSA2048_SHA256, RSA3072_SHA384, RSA4096_SHA512
+     */
+    public static void perHostCertificateKeyAlgorithm(AsymmetricKeyPairAlgorithm keyAlgorithm) {
+        setProperty(MOCKSERVER_PER_HOST_CERTIFICATE_KEY_ALGORITHM, keyAlgorithm.name());
+    }
+
+    public static Set<String> perHostCertificatePreWarmHosts() {
+        return Arrays
+            .stream(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PER_HOST_CERTIFICATE_PRE_WARM_HOSTS, "MOCKSERVER_PER_HOST_CERTIFICATE_PRE_WARM_HOSTS", "").split(","))
+            .map(String::trim)
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toCollection(Sets::newConcurrentHashSet));
+    }
+
+    /**
+     * Host names, as a comma separated list, to generate per host certificates for during start up so the first TLS connection for these host names doesn't wait for a certificate to be generated
+     * <p>
+     * This configuration will be ignored unless perHostCertificates is enabled
+     *
+     * @param preWarmHosts host names to generate per host certificates for during start up
+     */
+    public static void perHostCertificatePreWarmHosts(Set<String> preWarmHosts) {
+        setProperty(MOCKSERVER_PER_HOST_CERTIFICATE_PRE_WARM_HOSTS, Joiner.on(",").join(preWarmHosts));
+    }
+
+    public static int perHostCertificateCacheSize() {
+        return readIntegerProperty(MOCKSERVER_PER_HOST_CERTIFICATE_CACHE_SIZE, "MOCKSERVER_PER_HOST_CERTIFICATE_CACHE_SIZE", 1000);
+    }
+
+    /**
+     * Maximum number of per host certificates cached, when the maximum is reached the certificate for the least recently used host name is removed
+     * <p>
+     * The default is 1000
+     *
+     * @param cacheSize maximum number of per host certificates cached
+     */
+    public static void perHostCertificateCacheSize(int cacheSize) {
+        setProperty(MOCKSERVER_PER_HOST_CERTIFICATE_CACHE_SIZE, "" + cacheSize);
+    }
+
     public static String certificateAuthorityPrivateKey() {
         return readPropertyHierarchically(PROPERTIES, MOCKSERVER_CERTIFICATE_AUTHORITY_PRIVATE_KEY, "MOCKSERVER_CERTIFICATE_AUTHORITY_PRIVATE_KEY", DEFAULT_CERTIFICATE_AUTHORITY_PRIVATE_KEY);
     }
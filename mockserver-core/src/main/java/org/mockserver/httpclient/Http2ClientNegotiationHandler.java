@@ -0,0 +1,185 @@
+package org.mockserver.httpclient;
+
+import io.netty.channel.*;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.*;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.codec.Http2ExtensionHeaderRemover;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Holds outbound requests until the TLS handshake has completed, if the server selected h2 using ALPN the HTTP/1.1
+ * codecs are replaced with an HTTP/2 connection and each request is sent on a new stream, the aggregated response of
+ * each stream is passed back into this pipeline so it is decoded and handled exactly as an HTTP/1.1 response would be
+ * <p>
+ * if the server selected HTTP/1.1 (or doesn't support ALPN) this handler removes itself and the queued requests are
+ * sent unchanged
+ */
+public class Http2ClientNegotiationHandler extends ChannelDuplexHandler {
+
+    private static final Http2ExtensionHeaderRemover http2ExtensionHeaderRemover = new Http2ExtensionHeaderRemover();
+    private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
+    private boolean negotiated;
+    private boolean http2;
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+        if (sslHandler == null) {
+            negotiated(ctx, false);
+        } else {
+            sslHandler.handshakeFuture().addListener(future -> {
+                if (future.isSuccess()) {
+                    negotiated(ctx, ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol()));
+                } else {
+                    failPendingWrites(future.cause());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        failPendingWrites(new SocketConnectionException("Channel handler removed before request was sent"));
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!negotiated) {
+            pendingWrites.add(new PendingWrite(msg, promise));
+        } else if (http2) {
+            writeToNewStream(ctx, msg, promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (negotiated && !http2) {
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof Http2Frame) {
+            // connection level frames (i.e. SETTINGS, PING, GOAWAY) are handled by the HTTP/2 codec
+            ReferenceCountUtil.release(msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private void negotiated(ChannelHandlerContext ctx, boolean http2) {
+        this.negotiated = true;
+        this.http2 = http2;
+        if (http2) {
+            ChannelPipeline pipeline = ctx.pipeline();
+            pipeline.remove(HttpClientCodec.class);
+            pipeline.remove(HttpContentDecompressor.class);
+            pipeline.remove(HttpObjectAggregator.class);
+            pipeline.addBefore(ctx.name(), null, Http2FrameCodecBuilder.forClient().initialSettings(Http2Settings.defaultSettings().pushEnabled(false)).build());
+            pipeline.addBefore(ctx.name(), null, new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+            PendingWrite pendingWrite;
+            while ((pendingWrite = pendingWrites.poll()) != null) {
+                writeToNewStream(ctx, pendingWrite.msg, pendingWrite.promise);
+            }
+        } else {
+            PendingWrite pendingWrite;
+            while ((pendingWrite = pendingWrites.poll()) != null) {
+                ctx.write(pendingWrite.msg, pendingWrite.promise);
+            }
+            ctx.flush();
+            ctx.pipeline().remove(this);
+        }
+    }
+
+    private void writeToNewStream(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        new Http2StreamChannelBootstrap(ctx.channel())
+            .handler(new ChannelInitializer<Http2StreamChannel>() {
+                @Override
+                protected void initChannel(Http2StreamChannel stream) {
+                    stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                    stream.pipeline().addLast(new HttpContentDecompressor());
+                    stream.pipeline().addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                    stream.pipeline().addLast(http2ExtensionHeaderRemover);
+                    stream.pipeline().addLast(new StreamResponseHandler(ctx));
+                }
+            })
+            .open()
+            .addListener(future -> {
+                if (future.isSuccess()) {
+                    ((Http2StreamChannel) future.getNow()).writeAndFlush(msg).addListener(writeFuture -> {
+                        if (writeFuture.isSuccess()) {
+                            promise.trySuccess();
+                        } else {
+                            promise.tryFailure(writeFuture.cause());
+                        }
+                    });
+                } else {
+                    ReferenceCountUtil.release(msg);
+                    promise.tryFailure(future.cause());
+                }
+            });
+    }
+
+    private void failPendingWrites(Throwable cause) {
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            ReferenceCountUtil.release(pendingWrite.msg);
+            pendingWrite.promise.tryFailure(cause);
+        }
+    }
+
+    private static class StreamResponseHandler extends ChannelInboundHandlerAdapter {
+
+        private final ChannelHandlerContext connectionCtx;
+
+        private StreamResponseHandler(ChannelHandlerContext connectionCtx) {
+            this.connectionCtx = connectionCtx;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof FullHttpResponse) {
+                ctx.close();
+                connectionCtx.fireChannelRead(msg);
+            } else {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+            if (event instanceof Http2ResetFrame) {
+                connectionCtx.fireExceptionCaught(new SocketConnectionException("HTTP/2 stream reset with error code " + ((Http2ResetFrame) event).errorCode()));
+            } else {
+                super.userEventTriggered(ctx, event);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+            connectionCtx.fireExceptionCaught(cause);
+        }
+    }
+
+    private static class PendingWrite {
+        private final Object msg;
+        private final ChannelPromise promise;
+
+        private PendingWrite(Object msg, ChannelPromise promise) {
+            this.msg = msg;
+            this.promise = promise;
+        }
+    }
+}
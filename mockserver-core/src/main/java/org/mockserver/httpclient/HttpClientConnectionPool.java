@@ -0,0 +1,148 @@
+package org.mockserver.httpclient;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.pool.*;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.model.Message;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.httpclient.NettyHttpClient.*;
+import static org.mockserver.socket.NettyTransport.socketChannelClass;
+
+/**
+ * Bounded pools of keep-alive connections for each remote address (and protocol), pooled connections are checked
+ * they are still open before they are reused and are closed after they have been idle for the configured timeout.
+ * <p>
+ * TLS connections are reused as is and new TLS connections to the same remote address resume the TLS session from
+ * the shared client SslContext, so only the first connection to each remote address does a full TLS handshake.
+ */
+public class HttpClientConnectionPool {
+
+    static final AttributeKey<ChannelPool> CHANNEL_POOL = AttributeKey.valueOf("CHANNEL_POOL");
+    private final AbstractChannelPoolMap<PoolKey, FixedChannelPool> channelPools;
+
+    HttpClientConnectionPool(Configuration configuration, EventLoopGroup eventLoopGroup, HttpClientInitializer httpClientInitializer) {
+        long idleTimeoutInMillis = configuration.forwardConnectionPoolIdleTimeoutInMillis();
+        this.channelPools = new AbstractChannelPoolMap<PoolKey, FixedChannelPool>() {
+            @Override
+            protected FixedChannelPool newPool(PoolKey poolKey) {
+                Bootstrap bootstrap = new Bootstrap()
+                    .group(eventLoopGroup)
+                    .channel(socketChannelClass(eventLoopGroup))
+                    .option(ChannelOption.AUTO_READ, true)
+                    .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, poolKey.connectionTimeoutMillis)
+                    .attr(SECURE, poolKey.secure)
+                    .attr(REMOTE_SOCKET, poolKey.remoteAddress)
+                    .remoteAddress(poolKey.remoteAddress);
+                return new FixedChannelPool(
+                    bootstrap,
+                    new AbstractChannelPoolHandler() {
+                        @Override
+                        public void channelCreated(Channel channel) {
+                            channel.pipeline().addLast(new IdleStateHandler(0, 0, idleTimeoutInMillis, TimeUnit.MILLISECONDS));
+                            channel.pipeline().addLast(new IdleConnectionHandler());
+                            channel.pipeline().addLast(httpClientInitializer);
+                        }
+                    },
+                    ChannelHealthChecker.ACTIVE,
+                    FixedChannelPool.AcquireTimeoutAction.FAIL,
+                    poolKey.connectionTimeoutMillis,
+                    configuration.forwardConnectionPoolSize(),
+                    Integer.MAX_VALUE
+                );
+            }
+        };
+    }
+
+    Future<Channel> acquire(InetSocketAddress remoteAddress, boolean secure, int connectionTimeoutMillis) {
+        ChannelPool channelPool = channelPools.get(new PoolKey(remoteAddress, secure, connectionTimeoutMillis));
+        return channelPool.acquire().addListener(future -> {
+            if (future.isSuccess()) {
+                ((Channel) future.getNow()).attr(CHANNEL_POOL).set(channelPool);
+            }
+        });
+    }
+
+    /**
+     * Returns the connection to its pool, if the connection can't be reused it is closed first so it is discarded
+     */
+    void release(Channel channel, boolean reuse) {
+        ChannelPool channelPool = channel.attr(CHANNEL_POOL).getAndSet(null);
+        if (channelPool != null) {
+            if (reuse) {
+                channelPool.release(channel);
+            } else {
+                channel.close().addListener(future -> channelPool.release(channel));
+            }
+        }
+    }
+
+    int size() {
+        return channelPools.size();
+    }
+
+    void close() {
+        channelPools.close();
+    }
+
+    private static class IdleConnectionHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+            if (event instanceof IdleStateEvent) {
+                CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+                // only close connections waiting in the pool, in use connections are bound by the socket timeout
+                if (responseFuture == null || responseFuture.isDone()) {
+                    ctx.close();
+                }
+            } else {
+                super.userEventTriggered(ctx, event);
+            }
+        }
+    }
+
+    private static class PoolKey {
+        private final InetSocketAddress remoteAddress;
+        private final boolean secure;
+        private final int connectionTimeoutMillis;
+        private final int hashCode;
+
+        private PoolKey(InetSocketAddress remoteAddress, boolean secure, int connectionTimeoutMillis) {
+            this.remoteAddress = remoteAddress;
+            this.secure = secure;
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+            this.hashCode = Objects.hash(remoteAddress, secure, connectionTimeoutMillis);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PoolKey poolKey = (PoolKey) o;
+            return secure == poolKey.secure &&
+                connectionTimeoutMillis == poolKey.connectionTimeoutMillis &&
+                Objects.equals(remoteAddress, poolKey.remoteAddress);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
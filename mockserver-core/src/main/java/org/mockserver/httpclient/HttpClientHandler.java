@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.httpclient.HttpClientConnectionPool.CHANNEL_POOL;
 import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
 
 @ChannelHandler.Sharable
@@ -29,8 +30,12 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
 
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
+        // pooled connections are released (or closed) when the response future completes
+        boolean pooled = ctx.channel().attr(CHANNEL_POOL).get() != null;
         ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
-        ctx.close();
+        if (!pooled) {
+            ctx.close();
+        }
     }
 
     @Override
@@ -9,6 +9,7 @@ import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
+import io.netty.handler.ssl.SslContext;
 import org.mockserver.codec.MockServerBinaryClientCodec;
 import org.mockserver.codec.MockServerHttpClientCodec;
 import org.mockserver.logging.LoggingHandler;
@@ -30,19 +31,23 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final MockServerLogger mockServerLogger;
     private final boolean forwardProxyClient;
     private final boolean isHttp;
+    private final boolean http2;
     private final HttpClientConnectionErrorHandler httpClientConnectionHandler;
     private final HttpClientHandler httpClientHandler;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientResponseTimingHandler httpClientResponseTimingHandler;
 
-    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp) {
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp, boolean http2, HttpClientResponseTimingHandler httpClientResponseTimingHandler) {
         this.proxyConfigurations = proxyConfigurations;
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
         this.isHttp = isHttp;
+        this.http2 = http2;
         this.httpClientHandler = new HttpClientHandler();
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
+        this.httpClientResponseTimingHandler = httpClientResponseTimingHandler;
     }
 
     @Override
@@ -71,7 +76,8 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
         if (secure) {
             InetSocketAddress remoteAddress = channel.attr(REMOTE_SOCKET).get();
-            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient).newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
+            SslContext sslContext = isHttp && http2 ? nettySslContextFactory.createHttp2ClientSslContext(forwardProxyClient) : nettySslContextFactory.createClientSslContext(forwardProxyClient);
+            pipeline.addLast(sslContext.newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
         }
 
         // add logging
@@ -82,10 +88,19 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
         if (isHttp) {
             pipeline.addLast(new HttpClientCodec());
 
+            if (httpClientResponseTimingHandler != null) {
+                pipeline.addLast(httpClientResponseTimingHandler);
+            }
+
             pipeline.addLast(new HttpContentDecompressor());
 
             pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
 
+            if (secure && http2) {
+                // switches to HTTP/2 if the server selects h2 during the TLS handshake
+                pipeline.addLast(new Http2ClientNegotiationHandler());
+            }
+
             pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger, proxyConfigurations));
         } else {
             pipeline.addLast(new MockServerBinaryClientCodec());
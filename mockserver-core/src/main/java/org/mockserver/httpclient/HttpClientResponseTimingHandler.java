@@ -0,0 +1,47 @@
+package org.mockserver.httpclient;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.util.AttributeKey;
+import org.mockserver.metrics.Metrics;
+
+import static org.mockserver.metrics.Metrics.Latency.FORWARD_TIME_TO_FIRST_BYTE_SECONDS;
+
+/**
+ * Records the time from a request being written until the response headers are received, this is placed directly after
+ * the http codec so the time isn't affected by the response body being aggregated
+ */
+@ChannelHandler.Sharable
+public class HttpClientResponseTimingHandler extends ChannelDuplexHandler {
+
+    private static final AttributeKey<Long> REQUEST_START_TIME = AttributeKey.valueOf("REQUEST_START_TIME");
+    private final Metrics metrics;
+
+    public HttpClientResponseTimingHandler(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof HttpRequest) {
+            ctx.channel().attr(REQUEST_START_TIME).set(metrics.startTimer());
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpResponse && ((HttpResponse) msg).status().codeClass() != HttpStatusClass.INFORMATIONAL) {
+            Long startTime = ctx.channel().attr(REQUEST_START_TIME).getAndSet(null);
+            if (startTime != null) {
+                metrics.observe(FORWARD_TIME_TO_FIRST_BYTE_SECONDS, startTime);
+            }
+        }
+        super.channelRead(ctx, msg);
+    }
+}
@@ -5,17 +5,21 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.filters.HopByHopHeaderFilter;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.BinaryMessage;
+import org.mockserver.model.HttpMessage;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
@@ -36,7 +40,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import static org.mockserver.metrics.Metrics.Latency.FORWARD_CONNECT_DURATION_SECONDS;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.socket.NettyTransport.socketChannelClass;
 
 public class NettyHttpClient {
 
@@ -50,6 +56,9 @@ public class NettyHttpClient {
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
+    private final Metrics metrics;
+    private final HttpClientResponseTimingHandler httpClientResponseTimingHandler;
 
     public NettyHttpClient(Configuration configuration, MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, List<ProxyConfiguration> proxyConfigurations, boolean forwardProxyClient) {
         this(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, forwardProxyClient, new NettySslContextFactory(configuration, mockServerLogger, false));
@@ -62,6 +71,22 @@ public class NettyHttpClient {
         this.proxyConfigurations = proxyConfigurations != null ? proxyConfigurations.stream().collect(Collectors.toMap(ProxyConfiguration::getType, proxyConfiguration -> proxyConfiguration)) : ImmutableMap.of();
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        this.metrics = new Metrics(configuration);
+        this.httpClientResponseTimingHandler = configuration.metricsEnabled() ? new HttpClientResponseTimingHandler(metrics) : null;
+        if (configuration.forwardConnectionPoolSize() > 0) {
+            this.connectionPool = new HttpClientConnectionPool(configuration, eventLoopGroup, new HttpClientInitializer(this.proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, true, configuration.http2Enabled(), httpClientResponseTimingHandler));
+        } else {
+            this.connectionPool = null;
+        }
+    }
+
+    /**
+     * Closes the pooled keep-alive connections, if any, connections in use are closed when they are released
+     */
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -84,26 +109,32 @@ public class NettyHttpClient {
 
             final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
-                .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
-                .attr(REMOTE_SOCKET, remoteAddress)
-                .attr(RESPONSE_FUTURE, responseFuture)
-                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, true))
-                .connect(remoteAddress)
-                .addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        // send the HTTP request
-                        future.channel().writeAndFlush(httpRequest);
-                    } else {
-                        httpResponseFuture.completeExceptionally(future.cause());
-                    }
-                });
+            final long connectStartTime = metrics.startTimer();
+            if (connectionPool != null && connectionTimeoutMillis != null && !connectionClose(httpRequest)) {
+                sendPooledRequest(httpRequest, remoteAddress, connectionTimeoutMillis.intValue(), httpResponseFuture, responseFuture, connectStartTime);
+            } else {
+                new Bootstrap()
+                    .group(eventLoopGroup)
+                    .channel(socketChannelClass(eventLoopGroup))
+                    .option(ChannelOption.AUTO_READ, true)
+                    .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
+                    .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
+                    .attr(REMOTE_SOCKET, remoteAddress)
+                    .attr(RESPONSE_FUTURE, responseFuture)
+                    .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, true, configuration.http2Enabled(), httpClientResponseTimingHandler))
+                    .connect(remoteAddress)
+                    .addListener((ChannelFutureListener) future -> {
+                        if (future.isSuccess()) {
+                            metrics.observe(FORWARD_CONNECT_DURATION_SECONDS, connectStartTime);
+                            // send the HTTP request
+                            future.channel().writeAndFlush(httpRequest);
+                        } else {
+                            httpResponseFuture.completeExceptionally(future.cause());
+                        }
+                    });
+            }
 
             responseFuture
                 .whenComplete((message, throwable) -> {
@@ -128,6 +159,39 @@ public class NettyHttpClient {
         }
     }
 
+    private void sendPooledRequest(final HttpRequest httpRequest, final InetSocketAddress remoteAddress, final int connectionTimeoutMillis, final CompletableFuture<HttpResponse> httpResponseFuture, final CompletableFuture<Message> responseFuture, final long connectStartTime) {
+        connectionPool
+            .acquire(remoteAddress, httpRequest.isSecure() != null && httpRequest.isSecure(), connectionTimeoutMillis)
+            .addListener(acquireFuture -> {
+                if (acquireFuture.isSuccess()) {
+                    metrics.observe(FORWARD_CONNECT_DURATION_SECONDS, connectStartTime);
+                    Channel channel = (Channel) acquireFuture.getNow();
+                    channel.attr(RESPONSE_FUTURE).set(responseFuture);
+                    // a pooled connection is only returned to the pool once the response is received, so the
+                    // connection must be closed if the response isn't received within the socket timeout
+                    ScheduledFuture<?> responseTimeout = channel.eventLoop().schedule(() -> {
+                        responseFuture.completeExceptionally(new SocketCommunicationException("Response was not received after " + configuration.maxSocketTimeoutInMillis() + " milliseconds", null));
+                    }, configuration.maxSocketTimeoutInMillis(), TimeUnit.MILLISECONDS);
+                    responseFuture.whenComplete((message, throwable) -> {
+                        responseTimeout.cancel(false);
+                        connectionPool.release(channel, throwable == null && message instanceof HttpResponse && !connectionClose((HttpResponse) message));
+                    });
+                    // send the HTTP request
+                    channel.writeAndFlush(httpRequest).addListener((ChannelFutureListener) writeFuture -> {
+                        if (!writeFuture.isSuccess()) {
+                            responseFuture.completeExceptionally(writeFuture.cause());
+                        }
+                    });
+                } else {
+                    httpResponseFuture.completeExceptionally(acquireFuture.cause());
+                }
+            });
+    }
+
+    private static boolean connectionClose(HttpMessage<?, ?> httpMessage) {
+        return "close".equalsIgnoreCase(httpMessage.getFirstHeader(HttpHeaderNames.CONNECTION.toString()));
+    }
+
     public CompletableFuture<BinaryMessage> sendRequest(final BinaryMessage binaryRequest, final boolean isSecure, InetSocketAddress remoteAddress, Integer connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfigurations != null && !isSecure && proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP)) {
@@ -140,7 +204,7 @@ public class NettyHttpClient {
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             new Bootstrap()
                 .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(socketChannelClass(eventLoopGroup))
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -148,7 +212,7 @@ public class NettyHttpClient {
                 .attr(SECURE, isSecure)
                 .attr(REMOTE_SOCKET, remoteAddress)
                 .attr(RESPONSE_FUTURE, responseFuture)
-                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, false))
+                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, false, false, null))
                 .connect(remoteAddress)
                 .addListener((ChannelFutureListener) future -> {
                     if (future.isSuccess()) {
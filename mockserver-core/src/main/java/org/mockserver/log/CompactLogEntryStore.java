@@ -0,0 +1,466 @@
+package org.mockserver.log;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.*;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.serialization.model.ExpectationDTO;
+import org.mockserver.serialization.model.HttpRequestDTO;
+import org.mockserver.serialization.model.HttpResponseDTO;
+import org.mockserver.serialization.model.OpenAPIDefinitionDTO;
+import org.mockserver.time.EpochService;
+import org.slf4j.event.Level;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Stores the requests, response, recorded expectation and any request or response arguments of log entries, serialised
+ * as json, outside the heap, so log entries are limited by the size of their requests and responses instead of their
+ * number and don't hold request and response objects on the heap
+ * <p>
+ * records are only written by the event log thread, each record is appended after the previous record, when the store
+ * is full the oldest records are evicted, the log entries of evicted records are evicted (by the callback) before their
+ * records are, records are read back (and deserialised) each time they are retrieved, in the same form as they are
+ * retrieved using the REST API (i.e. json bodies are pretty printed), a record that has been evicted is read back as null
+ * <p>
+ * positions only ever increase so a position is the same record until it has been evicted, a persistent store also
+ * writes the rest of the log entry (i.e. type, timestamp, message, etc.) into each record so log entries can be read
+ * back when the store is reopened
+ */
+public abstract class CompactLogEntryStore {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+    // lengths of the metadata, requests, response, expectation and arguments sections
+    static final int HEADER_LENGTH = 5 * 4;
+    private static final byte HEAP_ARGUMENT = 0;
+    private static final byte HTTP_REQUEST = 1;
+    private static final byte OPEN_API_DEFINITION = 2;
+    private static final byte HTTP_RESPONSE = 3;
+    private static final byte EXPECTATION = 4;
+    protected final LongConsumer beforeEviction;
+
+    /**
+     * @param beforeEviction called with the position before which all records are about to be evicted
+     */
+    protected CompactLogEntryStore(LongConsumer beforeEviction) {
+        this.beforeEviction = beforeEviction;
+    }
+
+    /**
+     * Serialises and writes the requests, response, expectation and any request or response arguments, returns null if
+     * the record is larger than the maximum size
+     */
+    public Record write(LogEntry logEntry, RequestDefinition[] httpRequests, HttpResponse httpResponse, Expectation expectation, Object[] arguments) {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(byteArrayOutputStream);
+            output.write(new byte[HEADER_LENGTH]);
+            Object[] heapArguments = arguments != null && hasRequestOrResponse(arguments) ? heapArguments(arguments) : arguments;
+            if (persistent() && logEntry != null) {
+                writeMetadata(output, logEntry, httpRequests, heapArguments);
+            }
+            int metadataLength = output.size() - HEADER_LENGTH;
+            if (httpRequests != null) {
+                output.writeInt(httpRequests.length);
+                for (RequestDefinition httpRequest : httpRequests) {
+                    writeRequestDefinition(output, httpRequest);
+                }
+            }
+            int requestsLength = output.size() - HEADER_LENGTH - metadataLength;
+            if (httpResponse != null) {
+                writeJson(output, HTTP_RESPONSE, new HttpResponseDTO(withoutLogEntryBody(httpResponse)));
+            }
+            int responseLength = output.size() - HEADER_LENGTH - metadataLength - requestsLength;
+            if (expectation != null) {
+                writeJson(output, EXPECTATION, new ExpectationDTO(expectation));
+            }
+            int expectationLength = output.size() - HEADER_LENGTH - metadataLength - requestsLength - responseLength;
+            if (heapArguments != arguments) {
+                output.writeInt(arguments.length);
+                for (Object argument : arguments) {
+                    if (argument instanceof HttpRequest) {
+                        writeRequestDefinition(output, withoutLogEntryBody((HttpRequest) argument));
+                    } else if (argument instanceof HttpResponse) {
+                        writeJson(output, HTTP_RESPONSE, new HttpResponseDTO(withoutLogEntryBody((HttpResponse) argument)));
+                    } else {
+                        output.writeByte(HEAP_ARGUMENT);
+                    }
+                }
+            }
+            int argumentsLength = output.size() - HEADER_LENGTH - metadataLength - requestsLength - responseLength - expectationLength;
+            output.flush();
+            byte[] bytes = byteArrayOutputStream.toByteArray();
+            ByteBuffer.wrap(bytes).putInt(metadataLength).putInt(requestsLength).putInt(responseLength).putInt(expectationLength).putInt(argumentsLength);
+            if (bytes.length > maxBytes()) {
+                return null;
+            }
+            long start = append(bytes, logEntry != null ? logEntry.getEpochTime() : EpochService.currentTimeMillis());
+            if (start < 0) {
+                return null;
+            }
+            return new Record(this, start, metadataLength, requestsLength, responseLength, expectationLength, argumentsLength, heapArguments);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * Arguments that aren't requests or responses, which stay on the heap, requests and responses are replaced by null
+     */
+    private Object[] heapArguments(Object[] arguments) {
+        Object[] heapArguments = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            if (!(arguments[i] instanceof HttpRequest) && !(arguments[i] instanceof HttpResponse)) {
+                heapArguments[i] = arguments[i];
+            }
+        }
+        return heapArguments;
+    }
+
+    /**
+     * The fields of the log entry that aren't otherwise stored, arguments that aren't requests or responses are stored
+     * as strings and the literal paths the log entry is indexed by are stored so they are available without reading
+     * the requests back
+     */
+    private void writeMetadata(DataOutputStream output, LogEntry logEntry, RequestDefinition[] httpRequests, Object[] heapArguments) throws IOException {
+        writeString(output, logEntry.getType() != null ? logEntry.getType().name() : null);
+        writeString(output, logEntry.getLogLevel() != null ? logEntry.getLogLevel().name() : null);
+        output.writeBoolean(logEntry.isAlwaysLog());
+        output.writeLong(logEntry.getEpochTime());
+        writeString(output, logEntry.getCorrelationId());
+        output.writeInt(logEntry.getPort() != null ? logEntry.getPort() : -1);
+        writeString(output, logEntry.getExpectationId());
+        writeString(output, logEntry.getMessageFormat());
+        writeString(output, logEntry.getBecause());
+        writeStrings(output, heapArguments);
+        writeStrings(output, LogEntryIndex.literalPaths(httpRequests));
+    }
+
+    private void writeStrings(DataOutputStream output, Object[] values) throws IOException {
+        if (values != null) {
+            output.writeInt(values.length);
+            for (Object value : values) {
+                writeString(output, value != null ? String.valueOf(value) : null);
+            }
+        } else {
+            output.writeInt(-1);
+        }
+    }
+
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else {
+            output.writeInt(-1);
+        }
+    }
+
+    /**
+     * Reads back the log entry of a record written by a persistent store, the log entry is passed to the consumer with
+     * the literal paths it is indexed by
+     */
+    protected void readLogEntry(long start, BiConsumer<LogEntry, String[]> consumer) throws IOException {
+        byte[] header = read(start, HEADER_LENGTH);
+        if (header != null) {
+            ByteBuffer lengths = ByteBuffer.wrap(header);
+            int metadataLength = lengths.getInt();
+            byte[] metadata = metadataLength > 0 ? read(start + HEADER_LENGTH, metadataLength) : null;
+            if (metadata != null) {
+                DataInputStream input = new DataInputStream(new ByteArrayInputStream(metadata));
+                String type = readString(input);
+                String logLevel = readString(input);
+                LogEntry logEntry = new LogEntry().setType(type != null ? LogEntry.LogMessageType.valueOf(type) : null);
+                if (logLevel != null) {
+                    logEntry.setLogLevel(Level.valueOf(logLevel));
+                }
+                logEntry
+                    .setAlwaysLog(input.readBoolean())
+                    .setEpochTime(input.readLong())
+                    .setCorrelationId(readString(input));
+                int port = input.readInt();
+                logEntry
+                    .setPort(port >= 0 ? port : null)
+                    .setExpectationId(readString(input));
+                String messageFormat = readString(input);
+                logEntry
+                    // message formats are shared by many log entries
+                    .setMessageFormat(messageFormat != null ? messageFormat.intern() : null)
+                    .setBecause(readString(input));
+                String[] heapArguments = readStrings(input);
+                String[] literalPaths = readStrings(input);
+                logEntry.setCompactedRecord(new Record(this, start, metadataLength, lengths.getInt(), lengths.getInt(), lengths.getInt(), lengths.getInt(), heapArguments != null ? Arrays.copyOf(heapArguments, heapArguments.length, Object[].class) : null));
+                consumer.accept(logEntry, literalPaths);
+            }
+        }
+    }
+
+    private String[] readStrings(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length >= 0) {
+            String[] values = new String[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = readString(input);
+            }
+            return values;
+        } else {
+            return null;
+        }
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } else {
+            return null;
+        }
+    }
+
+    private boolean hasRequestOrResponse(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof HttpRequest || argument instanceof HttpResponse) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRequestDefinition(DataOutputStream output, RequestDefinition requestDefinition) throws IOException {
+        if (requestDefinition instanceof HttpRequest) {
+            writeJson(output, HTTP_REQUEST, new HttpRequestDTO((HttpRequest) requestDefinition));
+        } else if (requestDefinition instanceof OpenAPIDefinition) {
+            writeJson(output, OPEN_API_DEFINITION, new OpenAPIDefinitionDTO((OpenAPIDefinition) requestDefinition));
+        } else {
+            output.writeByte(HEAP_ARGUMENT);
+        }
+    }
+
+    private void writeJson(DataOutputStream output, byte type, Object dto) throws IOException {
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(dto);
+        output.writeByte(type);
+        output.writeInt(json.length);
+        output.write(json);
+    }
+
+    /**
+     * Log entry bodies are only used to display requests and responses so are stored as the equivalent json or string
+     * body, they are converted back to log entry bodies when the log entry arguments are read
+     */
+    private HttpRequest withoutLogEntryBody(HttpRequest httpRequest) {
+        if (httpRequest.getBody() instanceof LogEntryBody) {
+            return httpRequest.shallowClone().withBody(withoutLogEntryBody((LogEntryBody) httpRequest.getBody()));
+        } else {
+            return httpRequest;
+        }
+    }
+
+    private HttpResponse withoutLogEntryBody(HttpResponse httpResponse) {
+        if (httpResponse.getBody() instanceof LogEntryBody) {
+            return httpResponse.shallowClone().withBody(withoutLogEntryBody((LogEntryBody) httpResponse.getBody()));
+        } else {
+            return httpResponse;
+        }
+    }
+
+    private BodyWithContentType<?> withoutLogEntryBody(LogEntryBody logEntryBody) {
+        if (logEntryBody.getValue() instanceof JsonNode) {
+            return JsonBody.json(logEntryBody.getValue().toString());
+        } else {
+            return StringBody.exact(String.valueOf(logEntryBody.getValue()));
+        }
+    }
+
+    /**
+     * true if the rest of each log entry is written so log entries can be read back when the store is reopened
+     */
+    protected boolean persistent() {
+        return false;
+    }
+
+    /**
+     * Appends the record, evicting the oldest records if required, and returns its position, or -1 if it can't be
+     * appended
+     *
+     * @param epochTime the time of the log entry
+     */
+    protected abstract long append(byte[] bytes, long epochTime);
+
+    /**
+     * Reads the bytes at the position, or null if they have been evicted
+     */
+    protected abstract byte[] read(long start, int length);
+
+    /**
+     * Evicts all records
+     */
+    public abstract void clear();
+
+    /**
+     * Releases the store when the event log is stopped
+     */
+    public void close() {
+        clear();
+    }
+
+    /**
+     * Releases the store when the event log is stopped but its ring buffer didn't stop in time, so a record may still
+     * be appended while or after the store is released
+     */
+    public void abandon() {
+        clear();
+    }
+
+    public abstract long usedBytes();
+
+    public abstract long allocatedBytes();
+
+    public abstract long maxBytes();
+
+    public static class Record {
+        private final CompactLogEntryStore store;
+        private final long start;
+        private final int metadataLength;
+        private final int requestsLength;
+        private final int responseLength;
+        private final int expectationLength;
+        private final int argumentsLength;
+        private final Object[] heapArguments;
+
+        private Record(CompactLogEntryStore store, long start, int metadataLength, int requestsLength, int responseLength, int expectationLength, int argumentsLength, Object[] heapArguments) {
+            this.store = store;
+            this.start = start;
+            this.metadataLength = metadataLength;
+            this.requestsLength = requestsLength;
+            this.responseLength = responseLength;
+            this.expectationLength = expectationLength;
+            this.argumentsLength = argumentsLength;
+            this.heapArguments = heapArguments;
+        }
+
+        /**
+         * true if this record is before the position and so is evicted when that position is evicted
+         */
+        public boolean isBefore(long position) {
+            return start < position;
+        }
+
+        /**
+         * true if requests were written to this record, even if they have since been evicted
+         */
+        public boolean hasHttpRequests() {
+            return requestsLength > 0;
+        }
+
+        public RequestDefinition[] httpRequests() {
+            DataInputStream input = read(sectionsStart(), requestsLength);
+            if (input != null) {
+                try {
+                    RequestDefinition[] httpRequests = new RequestDefinition[input.readInt()];
+                    for (int i = 0; i < httpRequests.length; i++) {
+                        httpRequests[i] = (RequestDefinition) readObject(input);
+                    }
+                    return httpRequests;
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }
+            return null;
+        }
+
+        public HttpResponse httpResponse() {
+            DataInputStream input = read(sectionsStart() + requestsLength, responseLength);
+            if (input != null) {
+                try {
+                    return (HttpResponse) readObject(input);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }
+            return null;
+        }
+
+        public Expectation expectation() {
+            DataInputStream input = read(sectionsStart() + requestsLength + responseLength, expectationLength);
+            if (input != null) {
+                try {
+                    return (Expectation) readObject(input);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Arguments are returned with the request or response arguments read back, log entry bodies of those requests
+         * and responses are read back as the equivalent json or string body
+         */
+        public Object[] arguments() {
+            if (heapArguments == null || argumentsLength == 0) {
+                return heapArguments;
+            }
+            Object[] arguments = heapArguments.clone();
+            DataInputStream input = read(sectionsStart() + requestsLength + responseLength + expectationLength, argumentsLength);
+            if (input != null) {
+                try {
+                    input.readInt();
+                    for (int i = 0; i < arguments.length; i++) {
+                        Object argument = readObject(input);
+                        if (argument != null) {
+                            arguments[i] = argument;
+                        }
+                    }
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }
+            return arguments;
+        }
+
+        private long sectionsStart() {
+            return start + HEADER_LENGTH + metadataLength;
+        }
+
+        private DataInputStream read(long position, int length) {
+            if (length > 0) {
+                byte[] bytes = store.read(position, length);
+                if (bytes != null) {
+                    return new DataInputStream(new ByteArrayInputStream(bytes));
+                }
+            }
+            return null;
+        }
+
+        private Object readObject(DataInputStream input) throws IOException {
+            byte type = input.readByte();
+            if (type == HEAP_ARGUMENT) {
+                return null;
+            }
+            byte[] json = new byte[input.readInt()];
+            input.readFully(json);
+            switch (type) {
+                case HTTP_REQUEST:
+                    return OBJECT_MAPPER.readValue(json, HttpRequestDTO.class).buildObject();
+                case OPEN_API_DEFINITION:
+                    return OBJECT_MAPPER.readValue(json, OpenAPIDefinitionDTO.class).buildObject();
+                case HTTP_RESPONSE:
+                    return OBJECT_MAPPER.readValue(json, HttpResponseDTO.class).buildObject();
+                case EXPECTATION:
+                    return OBJECT_MAPPER.readValue(json, ExpectationDTO.class).buildObject();
+                default:
+                    throw new IOException("unknown compact log entry record type " + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.time.EpochService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Persistent compact log entry store of append only segment files in a directory, each segment file is memory mapped
+ * and has an index file of the position, length and timestamp of each record in it, so log entries can be read back
+ * when the store is reopened (i.e. when MockServer is restarted)
+ * <p>
+ * a record is appended to the newest segment, or to a new segment if it doesn't fit, each segment file is named by the
+ * position of its first record, the index entry of a record is written after the record so on reopen only records with
+ * an index entry are read back and any partially written record is overwritten
+ * <p>
+ * index entries are buffered and written in batches, when the batch is full, at most a second after the previous batch
+ * (when the next record is appended), when a new segment is started and when the store is closed, so if the process is
+ * killed without closing the store the records in the last unwritten batch are not read back
+ * <p>
+ * whole segments are deleted, oldest first, when the total size of the segments would exceed the maximum size or when
+ * the newest record in a segment (that isn't the newest segment) is older than the maximum age, a deleted segment is
+ * unmapped once no reads are in progress so its disk space is freed immediately instead of when it is garbage collected
+ */
+public class FileLogEntryStore extends CompactLogEntryStore {
+
+    static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    private static final String LOCK_FILE_NAME = "eventlog.lock";
+    // position, length and epoch time of each record
+    private static final int INDEX_ENTRY_LENGTH = 8 + 4 + 8;
+    private static final int INDEX_BATCH_SIZE = 256;
+    private static final long INDEX_BATCH_INTERVAL_IN_NANOS = 1_000_000_000L;
+    private final File directory;
+    private final long maxBytes;
+    private final long maxAgeInMillis;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // stops segments being deleted while they are read
+    private final StampedLock lock = new StampedLock();
+    private final FileChannel lockFileChannel;
+    private final FileLock fileLock;
+    private Segment activeSegment;
+    private volatile long head;
+    private volatile long tail;
+    private volatile long allocatedBytes;
+    private volatile boolean closed;
+
+    /**
+     * @param directory      directory of the segment files, created if it doesn't exist, any existing segments are
+     *                       reopened
+     * @param maxBytes       maximum total size of the segment files
+     * @param maxAgeInMillis maximum age of log entries, or zero for no maximum age
+     * @param beforeEviction called with the position before which all records are about to be deleted
+     */
+    public FileLogEntryStore(File directory, long maxBytes, long maxAgeInMillis, LongConsumer beforeEviction) {
+        this(directory, maxBytes, maxAgeInMillis, MAX_SEGMENT_SIZE, beforeEviction);
+    }
+
+    FileLogEntryStore(File directory, long maxBytes, long maxAgeInMillis, int segmentSize, LongConsumer beforeEviction) {
+        super(beforeEviction);
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxAgeInMillis = maxAgeInMillis;
+        this.segmentSize = (int) Math.min(segmentSize, maxBytes);
+        try {
+            Files.createDirectories(directory.toPath());
+            this.lockFileChannel = FileChannel.open(new File(directory, LOCK_FILE_NAME).toPath(), CREATE, WRITE);
+            this.fileLock = lock(lockFileChannel, directory);
+            openSegments();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private static FileLock lock(FileChannel lockFileChannel, File directory) throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = lockFileChannel.tryLock();
+        } catch (OverlappingFileLockException overlappingFileLockException) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            lockFileChannel.close();
+            throw new IllegalStateException("persisted log entries directory " + directory.getAbsolutePath() + " is already in use");
+        }
+        return fileLock;
+    }
+
+    private void openSegments() throws IOException {
+        TreeMap<Long, File> segmentFiles = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    segmentFiles.put(Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_FILE_SUFFIX.length())), file);
+                } catch (NumberFormatException ignore) {
+                    // not a segment file
+                }
+            }
+        }
+        for (Map.Entry<Long, File> segmentFile : segmentFiles.entrySet()) {
+            Segment segment = Segment.open(segmentFile.getKey(), segmentFile.getValue(), indexFile(segmentFile.getKey()));
+            if (segment != null) {
+                segments.put(segment.base, segment);
+                allocatedBytes += segment.size;
+            }
+        }
+        if (!segments.isEmpty()) {
+            tail = segments.firstKey();
+            activeSegment = segments.lastEntry().getValue();
+            activeSegment.openIndex();
+            head = activeSegment.base + activeSegment.writePosition;
+        }
+        evictExpiredSegments();
+    }
+
+    /**
+     * Reads back every log entry in the store, oldest first, each log entry is passed to the consumer with the literal
+     * paths it is indexed by
+     */
+    public void reopen(BiConsumer<LogEntry, String[]> consumer) {
+        try {
+            for (Segment segment : segments.values()) {
+                ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(segment.indexFile.toPath()));
+                while (index.remaining() >= INDEX_ENTRY_LENGTH) {
+                    long position = index.getLong();
+                    index.getInt();
+                    index.getLong();
+                    readLogEntry(position, consumer);
+                }
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    @Override
+    protected boolean persistent() {
+        return true;
+    }
+
+    /**
+     * Synchronized with {@link #close()} so a closed store, with its segments unmapped, is never written to
+     */
+    @Override
+    protected synchronized long append(byte[] bytes, long epochTime) {
+        if (closed) {
+            return -1;
+        }
+        try {
+            evictExpiredSegments();
+            if (activeSegment == null || activeSegment.writePosition + bytes.length > activeSegment.size) {
+                roll(bytes.length);
+            }
+            long start = head;
+            ByteBuffer buffer = activeSegment.buffer.duplicate();
+            buffer.position(activeSegment.writePosition);
+            buffer.put(bytes);
+            activeSegment.writeIndex(start, bytes.length, epochTime);
+            head = start + bytes.length;
+            return start;
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * Starts a new segment at the current head, so positions of earlier records don't change, the rest of the
+     * previous segment is left unused
+     */
+    private void roll(int length) throws IOException {
+        int size = Math.max(segmentSize, length);
+        if (activeSegment != null) {
+            activeSegment.closeIndex();
+            if (activeSegment.writePosition == 0) {
+                // the new segment has the same position and the empty segment has no log entries to evict
+                deleteSegments(activeSegment.base + 1);
+            }
+        }
+        while (!segments.isEmpty() && allocatedBytes + size > maxBytes) {
+            Long next = segments.higherKey(segments.firstKey());
+            evictSegments(next != null ? next : head);
+        }
+        activeSegment = Segment.create(head, segmentFile(head), indexFile(head), size);
+        activeSegment.openIndex();
+        segments.put(head, activeSegment);
+        allocatedBytes += size;
+    }
+
+    private void evictExpiredSegments() {
+        if (maxAgeInMillis > 0) {
+            long expiredBefore = EpochService.currentTimeMillis() - maxAgeInMillis;
+            while (segments.size() > 1 && segments.firstEntry().getValue().lastEpochTime < expiredBefore) {
+                evictSegments(segments.higherKey(segments.firstKey()));
+            }
+        }
+    }
+
+    /**
+     * Evicts the log entries of, then deletes, all segments before the position, which must be the position of a
+     * segment or the head
+     */
+    private void evictSegments(long before) {
+        beforeEviction.accept(before);
+        deleteSegments(before);
+    }
+
+    private void deleteSegments(long before) {
+        Map<Long, Segment> deleted;
+        long stamp = lock.writeLock();
+        try {
+            tail = Math.min(Math.max(tail, before), head);
+            deleted = new TreeMap<>(segments.headMap(before));
+            segments.headMap(before).clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        // deleted segments were removed under the write lock so no reads of them are in progress
+        for (Segment segment : deleted.values()) {
+            allocatedBytes -= segment.size;
+            if (segment == activeSegment) {
+                activeSegment = null;
+            }
+            segment.delete();
+        }
+    }
+
+    @Override
+    protected byte[] read(long start, int length) {
+        long stamp = lock.readLock();
+        try {
+            Map.Entry<Long, Segment> segment = segments.floorEntry(start);
+            if (start < tail || closed || segment == null || start - segment.getKey() + length > segment.getValue().size) {
+                return null;
+            }
+            ByteBuffer buffer = segment.getValue().buffer.duplicate();
+            buffer.position((int) (start - segment.getKey()));
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Deletes all segments
+     */
+    @Override
+    public synchronized void clear() {
+        if (!closed) {
+            deleteSegments(head + 1);
+        }
+    }
+
+    /**
+     * Writes the newest segment to disk and releases the directory, without deleting any segments, so the store can be
+     * reopened
+     */
+    @Override
+    public void close() {
+        close(true);
+    }
+
+    /**
+     * Closes the store without unmapping the segments, they are unmapped when garbage collected, so an append still
+     * running when the store is closed can't write to unmapped memory
+     */
+    @Override
+    public void abandon() {
+        close(false);
+    }
+
+    private synchronized void close(boolean unmap) {
+        long stamp = lock.writeLock();
+        try {
+            if (!closed) {
+                closed = true;
+                if (activeSegment != null) {
+                    activeSegment.buffer.force();
+                    activeSegment.closeIndex();
+                }
+                if (unmap) {
+                    // no appends or reads are in progress and reads of a closed store return null
+                    segments.values().forEach(Segment::unmap);
+                }
+                fileLock.release();
+                lockFileChannel.close();
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private File segmentFile(long base) {
+        return new File(directory, String.format("%020d", base) + SEGMENT_FILE_SUFFIX);
+    }
+
+    private File indexFile(long base) {
+        return new File(directory, String.format("%020d", base) + INDEX_FILE_SUFFIX);
+    }
+
+    @Override
+    public long usedBytes() {
+        return head - tail;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    private static class Segment {
+        private final long base;
+        private final File segmentFile;
+        private final File indexFile;
+        private final MappedByteBuffer buffer;
+        private final int size;
+        private final ByteBuffer indexEntries = ByteBuffer.allocate(INDEX_ENTRY_LENGTH * INDEX_BATCH_SIZE);
+        private long indexWrittenTime;
+        private FileChannel indexChannel;
+        private int writePosition;
+        private volatile long lastEpochTime;
+
+        private Segment(long base, File segmentFile, File indexFile, MappedByteBuffer buffer, int writePosition, long lastEpochTime) {
+            this.base = base;
+            this.segmentFile = segmentFile;
+            this.indexFile = indexFile;
+            this.buffer = buffer;
+            this.size = buffer.capacity();
+            this.writePosition = writePosition;
+            this.lastEpochTime = lastEpochTime;
+        }
+
+        private static Segment create(long base, File segmentFile, File indexFile, int size) throws IOException {
+            try (FileChannel segmentChannel = FileChannel.open(segmentFile.toPath(), CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+                Files.write(indexFile.toPath(), new byte[0]);
+                // the mapping remains valid after the channel is closed
+                return new Segment(base, segmentFile, indexFile, segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, size), 0, EpochService.currentTimeMillis());
+            }
+        }
+
+        /**
+         * Opens an existing segment, or deletes it and returns null if it has no complete records
+         */
+        private static Segment open(long base, File segmentFile, File indexFile) throws IOException {
+            byte[] index = indexFile.exists() ? Files.readAllBytes(indexFile.toPath()) : new byte[0];
+            try (FileChannel segmentChannel = FileChannel.open(segmentFile.toPath(), READ, WRITE)) {
+                long segmentLength = segmentChannel.size();
+                ByteBuffer indexEntries = ByteBuffer.wrap(index);
+                int writePosition = 0;
+                long lastEpochTime = 0;
+                int completeIndexLength = 0;
+                while (indexEntries.remaining() >= INDEX_ENTRY_LENGTH) {
+                    long position = indexEntries.getLong();
+                    int length = indexEntries.getInt();
+                    long epochTime = indexEntries.getLong();
+                    if (position - base + length > segmentLength) {
+                        break;
+                    }
+                    writePosition = (int) (position - base + length);
+                    lastEpochTime = epochTime;
+                    completeIndexLength += INDEX_ENTRY_LENGTH;
+                }
+                if (completeIndexLength == 0 || segmentLength > Integer.MAX_VALUE) {
+                    segmentChannel.close();
+                    Files.deleteIfExists(segmentFile.toPath());
+                    Files.deleteIfExists(indexFile.toPath());
+                    return null;
+                }
+                if (completeIndexLength < index.length) {
+                    try (FileChannel indexChannel = FileChannel.open(indexFile.toPath(), WRITE)) {
+                        indexChannel.truncate(completeIndexLength);
+                    }
+                }
+                return new Segment(base, segmentFile, indexFile, segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentLength), writePosition, lastEpochTime);
+            }
+        }
+
+        private void openIndex() throws IOException {
+            indexChannel = FileChannel.open(indexFile.toPath(), WRITE, APPEND);
+            indexWrittenTime = System.nanoTime();
+        }
+
+        private void writeIndex(long position, int length, long epochTime) throws IOException {
+            indexEntries.putLong(position).putInt(length).putLong(epochTime);
+            writePosition += length;
+            lastEpochTime = epochTime;
+            if (!indexEntries.hasRemaining() || System.nanoTime() - indexWrittenTime >= INDEX_BATCH_INTERVAL_IN_NANOS) {
+                flushIndex();
+            }
+        }
+
+        private void flushIndex() throws IOException {
+            indexEntries.flip();
+            while (indexEntries.hasRemaining()) {
+                indexChannel.write(indexEntries);
+            }
+            indexEntries.clear();
+            indexWrittenTime = System.nanoTime();
+        }
+
+        private void closeIndex() throws IOException {
+            if (indexChannel != null) {
+                flushIndex();
+                indexChannel.close();
+                indexChannel = null;
+            }
+        }
+
+        /**
+         * Unmaps the segment file, the segment must not be read or written afterwards
+         */
+        private void unmap() {
+            MappedByteBuffers.unmap(buffer);
+        }
+
+        private void delete() {
+            try {
+                closeIndex();
+                unmap();
+                Files.deleteIfExists(segmentFile.toPath());
+                Files.deleteIfExists(indexFile.toPath());
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+}
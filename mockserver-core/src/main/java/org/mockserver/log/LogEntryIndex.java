@@ -0,0 +1,244 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.*;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Secondary indexes of the event log, by log message type, by path (within each log message type) and by expectation
+ * id, used to narrow the log entries that need to be matched when retrieving requests or verifying
+ * <p>
+ * paths are only indexed when they can only be matched by an equal (ignoring case) path, any log entry with a regex,
+ * notted, schema, non ascii or blank path (or without any requests) is a candidate for every path
+ * <p>
+ * log entries are compared by identity because LogEntry equality is expensive and formats deferred messages
+ */
+class LogEntryIndex {
+
+
+    private final Map<LogEntry, IndexedLogEntry> indexedLogEntries = new IdentityHashMap<>();
+    private final Map<LogEntry.LogMessageType, TypeIndex> typeIndexes = new EnumMap<>(LogEntry.LogMessageType.class);
+    private final TypeIndex untypedIndex = new TypeIndex();
+    private final Map<String, Set<LogEntry>> expectationIdIndex = new HashMap<>();
+    private long nextSequence;
+
+    void add(LogEntry logEntry) {
+        add(logEntry, logEntry.getHttpRequests());
+    }
+
+    /**
+     * Adds a log entry indexed by the requests provided, which are the requests of the log entry before it was compacted
+     */
+    void add(LogEntry logEntry, RequestDefinition[] httpRequests) {
+        addWithLiteralPaths(logEntry, literalPaths(httpRequests));
+    }
+
+    /**
+     * Adds a log entry indexed by the literal paths of its requests, as returned by {@link #literalPaths(RequestDefinition[])}
+     */
+    synchronized void addWithLiteralPaths(LogEntry logEntry, String[] literalPaths) {
+        if (!indexedLogEntries.containsKey(logEntry)) {
+            IndexedLogEntry indexedLogEntry = new IndexedLogEntry(logEntry, nextSequence++, logEntry.getType(), logEntry.getExpectationId(), literalPaths);
+            indexedLogEntries.put(logEntry, indexedLogEntry);
+            TypeIndex typeIndex = logEntry.getType() != null ? typeIndexes.computeIfAbsent(logEntry.getType(), type -> new TypeIndex()) : untypedIndex;
+            typeIndex.logEntries.add(logEntry);
+            if (indexedLogEntry.paths == null) {
+                typeIndex.anyPath.add(logEntry);
+            } else {
+                for (String path : indexedLogEntry.paths) {
+                    typeIndex.byPath.computeIfAbsent(path, key -> identitySet()).add(logEntry);
+                }
+            }
+            if (isNotBlank(indexedLogEntry.expectationId)) {
+                expectationIdIndex.computeIfAbsent(indexedLogEntry.expectationId, key -> identitySet()).add(logEntry);
+            }
+        }
+    }
+
+    synchronized void remove(LogEntry logEntry) {
+        IndexedLogEntry indexedLogEntry = indexedLogEntries.remove(logEntry);
+        if (indexedLogEntry != null) {
+            TypeIndex typeIndex = indexedLogEntry.type != null ? typeIndexes.get(indexedLogEntry.type) : untypedIndex;
+            typeIndex.logEntries.remove(logEntry);
+            if (indexedLogEntry.paths == null) {
+                typeIndex.anyPath.remove(logEntry);
+            } else {
+                for (String path : indexedLogEntry.paths) {
+                    removeFromIndex(typeIndex.byPath, path, logEntry);
+                }
+            }
+            if (isNotBlank(indexedLogEntry.expectationId)) {
+                removeFromIndex(expectationIdIndex, indexedLogEntry.expectationId, logEntry);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        indexedLogEntries.clear();
+        typeIndexes.clear();
+        untypedIndex.clear();
+        expectationIdIndex.clear();
+    }
+
+    synchronized int size() {
+        return indexedLogEntries.size();
+    }
+
+    /**
+     * Sequence of the last log entry added, log entries added after it have a greater sequence
+     */
+    synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Log entries, added up to and including the sequence, in the order they were added, of any of the log message types
+     * (or of every type if no log message types are specified) that could match the request definition
+     */
+    List<LogEntry> candidates(Set<LogEntry.LogMessageType> types, RequestDefinition requestDefinition, long maxSequence) {
+        String path = literalPath(requestDefinition);
+        List<IndexedLogEntry> candidates = new ArrayList<>();
+        synchronized (this) {
+            if (types == null && path == null) {
+                for (IndexedLogEntry indexedLogEntry : indexedLogEntries.values()) {
+                    addCandidate(indexedLogEntry, maxSequence, candidates);
+                }
+            } else {
+                List<LogEntry> logEntries = new ArrayList<>();
+                for (Map.Entry<LogEntry.LogMessageType, TypeIndex> typeIndexEntry : typeIndexes.entrySet()) {
+                    if (types == null || types.contains(typeIndexEntry.getKey())) {
+                        typeIndexEntry.getValue().addCandidates(path, logEntries);
+                    }
+                }
+                if (types == null) {
+                    untypedIndex.addCandidates(path, logEntries);
+                }
+                for (LogEntry logEntry : logEntries) {
+                    addCandidate(indexedLogEntries.get(logEntry), maxSequence, candidates);
+                }
+            }
+        }
+        return inSequence(candidates);
+    }
+
+    /**
+     * Log entries, added up to and including the sequence, in the order they were added, of any of the log message types
+     * for any of the expectation ids
+     */
+    List<LogEntry> candidates(Set<LogEntry.LogMessageType> types, List<String> expectationIds, long maxSequence) {
+        List<IndexedLogEntry> candidates = new ArrayList<>();
+        synchronized (this) {
+            for (String expectationId : new HashSet<>(expectationIds)) {
+                for (LogEntry logEntry : expectationIdIndex.getOrDefault(expectationId, Collections.emptySet())) {
+                    IndexedLogEntry indexedLogEntry = indexedLogEntries.get(logEntry);
+                    if (types == null || types.contains(indexedLogEntry.type)) {
+                        addCandidate(indexedLogEntry, maxSequence, candidates);
+                    }
+                }
+            }
+        }
+        return inSequence(candidates);
+    }
+
+    private static void addCandidate(IndexedLogEntry indexedLogEntry, long maxSequence, List<IndexedLogEntry> candidates) {
+        if (indexedLogEntry.sequence <= maxSequence) {
+            candidates.add(indexedLogEntry);
+        }
+    }
+
+    /**
+     * Sorted after the lock is released as the sequence is kept with each candidate
+     */
+    private static List<LogEntry> inSequence(List<IndexedLogEntry> indexedLogEntries) {
+        indexedLogEntries.sort(Comparator.comparingLong(indexedLogEntry -> indexedLogEntry.sequence));
+        List<LogEntry> logEntries = new ArrayList<>(indexedLogEntries.size());
+        for (IndexedLogEntry indexedLogEntry : indexedLogEntries) {
+            logEntries.add(indexedLogEntry.logEntry);
+        }
+        return logEntries;
+    }
+
+    private static void removeFromIndex(Map<String, Set<LogEntry>> index, String key, LogEntry logEntry) {
+        Set<LogEntry> logEntries = index.get(key);
+        if (logEntries != null) {
+            logEntries.remove(logEntry);
+            if (logEntries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Set<LogEntry> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Lower cased literal paths of the requests, or null if any request could match other paths
+     */
+    static String[] literalPaths(RequestDefinition[] requestDefinitions) {
+        if (requestDefinitions == null || requestDefinitions.length == 0) {
+            return null;
+        }
+        String[] paths = new String[requestDefinitions.length];
+        for (int i = 0; i < requestDefinitions.length; i++) {
+            paths[i] = literalPath(requestDefinitions[i]);
+            if (paths[i] == null) {
+                return null;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Lower cased path of the request if it can only match an equal (ignoring case) path, otherwise null
+     */
+    static String literalPath(RequestDefinition requestDefinition) {
+        if (!(requestDefinition instanceof HttpRequest) || requestDefinition.isNot()) {
+            return null;
+        }
+        NottableString path = ((HttpRequest) requestDefinition).getPath();
+        return path != null && path.isLiteral() ? path.getValue().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static class TypeIndex {
+        private final Set<LogEntry> logEntries = identitySet();
+        private final Set<LogEntry> anyPath = identitySet();
+        private final Map<String, Set<LogEntry>> byPath = new HashMap<>();
+
+        private void addCandidates(String path, List<LogEntry> candidates) {
+            if (path == null) {
+                candidates.addAll(logEntries);
+            } else {
+                candidates.addAll(anyPath);
+                candidates.addAll(byPath.getOrDefault(path, Collections.emptySet()));
+            }
+        }
+
+        private void clear() {
+            logEntries.clear();
+            anyPath.clear();
+            byPath.clear();
+        }
+    }
+
+    private static class IndexedLogEntry {
+        private final LogEntry logEntry;
+        private final long sequence;
+        private final LogEntry.LogMessageType type;
+        private final String expectationId;
+        private final String[] paths;
+
+        private IndexedLogEntry(LogEntry logEntry, long sequence, LogEntry.LogMessageType type, String expectationId, String[] paths) {
+            this.logEntry = logEntry;
+            this.sequence = sequence;
+            this.type = type;
+            this.expectationId = expectationId;
+            this.paths = paths;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.mockserver.log;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Unmaps memory mapped files without waiting for the buffer to be garbage collected, using the buffer's cleaner on
+ * Java 8 or sun.misc.Unsafe.invokeCleaner on Java 9 and later, if neither is accessible the buffer is left to be
+ * unmapped when it is garbage collected
+ * <p>
+ * an unmapped buffer must never be read or written again, doing so crashes the JVM
+ */
+final class MappedByteBuffers {
+
+    private static final Unmapper UNMAPPER = unmapper();
+
+    private interface Unmapper {
+        void unmap(ByteBuffer buffer) throws Exception;
+    }
+
+    private MappedByteBuffers() {
+
+    }
+
+    private static Unmapper unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                Object unsafe = theUnsafe.get(null);
+                return buffer -> invokeCleaner.invoke(unsafe, buffer);
+            } catch (NoSuchMethodException noSuchMethodException) {
+                // before Java 9
+                Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return buffer -> {
+                    Object bufferCleaner = cleaner.invoke(buffer);
+                    if (bufferCleaner != null) {
+                        clean.invoke(bufferCleaner);
+                    }
+                };
+            }
+        } catch (Throwable throwable) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the buffer was unmapped, false if it is left to be unmapped when it is garbage collected
+     */
+    static boolean unmap(MappedByteBuffer buffer) {
+        if (UNMAPPER != null && buffer != null) {
+            try {
+                UNMAPPER.unmap(buffer);
+                return true;
+            } catch (Throwable throwable) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -9,6 +9,7 @@ import org.mockserver.log.model.RequestAndExpectationId;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.listeners.MockServerEventLogNotifier;
 import org.mockserver.model.ExpectationId;
@@ -16,6 +17,7 @@ import org.mockserver.model.LogEventRequestAndResponse;
 import org.mockserver.model.RequestDefinition;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.RequestDefinitionSerializer;
+import org.mockserver.time.EpochService;
 import org.mockserver.uuid.UUIDService;
 import org.mockserver.verify.Verification;
 import org.mockserver.verify.VerificationSequence;
@@ -23,17 +25,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
+import java.io.File;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -42,6 +42,9 @@ import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.VERIFICATION_REQUESTS_MESSAGE_FORMAT;
 import static org.mockserver.log.model.LogEntryMessages.VERIFICATION_REQUEST_SEQUENCES_MESSAGE_FORMAT;
 import static org.mockserver.logging.MockServerLogger.writeToSystemOut;
+import static org.mockserver.metrics.Metrics.Latency.EVENT_LOG_PROCESSING_LAG_SECONDS;
+import static org.mockserver.metrics.Metrics.Name.EVENT_LOG_RING_BUFFER_BACKLOG_COUNT;
+import static org.mockserver.metrics.Metrics.Name.EVENT_LOG_RING_BUFFER_DROPPED_COUNT;
 import static org.mockserver.mock.HttpState.getPort;
 import static org.mockserver.model.HttpRequest.request;
 
@@ -71,6 +74,11 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     );
     private static final Predicate<LogEntry> recordedExpectationLogPredicate = input
         -> !input.isDeleted() && input.getType() == FORWARDED_REQUEST;
+    // log message types of the predicates above, used to narrow the log entries using the indexes
+    private static final Set<LogEntry.LogMessageType> requestLogTypes = EnumSet.of(RECEIVED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> expectationLogTypes = EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> requestResponseLogTypes = EnumSet.of(EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> recordedExpectationLogTypes = EnumSet.of(FORWARDED_REQUEST);
     private static final Function<LogEntry, RequestDefinition[]> logEntryToRequest = LogEntry::getHttpRequests;
     private static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
     private static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
@@ -78,14 +86,19 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .withHttpRequest(logEntry.getHttpRequest())
             .withHttpResponse(logEntry.getHttpResponse())
             .withTimestamp(logEntry.getTimestamp());
-    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
+    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor", "queryExecutor", "compactLogEntryStore"};
+    private static final int QUERY_THREAD_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
     private final Configuration configuration;
     private MockServerLogger mockServerLogger;
     private CircularConcurrentLinkedDeque<LogEntry> eventLog;
+    private final LogEntryIndex logEntryIndex = new LogEntryIndex();
+    private final CompactLogEntryStore compactLogEntryStore;
     private MatcherBuilder matcherBuilder;
     private RequestDefinitionSerializer requestDefinitionSerializer;
     private final boolean asynchronousEventProcessing;
+    private final Metrics metrics;
     private Disruptor<LogEntry> disruptor;
+    private final ThreadPoolExecutor queryExecutor;
 
     public MockServerEventLog(Configuration configuration, MockServerLogger mockServerLogger, Scheduler scheduler, boolean asynchronousEventProcessing) {
         super(scheduler);
@@ -94,14 +107,53 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(configuration, mockServerLogger);
         this.requestDefinitionSerializer = new RequestDefinitionSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
-        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), LogEntry::clear);
+        this.metrics = new Metrics(configuration);
+        // evicted log entries aren't cleared as they may still be referenced by the snapshot of a running query
+        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), logEntryIndex::remove);
+        this.compactLogEntryStore = compactLogEntryStore(configuration);
+        this.queryExecutor = new ThreadPoolExecutor(QUERY_THREAD_COUNT, QUERY_THREAD_COUNT, 60, SECONDS, new LinkedBlockingQueue<>(), new Scheduler.SchedulerThreadFactory("EventLogQuery"));
+        this.queryExecutor.allowCoreThreadTimeOut(true);
         startRingBuffer();
     }
 
+    /**
+     * Persisted log entries are read back from the persisted log entries directory, and are limited by the retention
+     * of the persisted log entries instead of the maximum number of log entries
+     */
+    private CompactLogEntryStore compactLogEntryStore(Configuration configuration) {
+        if (configuration.persistLogEntries()) {
+            try {
+                FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(
+                    new File(configuration.persistedLogEntriesDirectory()),
+                    configuration.persistedLogEntriesMaxBytes(),
+                    SECONDS.toMillis(configuration.persistedLogEntriesMaxAgeInSeconds()),
+                    this::evictCompactedBefore
+                );
+                eventLog.setMaxSize(Integer.MAX_VALUE);
+                fileLogEntryStore.reopen((logEntry, literalPaths) -> {
+                    if (eventLog.add(logEntry)) {
+                        logEntryIndex.addWithLiteralPaths(logEntry, literalPaths);
+                    }
+                });
+                return fileLogEntryStore;
+            } catch (Throwable throwable) {
+                eventLog.clear();
+                eventLog.setMaxSize(configuration.maxLogEntries());
+                writeToSystemOut(logger, new LogEntry()
+                    .setLogLevel(Level.WARN)
+                    .setMessageFormat("exception opening persisted log entries directory " + configuration.persistedLogEntriesDirectory() + ", log entries will not be persisted")
+                    .setThrowable(throwable)
+                );
+            }
+        }
+        return configuration.compactLogEntriesMaxBytes() > 0 ? new OffHeapLogEntryStore(configuration.compactLogEntriesMaxBytes(), this::evictCompactedBefore) : null;
+    }
+
     public void add(LogEntry logEntry) {
         logEntry.setPort(getPort());
         if (asynchronousEventProcessing) {
             if (!disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
+                metrics.increment(EVENT_LOG_RING_BUFFER_DROPPED_COUNT);
                 // if ring buffer full only write WARN and ERROR to logger
                 if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
                     logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
@@ -116,6 +168,13 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         return eventLog.size();
     }
 
+    /**
+     * The compact log entry store, or null if log entries aren't compacted
+     */
+    public CompactLogEntryStore getCompactLogEntryStore() {
+        return compactLogEntryStore;
+    }
+
     private void startRingBuffer() {
         disruptor = new Disruptor<>(LogEntry::new, configuration.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
 
@@ -139,11 +198,16 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
         disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
             if (logEntry.getType() != RUNNABLE) {
+                // log entries are timestamped, in milliseconds, when created which is just before they are added to the ring buffer
+                metrics.observeSeconds(EVENT_LOG_PROCESSING_LAG_SECONDS, (EpochService.currentTimeMillis() - logEntry.getEpochTime()) / 1000.0);
                 processLogEntry(logEntry);
             } else {
                 logEntry.getConsumer().run();
                 logEntry.clear();
             }
+            if (endOfBatch) {
+                metrics.set(EVENT_LOG_RING_BUFFER_BACKLOG_COUNT, disruptor.getRingBuffer().getBufferSize() - disruptor.getRingBuffer().remainingCapacity());
+            }
         });
 
         disruptor.start();
@@ -151,24 +215,55 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
     private void processLogEntry(LogEntry logEntry) {
         logEntry = logEntry.cloneAndClear();
-        eventLog.add(logEntry);
-        notifyListeners(this, false);
         writeToSystemOut(logger, logEntry);
+        if (compactLogEntryStore != null) {
+            // requests are indexed before they are compacted so they aren't read back from the store
+            RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+            if (logEntry.compact(compactLogEntryStore) && eventLog.add(logEntry)) {
+                logEntryIndex.add(logEntry, httpRequests);
+            }
+        } else if (eventLog.add(logEntry)) {
+            logEntryIndex.add(logEntry);
+        }
+        notifyListeners(this, false);
+    }
+
+    /**
+     * Evicts the oldest log entries, which were compacted in order, until the first log entry that isn't overwritten
+     */
+    private void evictCompactedBefore(long position) {
+        LogEntry oldest;
+        while ((oldest = eventLog.peek()) != null && oldest.getCompactedRecord() != null && oldest.getCompactedRecord().isBefore(position)) {
+            eventLog.removeItem(oldest);
+        }
     }
 
     public void stop() {
+        boolean ringBufferStopped = false;
         try {
             notifyListeners(this, true);
             eventLog.clear();
+            queryExecutor.shutdown();
             disruptor.shutdown(2, SECONDS);
+            ringBufferStopped = true;
+        } catch (com.lmax.disruptor.TimeoutException timeoutException) {
+            disruptor.halt();
         } catch (Throwable throwable) {
-            if (!(throwable instanceof com.lmax.disruptor.TimeoutException)) {
-                if (MockServerLogger.isEnabled(Level.WARN)) {
-                    writeToSystemOut(logger, new LogEntry()
-                        .setLogLevel(Level.WARN)
-                        .setMessageFormat("exception while shutting down log ring buffer")
-                        .setThrowable(throwable)
-                    );
+            if (MockServerLogger.isEnabled(Level.WARN)) {
+                writeToSystemOut(logger, new LogEntry()
+                    .setLogLevel(Level.WARN)
+                    .setMessageFormat("exception while shutting down log ring buffer")
+                    .setThrowable(throwable)
+                );
+            }
+        } finally {
+            if (compactLogEntryStore != null) {
+                if (ringBufferStopped) {
+                    // closed after the ring buffer so all log entries are written first
+                    compactLogEntryStore.close();
+                } else {
+                    // the ring buffer may still be writing a log entry
+                    compactLogEntryStore.abandon();
                 }
             }
         }
@@ -180,6 +275,9 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .setType(RUNNABLE)
             .setConsumer(() -> {
                 eventLog.clear();
+                if (compactLogEntryStore != null) {
+                    compactLogEntryStore.clear();
+                }
                 future.complete("done");
                 notifyListeners(this, false);
             })
@@ -244,6 +342,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             notDeletedPredicate,
+            null,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -252,6 +351,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             allPredicate,
+            null,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -260,6 +360,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             requestLogPredicate,
+            requestLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -269,6 +370,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             retrieveLogEntries(
                 Collections.singletonList(verification.getExpectationId().getId()),
                 expectationLogPredicate,
+                expectationLogTypes,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
                     logEventStream
@@ -281,6 +383,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             retrieveLogEntries(
                 verification.getHttpRequest().withLogCorrelationId(logCorrelationId),
                 requestLogPredicate,
+                requestLogTypes,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
                     logEventStream
@@ -297,6 +400,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             retrieveLogEntries(
                 (List<String>) null,
                 expectationLogPredicate,
+                expectationLogTypes,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
                     logEventStream
@@ -309,6 +413,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             retrieveLogEntries(
                 (RequestDefinition) null,
                 requestLogPredicate,
+                requestLogTypes,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
                     logEventStream
@@ -324,6 +429,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             expectationIds,
             expectationLogPredicate,
+            expectationLogTypes,
             logEntry -> new RequestAndExpectationId(logEntry.getHttpRequest(), logEntry.getExpectationId()),
             logEventStream -> listConsumer.accept(
                 logEventStream
@@ -337,6 +443,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             requestLogPredicate,
+            requestLogTypes,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
                 logEventStream
@@ -351,6 +458,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             expectationId != null ? Collections.singletonList(expectationId.getId()) : Collections.emptyList(),
             expectationLogPredicate,
+            expectationLogTypes,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
                 logEventStream
@@ -365,6 +473,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             expectationIds,
             expectationLogPredicate,
+            expectationLogTypes,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
                 logEventStream
@@ -379,6 +488,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             requestResponseLogPredicate,
+            requestResponseLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -387,6 +497,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             requestResponseLogPredicate,
+            requestResponseLogTypes,
             logEntryToHttpRequestAndHttpResponse,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -396,6 +507,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             recordedExpectationLogPredicate,
+            recordedExpectationLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -404,67 +516,96 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         retrieveLogEntries(
             requestDefinition,
             recordedExpectationLogPredicate,
+            recordedExpectationLogTypes,
             logEntryToExpectation,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
-    private void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
+    private void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logMessageTypes, Consumer<Stream<LogEntry>> consumer) {
+        query(
+            maxSequence -> logEntryIndex.candidates(logMessageTypes, requestDefinition, maxSequence),
+            logEntries -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(this.eventLog
+                consumer.accept(logEntries
                     .stream()
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                 );
-            })
+            }
         );
     }
 
-    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
+    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logMessageTypes, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        query(
+            maxSequence -> logEntryIndex.candidates(logMessageTypes, requestDefinition, maxSequence),
+            logEntries -> {
                 RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
-                consumer.accept(this.eventLog
+                consumer.accept(logEntries
                     .stream()
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                     .map(logEntryMapper)
                 );
-            })
+            }
         );
     }
 
     @SuppressWarnings("SameParameterValue")
-    private <T> void retrieveLogEntries(List<String> expectationIds, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> consumer.accept(this.eventLog
+    private <T> void retrieveLogEntries(List<String> expectationIds, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logMessageTypes, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        query(
+            maxSequence -> expectationIds != null ? logEntryIndex.candidates(logMessageTypes, expectationIds, maxSequence) : logEntryIndex.candidates(logMessageTypes, (RequestDefinition) null, maxSequence),
+            logEntries -> consumer.accept(logEntries
                 .stream()
                 .filter(logEntryPredicate)
                 .filter(logItem -> expectationIds == null || logItem.matchesAnyExpectationId(expectationIds))
                 .map(logEntryMapper)
-            ))
+            )
         );
     }
 
-    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+    /**
+     * Queries are published to the ring buffer so they include every log entry added before them, however only the
+     * sequence of the last log entry added is read on the ring buffer thread, the candidate log entries up to that
+     * sequence are collected from the indexes, and the query run, on the query executor so slow queries (i.e.
+     * verifications or dashboard refreshes) run in parallel and don't delay processing other log entries
+     */
+    private void query(LongFunction<List<LogEntry>> candidates, Consumer<List<LogEntry>> query) {
         disruptor.publishEvent(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
+                long maxSequence = logEntryIndex.lastSequence();
+                Runnable runnable = () -> {
+                    try {
+                        query.accept(candidates.apply(maxSequence));
+                    } catch (Throwable throwable) {
+                        logger.error("exception querying log entries", throwable);
+                    }
+                };
+                try {
+                    queryExecutor.execute(runnable);
+                } catch (RejectedExecutionException ree) {
+                    // query executor has been stopped
+                    runnable.run();
+                }
+            })
+        );
+    }
+
+    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        query(
+            maxSequence -> logEntryIndex.candidates(null, (RequestDefinition) null, maxSequence),
+            logEntries -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(
-                    StreamSupport
-                        .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
-                        .filter(logItem -> logItem.matches(httpRequestMatcher))
-                        .filter(logEntryPredicate)
-                        .map(logEntryMapper)
+                Collections.reverse(logEntries);
+                consumer.accept(logEntries
+                    .stream()
+                    .filter(logItem -> logItem.matches(httpRequestMatcher))
+                    .filter(logEntryPredicate)
+                    .map(logEntryMapper)
                 );
-            })
+            }
         );
     }
 
@@ -0,0 +1,123 @@
+package org.mockserver.log;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Compact log entry store in a circular buffer of off-heap (direct) memory segments, once the buffer is full appending a
+ * record overwrites the oldest records
+ * <p>
+ * the physical location of a position is the position modulo the maximum size
+ */
+public class OffHeapLogEntryStore extends CompactLogEntryStore {
+
+    static final int MAX_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private final long maxBytes;
+    private final int segmentSize;
+    private final ByteBuffer[] segments;
+    // stops records being overwritten while they are read
+    private final StampedLock lock = new StampedLock();
+    private volatile long head;
+    private volatile long tail;
+    private volatile long allocatedBytes;
+
+    /**
+     * @param maxBytes       maximum number of bytes of off-heap memory, segments are only allocated when first written
+     * @param beforeEviction called with the position before which all records are about to be overwritten
+     */
+    public OffHeapLogEntryStore(long maxBytes, LongConsumer beforeEviction) {
+        this(maxBytes, MAX_SEGMENT_SIZE, beforeEviction);
+    }
+
+    OffHeapLogEntryStore(long maxBytes, int segmentSize, LongConsumer beforeEviction) {
+        super(beforeEviction);
+        this.maxBytes = maxBytes;
+        this.segmentSize = (int) Math.min(segmentSize, maxBytes);
+        this.segments = new ByteBuffer[(int) ((maxBytes + this.segmentSize - 1) / this.segmentSize)];
+    }
+
+    @Override
+    protected long append(byte[] bytes, long epochTime) {
+        long start = head;
+        if (start + bytes.length - tail > maxBytes) {
+            long overwrittenBefore = start + bytes.length - maxBytes;
+            beforeEviction.accept(overwrittenBefore);
+            long stamp = lock.writeLock();
+            try {
+                tail = overwrittenBefore;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        int written = 0;
+        while (written < bytes.length) {
+            long physicalPosition = (start + written) % maxBytes;
+            int segmentIndex = (int) (physicalPosition / segmentSize);
+            if (segments[segmentIndex] == null) {
+                int size = (int) Math.min(segmentSize, maxBytes - (long) segmentIndex * segmentSize);
+                segments[segmentIndex] = ByteBuffer.allocateDirect(size);
+                allocatedBytes += size;
+            }
+            // a duplicate is written so the position of the shared segment never changes while it is read
+            ByteBuffer segment = segments[segmentIndex].duplicate();
+            segment.position((int) (physicalPosition % segmentSize));
+            int length = Math.min(bytes.length - written, segment.remaining());
+            segment.put(bytes, written, length);
+            written += length;
+        }
+        head = start + bytes.length;
+        return start;
+    }
+
+    @Override
+    protected byte[] read(long start, int length) {
+        long stamp = lock.readLock();
+        try {
+            if (start < tail) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                long physicalPosition = (start + read) % maxBytes;
+                ByteBuffer segment = segments[(int) (physicalPosition / segmentSize)].duplicate();
+                segment.position((int) (physicalPosition % segmentSize));
+                int segmentLength = Math.min(length - read, segment.remaining());
+                segment.get(bytes, read, segmentLength);
+                read += segmentLength;
+            }
+            return bytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Overwrites all records without releasing any off-heap memory
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            tail = head;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long usedBytes() {
+        return head - tail;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public long maxBytes() {
+        return maxBytes;
+    }
+}
@@ -3,6 +3,7 @@ package org.mockserver.log.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lmax.disruptor.EventTranslator;
+import org.mockserver.log.CompactLogEntryStore;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.TimeToLive;
@@ -20,6 +21,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -48,6 +50,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private RequestDefinition[] httpUpdatedRequests;
     private HttpResponse httpResponse;
     private HttpResponse httpUpdatedResponse;
+    private CompactLogEntryStore.Record compactedRecord;
     private HttpError httpError;
     private Expectation expectation;
     private String expectationId;
@@ -59,6 +62,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private String message;
     private Object[] arguments;
     private String because;
+    private volatile Consumer<LogEntry> deferredMessage;
 
     public LogEntry() {
 
@@ -88,6 +92,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         type = null;
         httpRequests = null;
         httpResponse = null;
+        compactedRecord = null;
         httpError = null;
         expectation = null;
         expectationId = null;
@@ -98,6 +103,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         message = null;
         arguments = null;
         because = null;
+        deferredMessage = null;
     }
 
     public Level getLogLevel() {
@@ -167,6 +173,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     @JsonIgnore
     public RequestDefinition[] getHttpRequests() {
+        RequestDefinition[] httpRequests = httpRequests();
         if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
         } else {
@@ -174,27 +181,44 @@ public class LogEntry implements EventTranslator<LogEntry> {
         }
     }
 
+    private RequestDefinition[] httpRequests() {
+        CompactLogEntryStore.Record compactedRecord = this.compactedRecord;
+        return compactedRecord != null ? compactedRecord.httpRequests() : httpRequests;
+    }
+
     @JsonIgnore
     public RequestDefinition[] getHttpUpdatedRequests() {
-        if (httpRequests == null) {
+        if (compactedRecord != null) {
+            // not cached so compacted requests aren't held on the heap
+            return updateBodies(getHttpRequests());
+        } else if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
         } else if (httpUpdatedRequests == null) {
-            httpUpdatedRequests = Arrays
-                .stream(httpRequests)
-                .map(this::updateBody)
-                .toArray(RequestDefinition[]::new);
+            httpUpdatedRequests = updateBodies(httpRequests);
             return httpUpdatedRequests;
         } else {
             return httpUpdatedRequests;
         }
     }
 
+    private RequestDefinition[] updateBodies(RequestDefinition[] httpRequests) {
+        return Arrays
+            .stream(httpRequests)
+            .map(this::updateBody)
+            .toArray(RequestDefinition[]::new);
+    }
+
     @JsonIgnore
     public boolean matches(HttpRequestMatcher matcher) {
         if (matcher == null) {
             return true;
         }
-        if (httpRequests == null || httpRequests.length == 0) {
+        CompactLogEntryStore.Record compactedRecord = this.compactedRecord;
+        RequestDefinition[] httpRequests = compactedRecord != null ? compactedRecord.httpRequests() : this.httpRequests;
+        if (httpRequests == null && compactedRecord != null && compactedRecord.hasHttpRequests()) {
+            // the compacted requests have been evicted, until this log entry is removed it matches nothing
+            return false;
+        } else if (httpRequests == null || httpRequests.length == 0) {
             return true;
         }
         for (RequestDefinition httpRequest : httpRequests) {
@@ -212,6 +236,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public RequestDefinition getHttpRequest() {
+        RequestDefinition[] httpRequests = httpRequests();
         if (httpRequests != null && httpRequests.length > 0) {
             return httpRequests[0];
         } else {
@@ -232,11 +257,15 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public HttpResponse getHttpResponse() {
-        return httpResponse;
+        CompactLogEntryStore.Record compactedRecord = this.compactedRecord;
+        return compactedRecord != null ? compactedRecord.httpResponse() : httpResponse;
     }
 
     public HttpResponse getHttpUpdatedResponse() {
-        if (httpResponse == null) {
+        if (compactedRecord != null) {
+            // not cached so compacted responses aren't held on the heap
+            return updateBody(getHttpResponse());
+        } else if (httpResponse == null) {
             return null;
         } else if (httpUpdatedResponse == null) {
             httpUpdatedResponse = updateBody(httpResponse);
@@ -261,7 +290,8 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public Expectation getExpectation() {
-        return expectation;
+        CompactLogEntryStore.Record compactedRecord = this.compactedRecord;
+        return expectation == null && compactedRecord != null ? compactedRecord.expectation() : expectation;
     }
 
     public LogEntry setExpectation(Expectation expectation) {
@@ -321,6 +351,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public String getMessageFormat() {
+        formatDeferredMessage();
         return messageFormat;
     }
 
@@ -335,7 +366,9 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     @JsonIgnore
     public String getMessage() {
+        formatDeferredMessage();
         if (message == null) {
+            Object[] arguments = arguments();
             if (arguments != null) {
                 message = formatLogMessage(messageFormat, arguments);
             } else {
@@ -346,12 +379,24 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public Object[] getArguments() {
-        return arguments;
+        formatDeferredMessage();
+        return arguments();
+    }
+
+    private Object[] arguments() {
+        CompactLogEntryStore.Record compactedRecord = this.compactedRecord;
+        // arguments set by a deferred message after this log entry was compacted aren't in the compacted record
+        return compactedRecord != null && arguments == null ? updateArgumentBodies(compactedRecord.arguments()) : arguments;
     }
 
     public LogEntry setArguments(Object... arguments) {
+        this.arguments = updateArgumentBodies(arguments);
+        return this;
+    }
+
+    private Object[] updateArgumentBodies(Object[] arguments) {
         if (arguments != null) {
-            this.arguments = Arrays
+            return Arrays
                 .stream(arguments)
                 .map(argument -> {
                     if (argument instanceof HttpRequest) {
@@ -366,12 +411,12 @@ public class LogEntry implements EventTranslator<LogEntry> {
                 })
                 .toArray(Object[]::new);
         } else {
-            this.arguments = null;
+            return null;
         }
-        return this;
     }
 
     public String getBecause() {
+        formatDeferredMessage();
         return because;
     }
 
@@ -380,6 +425,67 @@ public class LogEntry implements EventTranslator<LogEntry> {
         return this;
     }
 
+    /**
+     * Sets a callback that populates the message format, arguments and because the first time any of them
+     * are read, so log entries that are never read don't pay the cost of formatting them.
+     */
+    public LogEntry setDeferredMessage(Consumer<LogEntry> deferredMessage) {
+        this.deferredMessage = deferredMessage;
+        return this;
+    }
+
+    private void formatDeferredMessage() {
+        if (deferredMessage != null) {
+            synchronized (this) {
+                Consumer<LogEntry> deferredMessage = this.deferredMessage;
+                if (deferredMessage != null) {
+                    deferredMessage.accept(this);
+                    this.deferredMessage = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the requests, response, recorded expectation and any request or response arguments into the compact log
+     * entry store, they are read back from the store every time they are read, returns false (leaving this log entry
+     * unchanged) if they are larger than the store
+     * <p>
+     * only the expectations of forwarded requests are moved as other expectations are shared with the active
+     * expectations, any deferred message stays deferred as it reads the requests back from this log entry
+     */
+    public boolean compact(CompactLogEntryStore compactLogEntryStore) {
+        Expectation recordedExpectation = type == LogMessageType.FORWARDED_REQUEST ? expectation : null;
+        CompactLogEntryStore.Record compactedRecord = compactLogEntryStore.write(this, httpRequests, httpResponse, recordedExpectation, arguments);
+        if (compactedRecord != null) {
+            this.compactedRecord = compactedRecord;
+            httpRequests = null;
+            httpUpdatedRequests = null;
+            httpResponse = null;
+            httpUpdatedResponse = null;
+            if (recordedExpectation != null) {
+                expectation = null;
+            }
+            arguments = null;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @JsonIgnore
+    public CompactLogEntryStore.Record getCompactedRecord() {
+        return compactedRecord;
+    }
+
+    /**
+     * Sets the record of a log entry read back from a persistent compact log entry store
+     */
+    public LogEntry setCompactedRecord(CompactLogEntryStore.Record compactedRecord) {
+        this.compactedRecord = compactedRecord;
+        return this;
+    }
+
     private RequestDefinition updateBody(RequestDefinition requestDefinition) {
         if (requestDefinition instanceof HttpRequest) {
             HttpRequest httpRequest = (HttpRequest) requestDefinition;
@@ -470,9 +576,10 @@ public class LogEntry implements EventTranslator<LogEntry> {
             .setHttpError(getHttpError())
             .setExpectation(getExpectation())
             .setExpectationId(getExpectationId())
-            .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
-            .setBecause(getBecause())
+            .setMessageFormat(messageFormat)
+            .setArguments(arguments())
+            .setBecause(because)
+            .setDeferredMessage(deferredMessage)
             .setThrowable(getThrowable())
             .setConsumer(getConsumer())
             .setDeleted(isDeleted());
@@ -493,9 +600,10 @@ public class LogEntry implements EventTranslator<LogEntry> {
             .setHttpError(getHttpError())
             .setExpectation(getExpectation())
             .setExpectationId(getExpectationId())
-            .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
-            .setBecause(getBecause())
+            .setMessageFormat(messageFormat)
+            .setArguments(arguments())
+            .setBecause(because)
+            .setDeferredMessage(deferredMessage)
             .setThrowable(getThrowable())
             .setConsumer(getConsumer())
             .setDeleted(isDeleted());
@@ -514,27 +622,30 @@ public class LogEntry implements EventTranslator<LogEntry> {
             return false;
         }
         LogEntry logEntry = (LogEntry) o;
+        formatDeferredMessage();
+        logEntry.formatDeferredMessage();
         return epochTime == logEntry.epochTime &&
             deleted == logEntry.deleted &&
             type == logEntry.type &&
             logLevel == logEntry.logLevel &&
             alwaysLog == logEntry.alwaysLog &&
             Objects.equals(messageFormat, logEntry.messageFormat) &&
-            Objects.equals(httpResponse, logEntry.httpResponse) &&
+            Objects.equals(getHttpResponse(), logEntry.getHttpResponse()) &&
             Objects.equals(httpError, logEntry.httpError) &&
-            Objects.equals(expectation, logEntry.expectation) &&
+            Objects.equals(getExpectation(), logEntry.getExpectation()) &&
             Objects.equals(expectationId, logEntry.expectationId) &&
             Objects.equals(consumer, logEntry.consumer) &&
-            Arrays.equals(arguments, logEntry.arguments) &&
-            Arrays.equals(httpRequests, logEntry.httpRequests);
+            Arrays.equals(arguments(), logEntry.arguments()) &&
+            Arrays.equals(httpRequests(), logEntry.httpRequests());
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, httpResponse, httpError, expectation, expectationId, consumer);
-            result = 31 * result + Arrays.hashCode(arguments);
-            result = 31 * result + Arrays.hashCode(httpRequests);
+            formatDeferredMessage();
+            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, getHttpResponse(), httpError, getExpectation(), expectationId, consumer);
+            result = 31 * result + Arrays.hashCode(arguments());
+            result = 31 * result + Arrays.hashCode(httpRequests());
             hashCode = result;
         }
         return hashCode;
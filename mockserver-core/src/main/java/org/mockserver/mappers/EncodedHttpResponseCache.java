@@ -0,0 +1,61 @@
+package org.mockserver.mappers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.mockserver.model.Body;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Body of a static response action encoded once into a direct buffer and written, as a duplicate, for every response
+ * returned by the action instead of being encoded and copied for each response
+ * <p>
+ * the encoded body is only used for a response with the same body (instance) and content type header it was encoded
+ * with, so a modified response is encoded again, and is discarded with the action when the expectation is updated or
+ * removed, the buffer is unreleasable so writing a duplicate never frees it and the direct memory is freed once the
+ * cache is garbage collected
+ */
+public class EncodedHttpResponseCache {
+
+    private volatile EncodedBody encodedBody;
+
+    private static class EncodedBody {
+        private final Body<?> body;
+        private final String contentTypeHeader;
+        private final ByteBuf content;
+
+        private EncodedBody(Body<?> body, String contentTypeHeader, ByteBuf content) {
+            this.body = body;
+            this.contentTypeHeader = contentTypeHeader;
+            this.content = content;
+        }
+    }
+
+    /**
+     * @param body              the response body
+     * @param contentTypeHeader the response content type header used to determine the body's character set
+     * @param bodyEncoder       encodes the body, called if the body hasn't been encoded with this content type header
+     * @return a duplicate of the encoded body
+     */
+    public ByteBuf content(Body<?> body, String contentTypeHeader, BiFunction<Body<?>, String, byte[]> bodyEncoder) {
+        EncodedBody encodedBody = this.encodedBody;
+        if (encodedBody == null || encodedBody.body != body || !Objects.equals(encodedBody.contentTypeHeader, contentTypeHeader)) {
+            encodedBody = new EncodedBody(body, contentTypeHeader, directBuffer(bodyEncoder.apply(body, contentTypeHeader)));
+            this.encodedBody = encodedBody;
+        }
+        return encodedBody.content.retainedDuplicate();
+    }
+
+    private static ByteBuf directBuffer(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        // wraps a jdk direct buffer, which is freed when garbage collected, instead of allocating from netty
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(bytes.length);
+        byteBuffer.put(bytes);
+        byteBuffer.flip();
+        return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(byteBuffer));
+    }
+}
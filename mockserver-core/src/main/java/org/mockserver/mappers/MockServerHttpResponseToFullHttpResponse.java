@@ -88,7 +88,12 @@ public class MockServerHttpResponseToFullHttpResponse {
     }
 
     private ByteBuf getBody(HttpResponse httpResponse) {
-        return bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()));
+        EncodedHttpResponseCache encodedResponseCache = httpResponse.getEncodedResponseCache();
+        if (encodedResponseCache != null && httpResponse.getBody() != null) {
+            return encodedResponseCache.content(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()), bodyDecoderEncoder::bodyToBytes);
+        } else {
+            return bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()));
+        }
     }
 
     private void setHeaders(HttpResponse httpResponse, DefaultHttpResponse response, ByteBuf body) {
@@ -42,4 +42,24 @@ public class BinaryMatcher extends BodyMatcher<byte[]> {
     public String[] fieldsExcludedFromEqualsAndHashCode() {
         return excludedFields;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        BinaryMatcher that = (BinaryMatcher) o;
+        return Arrays.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(matcher);
+    }
 }
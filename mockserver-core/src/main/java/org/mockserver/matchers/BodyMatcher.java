@@ -5,4 +5,11 @@ package org.mockserver.matchers;
  */
 public abstract class BodyMatcher<MatchedType> extends NotMatcher<MatchedType> {
 
+    /**
+     * Matches reusing the body already parsed for the request being matched, parsedBody is null when the body hasn't been parsed
+     */
+    public boolean matches(MatchDifference context, MatchedType matched, ParsedBody parsedBody) {
+        return matches(context, matched);
+    }
+
 }
@@ -6,6 +6,8 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.KeyAndValue;
 import org.mockserver.model.KeysAndValues;
 
+import java.util.Objects;
+
 /**
  * @author jamesdbloom
  */
@@ -31,6 +33,13 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
     }
 
     public boolean matches(final MatchDifference context, KeysAndValues<? extends KeyAndValue, ? extends KeysAndValues> matched) {
+        return matches(context, matched, null);
+    }
+
+    /**
+     * @param matchedHashMap the matched values already converted into a map, or null to convert them
+     */
+    public boolean matches(final MatchDifference context, KeysAndValues<? extends KeyAndValue, ? extends KeysAndValues> matched, NottableStringHashMap matchedHashMap) {
         boolean result;
 
         if (matcher == null || matcher.isEmpty()) {
@@ -44,7 +53,10 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
             }
             result = allKeysNotted || allKeysOptional;
         } else {
-            result = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, matched.getEntries()).containsAll(mockServerLogger, context, matcher);
+            if (matchedHashMap == null) {
+                matchedHashMap = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, matched.getEntries());
+            }
+            result = matchedHashMap.containsAll(mockServerLogger, context, matcher);
         }
 
         if (!result && context != null) {
@@ -63,4 +75,25 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        HashMapMatcher that = (HashMapMatcher) o;
+        return Objects.equals(keysAndValues, that.keysAndValues) &&
+            controlPlaneMatcher == that.controlPlaneMatcher;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), keysAndValues, controlPlaneMatcher);
+    }
 }
@@ -0,0 +1,243 @@
+package org.mockserver.matchers;
+
+import org.mockserver.cache.RegexPatternCache;
+import org.mockserver.model.*;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Match plan compiled from an expectation's request, used on the data plane to reject requests that can't match the
+ * expectation without creating any match differences, "because" messages or intermediate collections; a request that
+ * isn't rejected is then matched by the {@link HttpRequestPropertiesMatcher} as usual, which extracts the path
+ * parameters and matches the remaining fields (i.e. body, cookies and parameters)
+ * <p>
+ * a plan must only reject a request the {@link HttpRequestPropertiesMatcher} wouldn't match, so only the method, path,
+ * header, keep alive and ssl values that are compared exactly as {@link RegexStringMatcher} and {@link BooleanMatcher}
+ * compare them are compiled, any notted, optional or schema value is left to the {@link HttpRequestPropertiesMatcher}
+ * <p>
+ * a plan is immutable so can be used concurrently
+ */
+final class HttpRequestMatchPlan {
+
+    private static final String[] NO_VALUES = new String[0];
+    private static final MatchDifference.Field[] FIELDS = MatchDifference.Field.values();
+    private static final int MATCHED_FIELDS_MASK = (1 << FIELDS.length) - 1;
+    private final int blankFields;
+    private final String method;
+    private final Pattern methodPattern;
+    private final String path;
+    private final Pattern pathPattern;
+    private final String[] lowerCaseHeaderNames;
+    private final String[][] headerValues;
+    private final Boolean keepAlive;
+    private final Boolean ssl;
+
+    private HttpRequestMatchPlan(int blankFields, String method, String path, String[] lowerCaseHeaderNames, String[][] headerValues, Boolean keepAlive, Boolean ssl) {
+        this.blankFields = blankFields;
+        this.method = method;
+        this.methodPattern = pattern(method);
+        this.path = path;
+        this.pathPattern = pattern(path);
+        this.lowerCaseHeaderNames = lowerCaseHeaderNames;
+        this.headerValues = headerValues;
+        this.keepAlive = keepAlive;
+        this.ssl = ssl;
+    }
+
+    /**
+     * @param httpRequest    the expectation's request
+     * @param normalisedPath the path with any path parameters replaced by the pattern they are matched with
+     * @return the plan or null if the request uses the 'not' operator
+     */
+    static HttpRequestMatchPlan compile(HttpRequest httpRequest, NottableString normalisedPath) {
+        if (httpRequest.isNot()) {
+            return null;
+        }
+        List<String> lowerCaseHeaderNames = new ArrayList<>();
+        List<String[]> headerValues = new ArrayList<>();
+        Headers headers = httpRequest.getHeaders();
+        if (headers != null && !headers.isEmpty()) {
+            for (Map.Entry<NottableString, Collection<NottableString>> entry : headers.getMultimap().asMap().entrySet()) {
+                NottableString name = entry.getKey();
+                if (literal(name) && !name.isOptional()) {
+                    List<String> values = new ArrayList<>();
+                    // with matching key style each value matched must match any expected value, which isn't compiled
+                    if (headers.getKeyMatchStyle() == KeyMatchStyle.SUB_SET) {
+                        for (NottableString value : entry.getValue()) {
+                            if (literal(value)) {
+                                values.add(value.getValue());
+                            }
+                        }
+                    }
+                    lowerCaseHeaderNames.add(name.getValue().toLowerCase(Locale.ROOT));
+                    headerValues.add(values.toArray(NO_VALUES));
+                }
+            }
+        }
+        int blankFields = 0;
+        if (blank(httpRequest.getMethod())) {
+            blankFields |= bit(MatchDifference.Field.METHOD);
+        }
+        if (blank(normalisedPath)) {
+            blankFields |= bit(MatchDifference.Field.PATH);
+        }
+        if (headers == null || headers.isEmpty()) {
+            blankFields |= bit(MatchDifference.Field.HEADERS);
+        }
+        if (httpRequest.isKeepAlive() == null) {
+            blankFields |= bit(MatchDifference.Field.KEEP_ALIVE);
+        }
+        if (httpRequest.isSecure() == null) {
+            blankFields |= bit(MatchDifference.Field.SSL_MATCHES);
+        }
+        return new HttpRequestMatchPlan(
+            blankFields,
+            plain(httpRequest.getMethod()) ? httpRequest.getMethod().getValue() : null,
+            plain(normalisedPath) ? normalisedPath.getValue() : null,
+            lowerCaseHeaderNames.toArray(NO_VALUES),
+            headerValues.toArray(new String[0][]),
+            httpRequest.isKeepAlive(),
+            httpRequest.isSecure()
+        );
+    }
+
+    /**
+     * A value compared as a case-insensitive string or, if it contains regex characters, as a regex
+     */
+    private static boolean plain(NottableString value) {
+        return value != null && !value.isNot() && !(value instanceof NottableSchemaString) && !isBlank(value.getValue());
+    }
+
+    private static boolean blank(NottableString value) {
+        return value == null || isBlank(value.getValue());
+    }
+
+    private static boolean literal(NottableString value) {
+        return value != null && value.isLiteral();
+    }
+
+    private static Pattern pattern(String value) {
+        if (value != null && !RegexPatternCache.isLiteral(value)) {
+            try {
+                return RegexPatternCache.compile(value);
+            } catch (PatternSyntaxException pse) {
+                // an invalid regex only matches an equal (ignoring case) string
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return false if the request can't match, true if the request must be matched by the {@link HttpRequestPropertiesMatcher}
+     */
+    boolean matches(HttpRequest request) {
+        return evaluate(request) == 0;
+    }
+
+    /**
+     * Compares the fields in declaration order, the result records which fields matched (i.e. were compared and matched
+     * or aren't specified by the expectation) and which field didn't match, so the "because" of a rejected request can
+     * be built from the result without matching the request again
+     *
+     * @return zero if the request must be matched by the {@link HttpRequestPropertiesMatcher}, otherwise the request
+     * can't match, see {@link #rejectedField(int)} and {@link #fieldMatched(int, MatchDifference.Field)}
+     */
+    int evaluate(HttpRequest request) {
+        int matchedFields = blankFields;
+        if (method != null) {
+            if (!matches(method, methodPattern, request.getMethod())) {
+                return rejected(matchedFields, MatchDifference.Field.METHOD);
+            }
+            matchedFields |= bit(MatchDifference.Field.METHOD);
+        }
+        if (path != null) {
+            if (!matches(path, pathPattern, request.getPath())) {
+                return rejected(matchedFields, MatchDifference.Field.PATH);
+            }
+            matchedFields |= bit(MatchDifference.Field.PATH);
+        }
+        if (lowerCaseHeaderNames.length > 0) {
+            if (!headersMatch(request)) {
+                return rejected(matchedFields, MatchDifference.Field.HEADERS);
+            }
+            matchedFields |= bit(MatchDifference.Field.HEADERS);
+        }
+        if (keepAlive != null) {
+            if (!keepAlive.equals(request.isKeepAlive())) {
+                return rejected(matchedFields, MatchDifference.Field.KEEP_ALIVE);
+            }
+            matchedFields |= bit(MatchDifference.Field.KEEP_ALIVE);
+        }
+        if (ssl != null && !ssl.equals(request.isSecure())) {
+            return rejected(matchedFields, MatchDifference.Field.SSL_MATCHES);
+        }
+        return 0;
+    }
+
+    private static int bit(MatchDifference.Field field) {
+        return 1 << field.ordinal();
+    }
+
+    private static int rejected(int matchedFields, MatchDifference.Field rejectedField) {
+        return (rejectedField.ordinal() + 1) << FIELDS.length | matchedFields;
+    }
+
+    /**
+     * @return the field that didn't match or null if the result of {@link #evaluate(HttpRequest)} didn't reject the request
+     */
+    static MatchDifference.Field rejectedField(int result) {
+        int rejectedField = result >>> FIELDS.length;
+        return rejectedField > 0 ? FIELDS[rejectedField - 1] : null;
+    }
+
+    static boolean fieldMatched(int result, MatchDifference.Field field) {
+        return (result & MATCHED_FIELDS_MASK & bit(field)) != 0;
+    }
+
+    private static boolean matches(String expected, Pattern pattern, NottableString actual) {
+        if (actual == null || actual.isNot() || actual instanceof NottableSchemaString || isBlank(actual.getValue())) {
+            return true;
+        }
+        String value = actual.getValue();
+        return value.equalsIgnoreCase(expected) || (pattern != null && pattern.matcher(value).matches());
+    }
+
+    private boolean headersMatch(HttpRequest request) {
+        Headers headers = request.getHeaders();
+        if (headers == null || headers.isEmpty()) {
+            return false;
+        }
+        ParsedHeadersAndCookies parsedHeadersAndCookies = request.getParsedHeadersAndCookies();
+        Map<String, List<NottableString>> headerValuesByLowerCaseName = parsedHeadersAndCookies != null ? parsedHeadersAndCookies.headerValuesByLowerCaseName(headers) : null;
+        if (headerValuesByLowerCaseName == null) {
+            return true;
+        }
+        for (int i = 0; i < lowerCaseHeaderNames.length; i++) {
+            List<NottableString> values = headerValuesByLowerCaseName.get(lowerCaseHeaderNames[i]);
+            if (values == null) {
+                return false;
+            }
+            for (String expectedValue : headerValues[i]) {
+                if (!containsValue(values, expectedValue)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsValue(List<NottableString> values, String expectedValue) {
+        for (int i = 0; i < values.size(); i++) {
+            NottableString value = values.get(i);
+            if (value.isNot() || value instanceof NottableSchemaString || expectedValue.equalsIgnoreCase(value.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
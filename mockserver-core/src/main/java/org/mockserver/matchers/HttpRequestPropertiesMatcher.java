@@ -11,15 +11,15 @@ import org.mockserver.codec.PathParametersDecoder;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
 import org.mockserver.model.*;
 import org.mockserver.serialization.ObjectMapperFactory;
 import org.mockserver.serialization.deserializers.body.StrictBodyDTODeserializer;
 import org.mockserver.serialization.model.BodyDTO;
 import org.slf4j.event.Level;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Consumer;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -34,11 +34,12 @@ import static org.mockserver.model.NottableString.string;
 @SuppressWarnings("rawtypes")
 public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
 
-    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "controlPlaneMatcher", "responseInProgress", "objectMapper"};
+    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "costOrderedFields", "matchPlan", "controlPlaneMatcher", "responseInProgress", "objectMapper"};
     private static final String COMMA = ",";
     private static final String REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "request 'not' operator is enabled";
     private static final String EXPECTATION_REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "expectation's request 'not' operator is enabled";
     private static final String EXPECTATION_REQUEST_MATCHER_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "expectation's request matcher 'not' operator is enabled";
+    private static final MatchDifference.Field[] DECLARED_FIELD_ORDER = {METHOD, PATH, BODY, HEADERS, COOKIES, PATH_PARAMETERS, QUERY_PARAMETERS, KEEP_ALIVE, SSL_MATCHES};
     private static final PathParametersDecoder pathParametersParser = new PathParametersDecoder();
     private static final ObjectWriter TO_STRING_OBJECT_WRITER = ObjectMapperFactory.createObjectMapper(true, false);
     private final ExpandedParameterDecoder expandedParameterDecoder;
@@ -57,6 +58,8 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     private ObjectMapper objectMapperWithStrictBodyDTODeserializer;
     private JsonSchemaBodyDecoder jsonSchemaBodyParser;
     private MatcherBuilder matcherBuilder;
+    private MatchDifference.Field[] costOrderedFields = DECLARED_FIELD_ORDER;
+    private HttpRequestMatchPlan matchPlan;
 
     public HttpRequestPropertiesMatcher(Configuration configuration, MockServerLogger mockServerLogger) {
         super(configuration, mockServerLogger);
@@ -79,6 +82,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
             this.hashCode = 0;
             this.httpRequest = httpRequest;
             this.httpRequests = Collections.singletonList(this.httpRequest);
+            this.matchPlan = null;
             if (httpRequest != null) {
                 withMethod(httpRequest.getMethod());
                 withPath(httpRequest);
@@ -89,6 +93,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                 withCookies(httpRequest.getCookies());
                 withKeepAlive(httpRequest.isKeepAlive());
                 withSsl(httpRequest.isSecure());
+                this.costOrderedFields = costOrderedFields(httpRequest);
                 this.jsonSchemaBodyParser = new JsonSchemaBodyDecoder(configuration, mockServerLogger, expectation, httpRequest);
             }
             return true;
@@ -107,7 +112,9 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     }
 
     private void withPath(HttpRequest httpRequest) {
-        this.pathMatcher = new RegexStringMatcher(mockServerLogger, pathParametersParser.normalisePathWithParametersForMatching(httpRequest), controlPlaneMatcher);
+        NottableString normalisedPath = pathParametersParser.normalisePathWithParametersForMatching(httpRequest);
+        this.pathMatcher = new RegexStringMatcher(mockServerLogger, normalisedPath, controlPlaneMatcher);
+        this.matchPlan = HttpRequestMatchPlan.compile(httpRequest, normalisedPath);
     }
 
     private void withPathParameters(Parameters parameters) {
@@ -198,8 +205,25 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     public boolean matches(final MatchDifference context, final RequestDefinition requestDefinition) {
         if (requestDefinition instanceof HttpRequest) {
             HttpRequest request = (HttpRequest) requestDefinition;
-            StringBuilder becauseBuilder = new StringBuilder();
-            boolean overallMatch = matches(context, request, becauseBuilder);
+            int matchPlanResult = matchPlanResult(context, request);
+            if (matchPlanResult != 0) {
+                if (MockServerLogger.isEnabled(Level.INFO)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(EXPECTATION_NOT_MATCHED)
+                            .setLogLevel(Level.INFO)
+                            .setCorrelationId(requestDefinition.getLogCorrelationId())
+                            .setHttpRequest(request)
+                            .setExpectation(this.expectation)
+                            .setDeferredMessage(matchPlanFailureMessage(matchPlanResult))
+                    );
+                }
+                return false;
+            }
+            boolean deferMatchFailureMessage = context == null && !controlPlaneMatcher && configuration.deferredMatchFailureLogging();
+            StringBuilder becauseBuilder = deferMatchFailureMessage ? null : new StringBuilder();
+            MatchDifferenceCount matchDifferenceCount = new MatchDifferenceCount(request);
+            boolean overallMatch = matches(context, request, matchDifferenceCount, becauseBuilder);
             if (!controlPlaneMatcher) {
                 if (overallMatch) {
                     if (MockServerLogger.isEnabled(Level.INFO)) {
@@ -214,7 +238,22 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                                 .setArguments(request, (this.expectation == null ? this : this.expectation.clone()))
                         );
                     }
+                } else if (deferMatchFailureMessage) {
+                    if (MockServerLogger.isEnabled(Level.INFO)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setType(EXPECTATION_NOT_MATCHED)
+                                .setLogLevel(Level.INFO)
+                                .setCorrelationId(requestDefinition.getLogCorrelationId())
+                                .setHttpRequest(request)
+                                .setExpectation(this.expectation)
+                                .setDeferredMessage(deferredMatchFailureMessage(request.isNot(), this.expectation, matchDifferenceCount))
+                        );
+                    }
                 } else {
+                    if (matchDifferenceCount.isRecordedOutOfDeclaredOrder()) {
+                        appendRecordedBecause(becauseBuilder, request.isNot(), matchDifferenceCount, this.httpRequest != null && this.httpRequest.isNot(), not);
+                    }
                     becauseBuilder.replace(0, 1, "");
                     String because = becauseBuilder.toString();
                     if (MockServerLogger.isEnabled(Level.INFO)) {
@@ -250,90 +289,189 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         }
     }
 
-    private boolean matches(MatchDifference context, HttpRequest request, StringBuilder becauseBuilder) {
+    /**
+     * On the data plane, when no match differences are needed, the compiled match plan rejects requests that can't
+     * match without evaluating each field, otherwise every request is matched field by field
+     *
+     * @return zero if the request must be matched field by field, otherwise the match plan's result for the rejected request
+     */
+    private int matchPlanResult(MatchDifference context, HttpRequest request) {
+        if (matchPlan != null && context == null && !controlPlaneMatcher && !not && !request.isNot() && request != this.httpRequest) {
+            return matchPlan.evaluate(request);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * The "because" of a request rejected by the match plan is built, when the log entry is read, from the fields the
+     * plan recorded as matched, in declaration order, up to the field that didn't match, so the request isn't matched
+     * again and nothing is copied when the request is rejected, only the expectation's remaining times are kept so the
+     * expectation is logged as it was when the request was rejected, the request is read from the log entry so it isn't
+     * held on the heap once the log entry is compacted
+     */
+    private Consumer<LogEntry> matchPlanFailureMessage(int matchPlanResult) {
+        Expectation expectation = this.expectation;
+        Times times = expectation != null ? expectation.getTimes() : null;
+        int remainingTimes = times != null ? times.getRemainingTimes() : 0;
+        return logEntry -> {
+            MatchDifference.Field rejectedField = HttpRequestMatchPlan.rejectedField(matchPlanResult);
+            StringBuilder becauseBuilder = new StringBuilder();
+            for (MatchDifference.Field field : DECLARED_FIELD_ORDER) {
+                if (field == rejectedField) {
+                    appendBecause(becauseBuilder, null, field, false, false, false, false);
+                    break;
+                } else if (HttpRequestMatchPlan.fieldMatched(matchPlanResult, field)) {
+                    appendBecause(becauseBuilder, null, field, true, false, false, false);
+                }
+            }
+            becauseBuilder.replace(0, 1, "");
+            String because = becauseBuilder.toString();
+            Expectation loggedExpectation = expectation;
+            if (times != null && !times.isUnlimited() && times.getRemainingTimes() != remainingTimes) {
+                loggedExpectation = expectation.clone(Times.exactly(remainingTimes));
+            }
+            logEntry
+                .setMessageFormat(expectation == null ? didNotMatchRequestBecause : didNotMatchExpectationBecause)
+                .setArguments(logEntry.getHttpRequest(), (expectation == null ? this : loggedExpectation), because)
+                .setBecause(because);
+        };
+    }
+
+    /**
+     * Only the result of each field is recorded when the match pass runs, the expectation and the reason
+     * are formatted when the log entry is read, using the same format as an eagerly built log entry, the request is read
+     * from the log entry so it isn't held on the heap once the log entry is compacted
+     */
+    private Consumer<LogEntry> deferredMatchFailureMessage(boolean requestNot, Expectation expectation, MatchDifferenceCount matchDifferenceCount) {
+        boolean expectationRequestNot = this.httpRequest != null && this.httpRequest.isNot();
+        boolean not = this.not;
+        String messageFormat = expectation == null ? didNotMatchRequestBecause : matchDifferenceCount.getRecordedFieldCount() > 0 ? didNotMatchExpectationBecause : didNotMatchExpectationWithoutBecause;
+        MatchDifferenceCount recordedFields = matchDifferenceCount.recordedFields();
+        return logEntry -> {
+            StringBuilder becauseBuilder = new StringBuilder();
+            appendRecordedBecause(becauseBuilder, requestNot, recordedFields, expectationRequestNot, not);
+            becauseBuilder.replace(0, 1, "");
+            String because = becauseBuilder.toString();
+            logEntry
+                .setMessageFormat(messageFormat)
+                .setArguments(logEntry.getHttpRequest(), (expectation == null ? this : expectation), because)
+                .setBecause(because);
+        };
+    }
+
+    private boolean matches(MatchDifference context, HttpRequest request, MatchDifferenceCount matchDifferenceCount, StringBuilder becauseBuilder) {
         if (isActive()) {
             if (request == this.httpRequest) {
                 return true;
             } else if (this.httpRequest == null) {
                 return true;
             } else {
-                MatchDifferenceCount matchDifferenceCount = new MatchDifferenceCount(request);
                 if (request != null) {
-                    boolean methodMatches = StringUtils.isBlank(request.getMethod().getValue()) || matches(METHOD, context, methodMatcher, request.getMethod());
-                    if (failFast(methodMatcher, context, matchDifferenceCount, becauseBuilder, methodMatches, METHOD)) {
-                        return false;
-                    }
-
-                    boolean pathMatches = StringUtils.isBlank(request.getPath().getValue()) || matches(PATH, context, pathMatcher, controlPlaneMatcher ? pathParametersParser.normalisePathWithParametersForMatching(request) : request.getPath());
                     Parameters pathParameters = null;
-                    try {
-                        pathParameters = pathParametersParser.extractPathParameters(httpRequest, request);
-                    } catch (IllegalArgumentException iae) {
-                        if (!httpRequest.getPath().isBlank()) {
-                            if (context != null) {
-                                context.currentField(PATH);
-                                context.addDifference(mockServerLogger, iae.getMessage());
-                            }
-                            pathMatches = false;
-                        }
+                    MatchDifference.Field[] fieldOrder = fieldOrder(context, request);
+                    if (fieldOrder != DECLARED_FIELD_ORDER) {
+                        // "because" is built from the recorded results once the outcome is known
+                        matchDifferenceCount.recordedOutOfDeclaredOrder();
+                        becauseBuilder = null;
                     }
-                    if (failFast(pathMatcher, context, matchDifferenceCount, becauseBuilder, pathMatches, PATH)) {
-                        return false;
-                    }
-
-                    boolean bodyMatches = bodyMatches(context, request);
-                    if (failFast(bodyMatcher, context, matchDifferenceCount, becauseBuilder, bodyMatches, BODY)) {
-                        return false;
-                    }
-
-                    boolean headersMatch = matches(HEADERS, context, headerMatcher, request.getHeaders());
-                    if (failFast(headerMatcher, context, matchDifferenceCount, becauseBuilder, headersMatch, HEADERS)) {
-                        return false;
-                    }
-
-                    boolean cookiesMatch = matches(COOKIES, context, cookieMatcher, request.getCookies());
-                    if (failFast(cookieMatcher, context, matchDifferenceCount, becauseBuilder, cookiesMatch, COOKIES)) {
-                        return false;
-                    }
-
-                    boolean pathParametersMatches = true;
-                    if (!httpRequest.getPath().isBlank()) {
-                        if (!controlPlaneMatcher) {
-                            expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), pathParameters);
-                        }
-                        MultiValueMapMatcher pathParameterMatcher = this.pathParameterMatcher;
-                        if (controlPlaneMatcher) {
-                            Parameters controlPlaneParameters;
-                            try {
-                                controlPlaneParameters = pathParametersParser.extractPathParameters(request, httpRequest);
-                            } catch (IllegalArgumentException iae) {
-                                controlPlaneParameters = new Parameters();
+                    for (MatchDifference.Field field : fieldOrder) {
+                        switch (field) {
+                            case METHOD: {
+                                boolean methodMatches = StringUtils.isBlank(request.getMethod().getValue()) || matches(METHOD, context, methodMatcher, request.getMethod());
+                                if (failFast(methodMatcher, context, matchDifferenceCount, becauseBuilder, methodMatches, METHOD)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case PATH: {
+                                boolean pathMatches = StringUtils.isBlank(request.getPath().getValue()) || matches(PATH, context, pathMatcher, controlPlaneMatcher ? pathParametersParser.normalisePathWithParametersForMatching(request) : request.getPath());
+                                try {
+                                    pathParameters = pathParametersParser.extractPathParameters(httpRequest, request);
+                                } catch (IllegalArgumentException iae) {
+                                    if (!httpRequest.getPath().isBlank()) {
+                                        if (context != null) {
+                                            context.currentField(PATH);
+                                            context.addDifference(mockServerLogger, iae.getMessage());
+                                        }
+                                        pathMatches = false;
+                                    }
+                                }
+                                if (failFast(pathMatcher, context, matchDifferenceCount, becauseBuilder, pathMatches, PATH)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case BODY: {
+                                boolean bodyMatches = bodyMatches(context, request);
+                                if (failFast(bodyMatcher, context, matchDifferenceCount, becauseBuilder, bodyMatches, BODY)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case HEADERS: {
+                                boolean headersMatch = headersMatch(context, request);
+                                if (failFast(headerMatcher, context, matchDifferenceCount, becauseBuilder, headersMatch, HEADERS)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case COOKIES: {
+                                boolean cookiesMatch = cookiesMatch(context, request);
+                                if (failFast(cookieMatcher, context, matchDifferenceCount, becauseBuilder, cookiesMatch, COOKIES)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case PATH_PARAMETERS: {
+                                boolean pathParametersMatches = true;
+                                if (!httpRequest.getPath().isBlank()) {
+                                    if (!controlPlaneMatcher) {
+                                        expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), pathParameters);
+                                    }
+                                    MultiValueMapMatcher pathParameterMatcher = this.pathParameterMatcher;
+                                    if (controlPlaneMatcher) {
+                                        Parameters controlPlaneParameters;
+                                        try {
+                                            controlPlaneParameters = pathParametersParser.extractPathParameters(request, httpRequest);
+                                        } catch (IllegalArgumentException iae) {
+                                            controlPlaneParameters = new Parameters();
+                                        }
+                                        pathParameterMatcher = new MultiValueMapMatcher(mockServerLogger, controlPlaneParameters, controlPlaneMatcher);
+
+                                    }
+                                    pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
+                                }
+                                if (failFast(this.pathParameterMatcher, context, matchDifferenceCount, becauseBuilder, pathParametersMatches, PATH_PARAMETERS)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case QUERY_PARAMETERS: {
+                                if (!controlPlaneMatcher) {
+                                    expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
+                                }
+                                boolean queryStringParametersMatches = matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
+                                if (failFast(queryStringParameterMatcher, context, matchDifferenceCount, becauseBuilder, queryStringParametersMatches, QUERY_PARAMETERS)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case KEEP_ALIVE: {
+                                boolean keepAliveMatches = matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
+                                if (failFast(keepAliveMatcher, context, matchDifferenceCount, becauseBuilder, keepAliveMatches, KEEP_ALIVE)) {
+                                    return false;
+                                }
+                                break;
+                            }
+                            case SSL_MATCHES: {
+                                boolean sslMatches = matches(SSL_MATCHES, context, sslMatcher, request.isSecure());
+                                if (failFast(sslMatcher, context, matchDifferenceCount, becauseBuilder, sslMatches, SSL_MATCHES)) {
+                                    return false;
+                                }
+                                break;
                             }
-                            pathParameterMatcher = new MultiValueMapMatcher(mockServerLogger, controlPlaneParameters, controlPlaneMatcher);
-
                         }
-                        pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
-                    }
-                    if (failFast(this.pathParameterMatcher, context, matchDifferenceCount, becauseBuilder, pathParametersMatches, PATH_PARAMETERS)) {
-                        return false;
-                    }
-
-                    if (!controlPlaneMatcher) {
-                        expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
-                    }
-                    boolean queryStringParametersMatches = matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
-                    if (failFast(queryStringParameterMatcher, context, matchDifferenceCount, becauseBuilder, queryStringParametersMatches, QUERY_PARAMETERS)) {
-                        return false;
-                    }
-
-                    boolean keepAliveMatches = matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
-                    if (failFast(keepAliveMatcher, context, matchDifferenceCount, becauseBuilder, keepAliveMatches, KEEP_ALIVE)) {
-                        return false;
-                    }
-
-                    boolean sslMatches = matches(SSL_MATCHES, context, sslMatcher, request.isSecure());
-                    if (failFast(sslMatcher, context, matchDifferenceCount, becauseBuilder, sslMatches, SSL_MATCHES)) {
-                        return false;
                     }
 
                     boolean combinedResultAreTrue = combinedResultAreTrue(matchDifferenceCount.getFailures() == 0, request.isNot(), this.httpRequest.isNot(), not);
@@ -350,32 +488,70 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return false;
     }
 
+    /**
+     * Fields are evaluated in declaration order, so MatchDifference and "because" reporting is stable, unless
+     * the matcher is failing fast on the data plane without any 'not' operators, in which case the result is
+     * independent of the order and the cheapest fields are evaluated first so the body is only parsed if all
+     * other fields match.
+     */
+    private MatchDifference.Field[] fieldOrder(MatchDifference context, HttpRequest request) {
+        if (context == null && !controlPlaneMatcher && !request.isNot() && !this.httpRequest.isNot() && !not && configuration.matchersFailFast()) {
+            return costOrderedFields;
+        } else {
+            return DECLARED_FIELD_ORDER;
+        }
+    }
+
+    static MatchDifference.Field[] costOrderedFields(HttpRequest httpRequest) {
+        Map<MatchDifference.Field, Integer> costs = new EnumMap<>(MatchDifference.Field.class);
+        costs.put(KEEP_ALIVE, 0);
+        costs.put(SSL_MATCHES, 0);
+        costs.put(METHOD, 1);
+        // path must be evaluated before path parameters as it extracts the path parameters
+        costs.put(PATH, 2);
+        costs.put(HEADERS, 3 + size(httpRequest.getHeaders()));
+        costs.put(COOKIES, 3 + (httpRequest.getCookies() != null ? httpRequest.getCookies().getEntries().size() : 0));
+        costs.put(QUERY_PARAMETERS, 3 + size(httpRequest.getQueryStringParameters()));
+        costs.put(PATH_PARAMETERS, 3 + size(httpRequest.getPathParameters()));
+        costs.put(BODY, bodyCost(httpRequest.getBody()));
+        MatchDifference.Field[] fields = DECLARED_FIELD_ORDER.clone();
+        // stable sort so fields with the same cost remain in declaration order
+        Arrays.sort(fields, Comparator.comparing(costs::get));
+        return fields;
+    }
+
+    private static int size(KeysToMultiValues<?, ?> keysToMultiValues) {
+        return keysToMultiValues != null ? keysToMultiValues.keySet().size() : 0;
+    }
+
+    private static int bodyCost(Body<?> body) {
+        if (body == null) {
+            return 0;
+        }
+        switch (body.getType()) {
+            case STRING:
+            case BINARY:
+                return 50;
+            case REGEX:
+            case PARAMETERS:
+                return 100;
+            case JSON:
+            case JSON_PATH:
+            case XML:
+            case XPATH:
+                return 500;
+            default:
+                return 1000;
+        }
+    }
+
     private boolean failFast(Matcher<?> matcher, MatchDifference context, MatchDifferenceCount matchDifferenceCount, StringBuilder becauseBuilder, boolean fieldMatches, MatchDifference.Field fieldName) {
         // update because builder
         if (!controlPlaneMatcher) {
-            becauseBuilder
-                .append(NEW_LINE)
-                .append(fieldName.getName()).append(fieldMatches ? MATCHED : DID_NOT_MATCH);
-            if (context != null && context.getDifferences(fieldName) != null && !context.getDifferences(fieldName).isEmpty()) {
-                becauseBuilder
-                    .append(COLON_NEW_LINES)
-                    .append(Joiner.on(NEW_LINE).join(context.getDifferences(fieldName)));
-            }
-        }
-        if (!fieldMatches) {
-            if (!controlPlaneMatcher) {
-                if (matchDifferenceCount.getHttpRequest().isNot()) {
-                    becauseBuilder
-                        .append(REQUEST_NOT_OPERATOR_IS_ENABLED);
-                }
-                if (this.httpRequest.isNot()) {
-                    becauseBuilder
-                        .append(EXPECTATION_REQUEST_NOT_OPERATOR_IS_ENABLED);
-                }
-                if (not) {
-                    becauseBuilder
-                        .append(EXPECTATION_REQUEST_MATCHER_NOT_OPERATOR_IS_ENABLED);
-                }
+            if (becauseBuilder != null) {
+                appendBecause(becauseBuilder, context, fieldName, fieldMatches, matchDifferenceCount.getHttpRequest().isNot(), this.httpRequest.isNot(), not);
+            } else {
+                matchDifferenceCount.recordField(fieldName, fieldMatches);
             }
         }
         // update match difference and potentially fail fast
@@ -388,6 +564,72 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return false;
     }
 
+    /**
+     * Appends the recorded field results, if fields were evaluated in cost order they are reported in declaration
+     * order and only up to the first (in declaration order) recorded field that didn't match
+     * <p>
+     * this is not always the "because" a declaration order evaluation would build, when failing fast a field declared
+     * before the reported field that is more expensive to match (i.e. the body) may not have been evaluated so is not
+     * reported, and if several fields don't match the reported field is the one cost order evaluated first
+     */
+    private static void appendRecordedBecause(StringBuilder becauseBuilder, boolean requestNot, MatchDifferenceCount matchDifferenceCount, boolean expectationRequestNot, boolean not) {
+        if (matchDifferenceCount.isRecordedOutOfDeclaredOrder()) {
+            int failedFieldPosition = DECLARED_FIELD_ORDER.length;
+            for (int i = 0; i < matchDifferenceCount.getRecordedFieldCount(); i++) {
+                if (!matchDifferenceCount.getRecordedFieldMatches(i)) {
+                    failedFieldPosition = Math.min(failedFieldPosition, declaredPosition(matchDifferenceCount.getRecordedField(i)));
+                }
+            }
+            for (MatchDifference.Field field : DECLARED_FIELD_ORDER) {
+                if (declaredPosition(field) <= failedFieldPosition) {
+                    for (int i = 0; i < matchDifferenceCount.getRecordedFieldCount(); i++) {
+                        if (matchDifferenceCount.getRecordedField(i) == field) {
+                            appendBecause(becauseBuilder, null, field, matchDifferenceCount.getRecordedFieldMatches(i), requestNot, expectationRequestNot, not);
+                        }
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < matchDifferenceCount.getRecordedFieldCount(); i++) {
+                appendBecause(becauseBuilder, null, matchDifferenceCount.getRecordedField(i), matchDifferenceCount.getRecordedFieldMatches(i), requestNot, expectationRequestNot, not);
+            }
+        }
+    }
+
+    private static int declaredPosition(MatchDifference.Field field) {
+        for (int i = 0; i < DECLARED_FIELD_ORDER.length; i++) {
+            if (DECLARED_FIELD_ORDER[i] == field) {
+                return i;
+            }
+        }
+        return DECLARED_FIELD_ORDER.length;
+    }
+
+    private static void appendBecause(StringBuilder becauseBuilder, MatchDifference context, MatchDifference.Field fieldName, boolean fieldMatches, boolean requestNot, boolean expectationRequestNot, boolean not) {
+        becauseBuilder
+            .append(NEW_LINE)
+            .append(fieldName.getName()).append(fieldMatches ? MATCHED : DID_NOT_MATCH);
+        if (context != null && context.getDifferences(fieldName) != null && !context.getDifferences(fieldName).isEmpty()) {
+            becauseBuilder
+                .append(COLON_NEW_LINES)
+                .append(Joiner.on(NEW_LINE).join(context.getDifferences(fieldName)));
+        }
+        if (!fieldMatches) {
+            if (requestNot) {
+                becauseBuilder
+                    .append(REQUEST_NOT_OPERATOR_IS_ENABLED);
+            }
+            if (expectationRequestNot) {
+                becauseBuilder
+                    .append(EXPECTATION_REQUEST_NOT_OPERATOR_IS_ENABLED);
+            }
+            if (not) {
+                becauseBuilder
+                    .append(EXPECTATION_REQUEST_MATCHER_NOT_OPERATOR_IS_ENABLED);
+            }
+        }
+    }
+
     /**
      * true for odd number of false inputs
      */
@@ -455,14 +697,14 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                 bodyMatcher instanceof XmlSchemaMatcher
             ) {
                 // xml body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = matches(context, bodyMatcher, request.getBodyAsString(), request.getParsedBody());
             } else if (bodyMatcher instanceof JsonStringMatcher ||
                 bodyMatcher instanceof JsonSchemaMatcher ||
                 bodyMatcher instanceof JsonPathMatcher
             ) {
                 // json body matcher
                 try {
-                    bodyMatches = matches(BODY, context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher));
+                    bodyMatches = matches(context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher), request.getParsedBody());
                 } catch (IllegalArgumentException iae) {
                     if (context != null) {
                         context.addDifference(mockServerLogger, iae, iae.getMessage());
@@ -476,6 +718,35 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return bodyMatches;
     }
 
+    private boolean headersMatch(MatchDifference context, HttpRequest request) {
+        ParsedHeadersAndCookies parsedHeadersAndCookies = request.getParsedHeadersAndCookies();
+        if (headerMatcher == null || parsedHeadersAndCookies == null || request.getHeaders() == null || request.getHeaders().isEmpty()) {
+            return matches(HEADERS, context, headerMatcher, request.getHeaders());
+        }
+        if (context != null) {
+            context.currentField(HEADERS);
+        }
+        return headerMatcher.matches(context, request.getHeaders(), parsedHeadersAndCookies.headers(mockServerLogger, controlPlaneMatcher, request.getHeaders()));
+    }
+
+    private boolean cookiesMatch(MatchDifference context, HttpRequest request) {
+        ParsedHeadersAndCookies parsedHeadersAndCookies = request.getParsedHeadersAndCookies();
+        if (cookieMatcher == null || parsedHeadersAndCookies == null || request.getCookies() == null || request.getCookies().isEmpty()) {
+            return matches(COOKIES, context, cookieMatcher, request.getCookies());
+        }
+        if (context != null) {
+            context.currentField(COOKIES);
+        }
+        return cookieMatcher.matches(context, request.getCookies(), parsedHeadersAndCookies.cookies(mockServerLogger, controlPlaneMatcher, request.getCookies()));
+    }
+
+    private <T> boolean matches(MatchDifference context, BodyMatcher<T> bodyMatcher, T t, ParsedBody parsedBody) {
+        if (context != null) {
+            context.currentField(BODY);
+        }
+        return bodyMatcher.matches(context, t, parsedBody);
+    }
+
     private <T> boolean matches(MatchDifference.Field field, MatchDifference context, Matcher<T> matcher, T t) {
         if (context != null) {
             context.currentField(field);
@@ -7,6 +7,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 
+import java.util.Objects;
+
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.slf4j.event.Level.DEBUG;
 
@@ -41,6 +43,10 @@ public class JsonPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, matched, null);
+    }
+
+    public boolean matches(final MatchDifference context, final String matched, ParsedBody parsedBody) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -53,7 +59,8 @@ public class JsonPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = !jsonPath.<JSONArray>read(matched).isEmpty();
+                Object matchedDocument = parsedBody != null ? parsedBody.jsonPathDocument(matched) : null;
+                result = !(matchedDocument != null ? jsonPath.<JSONArray>read(matchedDocument) : jsonPath.<JSONArray>read(matched)).isEmpty();
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "json path match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
@@ -79,4 +86,23 @@ public class JsonPathMatcher extends BodyMatcher<String> {
         return EXCLUDED_FIELDS;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        JsonPathMatcher that = (JsonPathMatcher) o;
+        return Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher);
+    }
 }
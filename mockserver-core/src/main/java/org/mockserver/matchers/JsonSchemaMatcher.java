@@ -1,12 +1,14 @@
 package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ParameterStyle;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * See http://json-schema.org/
@@ -37,13 +39,18 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, matched, null);
+    }
+
+    public boolean matches(final MatchDifference context, String matched, ParsedBody parsedBody) {
         boolean result = false;
 
         if (matcher.equalsIgnoreCase(matched)) {
             result = true;
         } else if (!StringUtils.isBlank(matched)) {
             try {
-                String validation = jsonSchemaValidator.isValid(matched, false);
+                JsonNode matchedJsonNode = parsedBody != null ? parsedBody.jsonNode(matched) : null;
+                String validation = matchedJsonNode != null ? jsonSchemaValidator.isValid(matchedJsonNode, false) : jsonSchemaValidator.isValid(matched, false);
 
                 result = validation.isEmpty();
 
@@ -69,4 +76,25 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        JsonSchemaMatcher that = (JsonSchemaMatcher) o;
+        return Objects.equals(matcher, that.matcher) &&
+            Objects.equals(parameterStyle, that.parameterStyle);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher, parameterStyle);
+    }
 }
@@ -16,6 +16,7 @@ import org.mockserver.serialization.ObjectMapperFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static net.javacrumbs.jsonunit.core.Option.*;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -39,6 +40,10 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, matched, null);
+    }
+
+    public boolean matches(final MatchDifference context, String matched, ParsedBody parsedBody) {
         boolean result = false;
 
         try {
@@ -64,10 +69,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
                     if (matcherJsonNode == null) {
                         matcherJsonNode = ObjectMapperFactory.createObjectMapper().readTree(matcher);
                     }
+                    JsonNode matchedJsonNode = parsedBody != null ? parsedBody.jsonNode(matched) : null;
                     result = Diff
                         .create(
                             matcherJsonNode,
-                            ObjectMapperFactory.createObjectMapper().readTree(matched),
+                            matchedJsonNode != null ? matchedJsonNode : ObjectMapperFactory.createObjectMapper().readTree(matched),
                             "",
                             "",
                             diffConfig
@@ -135,4 +141,25 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        JsonStringMatcher that = (JsonStringMatcher) o;
+        return Objects.equals(matcher, that.matcher) &&
+            matchType == that.matchType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher, matchType);
+    }
 }
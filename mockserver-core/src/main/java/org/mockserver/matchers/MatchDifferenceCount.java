@@ -4,8 +4,16 @@ import org.mockserver.model.HttpRequest;
 
 public class MatchDifferenceCount {
 
+    private static final MatchDifference.Field[] FIELDS = MatchDifference.Field.values();
+    private static final int BITS_PER_FIELD = 5;
+    private static final long FIELD_MASK = (1 << BITS_PER_FIELD) - 1;
+    private static final int MAX_RECORDED_FIELDS = Long.SIZE / BITS_PER_FIELD;
+
     private final HttpRequest httpRequest;
     private Integer failures = 0;
+    private long fieldResults;
+    private int fieldCount;
+    private boolean recordedOutOfDeclaredOrder;
 
     public MatchDifferenceCount(HttpRequest httpRequest) {
         this.httpRequest = httpRequest;
@@ -24,4 +32,52 @@ public class MatchDifferenceCount {
     public Integer getFailures() {
         return failures;
     }
+
+    /**
+     * Records the result of each evaluated field, in evaluation order, packed as five bits per field
+     * (field ordinal and whether it matched) so no objects are allocated per field
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public MatchDifferenceCount recordField(MatchDifference.Field field, boolean matches) {
+        if (fieldCount < MAX_RECORDED_FIELDS) {
+            fieldResults |= (long) (field.ordinal() << 1 | (matches ? 1 : 0)) << (fieldCount * BITS_PER_FIELD);
+            fieldCount++;
+        }
+        return this;
+    }
+
+    /**
+     * Marks the recorded fields as evaluated in cost order rather than declaration order
+     */
+    public void recordedOutOfDeclaredOrder() {
+        this.recordedOutOfDeclaredOrder = true;
+    }
+
+    public boolean isRecordedOutOfDeclaredOrder() {
+        return recordedOutOfDeclaredOrder;
+    }
+
+    public int getRecordedFieldCount() {
+        return fieldCount;
+    }
+
+    public MatchDifference.Field getRecordedField(int index) {
+        return FIELDS[(int) (fieldResults >>> (index * BITS_PER_FIELD) & FIELD_MASK) >>> 1];
+    }
+
+    public boolean getRecordedFieldMatches(int index) {
+        return (fieldResults >>> (index * BITS_PER_FIELD) & 1) == 1;
+    }
+
+    /**
+     * A copy of the recorded field results without the request, so it can be kept without holding the request
+     */
+    public MatchDifferenceCount recordedFields() {
+        MatchDifferenceCount recordedFields = new MatchDifferenceCount(null);
+        recordedFields.failures = failures;
+        recordedFields.fieldResults = fieldResults;
+        recordedFields.fieldCount = fieldCount;
+        recordedFields.recordedOutOfDeclaredOrder = recordedOutOfDeclaredOrder;
+        return recordedFields;
+    }
 }
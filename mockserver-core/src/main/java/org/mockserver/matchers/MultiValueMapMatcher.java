@@ -7,6 +7,8 @@ import org.mockserver.model.KeyMatchStyle;
 import org.mockserver.model.KeyToMultiValue;
 import org.mockserver.model.KeysToMultiValues;
 
+import java.util.Objects;
+
 import static org.mockserver.model.NottableString.string;
 
 /**
@@ -34,6 +36,13 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
     }
 
     public boolean matches(final MatchDifference context, KeysToMultiValues<? extends KeyToMultiValue, ? extends KeysToMultiValues> matched) {
+        return matches(context, matched, null);
+    }
+
+    /**
+     * @param matchedMultiMap the matched values already converted into a multimap, or null to convert them
+     */
+    public boolean matches(final MatchDifference context, KeysToMultiValues<? extends KeyToMultiValue, ? extends KeysToMultiValues> matched, NottableStringMultiMap matchedMultiMap) {
         boolean result;
 
         if (matcher == null || matcher.isEmpty()) {
@@ -47,7 +56,10 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
             }
             result = allKeysNotted || allKeysOptional;
         } else {
-            result = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).containsAll(mockServerLogger, context, matcher);
+            if (matchedMultiMap == null) {
+                matchedMultiMap = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries());
+            }
+            result = matchedMultiMap.containsAll(mockServerLogger, context, matcher);
         }
 
         if (!result && context != null) {
@@ -66,4 +78,25 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        MultiValueMapMatcher that = (MultiValueMapMatcher) o;
+        return Objects.equals(matcher, that.matcher) &&
+            controlPlaneMatcher == that.controlPlaneMatcher;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher, controlPlaneMatcher);
+    }
 }
@@ -2,6 +2,8 @@ package org.mockserver.matchers;
 
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
+import java.util.Objects;
+
 /**
  * @author jamesdbloom
  */
@@ -14,4 +16,20 @@ public abstract class NotMatcher<MatchedType> extends ObjectWithReflectiveEquals
         return matcher;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NotMatcher<?> that = (NotMatcher<?>) o;
+        return not == that.not;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(not);
+    }
 }
@@ -0,0 +1,81 @@
+package org.mockserver.matchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.Configuration;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.xml.StringToXmlDocumentParser;
+import org.w3c.dom.Document;
+
+import java.util.Objects;
+
+/**
+ * Request body parsed at most once, as a json tree, a json path document or an xml document, while a request is matched
+ * against every expectation so json and xml body matchers don't each parse the same body again
+ * <p>
+ * each parsed value is only reused for an equal body, if the body can't be parsed (or parsing reports any errors) null is
+ * returned so the body matcher parses the body itself and reports the failure as normal
+ */
+public class ParsedBody {
+
+    private final Parsed<JsonNode> jsonNode;
+    private final Parsed<Object> jsonPathDocument;
+    private final Parsed<Document> xmlDocument = new Parsed<>();
+    private final Parsed<Document> namespaceAwareXmlDocument = new Parsed<>();
+
+    public ParsedBody() {
+        this(new Parsed<>(), new Parsed<>());
+    }
+
+    private ParsedBody(Parsed<JsonNode> jsonNode, Parsed<Object> jsonPathDocument) {
+        this.jsonNode = jsonNode;
+        this.jsonPathDocument = jsonPathDocument;
+    }
+
+    /**
+     * A parsed body for another thread, the json tree and json path document are only read by the body matchers so
+     * are shared, but the xml documents are parsed again because a DOM isn't thread safe, even to read
+     */
+    public ParsedBody copyForThread() {
+        return new ParsedBody(jsonNode, jsonPathDocument);
+    }
+
+    public JsonNode jsonNode(String json) {
+        return jsonNode.get(json, () -> ObjectMapperFactory.createObjectMapper().readTree(json));
+    }
+
+    public Object jsonPathDocument(String json) {
+        return jsonPathDocument.get(json, () -> Configuration.defaultConfiguration().jsonProvider().parse(json));
+    }
+
+    public Document xmlDocument(String xml, boolean namespaceAware) {
+        return (namespaceAware ? namespaceAwareXmlDocument : xmlDocument).get(xml, () -> {
+            boolean[] errors = new boolean[1];
+            Document document = new StringToXmlDocumentParser().buildDocument(xml, (xmlAsString, exception, level) -> errors[0] = true, namespaceAware);
+            return errors[0] ? null : document;
+        });
+    }
+
+    private interface Parser<T> {
+        T parse() throws Exception;
+    }
+
+    private static class Parsed<T> {
+        private String body;
+        private T value;
+
+        private synchronized T get(String body, Parser<T> parser) {
+            if (body == null) {
+                return null;
+            }
+            if (!Objects.equals(this.body, body)) {
+                this.body = body;
+                try {
+                    this.value = parser.parse();
+                } catch (Throwable throwable) {
+                    this.value = null;
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.mockserver.matchers;
+
+import org.mockserver.collections.NottableStringHashMap;
+import org.mockserver.collections.NottableStringMultiMap;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.Cookies;
+import org.mockserver.model.Headers;
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+import static org.apache.commons.lang3.StringUtils.isAsciiPrintable;
+
+/**
+ * Request headers and cookies converted, at most once, into the maps (and key indexes) the header and cookie matchers
+ * match against, while a request is matched against every expectation so each expectation doesn't convert them again
+ * <p>
+ * each map is only reused for the same headers or cookies, which must not be modified while they are being matched
+ */
+public class ParsedHeadersAndCookies {
+
+    private Headers headers;
+    private boolean headersControlPlaneMatcher;
+    private NottableStringMultiMap headersMultiMap;
+    private Cookies cookies;
+    private boolean cookiesControlPlaneMatcher;
+    private NottableStringHashMap cookiesHashMap;
+    private Headers indexedHeaders;
+    private Map<String, List<NottableString>> headerValuesByLowerCaseName;
+
+    public synchronized NottableStringMultiMap headers(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, Headers headers) {
+        if (headersMultiMap == null || this.headers != headers || headersControlPlaneMatcher != controlPlaneMatcher) {
+            this.headers = headers;
+            this.headersControlPlaneMatcher = controlPlaneMatcher;
+            this.headersMultiMap = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, headers.getKeyMatchStyle(), headers.getEntries());
+        }
+        return headersMultiMap;
+    }
+
+    public synchronized NottableStringHashMap cookies(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, Cookies cookies) {
+        if (cookiesHashMap == null || this.cookies != cookies || cookiesControlPlaneMatcher != controlPlaneMatcher) {
+            this.cookies = cookies;
+            this.cookiesControlPlaneMatcher = controlPlaneMatcher;
+            this.cookiesHashMap = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, cookies.getEntries());
+        }
+        return cookiesHashMap;
+    }
+
+    /**
+     * Values of the headers by lower case name, used by the compiled match plans, or null if any name is notted, a schema
+     * or contains non printable ascii characters as then a name could be matched by more than just an equal (ignoring case) name
+     */
+    public synchronized Map<String, List<NottableString>> headerValuesByLowerCaseName(Headers headers) {
+        if (indexedHeaders != headers) {
+            this.indexedHeaders = headers;
+            this.headerValuesByLowerCaseName = indexByLowerCaseName(headers);
+        }
+        return headerValuesByLowerCaseName;
+    }
+
+    private static Map<String, List<NottableString>> indexByLowerCaseName(Headers headers) {
+        Map<String, List<NottableString>> index = new HashMap<>();
+        for (Map.Entry<NottableString, Collection<NottableString>> entry : headers.getMultimap().asMap().entrySet()) {
+            NottableString name = entry.getKey();
+            if (name.isNot() || name instanceof NottableSchemaString || !isAsciiPrintable(name.getValue())) {
+                return null;
+            }
+            index.computeIfAbsent(name.getValue().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).addAll(entry.getValue());
+        }
+        return index;
+    }
+}
@@ -6,11 +6,13 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.xml.StringToXmlDocumentParser;
 import org.mockserver.xml.XPathEvaluator;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
@@ -58,6 +60,10 @@ public class XPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, matched, null);
+    }
+
+    public boolean matches(final MatchDifference context, final String matched, ParsedBody parsedBody) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -70,11 +76,16 @@ public class XPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, (matchedInException, throwable, level) -> {
-                    if (context != null) {
-                        context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
-                    }
-                }, XPathConstants.BOOLEAN);
+                Document matchedDocument = parsedBody != null ? parsedBody.xmlDocument(matched, xPathEvaluator.isNamespaceAware()) : null;
+                if (matchedDocument != null) {
+                    result = (Boolean) xPathEvaluator.evaluateXPathExpression(matchedDocument, XPathConstants.BOOLEAN);
+                } else {
+                    result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, (matchedInException, throwable, level) -> {
+                        if (context != null) {
+                            context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
+                        }
+                    }, XPathConstants.BOOLEAN);
+                }
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
@@ -99,4 +110,24 @@ public class XPathMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        XPathMatcher that = (XPathMatcher) o;
+        return Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher);
+    }
 }
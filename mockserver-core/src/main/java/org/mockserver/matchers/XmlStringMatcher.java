@@ -6,6 +6,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableString;
 import org.slf4j.event.Level;
+import org.w3c.dom.Document;
 import org.xmlunit.builder.DiffBuilder;
 import org.xmlunit.builder.Input;
 import org.xmlunit.diff.DefaultNodeMatcher;
@@ -14,6 +15,8 @@ import org.xmlunit.diff.DifferenceEvaluators;
 import org.xmlunit.diff.ElementSelectors;
 import org.xmlunit.placeholder.PlaceholderDifferenceEvaluator;
 
+import java.util.Objects;
+
 import static org.mockserver.model.NottableString.string;
 
 /**
@@ -55,11 +58,16 @@ public class XmlStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, matched, null);
+    }
+
+    public boolean matches(final MatchDifference context, String matched, ParsedBody parsedBody) {
         boolean result = false;
 
         if (diffBuilder != null) {
             try {
-                Diff diff = diffBuilder.withTest(Input.fromString(matched)).build();
+                Document matchedDocument = parsedBody != null ? parsedBody.xmlDocument(matched, true) : null;
+                Diff diff = diffBuilder.withTest(matchedDocument != null ? Input.fromDocument(matchedDocument) : Input.fromString(matched)).build();
                 result = !diff.hasDifferences();
 
                 if (!result && context != null) {
@@ -85,4 +93,24 @@ public class XmlStringMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        XmlStringMatcher that = (XmlStringMatcher) o;
+        return Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), matcher);
+    }
 }
@@ -3,6 +3,7 @@ package org.mockserver.memory;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.log.CompactLogEntryStore;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerLogListener;
@@ -21,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.mockserver.character.Character.NEW_LINE;
@@ -32,6 +34,8 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     private static final AtomicInteger memoryUpdateFrequency = new AtomicInteger(0);
     private static final AtomicInteger currentLogEntriesCount = new AtomicInteger(0);
     private static final AtomicInteger currentExpectationsCount = new AtomicInteger(0);
+    private static final AtomicLong currentCompactLogEntriesUsedBytes = new AtomicLong(0);
+    private static final AtomicLong currentCompactLogEntriesAllocatedBytes = new AtomicLong(0);
     private static final List<MemoryPoolMXBean> memoryPoolMXBeans = ManagementFactory.getMemoryPoolMXBeans();
     private final Configuration configuration;
     private final File csvFile;
@@ -84,6 +88,9 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
         memoryStatistics.add(ImmutablePair.of("mockServerPort", getPort()));
         memoryStatistics.add(ImmutablePair.of("eventLogSize", currentLogEntriesCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxLogEntries", configuration.maxLogEntries()));
+        memoryStatistics.add(ImmutablePair.of("compactLogEntriesUsedBytes", currentCompactLogEntriesUsedBytes.get()));
+        memoryStatistics.add(ImmutablePair.of("compactLogEntriesAllocatedBytes", currentCompactLogEntriesAllocatedBytes.get()));
+        memoryStatistics.add(ImmutablePair.of("compactLogEntriesMaxBytes", configuration.compactLogEntriesMaxBytes()));
         memoryStatistics.add(ImmutablePair.of("expectationsSize", currentExpectationsCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxExpectations", configuration.maxExpectations()));
         memoryStatistics.add(ImmutablePair.of("heapInitialAllocation", heap.getNet().getInit()));
@@ -100,6 +107,11 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     @Override
     public void updated(MockServerEventLog mockServerLog) {
         currentLogEntriesCount.set(mockServerLog.size());
+        CompactLogEntryStore compactLogEntryStore = mockServerLog.getCompactLogEntryStore();
+        if (compactLogEntryStore != null) {
+            currentCompactLogEntriesUsedBytes.set(compactLogEntryStore.usedBytes());
+            currentCompactLogEntriesAllocatedBytes.set(compactLogEntryStore.allocatedBytes());
+        }
         if (shouldLogMetrics()) {
             logMemoryMetrics();
         }
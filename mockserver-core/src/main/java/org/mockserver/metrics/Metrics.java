@@ -1,7 +1,11 @@
 package org.mockserver.metrics;
 
 import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import org.mockserver.cache.LRUCache;
+import org.mockserver.cache.RegexPatternCache;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Action;
@@ -21,18 +25,29 @@ public class Metrics {
 
     private static final AtomicReference<Boolean> additionalMetricsRegistered = new AtomicReference<>(false);
     private static final Map<Name, Gauge> metrics = new ConcurrentHashMap<>();
+    private static final Map<Latency, Histogram> latencies = new ConcurrentHashMap<>();
+    private static volatile double[] latencyBuckets;
 
     private final Boolean metricsEnabled;
 
     public Metrics(Configuration configuration) {
         metricsEnabled = configuration.metricsEnabled();
         if (metricsEnabled && additionalMetricsRegistered.compareAndSet(false, true)) {
+            // histogram buckets can't be changed once registered so are taken from the first configuration with metrics enabled
+            latencyBuckets = parseBuckets(configuration.metricsLatencyBuckets());
             new BuildInfoCollector().register();
             Arrays.stream(Name.values()).forEach(Metrics::getOrCreate);
+            Arrays.stream(Latency.values()).forEach(Metrics::getOrCreate);
         }
     }
 
     private static Gauge getOrCreate(Name name) {
+        Gauge gauge = metrics.get(name);
+        return gauge != null ? gauge : create(name);
+    }
+
+    private static Gauge create(Name name) {
+        // only locked while creating the metric, so the metric is only registered once
         synchronized (name) {
             Gauge gauge = metrics.get(name);
             if (gauge == null) {
@@ -56,6 +71,49 @@ public class Metrics {
         }
     }
 
+    private static Histogram getOrCreate(Latency latency) {
+        Histogram histogram = latencies.get(latency);
+        return histogram != null ? histogram : create(latency);
+    }
+
+    private static Histogram create(Latency latency) {
+        // only locked while creating the metric, so the metric is only registered once
+        synchronized (latency) {
+            Histogram histogram = latencies.get(latency);
+            if (histogram == null) {
+                try {
+                    histogram = Histogram.build()
+                        .name(latency.name().toLowerCase())
+                        .help(latency.description)
+                        .labelNames(latency.labelNames)
+                        .buckets(latencyBuckets != null ? latencyBuckets : parseBuckets(ConfigurationProperties.metricsLatencyBuckets()))
+                        .register();
+                    latencies.put(latency, histogram);
+                } catch (Throwable throwable) {
+                    new MockServerLogger().logEvent(
+                        new LogEntry()
+                            .setType(EXCEPTION)
+                            .setMessageFormat("exception:{} creating metric:{}")
+                            .setArguments(throwable.getMessage(), latency.name())
+                            .setThrowable(throwable)
+                    );
+                }
+            }
+            return histogram;
+        }
+    }
+
+    static double[] parseBuckets(String buckets) {
+        return Arrays
+            .stream(buckets.split(","))
+            .map(String::trim)
+            .filter(bucket -> !bucket.isEmpty())
+            .mapToDouble(Double::parseDouble)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
     public static void clear() {
         metrics.forEach((name, gauge) -> gauge.set(0));
     }
@@ -70,6 +128,12 @@ public class Metrics {
         }
     }
 
+    public void set(Name name, Long value) {
+        if (metricsEnabled) {
+            getOrCreate(name).set(value);
+        }
+    }
+
     public static Integer get(Name name) {
         return (int) getOrCreate(name).get();
     }
@@ -98,6 +162,32 @@ public class Metrics {
         }
     }
 
+    /**
+     * Start time, in nanoseconds, to pass to {@link #observe(Latency, long, String...)} or zero if metrics are disabled
+     */
+    public long startTimer() {
+        return metricsEnabled ? System.nanoTime() : 0;
+    }
+
+    public void observe(Latency latency, long startTimeInNanos, String... labelValues) {
+        if (metricsEnabled && startTimeInNanos != 0) {
+            observeSeconds(latency, (System.nanoTime() - startTimeInNanos) / 1e9, labelValues);
+        }
+    }
+
+    public void observeSeconds(Latency latency, double seconds, String... labelValues) {
+        if (metricsEnabled) {
+            Histogram histogram = getOrCreate(latency);
+            if (histogram != null) {
+                if (labelValues.length > 0) {
+                    histogram.labels(labelValues).observe(Math.max(seconds, 0));
+                } else {
+                    histogram.observe(Math.max(seconds, 0));
+                }
+            }
+        }
+    }
+
     public static void clearRequestAndExpectationMetrics() {
         clear(Name.REQUESTS_RECEIVED_COUNT);
         clear(Name.EXPECTATIONS_NOT_MATCHED_COUNT);
@@ -117,6 +207,14 @@ public class Metrics {
         clear(Name.ERROR_ACTIONS_COUNT);
     }
 
+    public void updateCacheMetrics() {
+        set(Name.REGEX_PATTERN_CACHE_HIT_COUNT, RegexPatternCache.hits());
+        set(Name.REGEX_PATTERN_CACHE_MISS_COUNT, RegexPatternCache.misses());
+        set(Name.LRU_CACHE_HIT_COUNT, LRUCache.allHits());
+        set(Name.LRU_CACHE_MISS_COUNT, LRUCache.allMisses());
+        set(Name.LRU_CACHE_EVICTION_COUNT, LRUCache.allEvictions());
+    }
+
     public static void clearWebSocketMetrics() {
         clear(Name.WEBSOCKET_CALLBACK_CLIENTS_COUNT);
         clear(Name.WEBSOCKET_CALLBACK_RESPONSE_HANDLERS_COUNT);
@@ -140,7 +238,17 @@ public class Metrics {
         ERROR_ACTIONS_COUNT("Action error count"),
         WEBSOCKET_CALLBACK_CLIENTS_COUNT("Websocket callback client count"),
         WEBSOCKET_CALLBACK_RESPONSE_HANDLERS_COUNT("Websocket callback response handler count"),
-        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count");
+        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count"),
+        REGEX_PATTERN_CACHE_HIT_COUNT("Compiled regex pattern cache hit count"),
+        REGEX_PATTERN_CACHE_MISS_COUNT("Compiled regex pattern cache miss count"),
+        LRU_CACHE_HIT_COUNT("Request matcher, open api specification and initialization path cache hit count"),
+        LRU_CACHE_MISS_COUNT("Request matcher, open api specification and initialization path cache miss count"),
+        LRU_CACHE_EVICTION_COUNT("Request matcher, open api specification and initialization path cache eviction count"),
+        EVENT_LOG_RING_BUFFER_BACKLOG_COUNT("Event log ring buffer events waiting to be processed count"),
+        EVENT_LOG_RING_BUFFER_DROPPED_COUNT("Event log events dropped because the ring buffer was full count"),
+        REQUEST_HANDOFF_BACKLOG_COUNT("Requests handed off from the event loop waiting to be handled count"),
+        ACTION_HANDLER_VIRTUAL_THREADS_ENABLED("Actions handled on virtual threads (1) or the action handler thread pool (0)"),
+        DELAYED_ACTIONS_PENDING_COUNT("Delayed actions waiting for their delay to expire count");
 
         public final String description;
 
@@ -148,4 +256,23 @@ public class Metrics {
             this.description = description;
         }
     }
+
+    public enum Latency {
+        REQUEST_DECODE_DURATION_SECONDS("Duration of decoding a received request in seconds"),
+        EXPECTATION_MATCHING_DURATION_SECONDS("Duration of matching a request against the active expectations in seconds"),
+        ACTION_DURATION_SECONDS("Duration of handling an action, excluding any delay, in seconds, forward actions are measured until the forwarded response is received", "action_type"),
+        TEMPLATE_RENDERING_DURATION_SECONDS("Duration of rendering a response or forward template in seconds", "template_type"),
+        FORWARD_CONNECT_DURATION_SECONDS("Duration of connecting to (or acquiring a pooled connection for) a remote server in seconds"),
+        FORWARD_TIME_TO_FIRST_BYTE_SECONDS("Duration from sending a request to a remote server until the response headers are received in seconds"),
+        EVENT_LOG_PROCESSING_LAG_SECONDS("Lag between an event being added to the event log and being processed in seconds"),
+        REQUEST_HANDOFF_LAG_SECONDS("Lag between a request being handed off from the event loop and being handled in seconds");
+
+        public final String description;
+        public final String[] labelNames;
+
+        Latency(String description, String... labelNames) {
+            this.description = description;
+            this.labelNames = labelNames;
+        }
+    }
 }
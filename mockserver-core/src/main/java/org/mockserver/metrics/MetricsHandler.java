@@ -17,14 +17,18 @@ import static org.mockserver.model.HttpResponse.response;
 public class MetricsHandler {
 
     private final Boolean metricsEnabled;
+    private final Metrics metrics;
 
     public MetricsHandler(Configuration configuration) {
         metricsEnabled = configuration.metricsEnabled();
+        metrics = new Metrics(configuration);
     }
 
     public void renderMetrics(final ChannelHandlerContext ctx, final HttpRequest request) throws Exception {
         HttpResponse response = notFoundResponse();
         if (metricsEnabled) {
+            // cache metrics are counted without locking so are only copied to the gauges when rendered
+            metrics.updateCacheMetrics();
             StringWriter stringWriter = new StringWriter();
             String contentType = TextFormat.chooseContentType(request.getFirstHeader("Accept"));
             TextFormat.writeFormat(contentType, stringWriter, CollectorRegistry.defaultRegistry.metricFamilySamples());
@@ -562,7 +562,11 @@ public class Expectation extends ObjectWithJsonToString {
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     public Expectation clone() {
-        return new Expectation(httpRequest, times.clone(), timeToLive, priority)
+        return clone(times.clone());
+    }
+
+    public Expectation clone(Times times) {
+        return new Expectation(httpRequest, times, timeToLive, priority)
             .withId(id)
             .withCreated(created)
             .thenRespond(httpResponse)
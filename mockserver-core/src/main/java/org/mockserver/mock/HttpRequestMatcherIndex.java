@@ -0,0 +1,147 @@
+package org.mockserver.mock;
+
+import org.mockserver.collections.CircularPriorityQueue;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.mockserver.mock.SortableExpectationId.EXPECTATION_SORTABLE_PRIORITY_COMPARATOR;
+
+/**
+ * Pre-filter for expectation matching that buckets request matchers by literal method and literal path,
+ * matchers that use a regex, a schema, a 'not' operator, path parameters or an OpenAPI definition are
+ * placed in a wildcard bucket so they are always returned as candidates.
+ * <p>
+ * Candidates are returned in the same priority / creation order as the {@link CircularPriorityQueue}.
+ */
+public class HttpRequestMatcherIndex {
+
+    private static final String ANY = "*";
+    private static final String SEPARATOR = " ";
+
+    private final CircularPriorityQueue<String, HttpRequestMatcher, SortableExpectationId> httpRequestMatchers;
+    private final ConcurrentMap<String, Set<SortableExpectationId>> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, IndexEntry> entriesById = new ConcurrentHashMap<>();
+
+    public HttpRequestMatcherIndex(CircularPriorityQueue<String, HttpRequestMatcher, SortableExpectationId> httpRequestMatchers) {
+        this.httpRequestMatchers = httpRequestMatchers;
+    }
+
+    public void add(HttpRequestMatcher httpRequestMatcher) {
+        Expectation expectation = httpRequestMatcher.getExpectation();
+        if (expectation != null) {
+            IndexEntry indexEntry = new IndexEntry(bucketKey(expectation), expectation.getSortableId());
+            IndexEntry previousEntry = entriesById.put(expectation.getId(), indexEntry);
+            if (previousEntry != null) {
+                removeFromBucket(previousEntry);
+            }
+            buckets.computeIfAbsent(indexEntry.bucketKey, key -> new ConcurrentSkipListSet<>(EXPECTATION_SORTABLE_PRIORITY_COMPARATOR)).add(indexEntry.sortableExpectationId);
+        }
+    }
+
+    public void remove(HttpRequestMatcher httpRequestMatcher) {
+        Expectation expectation = httpRequestMatcher.getExpectation();
+        if (expectation != null) {
+            IndexEntry indexEntry = entriesById.remove(expectation.getId());
+            if (indexEntry != null) {
+                removeFromBucket(indexEntry);
+            }
+        }
+    }
+
+    public void clear() {
+        entriesById.clear();
+        buckets.clear();
+    }
+
+    /**
+     * Returns the request matchers that could match the request, in priority order, or an empty optional if
+     * the request can't be used to narrow the candidates (i.e. blank or notted method or path) and all
+     * request matchers must be evaluated.
+     */
+    public Optional<List<HttpRequestMatcher>> candidates(HttpRequest httpRequest) {
+        if (httpRequest == null || httpRequest.isNot() || !isIndexable(httpRequest.getMethod()) || !isIndexable(httpRequest.getPath())) {
+            return Optional.empty();
+        }
+        String method = httpRequest.getMethod().getValue().toLowerCase(Locale.ROOT);
+        String path = httpRequest.getPath().getValue().toLowerCase(Locale.ROOT);
+        Set<SortableExpectationId> sortableExpectationIds = new TreeSet<>(EXPECTATION_SORTABLE_PRIORITY_COMPARATOR);
+        addBucket(sortableExpectationIds, method + SEPARATOR + path);
+        addBucket(sortableExpectationIds, ANY + SEPARATOR + path);
+        addBucket(sortableExpectationIds, method + SEPARATOR + ANY);
+        addBucket(sortableExpectationIds, ANY + SEPARATOR + ANY);
+        List<HttpRequestMatcher> candidates = new ArrayList<>(sortableExpectationIds.size());
+        for (SortableExpectationId sortableExpectationId : sortableExpectationIds) {
+            Optional<HttpRequestMatcher> httpRequestMatcher = httpRequestMatchers.getByKey(sortableExpectationId.getKey());
+            if (httpRequestMatcher.isPresent()) {
+                candidates.add(httpRequestMatcher.get());
+            } else {
+                // request matcher has been evicted from circular priority queue
+                removeStaleEntry(sortableExpectationId);
+            }
+        }
+        return Optional.of(candidates);
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    private void addBucket(Set<SortableExpectationId> sortableExpectationIds, String bucketKey) {
+        Set<SortableExpectationId> bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            sortableExpectationIds.addAll(bucket);
+        }
+    }
+
+    private void removeFromBucket(IndexEntry indexEntry) {
+        Set<SortableExpectationId> bucket = buckets.get(indexEntry.bucketKey);
+        if (bucket != null) {
+            bucket.remove(indexEntry.sortableExpectationId);
+        }
+    }
+
+    private void removeStaleEntry(SortableExpectationId sortableExpectationId) {
+        IndexEntry indexEntry = entriesById.get(sortableExpectationId.getKey());
+        if (indexEntry != null && indexEntry.sortableExpectationId.equals(sortableExpectationId) && entriesById.remove(sortableExpectationId.getKey(), indexEntry)) {
+            removeFromBucket(indexEntry);
+        }
+    }
+
+    static String bucketKey(Expectation expectation) {
+        if (expectation.getHttpRequest() instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) expectation.getHttpRequest();
+            if (!httpRequest.isNot()) {
+                String method = isLiteral(httpRequest.getMethod()) ? httpRequest.getMethod().getValue().toLowerCase(Locale.ROOT) : ANY;
+                boolean hasPathParameters = httpRequest.getPathParameters() != null && !httpRequest.getPathParameters().isEmpty();
+                String path = !hasPathParameters && isLiteral(httpRequest.getPath()) ? httpRequest.getPath().getValue().toLowerCase(Locale.ROOT) : ANY;
+                return method + SEPARATOR + path;
+            }
+        }
+        return ANY + SEPARATOR + ANY;
+    }
+
+    private static boolean isIndexable(NottableString nottableString) {
+        return nottableString != null && !nottableString.isNot() && !(nottableString instanceof NottableSchemaString) && !nottableString.isBlank();
+    }
+
+    private static boolean isLiteral(NottableString nottableString) {
+        return nottableString != null && nottableString.isLiteral();
+    }
+
+    private static class IndexEntry {
+        private final String bucketKey;
+        private final SortableExpectationId sortableExpectationId;
+
+        private IndexEntry(String bucketKey, SortableExpectationId sortableExpectationId) {
+            this.bucketKey = bucketKey;
+            this.sortableExpectationId = sortableExpectationId;
+        }
+    }
+}
@@ -58,6 +58,7 @@ public class HttpState {
 
     public static final String LOG_SEPARATOR = NEW_LINE + "------------------------------------" + NEW_LINE;
     public static final String PATH_PREFIX = "/mockserver";
+    private static final String[] CONTROL_PLANE_PATHS = {"/expectation", "/openapi", "/clear", "/reset", "/retrieve", "/verify", "/verifySequence", "/status", "/bind", "/stop"};
     private static final ThreadLocal<Integer> LOCAL_PORT = new ThreadLocal<>();
     private final String uniqueLoopPreventionHeaderValue = "MockServer_" + UUIDService.getUUID();
     private final MockServerEventLog mockServerLog;
@@ -574,6 +575,22 @@ public class HttpState {
         mockServerLog.verify(verificationSequence, resultConsumer);
     }
 
+    /**
+     * True if the request is a control plane request, handled by {@link #handle} or by the server (i.e. status, bind
+     * and stop), or any other request under {@link #PATH_PREFIX} (i.e. the dashboard), so it must never be forwarded
+     */
+    public static boolean isControlPlaneRequest(HttpRequest request) {
+        if (request.getPath().getValue().startsWith(PATH_PREFIX)) {
+            return true;
+        }
+        for (String path : CONTROL_PLANE_PATHS) {
+            if (request.matches("PUT", path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean handle(HttpRequest request, ResponseWriter responseWriter, boolean warDeployment) {
 
         request.withLogCorrelationId(UUIDService.getUUID());
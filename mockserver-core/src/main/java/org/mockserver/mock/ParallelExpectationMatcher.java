@@ -0,0 +1,160 @@
+package org.mockserver.mock;
+
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.model.HttpRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+import static org.mockserver.mock.HttpState.getPort;
+import static org.mockserver.mock.HttpState.setPort;
+
+/**
+ * Finds the highest priority request matcher that matches a request by splitting the priority ordered request matchers
+ * into partitions that are matched in parallel on a fork join pool, each partition is matched in priority order and
+ * stops at its first match or as soon as a higher priority partition has matched
+ * <p>
+ * matching a request modifies it (i.e. path parameters are extracted and query parameters split), so each partition
+ * matches its own copy of the request, sharing the parsed json body, headers and cookies but parsing its own xml body,
+ * and no request matcher is updated (i.e. remaining times or response in progress) so the caller only updates the
+ * highest priority match
+ */
+class ParallelExpectationMatcher {
+
+    private static final int MIN_PARTITION_SIZE = 64;
+    private static final int PARTITIONS_PER_THREAD = 4;
+    private static final ForkJoinPool FORK_JOIN_POOL = new ForkJoinPool(
+        Runtime.getRuntime().availableProcessors(),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("MockServer-ExpectationMatching" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        },
+        null,
+        false
+    );
+
+    /**
+     * The highest priority request matcher that matched and the copy of the request it matched, which contains the
+     * extracted path parameters and split query parameters
+     */
+    static class Match {
+        private final int index;
+        private final HttpRequest matchedRequest;
+
+        private Match(int index, HttpRequest matchedRequest) {
+            this.index = index;
+            this.matchedRequest = matchedRequest;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        HttpRequest getMatchedRequest() {
+            return matchedRequest;
+        }
+    }
+
+    /**
+     * @param httpRequestMatchers request matchers in priority order
+     * @param httpRequest         the request to match
+     * @param matches             matches a request matcher against a copy of the request
+     * @param notMatchedInactive  called with each inactive request matcher that didn't match
+     * @return the highest priority match or null if no request matcher matched
+     */
+    static Match firstMatch(List<HttpRequestMatcher> httpRequestMatchers, HttpRequest httpRequest, BiPredicate<HttpRequestMatcher, HttpRequest> matches, Consumer<HttpRequestMatcher> notMatchedInactive) {
+        int partitionSize = Math.max(MIN_PARTITION_SIZE, httpRequestMatchers.size() / (FORK_JOIN_POOL.getParallelism() * PARTITIONS_PER_THREAD) + 1);
+        PartitionMatcher partitionMatcher = new PartitionMatcher(httpRequestMatchers, 0, httpRequestMatchers.size(), partitionSize, httpRequest, getPort(), matches, notMatchedInactive, new AtomicInteger(Integer.MAX_VALUE), new ConcurrentHashMap<>());
+        FORK_JOIN_POOL.invoke(partitionMatcher);
+        int firstMatchIndex = partitionMatcher.firstMatchIndex.get();
+        return firstMatchIndex != Integer.MAX_VALUE ? new Match(firstMatchIndex, partitionMatcher.matchedRequests.get(firstMatchIndex)) : null;
+    }
+
+    private static HttpRequest copy(HttpRequest httpRequest) {
+        HttpRequest copy = httpRequest
+            .shallowClone()
+            .withPathParameters(httpRequest.getPathParameters() != null ? httpRequest.getPathParameters().clone() : null)
+            .withQueryStringParameters(httpRequest.getQueryStringParameters() != null ? httpRequest.getQueryStringParameters().clone() : null)
+            .withParsedBody(httpRequest.getParsedBody() != null ? httpRequest.getParsedBody().copyForThread() : null)
+            .withParsedHeadersAndCookies(httpRequest.getParsedHeadersAndCookies());
+        copy.withLogCorrelationId(httpRequest.getLogCorrelationId());
+        return copy;
+    }
+
+    private static class PartitionMatcher extends RecursiveAction {
+
+        private final List<HttpRequestMatcher> httpRequestMatchers;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+        private final HttpRequest httpRequest;
+        private final Integer port;
+        private final BiPredicate<HttpRequestMatcher, HttpRequest> matches;
+        private final Consumer<HttpRequestMatcher> notMatchedInactive;
+        private final AtomicInteger firstMatchIndex;
+        private final Map<Integer, HttpRequest> matchedRequests;
+
+        private PartitionMatcher(List<HttpRequestMatcher> httpRequestMatchers, int from, int to, int partitionSize, HttpRequest httpRequest, Integer port, BiPredicate<HttpRequestMatcher, HttpRequest> matches, Consumer<HttpRequestMatcher> notMatchedInactive, AtomicInteger firstMatchIndex, Map<Integer, HttpRequest> matchedRequests) {
+            this.httpRequestMatchers = httpRequestMatchers;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+            this.httpRequest = httpRequest;
+            this.port = port;
+            this.matches = matches;
+            this.notMatchedInactive = notMatchedInactive;
+            this.firstMatchIndex = firstMatchIndex;
+            this.matchedRequests = matchedRequests;
+        }
+
+        private PartitionMatcher partition(int from, int to) {
+            return new PartitionMatcher(httpRequestMatchers, from, to, partitionSize, httpRequest, port, matches, notMatchedInactive, firstMatchIndex, matchedRequests);
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= firstMatchIndex.get()) {
+                return;
+            }
+            if (to - from > partitionSize) {
+                int middle = (from + to) >>> 1;
+                // the lower priority half is forked so the higher priority half is matched first by this thread
+                PartitionMatcher lowerPriority = partition(middle, to);
+                lowerPriority.fork();
+                partition(from, middle).compute();
+                lowerPriority.join();
+            } else {
+                Integer originalPort = getPort();
+                setPort(port);
+                try {
+                    matchPartition();
+                } finally {
+                    setPort(originalPort);
+                }
+            }
+        }
+
+        private void matchPartition() {
+            HttpRequest partitionRequest = copy(httpRequest);
+            for (int index = from; index < to && index < firstMatchIndex.get(); index++) {
+                HttpRequestMatcher httpRequestMatcher = httpRequestMatchers.get(index);
+                if (matches.test(httpRequestMatcher, partitionRequest)) {
+                    matchedRequests.put(index, partitionRequest);
+                    firstMatchIndex.accumulateAndGet(index, Math::min);
+                    return;
+                } else if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
+                    notMatchedInactive.accept(httpRequestMatcher);
+                }
+            }
+        }
+    }
+}
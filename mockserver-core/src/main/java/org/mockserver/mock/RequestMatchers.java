@@ -9,6 +9,8 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.ParsedBody;
+import org.mockserver.matchers.ParsedHeadersAndCookies;
 import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.model.*;
@@ -25,6 +27,7 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.*;
+import static org.mockserver.metrics.Metrics.Latency.EXPECTATION_MATCHING_DURATION_SECONDS;
 import static org.mockserver.metrics.Metrics.Name.*;
 import static org.mockserver.mock.SortableExpectationId.EXPECTATION_SORTABLE_PRIORITY_COMPARATOR;
 import static org.mockserver.mock.SortableExpectationId.NULL;
@@ -39,6 +42,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
 
     final CircularPriorityQueue<String, HttpRequestMatcher, SortableExpectationId> httpRequestMatchers;
     final CircularHashMap<String, RequestDefinition> expectationRequestDefinitions;
+    final HttpRequestMatcherIndex httpRequestMatcherIndex;
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private final Scheduler scheduler;
@@ -60,6 +64,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
             httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : ""
         );
+        httpRequestMatcherIndex = new HttpRequestMatcherIndex(httpRequestMatchers);
         expectationRequestDefinitions = new CircularHashMap<>(configuration.maxExpectations());
         if (MockServerLogger.isEnabled(TRACE) && mockServerLogger != null) {
             mockServerLogger.logEvent(
@@ -84,9 +89,11 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                         // propagate created time from previous entry to avoid re-ordering on update
                         expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                     }
+                    httpRequestMatcherIndex.remove(httpRequestMatcher);
                     httpRequestMatchers.removePriorityKey(httpRequestMatcher);
                     if (httpRequestMatcher.update(expectation)) {
                         httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                        httpRequestMatcherIndex.add(httpRequestMatcher);
                         if (MockServerLogger.isEnabled(Level.INFO)) {
                             mockServerLogger.logEvent(
                                 new LogEntry()
@@ -102,6 +109,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                         }
                     } else {
                         httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                        httpRequestMatcherIndex.add(httpRequestMatcher);
                     }
                     return httpRequestMatcher;
                 })
@@ -142,9 +150,11 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 // propagate created time from previous entry to avoid re-ordering on update
                                 expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                             }
+                            httpRequestMatcherIndex.remove(httpRequestMatcher);
                             httpRequestMatchers.removePriorityKey(httpRequestMatcher);
                             if (httpRequestMatcher.update(expectation)) {
                                 httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                                httpRequestMatcherIndex.add(httpRequestMatcher);
                                 numberOfChanges.getAndIncrement();
                                 if (MockServerLogger.isEnabled(Level.INFO)) {
                                     mockServerLogger.logEvent(
@@ -161,6 +171,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 }
                             } else {
                                 httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                                httpRequestMatcherIndex.add(httpRequestMatcher);
                             }
                         } else {
                             addPrioritisedExpectation(expectation, cause);
@@ -186,6 +197,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     private HttpRequestMatcher addPrioritisedExpectation(Expectation expectation, Cause cause) {
         HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(expectation);
         httpRequestMatchers.add(httpRequestMatcher);
+        httpRequestMatcherIndex.add(httpRequestMatcher);
         httpRequestMatcher.withSource(cause);
         if (expectation.getAction() != null) {
             metrics.increment(expectation.getAction().getType());
@@ -210,6 +222,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     public void reset(Cause cause) {
         httpRequestMatchers.stream().forEach(httpRequestMatcher -> removeHttpRequestMatcher(httpRequestMatcher, cause, false, UUIDService.getUUID()));
         expectationRequestDefinitions.clear();
+        httpRequestMatcherIndex.clear();
         Metrics.clearActionMetrics();
         Metrics.clearRequestAndExpectationMetrics();
         notifyListeners(this, cause);
@@ -220,26 +233,27 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public Expectation firstMatchingExpectation(HttpRequest httpRequest) {
-        Optional<Expectation> first = getHttpRequestMatchersCopy()
-            .map(httpRequestMatcher -> {
-                Expectation matchingExpectation = null;
-                boolean remainingMatchesDecremented = false;
-                if (httpRequestMatcher.matches(MockServerLogger.isEnabled(DEBUG) ? new MatchDifference(configuration.detailedMatchFailures(), httpRequest) : null, httpRequest)) {
-                    matchingExpectation = httpRequestMatcher.getExpectation();
-                    httpRequestMatcher.setResponseInProgress(true);
-                    if (matchingExpectation.decrementRemainingMatches()) {
-                        remainingMatchesDecremented = true;
-                    }
-                } else if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
-                    scheduler.submit(() -> removeHttpRequestMatcher(httpRequestMatcher, UUIDService.getUUID()));
-                }
-                if (remainingMatchesDecremented) {
-                    notifyListeners(this, Cause.API);
-                }
-                return matchingExpectation;
-            })
-            .filter(Objects::nonNull)
-            .findFirst();
+        long startTime = metrics.startTimer();
+        // parse the body, headers and cookies at most once for all expectations, cleared afterwards so they aren't retained in the event log
+        if (httpRequest != null) {
+            httpRequest.withParsedBody(new ParsedBody());
+            httpRequest.withParsedHeadersAndCookies(new ParsedHeadersAndCookies());
+        }
+        Optional<Expectation> first;
+        try {
+            Optional<List<HttpRequestMatcher>> parallelCandidates = getHttpRequestMatchersParallelCandidates(httpRequest);
+            if (parallelCandidates.isPresent()) {
+                first = firstMatchingExpectationInParallel(httpRequest, parallelCandidates.get());
+            } else {
+                first = firstMatchingExpectation(httpRequest, getHttpRequestMatchersCandidates(httpRequest));
+            }
+        } finally {
+            if (httpRequest != null) {
+                httpRequest.withParsedBody(null);
+                httpRequest.withParsedHeadersAndCookies(null);
+            }
+        }
+        metrics.observe(EXPECTATION_MATCHING_DURATION_SECONDS, startTime);
         if (configuration.metricsEnabled()) {
             if (!first.isPresent() || first.get().getAction() == null) {
                 metrics.increment(EXPECTATIONS_NOT_MATCHED_COUNT);
@@ -252,6 +266,58 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return first.orElse(null);
     }
 
+    private Optional<Expectation> firstMatchingExpectation(HttpRequest httpRequest, Stream<HttpRequestMatcher> candidates) {
+        return candidates
+            .map(httpRequestMatcher -> {
+                if (matches(httpRequestMatcher, httpRequest)) {
+                    return matched(httpRequestMatcher);
+                } else if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
+                    removeInactive(httpRequestMatcher);
+                }
+                return null;
+            })
+            .filter(Objects::nonNull)
+            .findFirst();
+    }
+
+    /**
+     * Candidates are matched in parallel without updating any request matcher, then only the highest priority match is
+     * updated (i.e. response in progress and remaining times) and receives the path and query parameters it matched with
+     */
+    private Optional<Expectation> firstMatchingExpectationInParallel(HttpRequest httpRequest, List<HttpRequestMatcher> candidates) {
+        ParallelExpectationMatcher.Match match = ParallelExpectationMatcher.firstMatch(candidates, httpRequest, this::matches, this::removeInactive);
+        if (match != null) {
+            HttpRequestMatcher httpRequestMatcher = candidates.get(match.getIndex());
+            if (httpRequestMatcher.isActive()) {
+                httpRequest
+                    .withPathParameters(match.getMatchedRequest().getPathParameters())
+                    .withQueryStringParameters(match.getMatchedRequest().getQueryStringParameters());
+                return Optional.of(matched(httpRequestMatcher));
+            } else {
+                // the remaining matches were used by another request while matching, so continue with lower priority candidates
+                return firstMatchingExpectation(httpRequest, candidates.subList(match.getIndex() + 1, candidates.size()).stream());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean matches(HttpRequestMatcher httpRequestMatcher, HttpRequest httpRequest) {
+        return httpRequestMatcher.matches(MockServerLogger.isEnabled(DEBUG) ? new MatchDifference(configuration.detailedMatchFailures(), httpRequest) : null, httpRequest);
+    }
+
+    private Expectation matched(HttpRequestMatcher httpRequestMatcher) {
+        Expectation matchingExpectation = httpRequestMatcher.getExpectation();
+        httpRequestMatcher.setResponseInProgress(true);
+        if (matchingExpectation.decrementRemainingMatches()) {
+            notifyListeners(this, Cause.API);
+        }
+        return matchingExpectation;
+    }
+
+    private void removeInactive(HttpRequestMatcher httpRequestMatcher) {
+        scheduler.submit(() -> removeHttpRequestMatcher(httpRequestMatcher, UUIDService.getUUID()));
+    }
+
     public void clear(RequestDefinition requestDefinition) {
         if (requestDefinition != null) {
             HttpRequestMatcher clearHttpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
@@ -326,6 +392,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     @SuppressWarnings("rawtypes")
     private void removeHttpRequestMatcher(HttpRequestMatcher httpRequestMatcher, Cause cause, boolean notifyAndUpdateMetrics, String logCorrelationId) {
         if (httpRequestMatchers.remove(httpRequestMatcher)) {
+            httpRequestMatcherIndex.remove(httpRequestMatcher);
             if (httpRequestMatcher.getExpectation() != null && MockServerLogger.isEnabled(Level.INFO)) {
                 Expectation expectation = httpRequestMatcher.getExpectation().clone();
                 mockServerLogger.logEvent(
@@ -403,6 +470,17 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return httpRequestMatchers.isEmpty();
     }
 
+    /**
+     * True if any request matcher that could match the request, narrowed by the index if indexed expectation lookup is
+     * enabled, matches a body (i.e. has a body matcher or is an OpenAPI definition)
+     */
+    public boolean isBodyMatchedByAnyCandidate(HttpRequest httpRequest) {
+        return getHttpRequestMatchersCandidates(httpRequest).anyMatch(httpRequestMatcher -> {
+            RequestDefinition requestDefinition = httpRequestMatcher.getExpectation().getHttpRequest();
+            return requestDefinition instanceof OpenAPIDefinition || requestDefinition instanceof HttpRequest && ((HttpRequest) requestDefinition).getBody() != null;
+        });
+    }
+
     protected void notifyListeners(final RequestMatchers notifier, Cause cause) {
         super.notifyListeners(notifier, cause);
     }
@@ -410,4 +488,33 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     private Stream<HttpRequestMatcher> getHttpRequestMatchersCopy() {
         return httpRequestMatchers.stream();
     }
+
+    /**
+     * The candidates to match in parallel, if parallel matching is enabled and there are at least as many candidates as the threshold
+     */
+    private Optional<List<HttpRequestMatcher>> getHttpRequestMatchersParallelCandidates(HttpRequest httpRequest) {
+        if (httpRequest != null && configuration.parallelExpectationMatching() && httpRequestMatchers.size() >= configuration.parallelExpectationMatchingThreshold()) {
+            List<HttpRequestMatcher> candidates = null;
+            if (configuration.indexedExpectationLookup()) {
+                candidates = httpRequestMatcherIndex.candidates(httpRequest).orElse(null);
+            }
+            if (candidates == null) {
+                candidates = httpRequestMatchers.toSortedList();
+            }
+            if (candidates.size() >= configuration.parallelExpectationMatchingThreshold()) {
+                return Optional.of(candidates);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Stream<HttpRequestMatcher> getHttpRequestMatchersCandidates(HttpRequest httpRequest) {
+        if (configuration.indexedExpectationLookup()) {
+            Optional<List<HttpRequestMatcher>> candidates = httpRequestMatcherIndex.candidates(httpRequest);
+            if (candidates.isPresent()) {
+                return candidates.get().stream();
+            }
+        }
+        return getHttpRequestMatchersCopy();
+    }
 }
@@ -13,6 +13,7 @@ import org.mockserver.httpclient.NettyHttpClient;
 import org.mockserver.httpclient.SocketCommunicationException;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
 import org.mockserver.model.*;
@@ -26,6 +27,7 @@ import org.slf4j.event.Level;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
 
@@ -39,6 +41,7 @@ import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.exception.ExceptionHandling.*;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.*;
+import static org.mockserver.metrics.Metrics.Latency.ACTION_DURATION_SECONDS;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
 import static org.slf4j.event.Level.TRACE;
@@ -50,10 +53,13 @@ import static org.slf4j.event.Level.TRACE;
 public class HttpActionHandler {
 
     public static final AttributeKey<InetSocketAddress> REMOTE_SOCKET = AttributeKey.valueOf("REMOTE_SOCKET");
+    public static final AttributeKey<Optional<Expectation>> MATCHED_EXPECTATION = AttributeKey.valueOf("MATCHED_EXPECTATION");
 
     private final Configuration configuration;
     private final HttpState httpStateHandler;
     private final Scheduler scheduler;
+    private final boolean forwardingViaProxy;
+    private final Metrics metrics;
     private MockServerLogger mockServerLogger;
     private HttpResponseActionHandler httpResponseActionHandler;
     private HttpResponseTemplateActionHandler httpResponseTemplateActionHandler;
@@ -75,12 +81,23 @@ public class HttpActionHandler {
         this.configuration = configuration;
         this.httpStateHandler = httpStateHandler;
         this.scheduler = httpStateHandler.getScheduler();
+        this.forwardingViaProxy = proxyConfigurations != null && !proxyConfigurations.isEmpty();
+        this.metrics = new Metrics(configuration);
         this.mockServerLogger = httpStateHandler.getMockServerLogger();
         this.httpRequestToCurlSerializer = new HttpRequestToCurlSerializer(mockServerLogger);
         this.httpClient = new NettyHttpClient(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, true, nettySslContextFactory);
     }
 
     public void processAction(final HttpRequest request, final ResponseWriter responseWriter, final ChannelHandlerContext ctx, Set<String> localAddresses, boolean proxyingRequest, final boolean synchronous) {
+        processAction(request, responseWriter, ctx, localAddresses, proxyingRequest, synchronous, null);
+    }
+
+    /**
+     * @param matchedExpectation the expectation already matched when deciding if the request body could be streamed, as
+     *                           returned by {@link #takeMatchedExpectation(ChannelHandlerContext)}, or null if the request
+     *                           hasn't been matched yet
+     */
+    public void processAction(final HttpRequest request, final ResponseWriter responseWriter, final ChannelHandlerContext ctx, Set<String> localAddresses, boolean proxyingRequest, final boolean synchronous, final Optional<Expectation> matchedExpectation) {
         if (request.getHeaders() == null || !request.getHeaders().containsEntry(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue())) {
             mockServerLogger.logEvent(
                 new LogEntry()
@@ -92,7 +109,7 @@ public class HttpActionHandler {
                     .setArguments(request)
             );
         }
-        final Expectation expectation = httpStateHandler.firstMatchingExpectation(request);
+        final Expectation expectation = matchedExpectation != null ? matchedExpectation.orElse(null) : httpStateHandler.firstMatchingExpectation(request);
         Runnable expectationPostProcessor = () -> httpStateHandler.postProcess(expectation);
         final boolean potentiallyHttpProxy = !proxyingRequest && configuration.attemptToProxyIfNoMatchingExpectation() && !isEmpty(request.getFirstHeader(HOST.toString())) && !localAddresses.contains(request.getFirstHeader(HOST.toString()));
 
@@ -132,24 +149,27 @@ public class HttpActionHandler {
                 }
                 case FORWARD: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
+                        final long startTime = metrics.startTimer();
                         final HttpForwardActionResult responseFuture = getHttpForwardActionHandler().handle((HttpForward) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, startTime);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
                 }
                 case FORWARD_TEMPLATE: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
+                        final long startTime = metrics.startTimer();
                         final HttpForwardActionResult responseFuture = getHttpForwardTemplateActionHandler().handle((HttpTemplate) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, startTime);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
                 }
                 case FORWARD_CLASS_CALLBACK: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
+                        final long startTime = metrics.startTimer();
                         final HttpForwardActionResult responseFuture = getHttpForwardClassCallbackActionHandler().handle((HttpClassCallback) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, startTime);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -162,8 +182,9 @@ public class HttpActionHandler {
                 }
                 case FORWARD_REPLACE: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
+                        final long startTime = metrics.startTimer();
                         final HttpForwardActionResult responseFuture = getHttpOverrideForwardedRequestCallbackActionHandler().handle((HttpOverrideForwardedRequest) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, startTime);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -335,9 +356,140 @@ public class HttpActionHandler {
         }
     }
 
+    /**
+     * Decides if a request, with a body too large to aggregate, can be streamed to a remote server, this is only possible
+     * if the request matches an expectation with a forward action (without a delay) or if the request is proxied and
+     * doesn't match any expectation, otherwise null is returned and the aggregated request should be passed to
+     * processAction
+     * <p>
+     * the request only contains headers so no expectation can have a body matcher, if an expectation was matched but the
+     * request can't be streamed the expectation is held on the channel, until the aggregated request is read and takes it
+     * using {@link #takeMatchedExpectation(ChannelHandlerContext)}, so it isn't matched (and counted) a second time
+     */
+    public StreamedForward streamedForward(final HttpRequest request, final ChannelHandlerContext ctx, Set<String> localAddresses, boolean proxyingRequest) {
+        if (forwardingViaProxy || request.getHeaders() != null && request.getHeaders().containsEntry(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue()) || httpStateHandler.getRequestMatchers().isBodyMatchedByAnyCandidate(request)) {
+            return null;
+        }
+        final Expectation expectation = httpStateHandler.firstMatchingExpectation(request);
+        final boolean potentiallyHttpProxy = !proxyingRequest && configuration.attemptToProxyIfNoMatchingExpectation() && !isEmpty(request.getFirstHeader(HOST.toString())) && !localAddresses.contains(request.getFirstHeader(HOST.toString()));
+        if (expectation != null && expectation.getAction() != null) {
+            final Action action = expectation.getAction();
+            if (action.getType() == Action.Type.FORWARD && action.getDelay() == null) {
+                final HttpForward httpForward = (HttpForward) action;
+                final HttpRequest forwardedRequest = hopByHopHeaderFilter.onRequest(request).withSecure(HttpForward.Scheme.HTTPS.equals(httpForward.getScheme()));
+                return new StreamedForward(forwardedRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()), configuration.socketConnectionTimeoutInMillis(), expectation, false);
+            }
+        } else if ((proxyingRequest || potentiallyHttpProxy) && !CORSHeaders.isPreflightRequest(configuration, request) && !(potentiallyHttpProxy && isNotBlank(configuration.proxyAuthenticationUsername()) && isNotBlank(configuration.proxyAuthenticationPassword()))) {
+            final HttpRequest clonedRequest = hopByHopHeaderFilter.onRequest(request).withHeader(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue());
+            final InetSocketAddress remoteAddress = getRemoteAddress(ctx);
+            return new StreamedForward(clonedRequest, remoteAddress != null ? remoteAddress : clonedRequest.socketAddressFromHostHeader(), potentiallyHttpProxy ? 1000 : configuration.socketConnectionTimeoutInMillis(), null, potentiallyHttpProxy);
+        }
+        if (ctx != null && ctx.channel() != null) {
+            ctx.channel().attr(MATCHED_EXPECTATION).set(Optional.ofNullable(expectation));
+        }
+        return null;
+    }
+
+    public void streamedRequestReceived(final HttpRequest request) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(Level.INFO)
+                .setCorrelationId(request.getLogCorrelationId())
+                .setHttpRequest(request)
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request)
+        );
+    }
+
+    /**
+     * Records the response to a streamed request, the request and response only contain the start of each body
+     * followed by a description of the streamed bodies (i.e. total length and hash)
+     */
+    public void streamedForwardResponse(final StreamedForward streamedForward, final HttpRequest request, final HttpResponse response, final boolean loopPrevented, final String streamedBodies) {
+        final Expectation expectation = streamedForward.getExpectation();
+        if (loopPrevented) {
+            if (MockServerLogger.isEnabled(Level.INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(NO_MATCH_RESPONSE)
+                        .setLogLevel(Level.INFO)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setHttpRequest(request)
+                        .setHttpResponse(notFoundResponse())
+                        .setMessageFormat(NO_MATCH_RESPONSE_NO_EXPECTATION_MESSAGE_FORMAT)
+                        .setArguments(request, response)
+                );
+            }
+        } else if (expectation != null) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(response)
+                    .setExpectation(request, response)
+                    .setExpectationId(expectation.getId())
+                    .setMessageFormat("returning streamed response:{}for forwarded request:{}with " + streamedBodies + " for action:{}from expectation:{}")
+                    .setArguments(response, streamedForward.getHttpRequest(), expectation.getAction(), expectation.getId())
+            );
+        } else {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(response)
+                    .setExpectation(request, response)
+                    .setMessageFormat("returning streamed response:{}for forwarded request:{}with " + streamedBodies)
+                    .setArguments(response, streamedForward.getHttpRequest())
+            );
+        }
+        httpStateHandler.postProcess(expectation);
+    }
+
+    /**
+     * Returns a not found response if the request couldn't be streamed to the remote server, as the request body has
+     * been partially sent it isn't possible to fall back to any other action
+     */
+    public void streamedForwardFailed(final StreamedForward streamedForward, final HttpRequest request, final Throwable throwable, final ResponseWriter responseWriter) {
+        if (streamedForward.isPotentiallyHttpProxy() && connectionException(throwable)) {
+            if (MockServerLogger.isEnabled(TRACE) && mockServerLogger != null) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(TRACE)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setMessageFormat("failed to connect to proxied socket due to exploratory HTTP proxy for:{}due to:{}falling back to no proxy")
+                        .setArguments(request, throwable.getCause())
+                );
+            }
+            returnNotFound(responseWriter, request, null);
+        } else {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setMessageFormat("exception while streaming request{}to remote address{}")
+                    .setArguments(request, streamedForward.getRemoteAddress())
+                    .setThrowable(throwable)
+            );
+            returnNotFound(responseWriter, request, "exception while streaming request to remote address" + streamedForward.getRemoteAddress());
+        }
+        httpStateHandler.postProcess(streamedForward.getExpectation());
+    }
+
     private void handleAnyException(HttpRequest request, ResponseWriter responseWriter, boolean synchronous, Action action, Runnable processAction) {
+        long startTime = metrics.startTimer();
         try {
             processAction.run();
+            // forward actions record their duration once the forwarded response is received
+            if (action.getType().direction != Action.Direction.FORWARD) {
+                metrics.observe(ACTION_DURATION_SECONDS, startTime, action.getType().name().toLowerCase());
+            }
         } catch (Throwable throwable) {
             writeResponseActionResponse(notFoundResponse(), responseWriter, request, action, synchronous);
             if (MockServerLogger.isEnabled(Level.INFO)) {
@@ -376,7 +528,16 @@ public class HttpActionHandler {
     }
 
     void writeForwardActionResponse(final HttpForwardActionResult responseFuture, final ResponseWriter responseWriter, final HttpRequest request, final Action action, boolean synchronous) {
+        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, 0);
+    }
+
+    /**
+     * @param startTime start time of the forward action, from {@link Metrics#startTimer()}, so its duration is recorded
+     *                  once the forwarded response is received or zero if the duration isn't recorded
+     */
+    void writeForwardActionResponse(final HttpForwardActionResult responseFuture, final ResponseWriter responseWriter, final HttpRequest request, final Action action, boolean synchronous, long startTime) {
         scheduler.submit(responseFuture, () -> {
+            metrics.observe(ACTION_DURATION_SECONDS, startTime, action.getType().name().toLowerCase());
             try {
                 HttpResponse response = responseFuture.getHttpResponse().get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS);
                 responseWriter.writeResponse(request, response, false);
@@ -582,6 +743,26 @@ public class HttpActionHandler {
         return httpClient;
     }
 
+    public void stop() {
+        httpClient.close();
+    }
+
+
+    /**
+     * Takes the expectation held on the channel by {@link #streamedForward}, this must be called on the event loop when the
+     * aggregated request is read, before the next request on the channel is read, so the expectation can be passed with
+     * the request to {@link #processAction} even if the request is processed on another thread
+     *
+     * @return the expectation matched for the request, an empty optional if no expectation matched, or null if the
+     * request hasn't been matched yet
+     */
+    public static Optional<Expectation> takeMatchedExpectation(final ChannelHandlerContext ctx) {
+        if (ctx != null && ctx.channel() != null && ctx.channel().attr(MATCHED_EXPECTATION) != null) {
+            return ctx.channel().attr(MATCHED_EXPECTATION).getAndSet(null);
+        } else {
+            return null;
+        }
+    }
 
     public static InetSocketAddress getRemoteAddress(final ChannelHandlerContext ctx) {
         if (ctx != null && ctx.channel() != null && ctx.channel().attr(REMOTE_SOCKET) != null) {
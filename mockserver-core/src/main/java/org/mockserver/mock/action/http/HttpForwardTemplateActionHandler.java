@@ -4,6 +4,7 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.httpclient.NettyHttpClient;
 import org.mockserver.serialization.model.HttpRequestDTO;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpTemplate;
 import org.mockserver.templates.engine.TemplateEngine;
@@ -11,12 +12,15 @@ import org.mockserver.templates.engine.javascript.JavaScriptTemplateEngine;
 import org.mockserver.templates.engine.mustache.MustacheTemplateEngine;
 import org.mockserver.templates.engine.velocity.VelocityTemplateEngine;
 
+import static org.mockserver.metrics.Metrics.Latency.TEMPLATE_RENDERING_DURATION_SECONDS;
+
 /**
  * @author jamesdbloom
  */
 public class HttpForwardTemplateActionHandler extends HttpForwardAction {
 
     private final Configuration configuration;
+    private final Metrics metrics;
     private VelocityTemplateEngine velocityTemplateEngine;
     private JavaScriptTemplateEngine javascriptTemplateEngine;
     private MustacheTemplateEngine mustacheTemplateEngine;
@@ -24,6 +28,7 @@ public class HttpForwardTemplateActionHandler extends HttpForwardAction {
     public HttpForwardTemplateActionHandler(MockServerLogger mockServerLogger, Configuration configuration, NettyHttpClient httpClient) {
         super(mockServerLogger, httpClient);
         this.configuration = configuration;
+        this.metrics = new Metrics(configuration);
     }
 
     public HttpForwardActionResult handle(HttpTemplate httpTemplate, HttpRequest originalRequest) {
@@ -42,7 +47,9 @@ public class HttpForwardTemplateActionHandler extends HttpForwardAction {
                 throw new RuntimeException("Unknown no template engine available for " + httpTemplate.getTemplateType());
         }
         if (templateEngine != null) {
+            long startTime = metrics.startTimer();
             HttpRequest templatedRequest = templateEngine.executeTemplate(httpTemplate.getTemplate(), originalRequest, HttpRequestDTO.class);
+            metrics.observe(TEMPLATE_RENDERING_DURATION_SECONDS, startTime, httpTemplate.getTemplateType().name().toLowerCase());
             if (templatedRequest != null) {
                 return sendRequest(templatedRequest, null, null);
             }
@@ -1,5 +1,6 @@
 package org.mockserver.mock.action.http;
 
+import org.mockserver.mappers.EncodedHttpResponseCache;
 import org.mockserver.model.HttpResponse;
 
 /**
@@ -8,6 +9,10 @@ import org.mockserver.model.HttpResponse;
 public class HttpResponseActionHandler {
 
     public HttpResponse handle(HttpResponse httpResponse) {
+        if (httpResponse.getEncodedResponseCache() == null) {
+            // a response action is static so its body is encoded once and shared by each response
+            httpResponse.withEncodedResponseCache(new EncodedHttpResponseCache());
+        }
         return httpResponse.clone();
     }
 }
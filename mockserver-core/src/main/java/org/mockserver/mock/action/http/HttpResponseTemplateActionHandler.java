@@ -3,6 +3,7 @@ package org.mockserver.mock.action.http;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.serialization.model.HttpResponseDTO;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.HttpTemplate;
@@ -11,6 +12,7 @@ import org.mockserver.templates.engine.javascript.JavaScriptTemplateEngine;
 import org.mockserver.templates.engine.mustache.MustacheTemplateEngine;
 import org.mockserver.templates.engine.velocity.VelocityTemplateEngine;
 
+import static org.mockserver.metrics.Metrics.Latency.TEMPLATE_RENDERING_DURATION_SECONDS;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 
 /**
@@ -20,6 +22,7 @@ public class HttpResponseTemplateActionHandler {
 
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
+    private final Metrics metrics;
     private VelocityTemplateEngine velocityTemplateEngine;
     private JavaScriptTemplateEngine javascriptTemplateEngine;
     private MustacheTemplateEngine mustacheTemplateEngine;
@@ -27,6 +30,7 @@ public class HttpResponseTemplateActionHandler {
     public HttpResponseTemplateActionHandler(MockServerLogger mockServerLogger, Configuration configuration) {
         this.mockServerLogger = mockServerLogger;
         this.configuration = configuration;
+        this.metrics = new Metrics(configuration);
     }
 
     public HttpResponse handle(HttpTemplate httpTemplate, HttpRequest httpRequest) {
@@ -47,7 +51,9 @@ public class HttpResponseTemplateActionHandler {
                 throw new RuntimeException("Unknown no template engine available for " + httpTemplate.getTemplateType());
         }
         if (templateEngine != null) {
+            long startTime = metrics.startTimer();
             HttpResponse templatedResponse = templateEngine.executeTemplate(httpTemplate.getTemplate(), httpRequest, HttpResponseDTO.class);
+            metrics.observe(TEMPLATE_RENDERING_DURATION_SECONDS, startTime, httpTemplate.getTemplateType().name().toLowerCase());
             if (templatedResponse != null) {
                 return templatedResponse;
             }
@@ -0,0 +1,46 @@
+package org.mockserver.mock.action.http;
+
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Where (and how) a request, with a body too large to aggregate, should be streamed, the request only contains the
+ * headers to send to the remote server, the body is streamed separately
+ */
+public class StreamedForward {
+    private final HttpRequest httpRequest;
+    private final InetSocketAddress remoteAddress;
+    private final long connectionTimeoutInMillis;
+    private final Expectation expectation;
+    private final boolean potentiallyHttpProxy;
+
+    StreamedForward(HttpRequest httpRequest, InetSocketAddress remoteAddress, long connectionTimeoutInMillis, Expectation expectation, boolean potentiallyHttpProxy) {
+        this.httpRequest = httpRequest;
+        this.remoteAddress = remoteAddress;
+        this.connectionTimeoutInMillis = connectionTimeoutInMillis;
+        this.expectation = expectation;
+        this.potentiallyHttpProxy = potentiallyHttpProxy;
+    }
+
+    public HttpRequest getHttpRequest() {
+        return httpRequest;
+    }
+
+    public InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public long getConnectionTimeoutInMillis() {
+        return connectionTimeoutInMillis;
+    }
+
+    public Expectation getExpectation() {
+        return expectation;
+    }
+
+    public boolean isPotentiallyHttpProxy() {
+        return potentiallyHttpProxy;
+    }
+}
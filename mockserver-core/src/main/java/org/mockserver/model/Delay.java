@@ -1,5 +1,7 @@
 package org.mockserver.model;
 
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -7,8 +9,11 @@ import java.util.concurrent.TimeUnit;
  */
 public class Delay extends ObjectWithReflectiveEqualsHashCodeToString {
 
+    private static final String[] EXCLUDED_FIELDS = {"hashCode"};
+    private int hashCode;
     private final TimeUnit timeUnit;
     private final long value;
+    private final DelayDistribution distribution;
 
     public static Delay milliseconds(long value) {
         return new Delay(TimeUnit.MILLISECONDS, value);
@@ -26,9 +31,35 @@ public class Delay extends ObjectWithReflectiveEqualsHashCodeToString {
         return new Delay(timeUnit, value);
     }
 
+    /**
+     * Delay sampled between min and max each time it is applied
+     */
+    public static Delay uniform(TimeUnit timeUnit, long min, long max) {
+        return new Delay(timeUnit, 0, DelayDistribution.uniform(min, max));
+    }
+
+    /**
+     * Delay sampled from a normal distribution each time it is applied
+     */
+    public static Delay gaussian(TimeUnit timeUnit, long mean, long standardDeviation) {
+        return new Delay(timeUnit, 0, DelayDistribution.gaussian(mean, standardDeviation));
+    }
+
+    /**
+     * Delay sampled from a log-normal distribution, with the long tail typical of real latencies, each time it is applied
+     */
+    public static Delay logNormal(TimeUnit timeUnit, long median, long p99) {
+        return new Delay(timeUnit, 0, DelayDistribution.logNormal(median, p99));
+    }
+
     public Delay(TimeUnit timeUnit, long value) {
+        this(timeUnit, value, null);
+    }
+
+    public Delay(TimeUnit timeUnit, long value, DelayDistribution distribution) {
         this.timeUnit = timeUnit;
         this.value = value;
+        this.distribution = distribution;
     }
 
     public TimeUnit getTimeUnit() {
@@ -39,13 +70,54 @@ public class Delay extends ObjectWithReflectiveEqualsHashCodeToString {
         return value;
     }
 
+    public DelayDistribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * The value of this delay, sampled from its distribution if it has one
+     */
+    public long sampleValue() {
+        return distribution != null ? distribution.sample(ThreadLocalRandom.current()) : value;
+    }
+
     public void applyDelay() {
         if (timeUnit != null) {
             try {
-                timeUnit.sleep(value);
+                timeUnit.sleep(sampleValue());
             } catch (InterruptedException ie) {
                 throw new RuntimeException("InterruptedException while apply delay to response", ie);
             }
         }
     }
+
+    @Override
+    protected String[] fieldsExcludedFromEqualsAndHashCode() {
+        return EXCLUDED_FIELDS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        Delay that = (Delay) o;
+        return value == that.value &&
+            timeUnit == that.timeUnit &&
+            Objects.equals(distribution, that.distribution);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(timeUnit, value, distribution);
+        }
+        return hashCode;
+    }
 }
@@ -0,0 +1,141 @@
+package org.mockserver.model;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Distribution a delay is sampled from each time it is applied, so delayed responses can simulate the variable
+ * latency of a real upstream service, values are in the time unit of the delay and samples are never negative
+ * <p>
+ * UNIFORM is sampled between min and max, GAUSSIAN has a mean and standardDeviation and LOG_NORMAL, which has the
+ * long tail typical of real latencies, is defined by its median and 99th percentile (p99)
+ */
+public class DelayDistribution extends ObjectWithReflectiveEqualsHashCodeToString {
+
+    // 99th percentile of the standard normal distribution
+    private static final double STANDARD_NORMAL_P99 = 2.3263478740408408;
+    private static final String[] EXCLUDED_FIELDS = {"hashCode"};
+    private int hashCode;
+    private final Type type;
+    private final Long min;
+    private final Long max;
+    private final Long mean;
+    private final Long standardDeviation;
+    private final Long median;
+    private final Long p99;
+
+    public enum Type {
+        UNIFORM,
+        GAUSSIAN,
+        LOG_NORMAL
+    }
+
+    public static DelayDistribution uniform(long min, long max) {
+        return new DelayDistribution(Type.UNIFORM, min, max, null, null, null, null);
+    }
+
+    public static DelayDistribution gaussian(long mean, long standardDeviation) {
+        return new DelayDistribution(Type.GAUSSIAN, null, null, mean, standardDeviation, null, null);
+    }
+
+    public static DelayDistribution logNormal(long median, long p99) {
+        return new DelayDistribution(Type.LOG_NORMAL, null, null, null, null, median, p99);
+    }
+
+    public DelayDistribution(Type type, Long min, Long max, Long mean, Long standardDeviation, Long median, Long p99) {
+        this.type = type;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.median = median;
+        this.p99 = p99;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getMin() {
+        return min;
+    }
+
+    public Long getMax() {
+        return max;
+    }
+
+    public Long getMean() {
+        return mean;
+    }
+
+    public Long getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public Long getMedian() {
+        return median;
+    }
+
+    public Long getP99() {
+        return p99;
+    }
+
+    public long sample(Random random) {
+        double sample;
+        if (type == Type.UNIFORM) {
+            long lower = valueOf(min);
+            long upper = Math.max(lower, valueOf(max));
+            sample = lower + random.nextDouble() * (upper - lower);
+        } else if (type == Type.GAUSSIAN) {
+            sample = valueOf(mean) + random.nextGaussian() * valueOf(standardDeviation);
+        } else if (type == Type.LOG_NORMAL) {
+            if (valueOf(median) <= 0) {
+                return 0;
+            }
+            double mu = Math.log(valueOf(median));
+            double sigma = valueOf(p99) > valueOf(median) ? (Math.log(valueOf(p99)) - mu) / STANDARD_NORMAL_P99 : 0;
+            sample = Math.exp(mu + random.nextGaussian() * sigma);
+        } else {
+            sample = 0;
+        }
+        return Math.max(0, Math.round(sample));
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    @Override
+    protected String[] fieldsExcludedFromEqualsAndHashCode() {
+        return EXCLUDED_FIELDS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        DelayDistribution that = (DelayDistribution) o;
+        return type == that.type &&
+            Objects.equals(min, that.min) &&
+            Objects.equals(max, that.max) &&
+            Objects.equals(mean, that.mean) &&
+            Objects.equals(standardDeviation, that.standardDeviation) &&
+            Objects.equals(median, that.median) &&
+            Objects.equals(p99, that.p99);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(type, min, max, mean, standardDeviation, median, p99);
+        }
+        return hashCode;
+    }
+}
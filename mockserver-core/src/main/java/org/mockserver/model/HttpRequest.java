@@ -1,6 +1,8 @@
 package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.mockserver.matchers.ParsedBody;
+import org.mockserver.matchers.ParsedHeadersAndCookies;
 
 import java.net.InetSocketAddress;
 import java.nio.charset.Charset;
@@ -38,6 +40,8 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
     private SocketAddress socketAddress;
     private String localAddress;
     private String remoteAddress;
+    private ParsedBody parsedBody;
+    private ParsedHeadersAndCookies parsedHeadersAndCookies;
 
     public static HttpRequest request() {
         return new HttpRequest();
@@ -200,6 +204,36 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
         return remoteAddress;
     }
 
+    /**
+     * Body parsed once and shared by the json and xml body matchers while this request is matched against the expectations
+     *
+     * @param parsedBody the parsed body cache, or null to stop sharing the parsed body
+     */
+    public HttpRequest withParsedBody(ParsedBody parsedBody) {
+        this.parsedBody = parsedBody;
+        return this;
+    }
+
+    @JsonIgnore
+    public ParsedBody getParsedBody() {
+        return parsedBody;
+    }
+
+    /**
+     * Headers and cookies converted once and shared by the header and cookie matchers while this request is matched against the expectations
+     *
+     * @param parsedHeadersAndCookies the converted headers and cookies cache, or null to stop sharing the converted headers and cookies
+     */
+    public HttpRequest withParsedHeadersAndCookies(ParsedHeadersAndCookies parsedHeadersAndCookies) {
+        this.parsedHeadersAndCookies = parsedHeadersAndCookies;
+        return this;
+    }
+
+    @JsonIgnore
+    public ParsedHeadersAndCookies getParsedHeadersAndCookies() {
+        return parsedHeadersAndCookies;
+    }
+
     /**
      * The HTTP method to match on such as "GET" or "POST"
      *
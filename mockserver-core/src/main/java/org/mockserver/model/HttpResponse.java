@@ -3,6 +3,7 @@ package org.mockserver.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.Multimap;
 import io.netty.handler.codec.http.cookie.ClientCookieDecoder;
+import org.mockserver.mappers.EncodedHttpResponseCache;
 
 import java.nio.charset.Charset;
 import java.util.Collections;
@@ -29,6 +30,7 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
     private Headers headers;
     private Cookies cookies;
     private ConnectionOptions connectionOptions;
+    private EncodedHttpResponseCache encodedResponseCache;
 
     /**
      * Static builder to create a response.
@@ -526,6 +528,21 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
         return connectionOptions;
     }
 
+    /**
+     * Encoded body shared by every clone of a static response action so the body is only encoded once for each expectation
+     *
+     * @param encodedResponseCache the encoded body cache, or null to encode the body for each response
+     */
+    public HttpResponse withEncodedResponseCache(EncodedHttpResponseCache encodedResponseCache) {
+        this.encodedResponseCache = encodedResponseCache;
+        return this;
+    }
+
+    @JsonIgnore
+    public EncodedHttpResponseCache getEncodedResponseCache() {
+        return encodedResponseCache;
+    }
+
     @Override
     @JsonIgnore
     public Type getType() {
@@ -540,7 +557,8 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
             .withHeaders(headers)
             .withCookies(cookies)
             .withDelay(getDelay())
-            .withConnectionOptions(connectionOptions);
+            .withConnectionOptions(connectionOptions)
+            .withEncodedResponseCache(encodedResponseCache);
     }
 
 
@@ -553,7 +571,8 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
             .withHeaders(headers != null ? headers.clone() : null)
             .withCookies(cookies != null ? cookies.clone() : null)
             .withDelay(getDelay())
-            .withConnectionOptions(connectionOptions);
+            .withConnectionOptions(connectionOptions)
+            .withEncodedResponseCache(encodedResponseCache);
     }
 
     public HttpResponse update(HttpResponse responseOverride, HttpResponseModifier responseModifier) {
@@ -3,6 +3,7 @@ package org.mockserver.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Joiner;
 import org.apache.commons.lang3.StringUtils;
+import org.mockserver.cache.RegexPatternCache;
 
 import java.util.*;
 import java.util.regex.Pattern;
@@ -25,6 +26,7 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
     private final int hashCode;
     private final String json;
     private Pattern pattern;
+    private Boolean literal;
     private ParameterStyle parameterStyle;
 
     NottableString(String value, Boolean not) {
@@ -209,9 +211,26 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
         return isBlank;
     }
 
+    /**
+     * True if this only matches values equal to it ignoring case, i.e. it isn't negated, a schema, blank or a regex
+     */
+    public boolean isLiteral() {
+        return !not && !(this instanceof NottableSchemaString) && !isBlank && literalValue();
+    }
+
+    private boolean literalValue() {
+        if (literal == null) {
+            literal = RegexPatternCache.isLiteral(getValue());
+        }
+        return literal;
+    }
+
     public boolean matches(String input) {
+        if (literalValue()) {
+            return getValue().equalsIgnoreCase(input);
+        }
         if (pattern == null) {
-            pattern = Pattern.compile(getValue(), Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            pattern = RegexPatternCache.compile(getValue());
         }
         return pattern.matcher(input).matches();
     }
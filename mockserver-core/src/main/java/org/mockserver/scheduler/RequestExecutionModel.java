@@ -0,0 +1,44 @@
+package org.mockserver.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Where received requests are matched against expectations and their actions dispatched.
+ * <p>
+ * EVENT_LOOP handles requests inline on the netty event loop that read them, WORKER_POOL hands requests off to a
+ * bounded worker thread pool and VIRTUAL_THREADS hands requests off to a virtual thread per request (which is only
+ * available when running on Java 21 or later).
+ */
+public enum RequestExecutionModel {
+    EVENT_LOOP,
+    WORKER_POOL,
+    VIRTUAL_THREADS;
+
+    /**
+     * Returns true if this execution model is supported by the running JVM
+     */
+    public boolean isAvailable() {
+        if (this == VIRTUAL_THREADS) {
+            try {
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return true;
+            } catch (NoSuchMethodException ignore) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an executor creating a virtual thread for each task, an exception is thrown if virtual threads are not
+     * supported by the running JVM
+     */
+    static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(VIRTUAL_THREADS.name() + " request execution model is not available - virtual threads require Java 21 or later", e);
+        }
+    }
+}
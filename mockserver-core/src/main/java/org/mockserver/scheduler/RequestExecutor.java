@@ -0,0 +1,193 @@
+package org.mockserver.scheduler;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.slf4j.event.Level;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockserver.log.model.LogEntry.LogMessageType.WARN;
+import static org.mockserver.metrics.Metrics.Latency.REQUEST_HANDOFF_LAG_SECONDS;
+import static org.mockserver.metrics.Metrics.Name.REQUEST_HANDOFF_BACKLOG_COUNT;
+
+/**
+ * Handles received requests using the configured {@link RequestExecutionModel}, either inline on the event loop or
+ * handed off to a worker pool or virtual threads so slow matching (i.e. json schema or xpath body matchers) and actions
+ * don't block the other connections on the same event loop
+ * <p>
+ * requests received on the same channel are handled one at a time in the order they were received, so responses to
+ * pipelined HTTP/1.1 requests are written in order, while requests received on different channels (including each
+ * HTTP/2 stream) are handled concurrently, when the worker pool queue is full requests are handled on the event loop
+ * <p>
+ * a channel isn't read while too many of its requests are waiting to be handled, so a client pipelining requests faster
+ * than they are handled can't queue an unbounded number of requests
+ */
+public class RequestExecutor {
+
+    private static final AttributeKey<ChannelRequestQueue> CHANNEL_REQUEST_QUEUE = AttributeKey.valueOf("CHANNEL_REQUEST_QUEUE");
+    static final int MAX_QUEUED_REQUESTS_PER_CHANNEL = 32;
+    private final MockServerLogger mockServerLogger;
+    private final Metrics metrics;
+    private final ExecutorService executorService;
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    public RequestExecutor(Configuration configuration, MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.metrics = new Metrics(configuration);
+        switch (configuration.requestExecutionModel()) {
+            case WORKER_POOL:
+                this.executorService = new ThreadPoolExecutor(
+                    configuration.requestWorkerThreadCount(),
+                    configuration.requestWorkerThreadCount(),
+                    0L,
+                    MILLISECONDS,
+                    new LinkedBlockingQueue<>(configuration.requestWorkerQueueSize()),
+                    new Scheduler.SchedulerThreadFactory("RequestWorker"),
+                    new ThreadPoolExecutor.CallerRunsPolicy()
+                );
+                break;
+            case VIRTUAL_THREADS:
+                this.executorService = RequestExecutionModel.virtualThreadPerTaskExecutor();
+                break;
+            default:
+                this.executorService = null;
+        }
+    }
+
+    /**
+     * @param channel the channel the request was received on
+     * @param handler handles the request
+     */
+    public void execute(Channel channel, Runnable handler) {
+        if (executorService == null) {
+            handler.run();
+        } else {
+            long startTime = metrics.startTimer();
+            metrics.set(REQUEST_HANDOFF_BACKLOG_COUNT, backlog.incrementAndGet());
+            channelRequestQueue(channel).add(() -> {
+                metrics.set(REQUEST_HANDOFF_BACKLOG_COUNT, backlog.decrementAndGet());
+                metrics.observe(REQUEST_HANDOFF_LAG_SECONDS, startTime);
+                handler.run();
+            });
+        }
+    }
+
+    private ChannelRequestQueue channelRequestQueue(Channel channel) {
+        ChannelRequestQueue channelRequestQueue = channel.attr(CHANNEL_REQUEST_QUEUE).get();
+        if (channelRequestQueue == null) {
+            channelRequestQueue = new ChannelRequestQueue(channel);
+            ChannelRequestQueue existing = channel.attr(CHANNEL_REQUEST_QUEUE).setIfAbsent(channelRequestQueue);
+            if (existing != null) {
+                channelRequestQueue = existing;
+            }
+        }
+        return channelRequestQueue;
+    }
+
+    public void shutdown() {
+        if (executorService != null && !executorService.isShutdown()) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(500, MILLISECONDS);
+            } catch (InterruptedException ignore) {
+                // ignore interrupted exception
+            }
+        }
+    }
+
+    /**
+     * Requests received on a single channel, at most one is submitted to the executor at a time and each handled
+     * request submits the next so requests are handled in order without holding a thread while the channel is idle
+     * <p>
+     * the channel stops being read when the maximum number of requests are queued and is read again once half of them
+     * have been handled
+     */
+    private class ChannelRequestQueue implements Runnable {
+
+        private final Channel channel;
+        private final Queue<Runnable> requests = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean submitted = new AtomicBoolean(false);
+        private volatile boolean readSuspended;
+
+        private ChannelRequestQueue(Channel channel) {
+            this.channel = channel;
+        }
+
+        private void add(Runnable request) {
+            requests.add(request);
+            if (queued.incrementAndGet() >= MAX_QUEUED_REQUESTS_PER_CHANNEL) {
+                updateAutoRead();
+            }
+            submitNext();
+        }
+
+        private void polled() {
+            queued.decrementAndGet();
+            if (readSuspended) {
+                updateAutoRead();
+            }
+        }
+
+        /**
+         * Synchronized so reading is suspended and resumed in the same order the decisions are made
+         */
+        private synchronized void updateAutoRead() {
+            int queuedRequests = queued.get();
+            if (!readSuspended && queuedRequests >= MAX_QUEUED_REQUESTS_PER_CHANNEL) {
+                readSuspended = true;
+                channel.config().setAutoRead(false);
+            } else if (readSuspended && queuedRequests <= MAX_QUEUED_REQUESTS_PER_CHANNEL / 2) {
+                readSuspended = false;
+                channel.config().setAutoRead(true);
+            }
+        }
+
+        private void submitNext() {
+            if (!requests.isEmpty() && submitted.compareAndSet(false, true)) {
+                try {
+                    executorService.execute(this);
+                } catch (RejectedExecutionException rejectedExecutionException) {
+                    // only rejected after shutdown
+                    while (requests.poll() != null) {
+                        polled();
+                    }
+                    submitted.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable request = requests.poll();
+                if (request != null) {
+                    polled();
+                    request.run();
+                }
+            } catch (Throwable throwable) {
+                if (MockServerLogger.isEnabled(Level.WARN)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(WARN)
+                            .setLogLevel(Level.WARN)
+                            .setMessageFormat("exception handling request:{}")
+                            .setArguments(throwable.getMessage())
+                            .setThrowable(throwable)
+                    );
+                }
+            } finally {
+                submitted.set(false);
+                submitNext();
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package org.mockserver.scheduler;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.util.HashedWheelTimer;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.httpclient.SocketCommunicationException;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.action.http.HttpForwardActionResult;
 import org.mockserver.model.BinaryMessage;
 import org.mockserver.model.Delay;
@@ -17,6 +19,8 @@ import java.util.function.Predicate;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mockserver.log.model.LogEntry.LogMessageType.WARN;
+import static org.mockserver.metrics.Metrics.Name.ACTION_HANDLER_VIRTUAL_THREADS_ENABLED;
+import static org.mockserver.metrics.Metrics.Name.DELAYED_ACTIONS_PENDING_COUNT;
 import static org.mockserver.mock.HttpState.getPort;
 import static org.mockserver.mock.HttpState.setPort;
 
@@ -25,8 +29,19 @@ import static org.mockserver.mock.HttpState.setPort;
  */
 public class Scheduler {
 
+    private static final long DELAY_TIMER_TICK_IN_MILLIS = 10;
     private final Configuration configuration;
-    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final Metrics metrics;
+    private final boolean virtualThreads;
+    /**
+     * Times every delayed action (i.e. response, forward and close socket delays) using a single thread for any
+     * number of pending delays, an expired delay hands its action to the executor so the timer thread never runs actions
+     * <p>
+     * each scheduler's timer is created by its first delayed action and stopped on shutdown, dropping any pending delays,
+     * the timer only wakes every 10ms tick so a delay may expire up to one tick late
+     */
+    private HashedWheelTimer delayTimer;
 
     private final boolean synchronous;
 
@@ -66,22 +81,48 @@ public class Scheduler {
         this.configuration = configuration;
         this.mockServerLogger = mockServerLogger;
         this.synchronous = synchronous;
-        if (!this.synchronous) {
-            this.scheduler = new ScheduledThreadPoolExecutor(
+        this.virtualThreads = !synchronous && configuration.actionHandlerVirtualThreads() && RequestExecutionModel.VIRTUAL_THREADS.isAvailable();
+        if (this.virtualThreads) {
+            this.executor = RequestExecutionModel.virtualThreadPerTaskExecutor();
+        } else if (!this.synchronous) {
+            if (configuration.actionHandlerVirtualThreads() && MockServerLogger.isEnabled(Level.WARN)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(WARN)
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("virtual threads are not supported by this JVM, Java 21 or later is required, so actions are handled by the action handler thread pool")
+                );
+            }
+            this.executor = new ThreadPoolExecutor(
                 configuration.actionHandlerThreadCount(),
+                configuration.actionHandlerThreadCount(),
+                0L,
+                MILLISECONDS,
+                new LinkedBlockingQueue<>(),
                 new SchedulerThreadFactory("Scheduler"),
                 new ThreadPoolExecutor.CallerRunsPolicy()
             );
         } else {
-            this.scheduler = null;
+            this.executor = null;
         }
+        this.metrics = new Metrics(configuration);
+        this.metrics.set(ACTION_HANDLER_VIRTUAL_THREADS_ENABLED, this.virtualThreads ? 1 : 0);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
     }
 
     public synchronized void shutdown() {
-        if (!scheduler.isShutdown()) {
-            scheduler.shutdown();
+        if (delayTimer != null) {
+            for (int i = delayTimer.stop().size(); i > 0; i--) {
+                metrics.decrement(DELAYED_ACTIONS_PENDING_COUNT);
+            }
+        }
+        if (executor != null && !executor.isShutdown()) {
+            executor.shutdown();
             try {
-                scheduler.awaitTermination(500, MILLISECONDS);
+                executor.awaitTermination(500, MILLISECONDS);
             } catch (InterruptedException ignore) {
                 // ignore interrupted exception
             }
@@ -114,14 +155,37 @@ public class Scheduler {
             }
             run(command, port);
         } else {
-            if (delay != null) {
-                scheduler.schedule(() -> run(command, port), delay.getValue(), delay.getTimeUnit());
+            if (delay != null && delay.getTimeUnit() != null) {
+                metrics.increment(DELAYED_ACTIONS_PENDING_COUNT);
+                try {
+                    getDelayTimer().newTimeout(timeout -> {
+                        metrics.decrement(DELAYED_ACTIONS_PENDING_COUNT);
+                        try {
+                            executor.execute(() -> run(command, port));
+                        } catch (RejectedExecutionException ignore) {
+                            // only rejected after shutdown
+                        }
+                    }, delay.sampleValue(), delay.getTimeUnit());
+                } catch (IllegalStateException ignore) {
+                    // only rejected after shutdown
+                    metrics.decrement(DELAYED_ACTIONS_PENDING_COUNT);
+                }
             } else {
                 run(command, port);
             }
         }
     }
 
+    private synchronized HashedWheelTimer getDelayTimer() {
+        if (delayTimer == null) {
+            if (executor.isShutdown()) {
+                throw new IllegalStateException("scheduler has been shutdown");
+            }
+            delayTimer = new HashedWheelTimer(new SchedulerThreadFactory("DelayTimer"), DELAY_TIMER_TICK_IN_MILLIS, MILLISECONDS, 512);
+        }
+        return delayTimer;
+    }
+
     private Delay addDelays(Delay... delays) {
         if (delays == null || delays.length == 0) {
             return null;
@@ -132,8 +196,8 @@ public class Scheduler {
         } else {
             long timeInMilliseconds = 0;
             for (Delay delay : delays) {
-                if (delay != null) {
-                    timeInMilliseconds += delay.getTimeUnit().toMillis(delay.getValue());
+                if (delay != null && delay.getTimeUnit() != null) {
+                    timeInMilliseconds += delay.getTimeUnit().toMillis(delay.sampleValue());
                 }
             }
             return new Delay(MILLISECONDS, timeInMilliseconds);
@@ -149,7 +213,7 @@ public class Scheduler {
         if (this.synchronous || synchronous) {
             run(command, port);
         } else {
-            scheduler.submit(() -> run(command, port));
+            executor.submit(() -> run(command, port));
         }
     }
 
@@ -177,7 +241,7 @@ public class Scheduler {
                         );
                     }
                     run(command, port);
-                }, scheduler);
+                }, executor);
             }
         }
     }
@@ -195,7 +259,7 @@ public class Scheduler {
                 }
                 run(command, port);
             } else {
-                future.whenCompleteAsync((httpResponse, throwable) -> command.run(), scheduler);
+                future.whenCompleteAsync((httpResponse, throwable) -> command.run(), executor);
             }
         }
     }
@@ -226,7 +290,7 @@ public class Scheduler {
                     }
                 }
             } else {
-                future.getHttpResponse().whenCompleteAsync(consumer, scheduler);
+                future.getHttpResponse().whenCompleteAsync(consumer, executor);
             }
         }
     }
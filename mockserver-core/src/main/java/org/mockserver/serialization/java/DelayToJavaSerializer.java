@@ -1,6 +1,7 @@
 package org.mockserver.serialization.java;
 
 import org.mockserver.model.Delay;
+import org.mockserver.model.DelayDistribution;
 
 /**
  * @author jamesdbloom
@@ -11,7 +12,16 @@ public class DelayToJavaSerializer implements ToJavaSerializer<Delay> {
     public String serialize(int numberOfSpacesToIndent, Delay delay) {
         StringBuilder output = new StringBuilder();
         if (delay != null) {
-            output.append("new Delay(TimeUnit.").append(delay.getTimeUnit().name()).append(", ").append(delay.getValue()).append(")");
+            DelayDistribution distribution = delay.getDistribution();
+            if (distribution != null && distribution.getType() == DelayDistribution.Type.UNIFORM) {
+                output.append("Delay.uniform(TimeUnit.").append(delay.getTimeUnit().name()).append(", ").append(distribution.getMin()).append(", ").append(distribution.getMax()).append(")");
+            } else if (distribution != null && distribution.getType() == DelayDistribution.Type.GAUSSIAN) {
+                output.append("Delay.gaussian(TimeUnit.").append(delay.getTimeUnit().name()).append(", ").append(distribution.getMean()).append(", ").append(distribution.getStandardDeviation()).append(")");
+            } else if (distribution != null && distribution.getType() == DelayDistribution.Type.LOG_NORMAL) {
+                output.append("Delay.logNormal(TimeUnit.").append(delay.getTimeUnit().name()).append(", ").append(distribution.getMedian()).append(", ").append(distribution.getP99()).append(")");
+            } else {
+                output.append("new Delay(TimeUnit.").append(delay.getTimeUnit().name()).append(", ").append(delay.getValue()).append(")");
+            }
         }
         return output.toString();
     }
@@ -12,11 +12,15 @@ public class DelayDTO extends ObjectWithReflectiveEqualsHashCodeToString impleme
 
     private TimeUnit timeUnit;
     private long value;
+    private DelayDistributionDTO distribution;
 
     public DelayDTO(Delay delay) {
         if (delay != null) {
             timeUnit = delay.getTimeUnit();
             value = delay.getValue();
+            if (delay.getDistribution() != null) {
+                distribution = new DelayDistributionDTO(delay.getDistribution());
+            }
         }
     }
 
@@ -24,7 +28,7 @@ public class DelayDTO extends ObjectWithReflectiveEqualsHashCodeToString impleme
     }
 
     public Delay buildObject() {
-        return new Delay(timeUnit, value);
+        return new Delay(timeUnit, value, distribution != null ? distribution.buildObject() : null);
     }
 
     public TimeUnit getTimeUnit() {
@@ -44,4 +48,13 @@ public class DelayDTO extends ObjectWithReflectiveEqualsHashCodeToString impleme
         this.value = value;
         return this;
     }
+
+    public DelayDistributionDTO getDistribution() {
+        return distribution;
+    }
+
+    public DelayDTO setDistribution(DelayDistributionDTO distribution) {
+        this.distribution = distribution;
+        return this;
+    }
 }
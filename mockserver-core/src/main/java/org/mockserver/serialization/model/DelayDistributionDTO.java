@@ -0,0 +1,97 @@
+package org.mockserver.serialization.model;
+
+import org.mockserver.model.DelayDistribution;
+import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+
+public class DelayDistributionDTO extends ObjectWithReflectiveEqualsHashCodeToString implements DTO<DelayDistribution> {
+
+    private DelayDistribution.Type type;
+    private Long min;
+    private Long max;
+    private Long mean;
+    private Long standardDeviation;
+    private Long median;
+    private Long p99;
+
+    public DelayDistributionDTO(DelayDistribution delayDistribution) {
+        if (delayDistribution != null) {
+            type = delayDistribution.getType();
+            min = delayDistribution.getMin();
+            max = delayDistribution.getMax();
+            mean = delayDistribution.getMean();
+            standardDeviation = delayDistribution.getStandardDeviation();
+            median = delayDistribution.getMedian();
+            p99 = delayDistribution.getP99();
+        }
+    }
+
+    public DelayDistributionDTO() {
+    }
+
+    public DelayDistribution buildObject() {
+        return new DelayDistribution(type, min, max, mean, standardDeviation, median, p99);
+    }
+
+    public DelayDistribution.Type getType() {
+        return type;
+    }
+
+    public DelayDistributionDTO setType(DelayDistribution.Type type) {
+        this.type = type;
+        return this;
+    }
+
+    public Long getMin() {
+        return min;
+    }
+
+    public DelayDistributionDTO setMin(Long min) {
+        this.min = min;
+        return this;
+    }
+
+    public Long getMax() {
+        return max;
+    }
+
+    public DelayDistributionDTO setMax(Long max) {
+        this.max = max;
+        return this;
+    }
+
+    public Long getMean() {
+        return mean;
+    }
+
+    public DelayDistributionDTO setMean(Long mean) {
+        this.mean = mean;
+        return this;
+    }
+
+    public Long getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public DelayDistributionDTO setStandardDeviation(Long standardDeviation) {
+        this.standardDeviation = standardDeviation;
+        return this;
+    }
+
+    public Long getMedian() {
+        return median;
+    }
+
+    public DelayDistributionDTO setMedian(Long median) {
+        this.median = median;
+        return this;
+    }
+
+    public Long getP99() {
+        return p99;
+    }
+
+    public DelayDistributionDTO setP99(Long p99) {
+        this.p99 = p99;
+        return this;
+    }
+}
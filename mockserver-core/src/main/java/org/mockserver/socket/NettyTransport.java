@@ -0,0 +1,157 @@
+package org.mockserver.socket;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Netty transport used for event loops, server sockets and client sockets.
+ * <p>
+ * EPOLL uses the native Linux epoll transport, IO_URING uses the native Linux io_uring transport (which is only
+ * available if netty-incubator-transport-native-io_uring has been added to the classpath) and AUTO uses the first
+ * available of IO_URING, EPOLL or NIO.
+ */
+@SuppressWarnings("unchecked")
+public enum NettyTransport {
+    AUTO,
+    NIO,
+    EPOLL,
+    IO_URING;
+
+    private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+    private static Class<? extends EventLoopGroup> ioUringEventLoopGroupClass;
+    private static Class<? extends ServerChannel> ioUringServerSocketChannelClass;
+    private static Class<? extends SocketChannel> ioUringSocketChannelClass;
+    private static ChannelOption<Boolean> ioUringReusePortOption;
+
+    static {
+        try {
+            if ((Boolean) Class.forName(IO_URING_PACKAGE + "IOUring").getMethod("isAvailable").invoke(null)) {
+                ioUringEventLoopGroupClass = (Class<? extends EventLoopGroup>) Class.forName(IO_URING_PACKAGE + "IOUringEventLoopGroup");
+                ioUringServerSocketChannelClass = (Class<? extends ServerChannel>) Class.forName(IO_URING_PACKAGE + "IOUringServerSocketChannel");
+                ioUringSocketChannelClass = (Class<? extends SocketChannel>) Class.forName(IO_URING_PACKAGE + "IOUringSocketChannel");
+                ioUringReusePortOption = (ChannelOption<Boolean>) Class.forName(IO_URING_PACKAGE + "IOUringChannelOption").getField("SO_REUSEPORT").get(null);
+            }
+        } catch (Throwable ignore) {
+            ioUringEventLoopGroupClass = null;
+        }
+    }
+
+    public boolean isAvailable() {
+        switch (this) {
+            case EPOLL:
+                return Epoll.isAvailable();
+            case IO_URING:
+                return ioUringEventLoopGroupClass != null;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the transport to use, resolving AUTO to the first available native transport, an exception is thrown if
+     * a native transport has been explicitly requested but is not available on this platform
+     */
+    public NettyTransport resolve() {
+        if (this == AUTO) {
+            return IO_URING.isAvailable() ? IO_URING : EPOLL.isAvailable() ? EPOLL : NIO;
+        } else if (!isAvailable()) {
+            throw new IllegalArgumentException(name() + " transport is not available" + (this == EPOLL ? " - " + Epoll.unavailabilityCause().getMessage() : " - netty-incubator-transport-native-io_uring is not on the classpath or is not supported by this kernel"));
+        }
+        return this;
+    }
+
+    public boolean supportsReusePort() {
+        return reusePortOption() != null;
+    }
+
+    public EventLoopGroup eventLoopGroup(int threadCount, ThreadFactory threadFactory) {
+        switch (resolve()) {
+            case EPOLL:
+                return new EpollEventLoopGroup(threadCount, threadFactory);
+            case IO_URING:
+                try {
+                    return ioUringEventLoopGroupClass.getConstructor(int.class, ThreadFactory.class).newInstance(threadCount, threadFactory);
+                } catch (Exception e) {
+                    throw new RuntimeException("Exception creating io_uring event loop group", e);
+                }
+            default:
+                return new NioEventLoopGroup(threadCount, threadFactory);
+        }
+    }
+
+    public Class<? extends ServerChannel> serverSocketChannelClass() {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollServerSocketChannel.class;
+            case IO_URING:
+                return ioUringServerSocketChannelClass;
+            default:
+                return NioServerSocketChannel.class;
+        }
+    }
+
+    public Class<? extends SocketChannel> socketChannelClass() {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollSocketChannel.class;
+            case IO_URING:
+                return ioUringSocketChannelClass;
+            default:
+                return NioSocketChannel.class;
+        }
+    }
+
+    /**
+     * Returns the SO_REUSEPORT channel option of this transport or null if this transport doesn't support SO_REUSEPORT
+     * (i.e. NIO)
+     */
+    public ChannelOption<Boolean> reusePortOption() {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollChannelOption.SO_REUSEPORT;
+            case IO_URING:
+                return ioUringReusePortOption;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the transport of an existing event loop group (or event loop), so client channels always match the
+     * event loop they are registered with
+     */
+    public static NettyTransport transportFor(EventLoopGroup eventLoopGroup) {
+        if (eventLoopGroup instanceof EventLoop && ((EventLoop) eventLoopGroup).parent() != null) {
+            eventLoopGroup = ((EventLoop) eventLoopGroup).parent();
+        }
+        if (eventLoopGroup instanceof EpollEventLoopGroup) {
+            return EPOLL;
+        } else if (ioUringEventLoopGroupClass != null && ioUringEventLoopGroupClass.isInstance(eventLoopGroup)) {
+            return IO_URING;
+        } else {
+            return NIO;
+        }
+    }
+
+    public static Class<? extends SocketChannel> socketChannelClass(EventLoopGroup eventLoopGroup) {
+        return transportFor(eventLoopGroup).socketChannelClass();
+    }
+
+    public static Class<? extends SocketChannel> socketChannelClass(Channel channel) {
+        return socketChannelClass(channel.eventLoop());
+    }
+}
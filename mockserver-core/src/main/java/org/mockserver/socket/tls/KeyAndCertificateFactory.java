@@ -3,6 +3,7 @@ package org.mockserver.socket.tls;
 import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
 
 import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.cert.X509Certificate;
 import java.util.Date;
 import java.util.List;
@@ -68,4 +69,16 @@ public interface KeyAndCertificateFactory {
 
     List<X509Certificate> certificateChain();
 
+    /**
+     * Create a certificate chain for a single host name (or IP address) signed by the certificate authority, the leaf
+     * certificate is for the provided public key so the key pair can be generated by the caller
+     *
+     * @param host      the host name or IP address used as the common name and subject alternative name
+     * @param publicKey the public key of the leaf certificate
+     * @return the leaf certificate followed by the certificate authority certificate, or null if not supported
+     */
+    default List<X509Certificate> hostCertificateChain(String host, PublicKey publicKey) {
+        return null;
+    }
+
 }
@@ -1,31 +1,36 @@
 package org.mockserver.socket.tls;
 
 import com.google.common.base.Joiner;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.mockserver.cache.LRUCache;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.keys.AsymmetricKeyGenerator;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
 import org.slf4j.event.Level;
 
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
+import java.security.KeyPair;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Function;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.socket.tls.KeyAndCertificateFactoryFactory.createKeyAndCertificateFactory;
@@ -38,6 +43,13 @@ import static org.mockserver.socket.tls.PEMToFile.x509ChainFromPEMFile;
 public class NettySslContextFactory {
 
     private static final String[] TLS_PROTOCOLS = "TLSv1,TLSv1.1,TLSv1.2".split(",");
+    private static final ApplicationProtocolConfig HTTP2_APPLICATION_PROTOCOL_CONFIG = new ApplicationProtocolConfig(
+        ApplicationProtocolConfig.Protocol.ALPN,
+        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+        ApplicationProtocolNames.HTTP_2,
+        ApplicationProtocolNames.HTTP_1_1
+    );
     public static Function<SslContextBuilder, SslContext> clientSslContextBuilderFunction =
         sslContextBuilder -> {
             try {
@@ -55,7 +67,10 @@ public class NettySslContextFactory {
     private final MockServerLogger mockServerLogger;
     private final KeyAndCertificateFactory keyAndCertificateFactory;
     private SslContext clientSslContext = null;
-    private SslContext serverSslContext = null;
+    private SslContext http2ClientSslContext = null;
+    private volatile SslContext serverSslContext = null;
+    private final LRUCache<String, CompletableFuture<SslContext>> hostServerSslContexts;
+    private Executor hostCertificateExecutor;
     private Function<SslContextBuilder, SslContext> instanceClientSslContextBuilderFunction = clientSslContextBuilderFunction;
     private final boolean forServer;
 
@@ -67,24 +82,28 @@ public class NettySslContextFactory {
         this.configuration = configuration();
         this.mockServerLogger = mockServerLogger;
         this.forServer = true;
+        this.hostServerSslContexts = new LRUCache<>(mockServerLogger, configuration.perHostCertificateCacheSize(), TimeUnit.DAYS.toMillis(1));
         keyAndCertificateFactory = createKeyAndCertificateFactory(configuration, mockServerLogger);
         System.setProperty("https.protocols", Joiner.on(",").join(TLS_PROTOCOLS));
         nettySslContextFactoryCustomizer.accept(this);
         if (configuration.proactivelyInitialiseTLS()) {
             createServerSslContext();
         }
+        preWarmHostServerSslContexts();
     }
 
     public NettySslContextFactory(Configuration configuration, MockServerLogger mockServerLogger, boolean forServer) {
         this.configuration = configuration;
         this.mockServerLogger = mockServerLogger;
         this.forServer = forServer;
+        this.hostServerSslContexts = new LRUCache<>(mockServerLogger, configuration.perHostCertificateCacheSize(), TimeUnit.DAYS.toMillis(1));
         keyAndCertificateFactory = createKeyAndCertificateFactory(configuration, mockServerLogger, forServer);
         System.setProperty("https.protocols", Joiner.on(",").join(TLS_PROTOCOLS));
         nettySslContextFactoryCustomizer.accept(this);
         if (configuration.proactivelyInitialiseTLS()) {
             createServerSslContext();
         }
+        preWarmHostServerSslContexts();
     }
 
     public NettySslContextFactory withClientSslContextBuilderFunction(Function<SslContextBuilder, SslContext> clientSslContextBuilderFunction) {
@@ -94,53 +113,72 @@ public class NettySslContextFactory {
 
     public synchronized SslContext createClientSslContext(boolean forwardProxyClient) {
         if (clientSslContext == null || configuration.rebuildTLSContext()) {
-            try {
-                // create x509 and private key if none exist yet
-                if (keyAndCertificateFactory.certificateNotYetCreated()) {
-                    keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
+            clientSslContext = buildClientSslContext(forwardProxyClient, false);
+        }
+        return clientSslContext;
+    }
+
+    /**
+     * Client SslContext that offers h2 and http/1.1 using ALPN, the negotiated protocol is available from the SslHandler
+     * once the handshake has completed
+     */
+    public synchronized SslContext createHttp2ClientSslContext(boolean forwardProxyClient) {
+        if (http2ClientSslContext == null || configuration.rebuildTLSContext()) {
+            http2ClientSslContext = buildClientSslContext(forwardProxyClient, true);
+        }
+        return http2ClientSslContext;
+    }
+
+    private SslContext buildClientSslContext(boolean forwardProxyClient, boolean http2) {
+        try {
+            // create x509 and private key if none exist yet
+            if (keyAndCertificateFactory.certificateNotYetCreated()) {
+                keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
+            }
+            SslContextBuilder sslContextBuilder =
+                SslContextBuilder
+                    .forClient()
+                    .protocols(TLS_PROTOCOLS)
+//                    .sslProvider(SslProvider.JDK)
+                    .keyManager(
+                        forwardProxyPrivateKey(),
+                        forwardProxyCertificateChain()
+                    );
+            if (forwardProxyClient) {
+                switch (configuration.forwardProxyTLSX509CertificatesTrustManagerType()) {
+                    case ANY:
+                        sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+                        break;
+                    case JVM:
+                        List<X509Certificate> mockServerX509Certificates = new ArrayList<>();
+                        mockServerX509Certificates.add(keyAndCertificateFactory.x509Certificate());
+                        mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
+                        sslContextBuilder.trustManager(jvmCAX509TrustCertificates(mockServerX509Certificates));
+                        break;
+                    case CUSTOM:
+                        sslContextBuilder.trustManager(customCAX509TrustCertificates());
+                        break;
                 }
-                SslContextBuilder sslContextBuilder =
-                    SslContextBuilder
-                        .forClient()
-                        .protocols(TLS_PROTOCOLS)
-//                        .sslProvider(SslProvider.JDK)
-                        .keyManager(
-                            forwardProxyPrivateKey(),
-                            forwardProxyCertificateChain()
-                        );
-                if (forwardProxyClient) {
-                    switch (configuration.forwardProxyTLSX509CertificatesTrustManagerType()) {
-                        case ANY:
-                            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-                            break;
-                        case JVM:
-                            List<X509Certificate> mockServerX509Certificates = new ArrayList<>();
-                            mockServerX509Certificates.add(keyAndCertificateFactory.x509Certificate());
-                            mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
-                            sslContextBuilder.trustManager(jvmCAX509TrustCertificates(mockServerX509Certificates));
-                            break;
-                        case CUSTOM:
-                            sslContextBuilder.trustManager(customCAX509TrustCertificates());
-                            break;
-                    }
+            } else {
+                List<X509Certificate> mockServerX509Certificates = new ArrayList<>();
+                if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain())) {
+                    mockServerX509Certificates.addAll(x509ChainFromPEMFile(configuration.tlsMutualAuthenticationCertificateChain()));
+                    mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
                 } else {
-                    List<X509Certificate> mockServerX509Certificates = new ArrayList<>();
-                    if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain())) {
-                        mockServerX509Certificates.addAll(x509ChainFromPEMFile(configuration.tlsMutualAuthenticationCertificateChain()));
-                        mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
-                    } else {
-                        mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
-                    }
-                    sslContextBuilder.trustManager(jvmCAX509TrustCertificates(mockServerX509Certificates));
+                    mockServerX509Certificates.add(keyAndCertificateFactory.certificateAuthorityX509Certificate());
                 }
-                clientSslContext = instanceClientSslContextBuilderFunction.apply(
-                    sslClientContextBuilderCustomizer.apply(sslContextBuilder));
-                configuration.rebuildTLSContext(false);
-            } catch (Throwable throwable) {
-                throw new RuntimeException("Exception creating SSL context for client", throwable);
+                sslContextBuilder.trustManager(jvmCAX509TrustCertificates(mockServerX509Certificates));
+            }
+            if (http2) {
+                sslContextBuilder.applicationProtocolConfig(HTTP2_APPLICATION_PROTOCOL_CONFIG);
             }
+            SslContext sslContext = instanceClientSslContextBuilderFunction.apply(
+                sslClientContextBuilderCustomizer.apply(sslContextBuilder));
+            configuration.rebuildTLSContext(false);
+            return sslContext;
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Exception creating SSL context for client", throwable);
         }
-        return clientSslContext;
     }
 
     private PrivateKey forwardProxyPrivateKey() {
@@ -179,11 +217,7 @@ public class NettySslContextFactory {
     }
 
     public synchronized SslContext createServerSslContext() {
-        if (serverSslContext == null
-            // create x509 and private key if none exist yet
-            || keyAndCertificateFactory.certificateNotYetCreated()
-            // re-create x509 and private key if SAN list has been updated and dynamic update has not been disabled
-            || configuration.rebuildServerTLSContext() && !configuration.preventCertificateDynamicUpdate()) {
+        if (serverSslContextRequiresBuild()) {
             try {
                 keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
                 mockServerLogger.logEvent(
@@ -199,23 +233,10 @@ public class NettySslContextFactory {
                             keyAndCertificateFactory.x509Certificate().getSubjectDN()
                         )
                 );
-                final SslContextBuilder sslContextBuilder = SslContextBuilder
-                    .forServer(
-                        keyAndCertificateFactory.privateKey(),
-                        keyAndCertificateFactory.certificateChain()
-                    )
-                    .protocols(TLS_PROTOCOLS)
-//                    .sslProvider(SslProvider.JDK)
-                    .clientAuth(configuration.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.OPTIONAL);
-                if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain()) || configuration.tlsMutualAuthenticationRequired()) {
-                    sslContextBuilder.trustManager(trustCertificateChain());
-                } else {
-                    sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-                }
-                serverSslContext = sslContextBuilder.build();
-                serverSslContext = sslServerContextBuilderCustomizer
-                    .apply(sslContextBuilder)
-                    .build();
+                serverSslContext = buildServerSslContext(
+                    keyAndCertificateFactory.privateKey(),
+                    keyAndCertificateFactory.certificateChain()
+                );
                 configuration.rebuildServerTLSContext(false);
             } catch (Throwable throwable) {
                 mockServerLogger.logEvent(
@@ -229,6 +250,135 @@ public class NettySslContextFactory {
         return serverSslContext;
     }
 
+    private boolean serverSslContextRequiresBuild() {
+        return serverSslContext == null
+            // create x509 and private key if none exist yet
+            || keyAndCertificateFactory.certificateNotYetCreated()
+            // re-create x509 and private key if SAN list has been updated and dynamic update has not been disabled
+            || configuration.rebuildServerTLSContext() && !configuration.preventCertificateDynamicUpdate();
+    }
+
+    /**
+     * Server SslContext for a TLS connection that sent the host name using SNI, if perHostCertificates is enabled each
+     * host name has its own certificate which is generated asynchronously on the first connection and then cached
+     * <p>
+     * the returned future is completed once the SslContext is available so a handshake never waits for a certificate to
+     * be generated for another host or for the shared server SslContext to be rebuilt
+     *
+     * @param host the SNI host name or null if the client didn't send SNI
+     */
+    public CompletableFuture<SslContext> createServerSslContext(String host) {
+        if (isBlank(host)) {
+            if (!serverSslContextRequiresBuild()) {
+                return CompletableFuture.completedFuture(serverSslContext);
+            } else {
+                return CompletableFuture.supplyAsync(this::createServerSslContext, hostCertificateExecutor());
+            }
+        }
+        String hostKey = host.toLowerCase(Locale.ROOT);
+        CompletableFuture<SslContext> hostServerSslContext;
+        synchronized (hostServerSslContexts) {
+            hostServerSslContext = hostServerSslContexts.get(hostKey);
+            if (hostServerSslContext == null) {
+                CompletableFuture<SslContext> builtHostServerSslContext = new CompletableFuture<>();
+                hostServerSslContexts.put(hostKey, builtHostServerSslContext);
+                hostCertificateExecutor().execute(() -> {
+                    try {
+                        SslContext sslContext = buildHostServerSslContext(hostKey);
+                        if (sslContext == null) {
+                            removeHostServerSslContext(hostKey, builtHostServerSslContext);
+                        }
+                        builtHostServerSslContext.complete(sslContext);
+                    } catch (Throwable throwable) {
+                        removeHostServerSslContext(hostKey, builtHostServerSslContext);
+                        builtHostServerSslContext.completeExceptionally(throwable);
+                    }
+                });
+                hostServerSslContext = builtHostServerSslContext;
+            }
+        }
+        return hostServerSslContext;
+    }
+
+    /**
+     * Removes a failed build before it completes so the next handshake for the host retries instead of reusing the failure
+     */
+    private void removeHostServerSslContext(String hostKey, CompletableFuture<SslContext> hostServerSslContext) {
+        synchronized (hostServerSslContexts) {
+            if (hostServerSslContexts.get(hostKey) == hostServerSslContext) {
+                hostServerSslContexts.delete(hostKey);
+            }
+        }
+    }
+
+    private SslContext buildHostServerSslContext(String host) {
+        try {
+            KeyPair keyPair = AsymmetricKeyGenerator.createKeyPair(configuration.perHostCertificateKeyAlgorithm());
+            List<X509Certificate> certificateChain = keyAndCertificateFactory.hostCertificateChain(host, keyPair.getPublic());
+            if (certificateChain != null) {
+                if (MockServerLogger.isEnabled(Level.DEBUG)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.DEBUG)
+                            .setMessageFormat("created certificate serial:{}subject:{}for host:{}")
+                            .setArguments(certificateChain.get(0).getSerialNumber(), certificateChain.get(0).getSubjectDN(), host)
+                    );
+                }
+                return buildServerSslContext(keyPair.getPrivate(), certificateChain);
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception creating SSL context for host:{}using shared SSL context for server instead")
+                    .setArguments(host)
+                    .setThrowable(throwable)
+            );
+        }
+        // the key and certificate factory doesn't support per host certificates or failed
+        return createServerSslContext();
+    }
+
+    private synchronized Executor hostCertificateExecutor() {
+        if (hostCertificateExecutor == null) {
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new Scheduler.SchedulerThreadFactory("HostCertificate"));
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            hostCertificateExecutor = threadPoolExecutor;
+        }
+        return hostCertificateExecutor;
+    }
+
+    private void preWarmHostServerSslContexts() {
+        if (forServer && configuration.perHostCertificates()) {
+            for (String host : configuration.perHostCertificatePreWarmHosts()) {
+                createServerSslContext(host);
+            }
+        }
+    }
+
+    private SslContext buildServerSslContext(PrivateKey privateKey, List<X509Certificate> certificateChain) throws SSLException {
+        final SslContextBuilder sslContextBuilder = SslContextBuilder
+            .forServer(
+                privateKey,
+                certificateChain
+            )
+            .protocols(TLS_PROTOCOLS)
+//            .sslProvider(SslProvider.JDK)
+            .clientAuth(configuration.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.OPTIONAL);
+        if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain()) || configuration.tlsMutualAuthenticationRequired()) {
+            sslContextBuilder.trustManager(trustCertificateChain());
+        } else {
+            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+        if (configuration.http2Enabled()) {
+            sslContextBuilder.applicationProtocolConfig(HTTP2_APPLICATION_PROTOCOL_CONFIG);
+        }
+        return sslServerContextBuilderCustomizer
+            .apply(sslContextBuilder)
+            .build();
+    }
+
     private X509Certificate[] trustCertificateChain() {
         return trustCertificateChain(configuration.tlsMutualAuthenticationCertificateChain());
     }
@@ -8,6 +8,7 @@ import io.netty.handler.ssl.SslHandler;
 import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
@@ -40,6 +41,20 @@ public class SniHandler extends AbstractSniHandler<SslContext> {
 
     @Override
     protected Future<SslContext> lookup(ChannelHandlerContext ctx, String hostname) {
+        if (configuration.perHostCertificates()) {
+            // completed on the channel's event loop once the certificate for the host name is available
+            Promise<SslContext> sslContextPromise = ctx.executor().newPromise();
+            nettySslContextFactory
+                .createServerSslContext(hostname)
+                .whenComplete((sslContext, throwable) -> {
+                    if (throwable != null) {
+                        sslContextPromise.tryFailure(throwable);
+                    } else {
+                        sslContextPromise.trySuccess(sslContext);
+                    }
+                });
+            return sslContextPromise;
+        }
         if (isNotBlank(hostname)) {
             configuration.addSubjectAlternativeName(hostname);
         }
@@ -1,5 +1,6 @@
 package org.mockserver.socket.tls.bouncycastle;
 
+import com.google.common.net.InetAddresses;
 import org.bouncycastle.asn1.*;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.*;
@@ -377,6 +378,42 @@ public class BCKeyAndCertificateFactory implements KeyAndCertificateFactory {
         }
     }
 
+    @Override
+    public List<X509Certificate> hostCertificateChain(String host, PublicKey publicKey) {
+        try {
+            X509Certificate certificateAuthorityX509Certificate;
+            PrivateKey certificateAuthorityPrivateKey;
+            // the certificate authority is loaded (or created) once even when host certificates are created concurrently
+            synchronized (this) {
+                certificateAuthorityX509Certificate = certificateAuthorityX509Certificate();
+                certificateAuthorityPrivateKey = certificateAuthorityPrivateKey();
+            }
+            boolean ipAddress = InetAddresses.isInetAddress(host);
+            X509Certificate hostX509Certificate = generateLeafCert(
+                // the signing algorithm must match the certificate authority private key not the leaf public key
+                "EC".equals(certificateAuthorityPrivateKey.getAlgorithm()) || "ECDSA".equals(certificateAuthorityPrivateKey.getAlgorithm()) ? AsymmetricKeyPairAlgorithm.EC256_SHA256 : KeyAndCertificateFactory.DEFAULT_KEY_GENERATION_AND_SIGNING_ALGORITHM,
+                publicKey,
+                certificateAuthorityX509Certificate,
+                certificateAuthorityPrivateKey,
+                certificateAuthorityX509Certificate.getPublicKey(),
+                host,
+                ipAddress ? null : Collections.emptySet(),
+                ipAddress ? Collections.singleton(host) : null
+            );
+            if (MockServerLogger.isEnabled(TRACE) && mockServerLogger != null) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(TRACE)
+                        .setMessageFormat("created new X509{}for host{}")
+                        .setArguments(hostX509Certificate, host)
+                );
+            }
+            return Arrays.asList(hostX509Certificate, certificateAuthorityX509Certificate);
+        } catch (Exception e) {
+            throw new RuntimeException("Exception creating X509 certificate for host \"" + host + "\"", e);
+        }
+    }
+
     @Override
     public List<X509Certificate> certificateChain() {
         final List<X509Certificate> result = new ArrayList<>();
@@ -170,18 +170,34 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
                     validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
                     return isValid(json, addOpenAPISpecificationMessage);
                 }
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception validating JSON")
-                        .setThrowable(throwable)
-                );
-                return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+                return exceptionValidating(throwable);
             }
         }
         return validationResult;
     }
 
+    public String isValid(JsonNode json, boolean addOpenAPISpecificationMessage) {
+        try {
+            return formatProcessingReport(validator.validate(json), addOpenAPISpecificationMessage);
+        } catch (Throwable throwable) {
+            if (isNotBlank(throwable.getMessage()) && throwable.getMessage().contains("Unknown MetaSchema")) {
+                validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
+                return isValid(json, addOpenAPISpecificationMessage);
+            }
+            return exceptionValidating(throwable);
+        }
+    }
+
+    private String exceptionValidating(Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("exception validating JSON")
+                .setThrowable(throwable)
+        );
+        return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+    }
+
     private String formatProcessingReport(Set<ValidationMessage> validationMessages, boolean addOpenAPISpecificationMessage) {
         if (validationMessages.isEmpty()) {
             return "";
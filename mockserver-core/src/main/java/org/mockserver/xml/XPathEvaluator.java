@@ -1,6 +1,7 @@
 package org.mockserver.xml;
 
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+import org.w3c.dom.Document;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -48,6 +49,10 @@ public class XPathEvaluator extends ObjectWithReflectiveEqualsHashCodeToString {
         }
     }
 
+    public boolean isNamespaceAware() {
+        return namespaceAware;
+    }
+
     public Object evaluateXPathExpression(String xmlAsString, StringToXmlDocumentParser.ErrorLogger errorLogger, QName returnType) {
         try {
             return xPathExpression.evaluate(stringToXmlDocumentParser.buildDocument(xmlAsString, errorLogger, namespaceAware), returnType);
@@ -56,4 +61,12 @@ public class XPathEvaluator extends ObjectWithReflectiveEqualsHashCodeToString {
         }
     }
 
+    public Object evaluateXPathExpression(Document document, QName returnType) {
+        try {
+            return xPathExpression.evaluate(document, returnType);
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable.getMessage(), throwable);
+        }
+    }
+
 }
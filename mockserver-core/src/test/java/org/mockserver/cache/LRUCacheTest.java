@@ -160,4 +160,82 @@ public class LRUCacheTest {
         assertThat(lruCacheThree.get("one"), is(nullValue()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 3, MINUTES.toMillis(10));
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+
+        // when
+        lruCache.get("one");
+        lruCache.put("four", "d");
+
+        // then
+        assertThat(lruCache.get("one"), is("a"));
+        assertThat(lruCache.get("two"), is(nullValue()));
+        assertThat(lruCache.get("three"), is("c"));
+        assertThat(lruCache.get("four"), is("d"));
+        assertThat(lruCache.size(), is(3));
+    }
+
+    @Test
+    public void shouldCountHitsMissesAndEvictions() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 2, MINUTES.toMillis(10));
+        long allHits = LRUCache.allHits();
+        long allEvictions = LRUCache.allEvictions();
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.get("one");
+        lruCache.get("two");
+        lruCache.get("three");
+
+        // then
+        assertThat(lruCache.hits(), is(2L));
+        assertThat(lruCache.misses(), is(1L));
+        assertThat(lruCache.evictions(), is(1L));
+        assertThat(LRUCache.allHits() - allHits >= 2L, is(true));
+        assertThat(LRUCache.allEvictions() - allEvictions >= 1L, is(true));
+    }
+
+    @Test
+    public void shouldLimitSegmentedCache() throws InterruptedException {
+        // given
+        LRUCache<Integer, Object> lruCache = new LRUCache<>(mockServerLogger, 250, MINUTES.toMillis(10));
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 1000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    lruCache.put(offset + i, i);
+                    lruCache.get(offset + i / 2);
+                }
+            });
+        }
+
+        // when
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(lruCache.size(), is(250));
+        assertThat(lruCache.evictions(), is(3750L));
+
+        // when
+        lruCache.put(5000, 5000);
+
+        // then
+        assertThat(lruCache.get(5000), is(5000));
+        assertThat(lruCache.size(), is(250));
+    }
+
+}
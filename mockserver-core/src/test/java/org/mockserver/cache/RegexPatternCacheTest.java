@@ -0,0 +1,106 @@
+package org.mockserver.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockserver.model.NottableString.string;
+
+public class RegexPatternCacheTest {
+
+    @Before
+    public void clearCache() {
+        RegexPatternCache.clear();
+    }
+
+    @Test
+    public void shouldReturnCachedPattern() {
+        // when
+        Pattern first = RegexPatternCache.compile("some.*value");
+        Pattern second = RegexPatternCache.compile(new String("some.*value"));
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(first.matcher("SOME_OTHER_VALUE").matches(), is(true));
+        assertThat(RegexPatternCache.misses(), is(1L));
+        assertThat(RegexPatternCache.hits(), is(1L));
+        assertThat(RegexPatternCache.size(), is(1));
+    }
+
+    @Test
+    public void shouldCacheInvalidRegex() {
+        // given
+        PatternSyntaxException first = null;
+        try {
+            RegexPatternCache.compile("/some/path[");
+            fail("expected exception to be thrown");
+        } catch (PatternSyntaxException pse) {
+            first = pse;
+        }
+
+        // when
+        try {
+            RegexPatternCache.compile("/some/path[");
+            fail("expected exception to be thrown");
+        } catch (PatternSyntaxException pse) {
+            // then
+            assertThat(pse, not(sameInstance(first)));
+            assertThat(pse.getMessage(), is(first.getMessage()));
+            assertThat(pse.getIndex(), is(first.getIndex()));
+        }
+        assertThat(RegexPatternCache.misses(), is(1L));
+        assertThat(RegexPatternCache.hits(), is(1L));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPatterns() {
+        // given
+        Pattern recentlyUsed = RegexPatternCache.compile("recently.*used");
+
+        // when
+        for (int i = 0; i < 6000; i++) {
+            RegexPatternCache.compile("some.*value_" + i);
+            RegexPatternCache.compile("recently.*used");
+        }
+
+        // then
+        assertThat(RegexPatternCache.compile("recently.*used"), sameInstance(recentlyUsed));
+        assertThat(RegexPatternCache.size(), lessThanOrEqualTo(5000));
+        long misses = RegexPatternCache.misses();
+        RegexPatternCache.compile("some.*value_0");
+        assertThat(RegexPatternCache.misses(), is(misses + 1));
+    }
+
+    @Test
+    public void shouldDetectLiteralValues() {
+        assertThat(RegexPatternCache.isLiteral("/some/path"), is(true));
+        assertThat(RegexPatternCache.isLiteral("some value-with_chars:123"), is(true));
+        assertThat(RegexPatternCache.isLiteral(""), is(true));
+        assertThat(RegexPatternCache.isLiteral("/some/path.*"), is(false));
+        assertThat(RegexPatternCache.isLiteral("/some/path[0-9]"), is(false));
+        assertThat(RegexPatternCache.isLiteral("a|b"), is(false));
+        assertThat(RegexPatternCache.isLiteral("\\d"), is(false));
+        assertThat(RegexPatternCache.isLiteral("café"), is(false));
+        assertThat(RegexPatternCache.isLiteral(null), is(false));
+    }
+
+    @Test
+    public void shouldMatchLiteralWithoutCompilingPattern() {
+        // then
+        assertThat(string("/some/path").matches("/SOME/PATH"), is(true));
+        assertThat(string("/some/path").matches("/some/other"), is(false));
+        assertThat(RegexPatternCache.size(), is(0));
+
+        // and
+        assertThat(string("/some/.*").matches("/some/other"), is(true));
+        assertThat(RegexPatternCache.size(), is(1));
+    }
+}
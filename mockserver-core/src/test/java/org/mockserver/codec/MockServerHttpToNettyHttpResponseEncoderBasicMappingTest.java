@@ -4,6 +4,7 @@ import io.netty.handler.codec.http.*;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.action.http.HttpResponseActionHandler;
 import org.mockserver.model.Cookie;
 import org.mockserver.model.Header;
 import org.mockserver.model.HttpResponse;
@@ -12,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static java.nio.charset.StandardCharsets.UTF_16;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -227,4 +229,35 @@ public class MockServerHttpToNettyHttpResponseEncoderBasicMappingTest {
         assertThat(fullHttpResponse.content().toString(DEFAULT_TEXT_HTTP_CHARACTER_SET), is(""));
     }
 
+    @Test
+    public void shouldEncodeStringBodyOnceForResponseAction() {
+        // given
+        HttpResponse responseAction = response()
+            .withHeader("Content-Type", "text/plain; charset=utf-16")
+            .withBody("somebody");
+        HttpResponseActionHandler httpResponseActionHandler = new HttpResponseActionHandler();
+
+        // when
+        mockServerResponseEncoder.encode(null, httpResponseActionHandler.handle(responseAction).withHeader("Connection", "keep-alive"), output);
+        mockServerResponseEncoder.encode(null, httpResponseActionHandler.handle(responseAction).withHeader("Connection", "close"), output);
+
+        // then
+        FullHttpResponse firstFullHttpResponse = (FullHttpResponse) output.get(0);
+        FullHttpResponse secondFullHttpResponse = (FullHttpResponse) output.get(1);
+        assertThat(firstFullHttpResponse.content().toString(UTF_16), is("somebody"));
+        assertThat(firstFullHttpResponse.content().isDirect(), is(true));
+        assertThat(firstFullHttpResponse.headers().get("Connection"), is("keep-alive"));
+        assertThat(firstFullHttpResponse.headers().get("Content-Length"), is("" + "somebody".getBytes(UTF_16).length));
+        assertThat(secondFullHttpResponse.content().toString(UTF_16), is("somebody"));
+        assertThat(secondFullHttpResponse.content().memoryAddress(), is(firstFullHttpResponse.content().memoryAddress()));
+        assertThat(secondFullHttpResponse.headers().get("Connection"), is("close"));
+
+        // and - writing a response doesn't release the encoded body
+        firstFullHttpResponse.release();
+        secondFullHttpResponse.release();
+        output.clear();
+        mockServerResponseEncoder.encode(null, httpResponseActionHandler.handle(responseAction), output);
+        assertThat(((FullHttpResponse) output.get(0)).content().toString(UTF_16), is("somebody"));
+    }
+
 }
@@ -597,4 +597,64 @@ public class CircularPriorityQueueTest {
         assertThat(concurrentLinkedQueue.toSortedList(), contains(five, one, two));
     }
 
+    @Test
+    public void shouldEvictOldestRemainingEntryAfterRemove() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            3,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+
+        // when
+        assertThat(concurrentLinkedQueue.remove(new SortableExpectationId("1", 0, 0)), is(true));
+        concurrentLinkedQueue.add(new SortableExpectationId("4", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("5", 0, 0));
+
+        // then
+        assertEquals(3, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue.toSortedList(), containsInAnyOrder(
+            new SortableExpectationId("3", 0, 0),
+            new SortableExpectationId("4", 0, 0),
+            new SortableExpectationId("5", 0, 0)
+        ));
+        assertThat(concurrentLinkedQueue.getByKey("2"), is(Optional.empty()));
+
+        // when
+        concurrentLinkedQueue.remove(new SortableExpectationId("3", 0, 0));
+        concurrentLinkedQueue.remove(new SortableExpectationId("4", 0, 0));
+        concurrentLinkedQueue.remove(new SortableExpectationId("5", 0, 0));
+
+        // then
+        assertEquals(0, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReplaceEntryWithSameKey() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            2,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 0, 0));
+
+        // when - re-added key moves to end of insertion order
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 5, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+
+        // then
+        assertEquals(2, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(
+            new SortableExpectationId("1", 5, 0),
+            new SortableExpectationId("3", 0, 0)
+        ));
+    }
 }
\ No newline at end of file
@@ -7,11 +7,16 @@ import org.mockserver.matchers.RegexStringMatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static junit.framework.TestCase.assertFalse;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 import static junit.framework.TestCase.assertTrue;
 import static org.mockserver.collections.SubSetMatcher.containsSubset;
 import static org.mockserver.model.NottableSchemaString.schemaString;
+import static org.mockserver.model.NottableString.not;
 import static org.mockserver.model.NottableString.string;
 
 public class SubSetMatcherTest {
@@ -313,4 +318,94 @@ public class SubSetMatcherTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReturnCandidateIndexesForLiteralKeys() {
+        // given
+        SubSetMatcher.KeyIndex keyIndex = new SubSetMatcher.KeyIndex(Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_one"),
+            new ImmutableEntry(regexStringMatcher, "t.*", "two"),
+            new ImmutableEntry(regexStringMatcher, "One", "one_two"),
+            new ImmutableEntry(regexStringMatcher, not("four"), string("four")),
+            new ImmutableEntry(regexStringMatcher, "three", "three")
+        ));
+
+        // then
+        assertThat(keyIndex.candidateIndexes("ONE"), contains(0, 2, 1, 3));
+        assertThat(keyIndex.candidateIndexes("three"), contains(4, 1, 3));
+        assertThat(keyIndex.candidateIndexes("five"), contains(1, 3));
+    }
+
+    @Test
+    public void shouldContainSubsetUsingKeyIndex() {
+        // given
+        List<ImmutableEntry> superset = Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_one"),
+            new ImmutableEntry(regexStringMatcher, "One", "one_two"),
+            new ImmutableEntry(regexStringMatcher, "two", "two"),
+            new ImmutableEntry(regexStringMatcher, "three", "three")
+        );
+        SubSetMatcher.KeyIndex keyIndex = new SubSetMatcher.KeyIndex(superset);
+
+        // then - literal keys
+        assertTrue(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "ONE", "one_two"),
+            new ImmutableEntry(regexStringMatcher, "two", "two")
+        ), superset, keyIndex));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_three"),
+            new ImmutableEntry(regexStringMatcher, "two", "two")
+        ), superset, keyIndex));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "four", "four")
+        ), superset, keyIndex));
+
+        // and - regex keys
+        assertTrue(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "t.*", "thr.*")
+        ), superset, keyIndex));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "f.*", ".*")
+        ), superset, keyIndex));
+
+        // and - optional keys
+        assertTrue(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "two", "two"),
+            new ImmutableEntry(regexStringMatcher, "?four", "four")
+        ), superset, keyIndex));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "two", "two"),
+            new ImmutableEntry(regexStringMatcher, "?three", "four")
+        ), superset, keyIndex));
+
+        // and - notted keys
+        assertTrue(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "two", "two"),
+            new ImmutableEntry(regexStringMatcher, not("four"), string(".*"))
+        ), superset, keyIndex));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "two", "two"),
+            new ImmutableEntry(regexStringMatcher, not("three"), string(".*"))
+        ), superset, keyIndex));
+    }
+
+    @Test
+    public void shouldContainSubsetUsingKeyIndexWhenSupersetHasRegexKeys() {
+        // given
+        List<ImmutableEntry> superset = Arrays.asList(
+            new ImmutableEntry(regexStringMatcher, "o.*", "one_one"),
+            new ImmutableEntry(regexStringMatcher, "two", "two")
+        );
+        SubSetMatcher.KeyIndex keyIndex = new SubSetMatcher.KeyIndex(superset);
+
+        // then
+        assertThat(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_one")
+        ), superset, keyIndex), is(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_one")
+        ), superset)));
+        assertFalse(containsSubset(null, null, regexStringMatcher, Collections.singletonList(
+            new ImmutableEntry(regexStringMatcher, "one", "one_two")
+        ), superset, keyIndex));
+    }
+
+}
@@ -4,7 +4,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
+import org.mockserver.scheduler.RequestExecutionModel;
 import org.mockserver.server.initialize.ExpectationInitializerExample;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 
@@ -17,6 +20,7 @@ import java.util.Set;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThrows;
 import static org.mockserver.configuration.ConfigurationProperties.logLevel;
@@ -145,6 +149,32 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetDeferredMatchFailureLogging() {
+        boolean original = ConfigurationProperties.deferredMatchFailureLogging();
+        try {
+            // then - default value
+            assertThat(configuration.deferredMatchFailureLogging(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.deferredMatchFailureLogging(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.deferredMatchFailureLogging(), equalTo(true));
+            assertThat(System.getProperty("mockserver.deferredMatchFailureLogging"), equalTo("true"));
+            assertThat(configuration.deferredMatchFailureLogging(), equalTo(true));
+            ConfigurationProperties.deferredMatchFailureLogging(original);
+
+            // when - setter
+            configuration.deferredMatchFailureLogging(true);
+
+            // then - getter
+            assertThat(configuration.deferredMatchFailureLogging(), equalTo(true));
+        } finally {
+            ConfigurationProperties.deferredMatchFailureLogging(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetLaunchUIForLogLevelDebug() {
         boolean original = ConfigurationProperties.launchUIForLogLevelDebug();
@@ -197,6 +227,32 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMetricsLatencyBuckets() {
+        String original = ConfigurationProperties.metricsLatencyBuckets();
+        try {
+            // then - default value
+            assertThat(configuration.metricsLatencyBuckets(), equalTo("0.0001,0.00025,0.0005,0.001,0.0025,0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10"));
+
+            // when - system property setter
+            ConfigurationProperties.metricsLatencyBuckets("0.001,0.01,0.1,1");
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.metricsLatencyBuckets(), equalTo("0.001,0.01,0.1,1"));
+            assertThat(System.getProperty("mockserver.metricsLatencyBuckets"), equalTo("0.001,0.01,0.1,1"));
+            assertThat(configuration.metricsLatencyBuckets(), equalTo("0.001,0.01,0.1,1"));
+            ConfigurationProperties.metricsLatencyBuckets(original);
+
+            // when - setter
+            configuration.metricsLatencyBuckets("0.001,0.01,0.1,1");
+
+            // then - getter
+            assertThat(configuration.metricsLatencyBuckets(), equalTo("0.001,0.01,0.1,1"));
+        } finally {
+            ConfigurationProperties.metricsLatencyBuckets(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxExpectations() {
         int original = ConfigurationProperties.maxExpectations();
@@ -254,6 +310,31 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetCompactLogEntriesMaxBytes() {
+        long original = ConfigurationProperties.compactLogEntriesMaxBytes();
+        try {
+            // then - default value
+            assertThat(configuration.compactLogEntriesMaxBytes(), equalTo(0L));
+
+            // when - system property setter
+            ConfigurationProperties.compactLogEntriesMaxBytes(1024L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.compactLogEntriesMaxBytes(), equalTo(1024L));
+            assertThat(System.getProperty("mockserver.compactLogEntriesMaxBytes"), equalTo("1024"));
+            assertThat(configuration.compactLogEntriesMaxBytes(), equalTo(1024L));
+
+            // when - setter
+            configuration.compactLogEntriesMaxBytes(2048L);
+
+            // then - getter
+            assertThat(configuration.compactLogEntriesMaxBytes(), equalTo(2048L));
+        } finally {
+            ConfigurationProperties.compactLogEntriesMaxBytes(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxWebSocketExpectations() {
         int original = ConfigurationProperties.maxWebSocketExpectations();
@@ -357,6 +438,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetNettyTransport() {
+        NettyTransport original = ConfigurationProperties.nettyTransport();
+        try {
+            // then - default value
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.NIO));
+
+            // when - system property setter
+            ConfigurationProperties.nettyTransport(NettyTransport.AUTO);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.nettyTransport(), equalTo(NettyTransport.AUTO));
+            assertThat(System.getProperty("mockserver.nettyTransport"), equalTo("AUTO"));
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.AUTO));
+            ConfigurationProperties.nettyTransport(original);
+
+            // when - setter
+            configuration.nettyTransport(NettyTransport.EPOLL);
+
+            // then - getter
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.EPOLL));
+        } finally {
+            ConfigurationProperties.nettyTransport(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetSocketReusePort() {
+        boolean original = ConfigurationProperties.socketReusePort();
+        try {
+            // then - default value
+            assertThat(configuration.socketReusePort(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.socketReusePort(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.socketReusePort(), equalTo(true));
+            assertThat(System.getProperty("mockserver.socketReusePort"), equalTo("true"));
+            assertThat(configuration.socketReusePort(), equalTo(true));
+            ConfigurationProperties.socketReusePort(original);
+
+            // when - setter
+            configuration.socketReusePort(true);
+
+            // then - getter
+            assertThat(configuration.socketReusePort(), equalTo(true));
+        } finally {
+            ConfigurationProperties.socketReusePort(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetActionHandlerThreadCount() {
         int original = ConfigurationProperties.actionHandlerThreadCount();
@@ -483,6 +616,188 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetIndexedExpectationLookup() {
+        boolean original = ConfigurationProperties.indexedExpectationLookup();
+        try {
+            // then - default value
+            assertThat(configuration.indexedExpectationLookup(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.indexedExpectationLookup(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.indexedExpectationLookup(), equalTo(true));
+            assertThat(System.getProperty("mockserver.indexedExpectationLookup"), equalTo("true"));
+            assertThat(configuration.indexedExpectationLookup(), equalTo(true));
+            ConfigurationProperties.indexedExpectationLookup(original);
+
+            // when - setter
+            configuration.indexedExpectationLookup(true);
+
+            // then - getter
+            assertThat(configuration.indexedExpectationLookup(), equalTo(true));
+        } finally {
+            ConfigurationProperties.indexedExpectationLookup(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetParallelExpectationMatching() {
+        boolean original = ConfigurationProperties.parallelExpectationMatching();
+        try {
+            // then - default value
+            assertThat(configuration.parallelExpectationMatching(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.parallelExpectationMatching(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.parallelExpectationMatching(), equalTo(true));
+            assertThat(System.getProperty("mockserver.parallelExpectationMatching"), equalTo("true"));
+            assertThat(configuration.parallelExpectationMatching(), equalTo(true));
+            ConfigurationProperties.parallelExpectationMatching(original);
+
+            // when - setter
+            configuration.parallelExpectationMatching(true);
+
+            // then - getter
+            assertThat(configuration.parallelExpectationMatching(), equalTo(true));
+        } finally {
+            ConfigurationProperties.parallelExpectationMatching(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetParallelExpectationMatchingThreshold() {
+        int original = ConfigurationProperties.parallelExpectationMatchingThreshold();
+        try {
+            // then - default value
+            assertThat(configuration.parallelExpectationMatchingThreshold(), equalTo(1000));
+
+            // when - system property setter
+            ConfigurationProperties.parallelExpectationMatchingThreshold(50);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.parallelExpectationMatchingThreshold(), equalTo(50));
+            assertThat(System.getProperty("mockserver.parallelExpectationMatchingThreshold"), equalTo("50"));
+            assertThat(configuration.parallelExpectationMatchingThreshold(), equalTo(50));
+            ConfigurationProperties.parallelExpectationMatchingThreshold(original);
+
+            // when - setter
+            configuration.parallelExpectationMatchingThreshold(100);
+
+            // then - getter
+            assertThat(configuration.parallelExpectationMatchingThreshold(), equalTo(100));
+        } finally {
+            ConfigurationProperties.parallelExpectationMatchingThreshold(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetActionHandlerVirtualThreads() {
+        boolean original = ConfigurationProperties.actionHandlerVirtualThreads();
+        try {
+            // then - default value
+            assertThat(configuration.actionHandlerVirtualThreads(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.actionHandlerVirtualThreads(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.actionHandlerVirtualThreads(), equalTo(true));
+            assertThat(System.getProperty("mockserver.actionHandlerVirtualThreads"), equalTo("true"));
+            assertThat(configuration.actionHandlerVirtualThreads(), equalTo(true));
+            ConfigurationProperties.actionHandlerVirtualThreads(original);
+
+            // when - setter
+            configuration.actionHandlerVirtualThreads(true);
+
+            // then - getter
+            assertThat(configuration.actionHandlerVirtualThreads(), equalTo(true));
+        } finally {
+            ConfigurationProperties.actionHandlerVirtualThreads(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetRequestExecutionModel() {
+        RequestExecutionModel original = ConfigurationProperties.requestExecutionModel();
+        try {
+            // then - default value
+            assertThat(configuration.requestExecutionModel(), equalTo(RequestExecutionModel.EVENT_LOOP));
+
+            // when - system property setter
+            ConfigurationProperties.requestExecutionModel(RequestExecutionModel.WORKER_POOL);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.requestExecutionModel(), equalTo(RequestExecutionModel.WORKER_POOL));
+            assertThat(System.getProperty("mockserver.requestExecutionModel"), equalTo("WORKER_POOL"));
+            assertThat(configuration.requestExecutionModel(), equalTo(RequestExecutionModel.WORKER_POOL));
+            ConfigurationProperties.requestExecutionModel(original);
+
+            // when - setter
+            configuration.requestExecutionModel(RequestExecutionModel.VIRTUAL_THREADS);
+
+            // then - getter
+            assertThat(configuration.requestExecutionModel(), equalTo(RequestExecutionModel.VIRTUAL_THREADS));
+        } finally {
+            ConfigurationProperties.requestExecutionModel(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetRequestWorkerThreadCount() {
+        int original = ConfigurationProperties.requestWorkerThreadCount();
+        try {
+            // then - default value
+            assertThat(configuration.requestWorkerThreadCount(), equalTo(Math.max(5, Runtime.getRuntime().availableProcessors())));
+
+            // when - system property setter
+            ConfigurationProperties.requestWorkerThreadCount(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.requestWorkerThreadCount(), equalTo(10));
+            assertThat(System.getProperty("mockserver.requestWorkerThreadCount"), equalTo("10"));
+            assertThat(configuration.requestWorkerThreadCount(), equalTo(10));
+            ConfigurationProperties.requestWorkerThreadCount(original);
+
+            // when - setter
+            configuration.requestWorkerThreadCount(20);
+
+            // then - getter
+            assertThat(configuration.requestWorkerThreadCount(), equalTo(20));
+        } finally {
+            ConfigurationProperties.requestWorkerThreadCount(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetRequestWorkerQueueSize() {
+        int original = ConfigurationProperties.requestWorkerQueueSize();
+        try {
+            // then - default value
+            assertThat(configuration.requestWorkerQueueSize(), equalTo(10000));
+
+            // when - system property setter
+            ConfigurationProperties.requestWorkerQueueSize(100);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.requestWorkerQueueSize(), equalTo(100));
+            assertThat(System.getProperty("mockserver.requestWorkerQueueSize"), equalTo("100"));
+            assertThat(configuration.requestWorkerQueueSize(), equalTo(100));
+            ConfigurationProperties.requestWorkerQueueSize(original);
+
+            // when - setter
+            configuration.requestWorkerQueueSize(200);
+
+            // then - getter
+            assertThat(configuration.requestWorkerQueueSize(), equalTo(200));
+        } finally {
+            ConfigurationProperties.requestWorkerQueueSize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxSocketTimeoutInMillis() {
         long original = ConfigurationProperties.maxSocketTimeout();
@@ -533,6 +848,110 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolSize() {
+        int original = ConfigurationProperties.forwardConnectionPoolSize();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolSize(), equalTo(0));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolSize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolSize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolSize"), equalTo("10"));
+            assertThat(configuration.forwardConnectionPoolSize(), equalTo(10));
+            ConfigurationProperties.forwardConnectionPoolSize(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolSize(10);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolSize(), equalTo(10));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolSize(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolIdleTimeoutInMillis() {
+        long original = ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(60000L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis(10000L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(10000L));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolIdleTimeoutInMillis"), equalTo("10000"));
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(10000L));
+            ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolIdleTimeoutInMillis(10000L);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(10000L));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolIdleTimeoutInMillis(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardStreamingThresholdInBytes() {
+        int original = ConfigurationProperties.forwardStreamingThresholdInBytes();
+        try {
+            // then - default value
+            assertThat(configuration.forwardStreamingThresholdInBytes(), equalTo(0));
+
+            // when - system property setter
+            ConfigurationProperties.forwardStreamingThresholdInBytes(1048576);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardStreamingThresholdInBytes(), equalTo(1048576));
+            assertThat(System.getProperty("mockserver.forwardStreamingThresholdInBytes"), equalTo("1048576"));
+            assertThat(configuration.forwardStreamingThresholdInBytes(), equalTo(1048576));
+            ConfigurationProperties.forwardStreamingThresholdInBytes(original);
+
+            // when - setter
+            configuration.forwardStreamingThresholdInBytes(1048576);
+
+            // then - getter
+            assertThat(configuration.forwardStreamingThresholdInBytes(), equalTo(1048576));
+        } finally {
+            ConfigurationProperties.forwardStreamingThresholdInBytes(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardStreamingRecordedBodySize() {
+        int original = ConfigurationProperties.forwardStreamingRecordedBodySize();
+        try {
+            // then - default value
+            assertThat(configuration.forwardStreamingRecordedBodySize(), equalTo(1024));
+
+            // when - system property setter
+            ConfigurationProperties.forwardStreamingRecordedBodySize(4096);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardStreamingRecordedBodySize(), equalTo(4096));
+            assertThat(System.getProperty("mockserver.forwardStreamingRecordedBodySize"), equalTo("4096"));
+            assertThat(configuration.forwardStreamingRecordedBodySize(), equalTo(4096));
+            ConfigurationProperties.forwardStreamingRecordedBodySize(original);
+
+            // when - setter
+            configuration.forwardStreamingRecordedBodySize(4096);
+
+            // then - getter
+            assertThat(configuration.forwardStreamingRecordedBodySize(), equalTo(4096));
+        } finally {
+            ConfigurationProperties.forwardStreamingRecordedBodySize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetAlwaysCloseSocketConnections() {
         boolean original = ConfigurationProperties.alwaysCloseSocketConnections();
@@ -712,6 +1131,32 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetHttp2Enabled() {
+        boolean original = ConfigurationProperties.http2Enabled();
+        try {
+            // then - default value
+            assertThat(configuration.http2Enabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.http2Enabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.http2Enabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.http2Enabled"), equalTo("true"));
+            assertThat(configuration.http2Enabled(), equalTo(true));
+            ConfigurationProperties.http2Enabled(original);
+
+            // when - setter
+            configuration.http2Enabled(true);
+
+            // then - getter
+            assertThat(configuration.http2Enabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.http2Enabled(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetEnableCORSForAPI() {
         boolean original = ConfigurationProperties.enableCORSForAPI();
@@ -1147,6 +1592,107 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetPersistLogEntries() {
+        boolean original = ConfigurationProperties.persistLogEntries();
+        try {
+            // then - default value
+            assertThat(configuration.persistLogEntries(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.persistLogEntries(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistLogEntries(), equalTo(true));
+            assertThat(System.getProperty("mockserver.persistLogEntries"), equalTo("true"));
+            assertThat(configuration.persistLogEntries(), equalTo(true));
+            ConfigurationProperties.persistLogEntries(original);
+
+            // when - setter
+            configuration.persistLogEntries(true);
+
+            // then - getter
+            assertThat(configuration.persistLogEntries(), equalTo(true));
+        } finally {
+            ConfigurationProperties.persistLogEntries(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedLogEntriesDirectory() {
+        String original = ConfigurationProperties.persistedLogEntriesDirectory();
+        try {
+            // then - default value
+            assertThat(configuration.persistedLogEntriesDirectory(), equalTo("persistedLogEntries"));
+
+            // when - system property setter
+            ConfigurationProperties.persistedLogEntriesDirectory("firstDirectory");
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedLogEntriesDirectory(), equalTo("firstDirectory"));
+            assertThat(System.getProperty("mockserver.persistedLogEntriesDirectory"), equalTo("firstDirectory"));
+            assertThat(configuration.persistedLogEntriesDirectory(), equalTo("firstDirectory"));
+
+            // when - setter
+            configuration.persistedLogEntriesDirectory("secondDirectory");
+
+            // then - getter
+            assertThat(configuration.persistedLogEntriesDirectory(), equalTo("secondDirectory"));
+        } finally {
+            ConfigurationProperties.persistedLogEntriesDirectory(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedLogEntriesMaxBytes() {
+        long original = ConfigurationProperties.persistedLogEntriesMaxBytes();
+        try {
+            // then - default value
+            assertThat(configuration.persistedLogEntriesMaxBytes(), equalTo(1024L * 1024L * 1024L));
+
+            // when - system property setter
+            ConfigurationProperties.persistedLogEntriesMaxBytes(1024L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedLogEntriesMaxBytes(), equalTo(1024L));
+            assertThat(System.getProperty("mockserver.persistedLogEntriesMaxBytes"), equalTo("1024"));
+            assertThat(configuration.persistedLogEntriesMaxBytes(), equalTo(1024L));
+
+            // when - setter
+            configuration.persistedLogEntriesMaxBytes(2048L);
+
+            // then - getter
+            assertThat(configuration.persistedLogEntriesMaxBytes(), equalTo(2048L));
+        } finally {
+            ConfigurationProperties.persistedLogEntriesMaxBytes(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedLogEntriesMaxAgeInSeconds() {
+        long original = ConfigurationProperties.persistedLogEntriesMaxAgeInSeconds();
+        try {
+            // then - default value
+            assertThat(configuration.persistedLogEntriesMaxAgeInSeconds(), equalTo(0L));
+
+            // when - system property setter
+            ConfigurationProperties.persistedLogEntriesMaxAgeInSeconds(60L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedLogEntriesMaxAgeInSeconds(), equalTo(60L));
+            assertThat(System.getProperty("mockserver.persistedLogEntriesMaxAgeInSeconds"), equalTo("60"));
+            assertThat(configuration.persistedLogEntriesMaxAgeInSeconds(), equalTo(60L));
+
+            // when - setter
+            configuration.persistedLogEntriesMaxAgeInSeconds(120L);
+
+            // then - getter
+            assertThat(configuration.persistedLogEntriesMaxAgeInSeconds(), equalTo(120L));
+        } finally {
+            ConfigurationProperties.persistedLogEntriesMaxAgeInSeconds(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaximumNumberOfRequestToReturnInVerificationFailure() {
         int original = ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1863,6 +2409,108 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetPerHostCertificates() {
+        boolean original = ConfigurationProperties.perHostCertificates();
+        try {
+            // then - default value
+            assertThat(configuration.perHostCertificates(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.perHostCertificates(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.perHostCertificates(), equalTo(true));
+            assertThat(System.getProperty("mockserver.perHostCertificates"), equalTo("true"));
+            assertThat(configuration.perHostCertificates(), equalTo(true));
+            ConfigurationProperties.perHostCertificates(original);
+
+            // when - setter
+            configuration.perHostCertificates(true);
+
+            // then - getter
+            assertThat(configuration.perHostCertificates(), equalTo(true));
+        } finally {
+            ConfigurationProperties.perHostCertificates(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPerHostCertificateKeyAlgorithm() {
+        AsymmetricKeyPairAlgorithm original = ConfigurationProperties.perHostCertificateKeyAlgorithm();
+        try {
+            // then - default value
+            assertThat(configuration.perHostCertificateKeyAlgorithm(), equalTo(AsymmetricKeyPairAlgorithm.RSA2048_SHA256));
+
+            // when - system property setter
+            ConfigurationProperties.perHostCertificateKeyAlgorithm(AsymmetricKeyPairAlgorithm.EC256_SHA256);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.perHostCertificateKeyAlgorithm(), equalTo(AsymmetricKeyPairAlgorithm.EC256_SHA256));
+            assertThat(System.getProperty("mockserver.perHostCertificateKeyAlgorithm"), equalTo("EC256_SHA256"));
+            assertThat(configuration.perHostCertificateKeyAlgorithm(), equalTo(AsymmetricKeyPairAlgorithm.EC256_SHA256));
+            ConfigurationProperties.perHostCertificateKeyAlgorithm(original);
+
+            // when - setter
+            configuration.perHostCertificateKeyAlgorithm(AsymmetricKeyPairAlgorithm.EC384_SHA384);
+
+            // then - getter
+            assertThat(configuration.perHostCertificateKeyAlgorithm(), equalTo(AsymmetricKeyPairAlgorithm.EC384_SHA384));
+        } finally {
+            ConfigurationProperties.perHostCertificateKeyAlgorithm(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPerHostCertificatePreWarmHosts() {
+        Set<String> original = ConfigurationProperties.perHostCertificatePreWarmHosts();
+        try {
+            // then - default value
+            assertThat(configuration.perHostCertificatePreWarmHosts(), empty());
+
+            // when - system property setter
+            ConfigurationProperties.perHostCertificatePreWarmHosts(ImmutableSet.of("www.one.com", "www.two.com"));
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.perHostCertificatePreWarmHosts(), equalTo(ImmutableSet.of("www.one.com", "www.two.com")));
+            assertThat(System.getProperty("mockserver.perHostCertificatePreWarmHosts"), equalTo("www.one.com,www.two.com"));
+            assertThat(configuration.perHostCertificatePreWarmHosts(), equalTo(ImmutableSet.of("www.one.com", "www.two.com")));
+
+            // when - setter
+            configuration.perHostCertificatePreWarmHosts("www.three.com");
+
+            // then - getter
+            assertThat(configuration.perHostCertificatePreWarmHosts(), equalTo(ImmutableSet.of("www.three.com")));
+        } finally {
+            ConfigurationProperties.perHostCertificatePreWarmHosts(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPerHostCertificateCacheSize() {
+        int original = ConfigurationProperties.perHostCertificateCacheSize();
+        try {
+            // then - default value
+            assertThat(configuration.perHostCertificateCacheSize(), equalTo(1000));
+
+            // when - system property setter
+            ConfigurationProperties.perHostCertificateCacheSize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.perHostCertificateCacheSize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.perHostCertificateCacheSize"), equalTo("10"));
+            assertThat(configuration.perHostCertificateCacheSize(), equalTo(10));
+
+            // when - setter
+            configuration.perHostCertificateCacheSize(20);
+
+            // then - getter
+            assertThat(configuration.perHostCertificateCacheSize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.perHostCertificateCacheSize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetCertificateAuthorityPrivateKey() {
         String original = ConfigurationProperties.certificateAuthorityPrivateKey();
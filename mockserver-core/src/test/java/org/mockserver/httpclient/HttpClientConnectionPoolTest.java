@@ -0,0 +1,140 @@
+package org.mockserver.httpclient;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+
+public class HttpClientConnectionPoolTest {
+
+    private static EventLoopGroup eventLoopGroup;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<Channel> serverConnections = new CopyOnWriteArrayList<>();
+    private Channel serverChannel;
+    private String host;
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        eventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(HttpClientConnectionPoolTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Before
+    public void startServer() {
+        serverChannel = new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    connections.incrementAndGet();
+                    serverConnections.add(channel);
+                    channel.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024 * 1024), new SimpleChannelInboundHandler<FullHttpRequest>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(request.uri(), UTF_8));
+                            HttpUtil.setContentLength(response, response.content().readableBytes());
+                            ctx.writeAndFlush(response);
+                        }
+                    });
+                }
+            })
+            .bind(0)
+            .syncUninterruptibly()
+            .channel();
+        host = "127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @After
+    public void stopServer() {
+        serverChannel.close().syncUninterruptibly();
+    }
+
+    @Test
+    public void shouldReuseConnectionWhenPoolEnabled() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration().forwardConnectionPoolSize(2), new MockServerLogger(), eventLoopGroup, null, false);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/some_path_" + i).withHeader("Host", host)).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(httpResponse.getBodyAsString(), is("/some_path_" + i));
+        }
+        assertThat(connections.get(), is(1));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenRequestClosesConnection() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration().forwardConnectionPoolSize(2), new MockServerLogger(), eventLoopGroup, null, false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/some_path").withHeader("Host", host).withHeader("Connection", "close")).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+        }
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldOpenConnectionPerRequestWhenPoolDisabled() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), new MockServerLogger(), eventLoopGroup, null, false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/some_path").withHeader("Host", host)).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+        }
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldClosePooledConnectionsWhenClosed() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration().forwardConnectionPoolSize(2), new MockServerLogger(), eventLoopGroup, null, false);
+        assertThat(nettyHttpClient.sendRequest(request().withPath("/some_path").withHeader("Host", host)).get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+
+        // when
+        nettyHttpClient.close();
+
+        // then
+        assertThat(serverConnections.size(), is(1));
+        assertThat(serverConnections.get(0).closeFuture().await(10, TimeUnit.SECONDS), is(true));
+    }
+}
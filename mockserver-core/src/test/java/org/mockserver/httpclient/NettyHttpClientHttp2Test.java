@@ -0,0 +1,125 @@
+package org.mockserver.httpclient;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.tls.NettySslContextFactory;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+
+public class NettyHttpClientHttp2Test {
+
+    private static EventLoopGroup eventLoopGroup;
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        eventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(NettyHttpClientHttp2Test.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    private Channel startHttp2OnlyServer(Configuration configuration) {
+        SslContext serverSslContext = new NettySslContextFactory(configuration, new MockServerLogger(), true).createServerSslContext();
+        return new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(serverSslContext.newHandler(channel.alloc()));
+                    channel.pipeline().addLast(Http2FrameCodecBuilder.forServer().build());
+                    channel.pipeline().addLast(new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                        @Override
+                        protected void initChannel(Http2StreamChannel stream) {
+                            stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true), new HttpObjectAggregator(1024 * 1024), new SimpleChannelInboundHandler<FullHttpRequest>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                                    String applicationProtocol = ctx.channel().parent().pipeline().get(SslHandler.class).applicationProtocol();
+                                    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(request.uri() + " " + request.content().toString(UTF_8), UTF_8));
+                                    response.headers().set("x-application-protocol", applicationProtocol);
+                                    HttpUtil.setContentLength(response, response.content().readableBytes());
+                                    ctx.writeAndFlush(response);
+                                }
+                            });
+                        }
+                    }));
+                }
+            })
+            .bind(0)
+            .syncUninterruptibly()
+            .channel();
+    }
+
+    @Test
+    public void shouldSendRequestUsingHttp2WhenNegotiatedWithAlpn() throws Exception {
+        // given
+        Configuration configuration = configuration().http2Enabled(true);
+        Channel serverChannel = startHttp2OnlyServer(configuration);
+        try {
+            String host = "localhost:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration, new MockServerLogger(), eventLoopGroup, null, false);
+
+            // when
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withSecure(true).withMethod("POST").withPath("/some_path").withBody("some_request_body").withHeader("Host", host)).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(httpResponse.getBodyAsString(), is("/some_path some_request_body"));
+            assertThat(httpResponse.getFirstHeader("x-application-protocol"), is(ApplicationProtocolNames.HTTP_2));
+            assertThat(httpResponse.containsHeader("x-http2-stream-id"), is(false));
+        } finally {
+            serverChannel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void shouldReuseHttp2ConnectionWhenPoolEnabled() throws Exception {
+        // given
+        Configuration configuration = configuration().http2Enabled(true).forwardConnectionPoolSize(1);
+        Channel serverChannel = startHttp2OnlyServer(configuration);
+        try {
+            String host = "localhost:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration, new MockServerLogger(), eventLoopGroup, null, false);
+
+            for (int i = 0; i < 3; i++) {
+                // when
+                HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withSecure(true).withPath("/some_path_" + i).withHeader("Host", host)).get(10, TimeUnit.SECONDS);
+
+                // then
+                assertThat(httpResponse.getStatusCode(), is(200));
+                assertThat(httpResponse.getBodyAsString(), is("/some_path_" + i + " "));
+            }
+        } finally {
+            serverChannel.close().syncUninterruptibly();
+        }
+    }
+}
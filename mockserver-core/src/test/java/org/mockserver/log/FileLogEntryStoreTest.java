@@ -0,0 +1,258 @@
+package org.mockserver.log;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.RequestDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.slf4j.event.Level.INFO;
+
+public class FileLogEntryStoreTest {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("persistedLogEntries").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void shouldReadBackLogEntriesWhenReopened() {
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        LogEntry receivedRequest = null;
+        for (int i = 0; i < 10; i++) {
+            receivedRequest = new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(INFO)
+                .setCorrelationId("some_correlation_id")
+                .setPort(1080)
+                .setHttpRequest(request("/some/path"))
+                .setMessageFormat("received request:{}with{}")
+                .setArguments(request("/some/path"), "some_argument");
+            receivedRequest.compact(fileLogEntryStore);
+        }
+        new LogEntry()
+            .setType(FORWARDED_REQUEST)
+            .setLogLevel(INFO)
+            .setHttpRequest(request("/some/path"))
+            .setHttpResponse(response("some_body"))
+            .setExpectation(request("/some/path"), response("some_body"))
+            .setExpectationId("some_expectation_id")
+            .compact(fileLogEntryStore);
+        fileLogEntryStore.close();
+
+        // when
+        List<LogEntry> logEntries = new ArrayList<>();
+        List<String[]> literalPaths = new ArrayList<>();
+        FileLogEntryStore reopenedLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        reopenedLogEntryStore.reopen((logEntry, paths) -> {
+            logEntries.add(logEntry);
+            literalPaths.add(paths);
+        });
+
+        // then
+        assertThat(logEntries, hasSize(11));
+        assertThat(directory.listFiles((dir, name) -> name.endsWith(".log")).length, greaterThan(1));
+        LogEntry reopenedReceivedRequest = logEntries.get(9);
+        assertThat(reopenedReceivedRequest.getType(), is(RECEIVED_REQUEST));
+        assertThat(reopenedReceivedRequest.getLogLevel(), is(INFO));
+        assertThat(reopenedReceivedRequest.getEpochTime(), is(receivedRequest.getEpochTime()));
+        assertThat(reopenedReceivedRequest.getCorrelationId(), is("some_correlation_id"));
+        assertThat(reopenedReceivedRequest.getPort(), is(1080));
+        assertThat(reopenedReceivedRequest.getHttpRequests(), is(new RequestDefinition[]{request("/some/path")}));
+        assertThat(reopenedReceivedRequest.getMessage(), is(new LogEntry()
+            .setMessageFormat("received request:{}with{}")
+            .setArguments(request("/some/path"), "some_argument")
+            .getMessage()
+        ));
+        assertThat(literalPaths.get(9), is(new String[]{"/some/path"}));
+        LogEntry reopenedForwardedRequest = logEntries.get(10);
+        assertThat(reopenedForwardedRequest.getType(), is(FORWARDED_REQUEST));
+        assertThat(reopenedForwardedRequest.getExpectationId(), is("some_expectation_id"));
+        assertThat(reopenedForwardedRequest.getHttpResponse(), is(response("some_body")));
+        assertThat(reopenedForwardedRequest.getExpectation(), is(new Expectation(request("/some/path"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response("some_body"))));
+
+        // and - new log entries are appended after reopened log entries
+        long usedBytes = reopenedLogEntryStore.usedBytes();
+        reopenedLogEntryStore.write(new LogEntry(), null, response("other_body"), null, null);
+        assertThat(reopenedLogEntryStore.usedBytes(), greaterThan(usedBytes));
+        assertThat(reopenedForwardedRequest.getHttpResponse(), is(response("some_body")));
+        reopenedLogEntryStore.close();
+    }
+
+    @Test
+    public void shouldDeleteOldestSegmentsWhenMaxBytesExceeded() {
+        // given
+        List<Long> evictedBefore = new ArrayList<>();
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 2048, 0, 512, evictedBefore::add);
+
+        // when
+        List<CompactLogEntryStore.Record> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(fileLogEntryStore.write(new LogEntry(), null, response("response_" + i), null, null));
+        }
+
+        // then
+        assertThat(evictedBefore, not(empty()));
+        assertThat(fileLogEntryStore.allocatedBytes(), lessThanOrEqualTo(2048L));
+        assertThat(directory.listFiles((dir, name) -> name.endsWith(".log")).length, lessThanOrEqualTo(4));
+        assertThat(records.get(0).httpResponse(), nullValue());
+        assertThat(records.get(0).isBefore(evictedBefore.get(evictedBefore.size() - 1)), is(true));
+        assertThat(records.get(99).httpResponse(), is(response("response_99")));
+        assertThat(records.get(99).isBefore(evictedBefore.get(evictedBefore.size() - 1)), is(false));
+        fileLogEntryStore.close();
+    }
+
+    @Test
+    public void shouldDeleteSegmentsOlderThanMaxAge() {
+        // given
+        List<Long> evictedBefore = new ArrayList<>();
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 60_000, 512, evictedBefore::add);
+        List<CompactLogEntryStore.Record> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            records.add(fileLogEntryStore.write(new LogEntry().setEpochTime(System.currentTimeMillis() - 120_000), null, response("response_" + i), null, null));
+        }
+
+        // when
+        CompactLogEntryStore.Record record = fileLogEntryStore.write(new LogEntry(), null, response("response"), null, null);
+
+        // then
+        assertThat(evictedBefore, not(empty()));
+        assertThat(records.get(0).httpResponse(), nullValue());
+        assertThat(record.httpResponse(), is(response("response")));
+        fileLogEntryStore.close();
+    }
+
+    @Test
+    public void shouldClear() {
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        CompactLogEntryStore.Record record = fileLogEntryStore.write(new LogEntry(), new RequestDefinition[]{request("/some/path")}, response(), null, null);
+
+        // when
+        fileLogEntryStore.clear();
+
+        // then
+        assertThat(record.httpRequests(), nullValue());
+        assertThat(fileLogEntryStore.usedBytes(), is(0L));
+        assertThat(fileLogEntryStore.allocatedBytes(), is(0L));
+        assertThat(directory.listFiles((dir, name) -> name.endsWith(".log")).length, is(0));
+        assertThat(fileLogEntryStore.write(new LogEntry(), null, response("some_body"), null, null).httpResponse(), is(response("some_body")));
+        fileLogEntryStore.close();
+    }
+
+    @Test
+    public void shouldUnmapDeletedSegments() throws IOException {
+        File maps = new File("/proc/self/maps");
+        assumeTrue(maps.canRead());
+
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        fileLogEntryStore.write(new LogEntry(), null, response("some_body"), null, null);
+        assertThat(new String(Files.readAllBytes(maps.toPath()), UTF_8), containsString(directory.getCanonicalPath()));
+
+        // when
+        fileLogEntryStore.clear();
+
+        // then
+        assertThat(new String(Files.readAllBytes(maps.toPath()), UTF_8), not(containsString(directory.getCanonicalPath())));
+        fileLogEntryStore.close();
+    }
+
+    @Test
+    public void shouldNotWriteOnceClosed() {
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        fileLogEntryStore.write(new LogEntry(), null, response("some_body"), null, null);
+
+        // when
+        fileLogEntryStore.close();
+
+        // then
+        assertThat(fileLogEntryStore.write(new LogEntry(), null, response("some_other_body"), null, null), nullValue());
+    }
+
+    @Test
+    public void shouldNotUnmapSegmentsWhenAbandoned() throws IOException {
+        File maps = new File("/proc/self/maps");
+        assumeTrue(maps.canRead());
+
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 1024, position -> {
+        });
+        fileLogEntryStore.write(new LogEntry(), null, response("some_body"), null, null);
+
+        // when
+        fileLogEntryStore.abandon();
+
+        // then
+        assertThat(new String(Files.readAllBytes(maps.toPath()), UTF_8), containsString(directory.getCanonicalPath()));
+        assertThat(fileLogEntryStore.write(new LogEntry(), null, response("some_other_body"), null, null), nullValue());
+    }
+
+    @Test
+    public void shouldWriteIndexEntriesInBatches() {
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, 64 * 1024, position -> {
+        });
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            fileLogEntryStore.write(new LogEntry(), null, response("response_" + i), null, null);
+        }
+
+        // then
+        File[] indexFiles = directory.listFiles((dir, name) -> name.endsWith(".idx"));
+        assertThat(indexFiles.length, is(1));
+        assertThat(indexFiles[0].length(), lessThan(10L * 20));
+        fileLogEntryStore.close();
+        assertThat(indexFiles[0].length(), is(10L * 20));
+    }
+
+    @Test
+    public void shouldNotOpenDirectoryInUse() {
+        // given
+        FileLogEntryStore fileLogEntryStore = new FileLogEntryStore(directory, 1024 * 1024, 0, position -> {
+        });
+
+        try {
+            // then
+            IllegalStateException illegalStateException = assertThrows(IllegalStateException.class, () -> new FileLogEntryStore(directory, 1024 * 1024, 0, position -> {
+            }));
+            assertThat(illegalStateException.getMessage(), containsString("is already in use"));
+        } finally {
+            fileLogEntryStore.close();
+        }
+    }
+}
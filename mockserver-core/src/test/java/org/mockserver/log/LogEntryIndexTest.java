@@ -0,0 +1,147 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+public class LogEntryIndexTest {
+
+    @Test
+    public void shouldReturnCandidatesForTypesInOrder() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry receivedOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry info = new LogEntry().setType(INFO);
+        LogEntry forwarded = new LogEntry().setType(FORWARDED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry receivedTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+
+        // when
+        for (LogEntry logEntry : Arrays.asList(receivedOne, info, forwarded, receivedTwo)) {
+            logEntryIndex.add(logEntry);
+        }
+
+        // then
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), (RequestDefinition) null, Long.MAX_VALUE), contains(receivedOne, receivedTwo));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST, FORWARDED_REQUEST), (RequestDefinition) null, Long.MAX_VALUE), contains(receivedOne, forwarded, receivedTwo));
+        assertThat(logEntryIndex.candidates(EnumSet.of(EXPECTATION_RESPONSE), (RequestDefinition) null, Long.MAX_VALUE), empty());
+        assertThat(logEntryIndex.candidates(null, (RequestDefinition) null, Long.MAX_VALUE), contains(receivedOne, info, forwarded, receivedTwo));
+    }
+
+    @Test
+    public void shouldReturnCandidatesForLiteralPath() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry receivedOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry receivedRegex = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/o.*"));
+        LogEntry receivedNotted = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request().withPath(not("/two")));
+        LogEntry receivedWithoutPath = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request());
+        LogEntry receivedTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+        LogEntry info = new LogEntry().setType(INFO);
+
+        // when
+        for (LogEntry logEntry : Arrays.asList(receivedOne, receivedRegex, receivedNotted, receivedWithoutPath, receivedTwo, info)) {
+            logEntryIndex.add(logEntry);
+        }
+
+        // then - literal paths are matched ignoring case
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request("/ONE"), Long.MAX_VALUE), contains(receivedOne, receivedRegex, receivedNotted, receivedWithoutPath));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request("/two"), Long.MAX_VALUE), contains(receivedRegex, receivedNotted, receivedWithoutPath, receivedTwo));
+        assertThat(logEntryIndex.candidates(null, request("/two"), Long.MAX_VALUE), contains(receivedRegex, receivedNotted, receivedWithoutPath, receivedTwo, info));
+
+        // and - regex, notted or blank paths can't be narrowed by path
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request("/t.*"), Long.MAX_VALUE), hasSize(5));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request().withPath(not("/one")), Long.MAX_VALUE), hasSize(5));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request(), Long.MAX_VALUE), hasSize(5));
+        assertThat(logEntryIndex.candidates(null, request().withPath(string("/one")).withMethod("GET"), Long.MAX_VALUE), hasSize(5));
+    }
+
+    @Test
+    public void shouldReturnCandidatesForExpectationIds() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry responseOne = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("one");
+        LogEntry forwardedTwo = new LogEntry().setType(FORWARDED_REQUEST).setExpectationId("two");
+        LogEntry matchedOne = new LogEntry().setType(EXPECTATION_MATCHED).setExpectationId("one");
+        LogEntry forwardedOne = new LogEntry().setType(FORWARDED_REQUEST).setExpectationId("one");
+
+        // when
+        for (LogEntry logEntry : Arrays.asList(responseOne, forwardedTwo, matchedOne, forwardedOne)) {
+            logEntryIndex.add(logEntry);
+        }
+
+        // then
+        assertThat(logEntryIndex.candidates(EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST), Collections.singletonList("one"), Long.MAX_VALUE), contains(responseOne, forwardedOne));
+        assertThat(logEntryIndex.candidates(EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST), Arrays.asList("two", "one", "two"), Long.MAX_VALUE), contains(responseOne, forwardedTwo, forwardedOne));
+        assertThat(logEntryIndex.candidates(EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST), Collections.singletonList("three"), Long.MAX_VALUE), empty());
+    }
+
+    @Test
+    public void shouldRemoveLogEntries() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry receivedOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry responseOne = new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(request("/one")).setExpectationId("one");
+        LogEntry receivedRegex = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/o.*"));
+        for (LogEntry logEntry : Arrays.asList(receivedOne, responseOne, receivedRegex)) {
+            logEntryIndex.add(logEntry);
+        }
+
+        // when
+        logEntryIndex.remove(receivedOne);
+        logEntryIndex.remove(responseOne);
+
+        // then
+        assertThat(logEntryIndex.size(), is(1));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST, EXPECTATION_RESPONSE), request("/one"), Long.MAX_VALUE), contains(receivedRegex));
+        assertThat(logEntryIndex.candidates(EnumSet.of(EXPECTATION_RESPONSE), Collections.singletonList("one"), Long.MAX_VALUE), empty());
+
+        // when
+        logEntryIndex.clear();
+
+        // then
+        assertThat(logEntryIndex.size(), is(0));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request("/one"), Long.MAX_VALUE), empty());
+    }
+
+    @Test
+    public void shouldOnlyReturnCandidatesAddedUpToSequence() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry receivedOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one")).setExpectationId("one");
+        logEntryIndex.add(receivedOne);
+        long lastSequence = logEntryIndex.lastSequence();
+
+        // when
+        LogEntry receivedTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one")).setExpectationId("one");
+        logEntryIndex.add(receivedTwo);
+
+        // then
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), request("/one"), lastSequence), contains(receivedOne));
+        assertThat(logEntryIndex.candidates(null, (RequestDefinition) null, lastSequence), contains(receivedOne));
+        assertThat(logEntryIndex.candidates(EnumSet.of(RECEIVED_REQUEST), Collections.singletonList("one"), lastSequence), contains(receivedOne));
+        assertThat(logEntryIndex.candidates(null, (RequestDefinition) null, logEntryIndex.lastSequence()), contains(receivedOne, receivedTwo));
+    }
+
+    @Test
+    public void shouldOnlyIndexLiteralPaths() {
+        assertThat(LogEntryIndex.literalPath(request("/some/Path-with_literal~characters")), is("/some/path-with_literal~characters"));
+        assertThat(LogEntryIndex.literalPath(request("/some/path.json")), nullValue());
+        assertThat(LogEntryIndex.literalPath(request("/some/{id}")), nullValue());
+        assertThat(LogEntryIndex.literalPath(request("/some/päth")), nullValue());
+        assertThat(LogEntryIndex.literalPath(request().withPath(not("/some/path"))), nullValue());
+        assertThat(LogEntryIndex.literalPath(org.mockserver.model.Not.not(request("/some/path"))), nullValue());
+        assertThat(LogEntryIndex.literalPath(request()), nullValue());
+        assertThat(LogEntryIndex.literalPath(null), nullValue());
+    }
+}
@@ -1,5 +1,6 @@
 package org.mockserver.log;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -15,23 +16,32 @@ import org.mockserver.scheduler.Scheduler;
 import org.mockserver.time.EpochService;
 import org.slf4j.event.Level;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static junit.framework.TestCase.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
 import static org.mockito.Mockito.mock;
+import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.StringBody.exact;
 import static org.slf4j.event.Level.INFO;
 
 public class MockServerEventLogTest {
@@ -957,4 +967,160 @@ public class MockServerEventLogTest {
             ConfigurationProperties.logLevel(originalLevel.name());
         }
     }
+
+    @Test
+    public void shouldProcessLogEntriesAndQueriesWhileSlowQueryIsRunning() throws Exception {
+        // given
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(INFO)
+                .setHttpRequest(request("request_one"))
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request("request_one"))
+        );
+        CountDownLatch slowQueryLatch = new CountDownLatch(1);
+        CompletableFuture<List<LogEntry>> slowQuery = new CompletableFuture<>();
+        mockServerEventLog.retrieveRequestLogEntries(null, logEntries -> {
+            try {
+                slowQueryLatch.await(60, SECONDS);
+            } catch (InterruptedException ignore) {
+                // ignore
+            }
+            slowQuery.complete(logEntries);
+        });
+
+        try {
+            // when
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_two"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_two"))
+            );
+
+            // then
+            assertThat(retrieveRequestLogEntries(), hasSize(2));
+            assertThat(slowQuery.isDone(), is(false));
+        } finally {
+            slowQueryLatch.countDown();
+        }
+
+        // and - slow query only sees log entries added before it
+        assertThat(slowQuery.get(60, SECONDS), hasSize(1));
+    }
+
+    @Test
+    public void shouldRetrieveCompactedLogEntries() {
+        // given
+        HttpState httpState = new HttpState(configuration().compactLogEntriesMaxBytes(1024L * 1024L), new MockServerLogger(), mock(Scheduler.class));
+        mockServerLogger = httpState.getMockServerLogger();
+        mockServerEventLog = httpState.getMockServerLog();
+
+        // when
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(INFO)
+                .setHttpRequest(request("request_one").withBody(exact("some_body")))
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request("request_one").withBody(exact("some_body")))
+        );
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(FORWARDED_REQUEST)
+                .setLogLevel(INFO)
+                .setHttpRequest(request("request_two"))
+                .setHttpResponse(response("response_two"))
+                .setExpectation(request("request_two"), response("response_two"))
+                .setMessageFormat("returning response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}")
+                .setArguments(response("response_two"), request("request_two"), "curl")
+        );
+
+        // then
+        assertThat(retrieveRequests(request("request_one")), contains(request("request_one").withBody(exact("some_body"))));
+        assertThat(retrieveRequestLogEntries().get(0).getMessage(), is(new LogEntry()
+            .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+            .setArguments(request("request_one").withBody(exact("some_body")))
+            .getMessage()
+        ));
+        assertThat(retrieveRecordedExpectations(null), contains(new Expectation(request("request_two"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response("response_two"))));
+        assertThat(mockServerEventLog.getCompactLogEntryStore().usedBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void shouldEvictOldestCompactedLogEntries() {
+        // given
+        HttpState httpState = new HttpState(configuration().compactLogEntriesMaxBytes(4096L), new MockServerLogger(), mock(Scheduler.class));
+        mockServerLogger = httpState.getMockServerLogger();
+        mockServerEventLog = httpState.getMockServerLog();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_" + i))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_" + i))
+            );
+        }
+
+        // then
+        List<RequestDefinition> requests = retrieveRequests(null);
+        assertThat(requests.size(), is(lessThan(100)));
+        assertThat(requests.get(requests.size() - 1), is(request("request_99")));
+        assertThat(retrieveRequests(request("request_0")), empty());
+        assertThat(mockServerEventLog.getCompactLogEntryStore().usedBytes(), lessThanOrEqualTo(4096L));
+    }
+
+    @Test
+    public void shouldRetrievePersistedLogEntriesAfterRestart() throws Exception {
+        // given
+        File directory = Files.createTempDirectory("persistedLogEntries").toFile();
+        try {
+            HttpState httpState = new HttpState(configuration().persistLogEntries(true).persistedLogEntriesDirectory(directory.getAbsolutePath()), new MockServerLogger(), mock(Scheduler.class));
+            mockServerLogger = httpState.getMockServerLogger();
+            mockServerEventLog = httpState.getMockServerLog();
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_one"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_one"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_two"))
+                    .setHttpResponse(response("response_two"))
+                    .setExpectation(request("request_two"), response("response_two"))
+            );
+            assertThat(retrieveRequests(null), hasSize(1));
+            assertThat(retrieveRecordedExpectations(null), hasSize(1));
+            httpState.stop();
+
+            // when
+            httpState = new HttpState(configuration().persistLogEntries(true).persistedLogEntriesDirectory(directory.getAbsolutePath()), new MockServerLogger(), mock(Scheduler.class));
+            mockServerLogger = httpState.getMockServerLogger();
+            mockServerEventLog = httpState.getMockServerLog();
+
+            // then
+            assertThat(retrieveRequests(request("request_one")), contains(request("request_one")));
+            assertThat(retrieveRequestLogEntries().get(0).getMessage(), is(new LogEntry()
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request("request_one"))
+                .getMessage()
+            ));
+            assertThat(retrieveRecordedExpectations(null), contains(new Expectation(request("request_two"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response("response_two"))));
+            httpState.stop();
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
 }
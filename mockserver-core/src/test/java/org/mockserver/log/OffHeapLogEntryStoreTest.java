@@ -0,0 +1,192 @@
+package org.mockserver.log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.JsonBody;
+import org.mockserver.model.LogEntryBody;
+import org.mockserver.model.OpenAPIDefinition;
+import org.mockserver.model.RequestDefinition;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.OpenAPIDefinition.openAPI;
+import static org.mockserver.model.StringBody.exact;
+
+public class OffHeapLogEntryStoreTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+
+    @Test
+    public void shouldReadBackRequestsResponseAndArguments() throws Exception {
+        // given
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1024 * 1024, position -> {
+        });
+        HttpRequest httpRequest = request("/some/path")
+            .withMethod("POST")
+            .withHeader(header("some_header", "some_value", "other_value"))
+            .withQueryStringParameter("some_parameter", "some_value")
+            .withBody(exact("some_body"));
+        OpenAPIDefinition openAPIDefinition = openAPI("org/mockserver/openapi/openapi_petstore_example.json", "listPets");
+
+        // when
+        CompactLogEntryStore.Record record = compactLogEntryStore.write(
+            null,
+            new RequestDefinition[]{httpRequest, openAPIDefinition},
+            response("some_body").withStatusCode(201),
+            new Expectation(request("/some/path")).thenRespond(response("some_body")),
+            new Object[]{
+                "some_argument",
+                request("/some/path").withBody(new LogEntryBody(OBJECT_MAPPER.readTree("{ \"id\": 1 }"))),
+                response(),
+                null
+            }
+        );
+
+        // then
+        RequestDefinition[] httpRequests = record.httpRequests();
+        assertThat(httpRequests[0], is(httpRequest));
+        assertThat(((OpenAPIDefinition) httpRequests[1]).getSpecUrlOrPayload(), is(openAPIDefinition.getSpecUrlOrPayload()));
+        assertThat(((OpenAPIDefinition) httpRequests[1]).getOperationId(), is(openAPIDefinition.getOperationId()));
+        assertThat(record.httpResponse(), is(response("some_body").withStatusCode(201)));
+        assertThat(record.expectation(), is(new Expectation(request("/some/path")).thenRespond(response("some_body"))));
+        Object[] arguments = record.arguments();
+        assertThat(arguments[0], is("some_argument"));
+        assertThat(arguments[2], is(response()));
+        assertThat(arguments[3], nullValue());
+
+        // and - log entry bodies are read back as the equivalent json body
+        HttpRequest argument = (HttpRequest) arguments[1];
+        assertThat(argument.getPath().getValue(), is("/some/path"));
+        assertThat(argument.getBody(), instanceOf(JsonBody.class));
+        assertThat(OBJECT_MAPPER.readTree(argument.getBodyAsString()), is(OBJECT_MAPPER.readTree("{ \"id\": 1 }")));
+        assertThat(compactLogEntryStore.usedBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void shouldReadBackNullOrEmptyValues() {
+        // given
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1024, position -> {
+        });
+
+        // when
+        CompactLogEntryStore.Record empty = compactLogEntryStore.write(null, new RequestDefinition[0], null, null, new Object[]{"some_argument"});
+        CompactLogEntryStore.Record nulls = compactLogEntryStore.write(null, null, null, null, null);
+
+        // then
+        assertThat(empty.httpRequests(), emptyArray());
+        assertThat(empty.httpResponse(), nullValue());
+        assertThat(empty.arguments(), is(new Object[]{"some_argument"}));
+        assertThat(nulls.httpRequests(), nullValue());
+        assertThat(nulls.httpResponse(), nullValue());
+        assertThat(nulls.expectation(), nullValue());
+        assertThat(nulls.arguments(), nullValue());
+    }
+
+    @Test
+    public void shouldOverwriteOldestRecordsAcrossSegments() {
+        // given
+        List<Long> overwrittenBefore = new ArrayList<>();
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1000, 64, overwrittenBefore::add);
+
+        // when
+        List<CompactLogEntryStore.Record> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            records.add(compactLogEntryStore.write(null, null, response("response_" + i), null, null));
+        }
+
+        // then - oldest records are overwritten
+        assertThat(overwrittenBefore, not(empty()));
+        assertThat(compactLogEntryStore.usedBytes(), lessThanOrEqualTo(1000L));
+        assertThat(compactLogEntryStore.allocatedBytes(), is(1000L));
+        assertThat(records.get(0).httpResponse(), nullValue());
+        assertThat(records.get(0).isBefore(overwrittenBefore.get(overwrittenBefore.size() - 1)), is(true));
+        for (int i = 15; i < 20; i++) {
+            assertThat(records.get(i).httpResponse(), is(response("response_" + i)));
+            assertThat(records.get(i).isBefore(overwrittenBefore.get(overwrittenBefore.size() - 1)), is(false));
+        }
+
+        // and - records larger than the store aren't written
+        assertThat(compactLogEntryStore.write(null, null, response(new String(new char[1000]).replace('\0', 'a')), null, null), nullValue());
+    }
+
+    @Test
+    public void shouldClear() {
+        // given
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1024, position -> {
+        });
+        CompactLogEntryStore.Record record = compactLogEntryStore.write(null, new RequestDefinition[]{request("/some/path")}, response(), null, null);
+
+        // when
+        compactLogEntryStore.clear();
+
+        // then
+        assertThat(record.httpRequests(), nullValue());
+        assertThat(record.httpResponse(), nullValue());
+        assertThat(compactLogEntryStore.usedBytes(), is(0L));
+        assertThat(compactLogEntryStore.write(null, null, response().withBody(exact("some_body")), null, null).httpResponse(), is(response().withBody(exact("some_body"))));
+    }
+
+    @Test
+    public void shouldNotMatchLogEntryOnceCompactedRequestsEvicted() {
+        // given
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1024, position -> {
+        });
+        LogEntry logEntry = new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(request("/some/path"));
+        HttpRequestMatcher matchingMatcher = new MatcherBuilder(configuration(), new MockServerLogger()).transformsToMatcher(request("/some/path"));
+        HttpRequestMatcher otherMatcher = new MatcherBuilder(configuration(), new MockServerLogger()).transformsToMatcher(request("/other/path"));
+        assertThat(logEntry.compact(compactLogEntryStore), is(true));
+        assertThat(logEntry.matches(matchingMatcher), is(true));
+
+        // when
+        compactLogEntryStore.clear();
+
+        // then
+        assertThat(logEntry.matches(matchingMatcher), is(false));
+        assertThat(logEntry.matches(otherMatcher), is(false));
+        assertThat(logEntry.matches(null), is(true));
+    }
+
+    @Test
+    public void shouldKeepDeferredMessageDeferredWhenCompacted() {
+        // given
+        CompactLogEntryStore compactLogEntryStore = new OffHeapLogEntryStore(1024 * 1024, position -> {
+        });
+        AtomicInteger formatted = new AtomicInteger();
+        LogEntry logEntry = new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(request("/some/path"))
+            .setDeferredMessage(entry -> {
+                formatted.incrementAndGet();
+                entry
+                    .setMessageFormat("received request:{}")
+                    .setArguments(entry.getHttpRequest());
+            });
+
+        // when
+        assertThat(logEntry.compact(compactLogEntryStore), is(true));
+
+        // then
+        assertThat(formatted.get(), is(0));
+        assertThat(logEntry.getMessage(), containsString("/some/path"));
+        assertThat(logEntry.getArguments()[0], is(request("/some/path")));
+        assertThat(formatted.get(), is(1));
+    }
+}
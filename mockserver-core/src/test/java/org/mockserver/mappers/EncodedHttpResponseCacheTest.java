@@ -0,0 +1,83 @@
+package org.mockserver.mappers;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.Test;
+import org.mockserver.model.Body;
+import org.mockserver.model.StringBody;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.StringBody.exact;
+
+public class EncodedHttpResponseCacheTest {
+
+    private final AtomicInteger encodeCount = new AtomicInteger();
+    private final BiFunction<Body<?>, String, byte[]> bodyEncoder = (body, contentTypeHeader) -> {
+        encodeCount.incrementAndGet();
+        return ((String) body.getValue()).getBytes(UTF_8);
+    };
+
+    @Test
+    public void shouldOnlyEncodeBodyOnce() {
+        // given
+        EncodedHttpResponseCache encodedHttpResponseCache = new EncodedHttpResponseCache();
+        StringBody body = exact("some_body");
+
+        // when
+        ByteBuf firstContent = encodedHttpResponseCache.content(body, "text/plain", bodyEncoder);
+        ByteBuf secondContent = encodedHttpResponseCache.content(body, "text/plain", bodyEncoder);
+
+        // then
+        assertThat(encodeCount.get(), is(1));
+        assertThat(firstContent.toString(UTF_8), is("some_body"));
+        assertThat(firstContent.isDirect(), is(true));
+        assertThat(secondContent.toString(UTF_8), is("some_body"));
+        assertThat(secondContent.memoryAddress(), is(firstContent.memoryAddress()));
+    }
+
+    @Test
+    public void shouldEncodeAgainWhenBodyOrContentTypeChanges() {
+        // given
+        EncodedHttpResponseCache encodedHttpResponseCache = new EncodedHttpResponseCache();
+        encodedHttpResponseCache.content(exact("some_body"), "text/plain", bodyEncoder);
+
+        // when
+        ByteBuf otherBodyContent = encodedHttpResponseCache.content(exact("other_body"), "text/plain", bodyEncoder);
+        ByteBuf otherContentTypeContent = encodedHttpResponseCache.content(exact("other_body"), "text/html", bodyEncoder);
+
+        // then
+        assertThat(encodeCount.get(), is(3));
+        assertThat(otherBodyContent.toString(UTF_8), is("other_body"));
+        assertThat(otherContentTypeContent.toString(UTF_8), is("other_body"));
+    }
+
+    @Test
+    public void shouldNotFreeEncodedBodyWhenContentReleased() {
+        // given
+        EncodedHttpResponseCache encodedHttpResponseCache = new EncodedHttpResponseCache();
+        StringBody body = exact("some_body");
+
+        // when
+        ByteBuf content = encodedHttpResponseCache.content(body, null, bodyEncoder);
+        content.readByte();
+        content.release();
+        content.release();
+
+        // then
+        assertThat(encodedHttpResponseCache.content(body, null, bodyEncoder).toString(UTF_8), is("some_body"));
+        assertThat(encodeCount.get(), is(1));
+    }
+
+    @Test
+    public void shouldEncodeEmptyBody() {
+        // when
+        ByteBuf content = new EncodedHttpResponseCache().content(exact(""), null, bodyEncoder);
+
+        // then
+        assertThat(content.readableBytes(), is(0));
+    }
+}
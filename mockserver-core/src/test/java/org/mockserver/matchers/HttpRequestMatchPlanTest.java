@@ -0,0 +1,196 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.codec.PathParametersDecoder;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.Headers;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.KeyMatchStyle;
+import org.mockserver.model.Not;
+import org.mockserver.model.Parameters;
+import org.slf4j.event.Level;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableOptionalString.optional;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+import static org.mockserver.model.Parameter.param;
+
+public class HttpRequestMatchPlanTest {
+
+    private static final PathParametersDecoder pathParametersDecoder = new PathParametersDecoder();
+
+    private static HttpRequestMatchPlan compile(HttpRequest httpRequest) {
+        return HttpRequestMatchPlan.compile(httpRequest, pathParametersDecoder.normalisePathWithParametersForMatching(httpRequest));
+    }
+
+    private static HttpRequest parsed(HttpRequest httpRequest) {
+        return httpRequest.withParsedHeadersAndCookies(new ParsedHeadersAndCookies());
+    }
+
+    @Test
+    public void shouldRejectDifferentMethodAndPath() {
+        // given
+        HttpRequestMatchPlan matchPlan = compile(request().withMethod("GET").withPath("/some/path"));
+
+        // then
+        assertThat(matchPlan.matches(request().withMethod("get").withPath("/SOME/path")), is(true));
+        assertThat(matchPlan.matches(request().withMethod("POST").withPath("/some/path")), is(false));
+        assertThat(matchPlan.matches(request().withMethod("GET").withPath("/some/other_path")), is(false));
+        assertThat(matchPlan.matches(request().withMethod("GET")), is(true));
+    }
+
+    @Test
+    public void shouldRecordMatchedFieldsAndRejectedField() {
+        // given
+        HttpRequestMatchPlan matchPlan = compile(request().withPath("/some/path").withSecure(true));
+
+        // when
+        int pathRejected = matchPlan.evaluate(request().withMethod("GET").withPath("/other/path"));
+        int sslRejected = matchPlan.evaluate(request().withMethod("GET").withPath("/some/path").withSecure(false));
+
+        // then
+        assertThat(matchPlan.evaluate(request().withMethod("GET").withPath("/some/path").withSecure(true)), is(0));
+        assertThat(HttpRequestMatchPlan.rejectedField(0), nullValue());
+        assertThat(HttpRequestMatchPlan.rejectedField(pathRejected), is(MatchDifference.Field.PATH));
+        assertThat(HttpRequestMatchPlan.fieldMatched(pathRejected, MatchDifference.Field.METHOD), is(true));
+        assertThat(HttpRequestMatchPlan.fieldMatched(pathRejected, MatchDifference.Field.PATH), is(false));
+        assertThat(HttpRequestMatchPlan.fieldMatched(pathRejected, MatchDifference.Field.BODY), is(false));
+        assertThat(HttpRequestMatchPlan.rejectedField(sslRejected), is(MatchDifference.Field.SSL_MATCHES));
+        assertThat(HttpRequestMatchPlan.fieldMatched(sslRejected, MatchDifference.Field.PATH), is(true));
+        assertThat(HttpRequestMatchPlan.fieldMatched(sslRejected, MatchDifference.Field.HEADERS), is(true));
+        assertThat(HttpRequestMatchPlan.fieldMatched(sslRejected, MatchDifference.Field.KEEP_ALIVE), is(true));
+    }
+
+    @Test
+    public void shouldRejectPathNotMatchingRegexOrPathParameters() {
+        // then
+        HttpRequestMatchPlan regexMatchPlan = compile(request().withMethod("P.*").withPath("/some/.*/path"));
+        assertThat(regexMatchPlan.matches(request().withMethod("PUT").withPath("/some/regex/path")), is(true));
+        assertThat(regexMatchPlan.matches(request().withMethod("GET").withPath("/some/regex/path")), is(false));
+        assertThat(regexMatchPlan.matches(request().withMethod("PUT").withPath("/other/regex/path")), is(false));
+
+        // and
+        HttpRequestMatchPlan pathParameterMatchPlan = compile(request().withPath("/some/{id}/path").withPathParameter("id", "[0-9]+"));
+        assertThat(pathParameterMatchPlan.matches(request().withPath("/some/1234/path")), is(true));
+        assertThat(pathParameterMatchPlan.matches(request().withPath("/other/1234/path")), is(false));
+    }
+
+    @Test
+    public void shouldRejectMissingHeaderNamesAndValues() {
+        // given
+        HttpRequestMatchPlan matchPlan = compile(request().withHeaders(
+            header("Content-Type", "application/json"),
+            header("x-some-header", "one", "t.*"),
+            header(optional("x-optional"), string("optional"))
+        ));
+
+        // then
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("content-type", "APPLICATION/JSON"), header("X-Some-Header", "two", "one")))), is(true));
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("content-type", "text/plain"), header("X-Some-Header", "one")))), is(false));
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("content-type", "application/json"), header("X-Some-Header", "three")))), is(false));
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("content-type", "application/json")))), is(false));
+        assertThat(matchPlan.matches(parsed(request())), is(false));
+    }
+
+    @Test
+    public void shouldOnlyRejectMissingHeaderNamesForMatchingKeyStyle() {
+        // given
+        HttpRequestMatchPlan matchPlan = compile(request().withHeaders(new Headers(header("x-some-header", "one")).withKeyMatchStyle(KeyMatchStyle.MATCHING_KEY)));
+
+        // then
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("X-Some-Header", "two")))), is(true));
+        assertThat(matchPlan.matches(parsed(request().withHeaders(header("x-other-header", "one")))), is(false));
+    }
+
+    @Test
+    public void shouldRejectDifferentKeepAliveAndSsl() {
+        // given
+        HttpRequestMatchPlan matchPlan = compile(request().withKeepAlive(true).withSecure(false));
+
+        // then
+        assertThat(matchPlan.matches(request().withKeepAlive(true).withSecure(false)), is(true));
+        assertThat(matchPlan.matches(request().withKeepAlive(false).withSecure(false)), is(false));
+        assertThat(matchPlan.matches(request().withKeepAlive(true).withSecure(true)), is(false));
+        assertThat(matchPlan.matches(request().withSecure(false)), is(false));
+    }
+
+    @Test
+    public void shouldNotCompileNottedValues() {
+        // then
+        assertThat(compile(Not.not(request().withPath("/some/path"))), nullValue());
+        HttpRequestMatchPlan matchPlan = compile(request()
+            .withMethod(not("GET"))
+            .withPath(not("/some/path"))
+            .withHeaders(header(not("x-some-header"), string("one")), header(string("x-other-header"), not("two")))
+        );
+        assertThat(matchPlan.matches(parsed(request().withMethod("POST").withPath("/other/path").withHeaders(header("x-other-header", "three")))), is(true));
+    }
+
+    @Test
+    public void shouldOnlyRejectRequestsThatDoNotMatchField() {
+        // given
+        Configuration configuration = Configuration.configuration();
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        List<HttpRequest> expectations = Arrays.asList(
+            request().withMethod("GET").withPath("/some/path"),
+            request().withMethod("[A-Z]{3}").withPath("/some/{id}").withPathParameter("id", "[0-9]+"),
+            request().withPath("/some/path").withHeaders(header("x-some-header", "one", "two")),
+            request().withHeaders(header("x-some-header", ".*"), header("Accept", "")),
+            request().withHeaders(new Headers(header("x-some-header", "two")).withKeyMatchStyle(KeyMatchStyle.MATCHING_KEY)),
+            request().withSecure(true)
+        );
+        List<HttpRequest> requests = Arrays.asList(
+            request().withMethod("GET").withPath("/some/path").withSecure(true).withHeaders(header("X-Some-Header", "one", "two"), header("accept", "*/*")),
+            request().withMethod("POST").withPath("/some/1234").withSecure(false).withHeaders(header("x-some-header", "two")),
+            request().withMethod("GET").withPath("/some/path").withHeaders(header("x-other-header", "one")),
+            request().withMethod("DELETE").withPath("/other/path")
+        );
+
+        // then
+        for (HttpRequest expectation : expectations) {
+            HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(configuration, mockServerLogger);
+            httpRequestPropertiesMatcher.update(expectation);
+            HttpRequestMatchPlan matchPlan = compile(expectation);
+            for (HttpRequest request : requests) {
+                if (!matchPlan.matches(parsed(request.clone()))) {
+                    assertThat(expectation + " should not match " + request, httpRequestPropertiesMatcher.matches(new MatchDifference(false, request.clone()), request.clone()), is(false));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldMatchUsingMatchPlanWhenMatchFailuresAreNotLogged() {
+        Level originalLevel = ConfigurationProperties.logLevel();
+        try {
+            // given
+            ConfigurationProperties.logLevel("WARN");
+            HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(Configuration.configuration(), new MockServerLogger());
+            httpRequestPropertiesMatcher.update(new Expectation(request().withMethod("GET").withPath("/some/{id}").withPathParameter("id", "[0-9]+").withHeader("x-some-header", "one")));
+
+            // when
+            HttpRequest matchingRequest = parsed(request().withMethod("GET").withPath("/some/1234").withHeader("X-Some-Header", "one"));
+            boolean matches = httpRequestPropertiesMatcher.matches(null, matchingRequest);
+
+            // then
+            assertThat(matches, is(true));
+            assertThat(matchingRequest.getPathParameters(), is(new Parameters(param("id", "1234"))));
+            assertThat(httpRequestPropertiesMatcher.matches(null, parsed(request().withMethod("GET").withPath("/some/abcd").withHeader("x-some-header", "one"))), is(false));
+            assertThat(httpRequestPropertiesMatcher.matches(null, parsed(request().withMethod("GET").withPath("/some/1234").withHeader("x-some-header", "two"))), is(false));
+            assertThat(httpRequestPropertiesMatcher.matches(null, parsed(request().withMethod("POST").withPath("/some/1234").withHeader("x-some-header", "one"))), is(false));
+        } finally {
+            ConfigurationProperties.logLevel(originalLevel.name());
+        }
+    }
+}
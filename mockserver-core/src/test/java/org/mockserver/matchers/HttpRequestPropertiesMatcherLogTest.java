@@ -21,6 +21,8 @@ import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.configuration.ConfigurationProperties.logLevel;
@@ -100,6 +102,67 @@ public class HttpRequestPropertiesMatcherLogTest {
         ));
     }
 
+    @Test
+    public void doesNotMatchRequestRejectedByMatchPlan() {
+        // given
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(configuration, mockServerLogger);
+        httpRequestPropertiesMatcher.update(request().withMethod("GET").withPath("some_path"));
+
+        // when
+        boolean matches = httpRequestPropertiesMatcher.withControlPlaneMatcher(false).matches(null, request().withMethod("POST").withPath("some_path"));
+
+        // then
+        assertFalse(matches);
+        HttpResponse response = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("type", "logs")
+            );
+        assertThat(response.getBodyAsString(), is(
+            LOG_DATE_FORMAT.format(new Date(EpochService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                NEW_LINE +
+                "  {" + NEW_LINE +
+                "    \"method\" : \"POST\"," + NEW_LINE +
+                "    \"path\" : \"some_path\"" + NEW_LINE +
+                "  }" + NEW_LINE +
+                NEW_LINE +
+                " didn't match request matcher:" + NEW_LINE +
+                NEW_LINE +
+                "  {" + NEW_LINE +
+                "    \"method\" : \"GET\"," + NEW_LINE +
+                "    \"path\" : \"some_path\"" + NEW_LINE +
+                "  }" + NEW_LINE +
+                NEW_LINE +
+                " because:" + NEW_LINE +
+                NEW_LINE +
+                "  method didn't match" + NEW_LINE +
+                NEW_LINE
+        ));
+    }
+
+    @Test
+    public void doesNotMatchRequestRejectedByMatchPlanWithExpectationAsItWasWhenRejected() {
+        // given
+        Expectation expectation = new Expectation(request().withMethod("GET"), Times.exactly(2), TimeToLive.unlimited(), 0);
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(configuration, mockServerLogger);
+        httpRequestPropertiesMatcher.update(expectation);
+
+        // when
+        boolean matches = httpRequestPropertiesMatcher.matches(null, request().withMethod("POST").withQueryStringParameter("name", "a,b"));
+        expectation.decrementRemainingMatches();
+
+        // then
+        assertFalse(matches);
+        String logs = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("type", "logs")
+            )
+            .getBodyAsString();
+        assertThat(logs, containsString("\"remainingTimes\" : 2"));
+        assertThat(logs, containsString(" because:" + NEW_LINE + NEW_LINE + "  method didn't match" + NEW_LINE));
+    }
+
     @Test
     public void doesNotMatchMultipleIncorrectFields() {
         // given
@@ -161,6 +224,34 @@ public class HttpRequestPropertiesMatcherLogTest {
         ));
     }
 
+    @Test
+    public void reportsFieldsInDeclaredOrderWhenFieldsEvaluatedInCostOrder() {
+        // given
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(configuration, mockServerLogger);
+        httpRequestPropertiesMatcher.update(new Expectation(request().withPath("/some_path.*")));
+        HttpRequest matched = request()
+            .withMethod("GET")
+            .withPath("/not_found")
+            .withKeepAlive(true)
+            .withSecure(false);
+
+        // when
+        assertFalse(httpRequestPropertiesMatcher.matches(null, matched));
+
+        // then
+        String logs = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("type", "logs")
+            )
+            .getBodyAsString();
+        assertThat(logs, containsString(" because:" + NEW_LINE +
+            NEW_LINE +
+            "  method matched" + NEW_LINE +
+            "  path didn't match" + NEW_LINE));
+        assertThat(logs, not(containsString("keep-alive matched")));
+    }
+
     @Test
     public void doesNotMatchMultipleIncorrectFieldsInExpectation() {
         // given
@@ -2448,4 +2539,42 @@ public class HttpRequestPropertiesMatcherLogTest {
             matchersFailFast(originalMatchersFailFast);
         }
     }
+
+    @Test
+    public void doesNotMatchWithDeferredMatchFailureLogging() {
+        // given
+        Expectation expectation = new Expectation(
+            request()
+                .withMethod("GET")
+                .withPath("some_path")
+                .withHeader("name", "value")
+        ).withId("some_id");
+        HttpRequest request = request()
+            .withMethod("GET")
+            .withPath("some_path")
+            .withHeader("name", "other_value");
+
+        // when
+        String eagerLog = matchFailureLog(configuration(), expectation, request);
+        String deferredLog = matchFailureLog(configuration().deferredMatchFailureLogging(true), expectation, request);
+
+        // then
+        assertThat(deferredLog, is(eagerLog));
+        assertThat(deferredLog.contains(" didn't match expectation:"), is(true));
+        assertThat(deferredLog.contains("  headers didn't match"), is(true));
+    }
+
+    private String matchFailureLog(Configuration configuration, Expectation expectation, HttpRequest request) {
+        MockServerLogger mockServerLogger = new MockServerLogger(HttpRequestPropertiesMatcherLogTest.class);
+        HttpState httpState = new HttpState(configuration, mockServerLogger, new Scheduler(configuration, mockServerLogger));
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(configuration, mockServerLogger);
+        httpRequestPropertiesMatcher.update(expectation);
+        assertFalse(httpRequestPropertiesMatcher.matches(null, request));
+        return httpState
+            .retrieve(
+                request()
+                    .withQueryStringParameter("type", "logs")
+            )
+            .getBodyAsString();
+    }
 }
@@ -7,6 +7,8 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.model.*;
 import org.mockserver.serialization.model.*;
 
+import java.util.Arrays;
+
 import static java.nio.charset.StandardCharsets.UTF_16;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.jar.Attributes.Name.CONTENT_TYPE;
@@ -122,6 +124,61 @@ public class HttpRequestPropertiesMatcherTest {
         assertTrue(notMatcher(update(not(new HttpRequest().withMethod("HEAD")))).matches(null, not(new HttpRequest().withMethod("OPTIONS"))));
     }
 
+    // FIELD ORDER
+
+    @Test
+    public void shouldOrderFieldsByCostWithBodyLast() {
+        assertEquals(Arrays.asList(
+            MatchDifference.Field.KEEP_ALIVE,
+            MatchDifference.Field.SSL_MATCHES,
+            MatchDifference.Field.METHOD,
+            MatchDifference.Field.PATH,
+            MatchDifference.Field.COOKIES,
+            MatchDifference.Field.PATH_PARAMETERS,
+            MatchDifference.Field.QUERY_PARAMETERS,
+            MatchDifference.Field.HEADERS,
+            MatchDifference.Field.BODY
+        ), Arrays.asList(HttpRequestPropertiesMatcher.costOrderedFields(
+            new HttpRequest()
+                .withMethod("POST")
+                .withPath("/some/path")
+                .withHeaders(new Header("headerOne", "valueOne"), new Header("headerTwo", "valueTwo"))
+                .withBody(jsonSchema("{ \"type\": \"object\" }"))
+        )));
+    }
+
+    @Test
+    public void shouldMatchSameWhenFieldsOrderedByCost() {
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = update(new HttpRequest()
+            .withMethod("POST")
+            .withHeader("headerName", "headerValue")
+            .withBody(json("{ \"some_field\": \"some_value\" }")));
+
+        // header mismatch
+        HttpRequest headerMismatch = new HttpRequest()
+            .withMethod("POST")
+            .withHeader("headerName", "otherValue")
+            .withBody(json("{ \"some_field\": \"some_value\" }"));
+        assertFalse(httpRequestPropertiesMatcher.matches(null, headerMismatch));
+        assertFalse(httpRequestPropertiesMatcher.matches(new MatchDifference(false, headerMismatch), headerMismatch));
+
+        // body mismatch
+        HttpRequest bodyMismatch = new HttpRequest()
+            .withMethod("POST")
+            .withHeader("headerName", "headerValue")
+            .withBody(json("{ \"some_field\": \"other_value\" }"));
+        assertFalse(httpRequestPropertiesMatcher.matches(null, bodyMismatch));
+        assertFalse(httpRequestPropertiesMatcher.matches(new MatchDifference(false, bodyMismatch), bodyMismatch));
+
+        // all fields match
+        HttpRequest allMatch = new HttpRequest()
+            .withMethod("POST")
+            .withHeader("headerName", "headerValue")
+            .withBody(json("{ \"some_field\": \"some_value\" }"));
+        assertTrue(httpRequestPropertiesMatcher.matches(null, allMatch));
+        assertTrue(httpRequestPropertiesMatcher.matches(new MatchDifference(false, allMatch), allMatch));
+    }
+
     // KEEP ALIVE
 
     @Test
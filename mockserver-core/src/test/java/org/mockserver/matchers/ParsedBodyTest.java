@@ -0,0 +1,87 @@
+package org.mockserver.matchers;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.matchers.MatchType.ONLY_MATCHING_FIELDS;
+
+public class ParsedBodyTest {
+
+    @Test
+    public void shouldParseEqualJsonOnce() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+
+        // then
+        assertThat(parsedBody.jsonNode("{ \"id\": 1 }"), sameInstance(parsedBody.jsonNode(new String("{ \"id\": 1 }"))));
+        assertThat(parsedBody.jsonNode("{ \"id\": 1 }").get("id").asInt(), is(1));
+        assertThat(parsedBody.jsonPathDocument("{ \"id\": 1 }"), sameInstance(parsedBody.jsonPathDocument("{ \"id\": 1 }")));
+        assertThat(parsedBody.jsonNode("{ \"id\": 2 }").get("id").asInt(), is(2));
+    }
+
+    @Test
+    public void shouldParseEqualXmlOnceForEachNamespaceAwareness() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String xml = "<element xmlns=\"http://some/namespace\"><key>some_key</key></element>";
+
+        // then
+        assertThat(parsedBody.xmlDocument(xml, false), sameInstance(parsedBody.xmlDocument(xml, false)));
+        assertThat(parsedBody.xmlDocument(xml, true), sameInstance(parsedBody.xmlDocument(xml, true)));
+        assertThat(parsedBody.xmlDocument(xml, true), not(sameInstance(parsedBody.xmlDocument(xml, false))));
+        assertThat(parsedBody.xmlDocument(xml, true).getDocumentElement().getNamespaceURI(), is("http://some/namespace"));
+    }
+
+    @Test
+    public void shouldOnlyShareJsonWithCopyForThread() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String json = "{ \"id\": 1 }";
+        String xml = "<element><key>some_key</key></element>";
+
+        // when
+        ParsedBody copy = parsedBody.copyForThread();
+
+        // then
+        assertThat(copy.jsonNode(json), sameInstance(parsedBody.jsonNode(json)));
+        assertThat(copy.jsonPathDocument(json), sameInstance(parsedBody.jsonPathDocument(json)));
+        assertThat(copy.xmlDocument(xml, true), not(sameInstance(parsedBody.xmlDocument(xml, true))));
+        assertThat(copy.xmlDocument(xml, false), not(sameInstance(parsedBody.xmlDocument(xml, false))));
+        assertThat(copy.xmlDocument(xml, false), sameInstance(copy.xmlDocument(xml, false)));
+    }
+
+    @Test
+    public void shouldReturnNullForInvalidBody() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+
+        // then
+        assertThat(parsedBody.jsonNode("{ \"id\": "), nullValue());
+        assertThat(parsedBody.jsonPathDocument("{ \"id\": "), nullValue());
+        assertThat(parsedBody.xmlDocument("<element>", false), nullValue());
+        assertThat(parsedBody.xmlDocument(null, true), nullValue());
+    }
+
+    @Test
+    public void shouldMatchUsingParsedBody() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String json = "{ \"id\": 1, \"name\": \"some_name\" }";
+        String xml = "<element xmlns:ns=\"http://some/namespace\"><ns:key>some_key</ns:key></element>";
+
+        // then
+        assertThat(new JsonStringMatcher(new MockServerLogger(), "{ \"id\": 1 }", ONLY_MATCHING_FIELDS).matches(null, json, parsedBody), is(true));
+        assertThat(new JsonStringMatcher(new MockServerLogger(), "{ \"id\": 2 }", ONLY_MATCHING_FIELDS).matches(null, json, parsedBody), is(false));
+        assertThat(new JsonPathMatcher(new MockServerLogger(), "$[?(@.id == 1)]").matches(null, json, parsedBody), is(true));
+        assertThat(new JsonPathMatcher(new MockServerLogger(), "$[?(@.id == 2)]").matches(null, json, parsedBody), is(false));
+        assertThat(new JsonSchemaMatcher(new MockServerLogger(), "{ \"type\": \"object\", \"required\": [\"id\"] }").matches(null, json, parsedBody), is(true));
+        assertThat(new JsonSchemaMatcher(new MockServerLogger(), "{ \"type\": \"object\", \"required\": [\"other\"] }").matches(null, json, parsedBody), is(false));
+        assertThat(new XPathMatcher(new MockServerLogger(), "/element/other").matches(null, xml, parsedBody), is(false));
+        assertThat(new XPathMatcher(new MockServerLogger(), "/element/ns:key", ImmutableMap.of("ns", "http://some/namespace")).matches(null, xml, parsedBody), is(true));
+        assertThat(new XmlStringMatcher(new MockServerLogger(), "<element xmlns:ns=\"http://some/namespace\"><ns:key>some_key</ns:key></element>").matches(null, xml, parsedBody), is(true));
+        assertThat(new XmlStringMatcher(new MockServerLogger(), "<element><key>some_key</key></element>").matches(null, xml, parsedBody), is(false));
+    }
+}
@@ -0,0 +1,85 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.Cookies;
+import org.mockserver.model.Headers;
+import org.mockserver.model.NottableString;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.model.Cookie.cookie;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.NottableString.string;
+
+public class ParsedHeadersAndCookiesTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+
+    @Test
+    public void shouldConvertSameHeadersOnce() {
+        // given
+        ParsedHeadersAndCookies parsedHeadersAndCookies = new ParsedHeadersAndCookies();
+        Headers headers = new Headers(header("one", "one_one"), header("two", "two"));
+
+        // then
+        assertThat(parsedHeadersAndCookies.headers(mockServerLogger, false, headers), sameInstance(parsedHeadersAndCookies.headers(mockServerLogger, false, headers)));
+        assertThat(parsedHeadersAndCookies.headers(mockServerLogger, false, headers), not(sameInstance(parsedHeadersAndCookies.headers(mockServerLogger, false, new Headers(header("one", "one_one"))))));
+        assertThat(parsedHeadersAndCookies.headers(mockServerLogger, true, headers), not(sameInstance(parsedHeadersAndCookies.headers(mockServerLogger, false, headers))));
+    }
+
+    @Test
+    public void shouldConvertSameCookiesOnce() {
+        // given
+        ParsedHeadersAndCookies parsedHeadersAndCookies = new ParsedHeadersAndCookies();
+        Cookies cookies = new Cookies(cookie("one", "one"), cookie("two", "two"));
+
+        // then
+        assertThat(parsedHeadersAndCookies.cookies(mockServerLogger, false, cookies), sameInstance(parsedHeadersAndCookies.cookies(mockServerLogger, false, cookies)));
+        assertThat(parsedHeadersAndCookies.cookies(mockServerLogger, false, cookies), not(sameInstance(parsedHeadersAndCookies.cookies(mockServerLogger, false, new Cookies(cookie("one", "one"))))));
+    }
+
+    @Test
+    public void shouldMatchUsingConvertedHeadersAndCookies() {
+        // given
+        ParsedHeadersAndCookies parsedHeadersAndCookies = new ParsedHeadersAndCookies();
+        Headers headers = new Headers(header("One", "one_one", "one_two"), header("two", "two"), header("three", "three"));
+        Cookies cookies = new Cookies(cookie("one", "one"), cookie("two", "two"));
+
+        // then
+        assertThat(new MultiValueMapMatcher(mockServerLogger, new Headers(header("one", "one_two"), header("TWO", "t.*")), false).matches(null, headers, parsedHeadersAndCookies.headers(mockServerLogger, false, headers)), is(true));
+        assertThat(new MultiValueMapMatcher(mockServerLogger, new Headers(header("one", "one_three")), false).matches(null, headers, parsedHeadersAndCookies.headers(mockServerLogger, false, headers)), is(false));
+        assertThat(new MultiValueMapMatcher(mockServerLogger, new Headers(header("four", "four")), false).matches(null, headers, parsedHeadersAndCookies.headers(mockServerLogger, false, headers)), is(false));
+        assertThat(new HashMapMatcher(mockServerLogger, new Cookies(cookie("two", "two")), false).matches(null, cookies, parsedHeadersAndCookies.cookies(mockServerLogger, false, cookies)), is(true));
+        assertThat(new HashMapMatcher(mockServerLogger, new Cookies(cookie("two", "three")), false).matches(null, cookies, parsedHeadersAndCookies.cookies(mockServerLogger, false, cookies)), is(false));
+    }
+
+    @Test
+    public void shouldIndexHeaderValuesByLowerCaseNameOnce() {
+        // given
+        ParsedHeadersAndCookies parsedHeadersAndCookies = new ParsedHeadersAndCookies();
+        Headers headers = new Headers(header("One", "one_one", "one_two"), header("two", "two"));
+
+        // when
+        Map<String, List<NottableString>> headerValuesByLowerCaseName = parsedHeadersAndCookies.headerValuesByLowerCaseName(headers);
+
+        // then
+        assertThat(headerValuesByLowerCaseName.get("one"), contains(string("one_one"), string("one_two")));
+        assertThat(headerValuesByLowerCaseName.get("two"), contains(string("two")));
+        assertThat(headerValuesByLowerCaseName.get("One"), nullValue());
+        assertThat(parsedHeadersAndCookies.headerValuesByLowerCaseName(headers), sameInstance(headerValuesByLowerCaseName));
+    }
+
+    @Test
+    public void shouldNotIndexHeaderValuesWithNottedOrNonAsciiName() {
+        // given
+        ParsedHeadersAndCookies parsedHeadersAndCookies = new ParsedHeadersAndCookies();
+
+        // then
+        assertThat(parsedHeadersAndCookies.headerValuesByLowerCaseName(new Headers(header("one", "one"), header(NottableString.not("two"), string("two")))), nullValue());
+        assertThat(parsedHeadersAndCookies.headerValuesByLowerCaseName(new Headers(header("one", "one"), header("\u017Fome", "two"))), nullValue());
+    }
+}
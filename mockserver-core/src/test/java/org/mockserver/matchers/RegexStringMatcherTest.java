@@ -4,8 +4,10 @@ import org.junit.Test;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableString;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNotEquals;
 import static org.mockserver.matchers.NotMatcher.notMatcher;
 import static org.mockserver.model.NottableString.string;
 
@@ -125,4 +127,14 @@ public class RegexStringMatcherTest {
     public void shouldHandleIllegalRegexPatternForTest() {
         assertFalse(new RegexStringMatcher(new MockServerLogger(), string("some_value"), false).matches("/{}"));
     }
+
+    @Test
+    public void shouldBeEqualForSameMatcher() {
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        assertEquals(new RegexStringMatcher(mockServerLogger, string("some_value"), false), new RegexStringMatcher(new MockServerLogger(), string("some_value"), false));
+        assertEquals(new RegexStringMatcher(mockServerLogger, string("some_value"), false).hashCode(), new RegexStringMatcher(new MockServerLogger(), string("some_value"), false).hashCode());
+        assertNotEquals(new RegexStringMatcher(mockServerLogger, string("some_value"), false), new RegexStringMatcher(mockServerLogger, string("some_other_value"), false));
+        assertNotEquals(new RegexStringMatcher(mockServerLogger, string("some_value"), false), new RegexStringMatcher(mockServerLogger, string("some_value"), true));
+        assertNotEquals(new RegexStringMatcher(mockServerLogger, string("some_value"), false), notMatcher(new RegexStringMatcher(mockServerLogger, string("some_value"), false)));
+    }
 }
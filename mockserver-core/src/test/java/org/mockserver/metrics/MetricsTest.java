@@ -0,0 +1,68 @@
+package org.mockserver.metrics;
+
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Latency.ACTION_DURATION_SECONDS;
+import static org.mockserver.metrics.Metrics.Latency.EXPECTATION_MATCHING_DURATION_SECONDS;
+
+public class MetricsTest {
+
+    private static double sampleValue(String name, String[] labelNames, String[] labelValues) {
+        Double value = CollectorRegistry.defaultRegistry.getSampleValue(name, labelNames, labelValues);
+        return value != null ? value : 0;
+    }
+
+    @Test
+    public void shouldParseLatencyBuckets() {
+        assertThat(Metrics.parseBuckets("0.5, 0.001,,1,0.5"), is(new double[]{0.001, 0.5, 1}));
+    }
+
+    @Test
+    public void shouldObserveLatency() {
+        // given
+        Metrics metrics = new Metrics(configuration().metricsEnabled(true));
+        double countBefore = sampleValue("expectation_matching_duration_seconds_count", new String[0], new String[0]);
+        double sumBefore = sampleValue("expectation_matching_duration_seconds_sum", new String[0], new String[0]);
+
+        // when
+        metrics.observeSeconds(EXPECTATION_MATCHING_DURATION_SECONDS, 0.25);
+
+        // then
+        assertThat(sampleValue("expectation_matching_duration_seconds_count", new String[0], new String[0]), is(countBefore + 1));
+        assertThat(sampleValue("expectation_matching_duration_seconds_sum", new String[0], new String[0]), closeTo(sumBefore + 0.25, 0.0001));
+    }
+
+    @Test
+    public void shouldObserveLatencyWithLabel() {
+        // given
+        Metrics metrics = new Metrics(configuration().metricsEnabled(true));
+        String[] labelNames = {"action_type"};
+        String[] labelValues = {"response_template"};
+        double countBefore = sampleValue("action_duration_seconds_count", labelNames, labelValues);
+
+        // when
+        metrics.observe(ACTION_DURATION_SECONDS, metrics.startTimer(), "response_template");
+
+        // then
+        assertThat(sampleValue("action_duration_seconds_count", labelNames, labelValues), is(countBefore + 1));
+    }
+
+    @Test
+    public void shouldNotObserveLatencyWhenMetricsDisabled() {
+        // given
+        Metrics metrics = new Metrics(configuration().metricsEnabled(false));
+        double countBefore = sampleValue("expectation_matching_duration_seconds_count", new String[0], new String[0]);
+
+        // when
+        metrics.observe(EXPECTATION_MATCHING_DURATION_SECONDS, metrics.startTimer());
+        metrics.observeSeconds(EXPECTATION_MATCHING_DURATION_SECONDS, 0.25);
+
+        // then
+        assertThat(metrics.startTimer(), is(0L));
+        assertThat(sampleValue("expectation_matching_duration_seconds_count", new String[0], new String[0]), is(countBefore));
+    }
+}
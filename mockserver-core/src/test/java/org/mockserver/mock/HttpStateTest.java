@@ -2373,4 +2373,13 @@ public class HttpStateTest {
             "} ]>"));
     }
 
+    @Test
+    public void shouldDetectControlPlaneRequests() {
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/expectation")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/mockserver/verify")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/status")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("GET").withPath("/mockserver/dashboard")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("POST").withPath("/expectation")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/upload")), is(false));
+    }
 }
@@ -0,0 +1,154 @@
+package org.mockserver.mock;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.ExpectationId;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+public class MockServerMatcherIndexedLookupTest {
+
+    private static final Scheduler scheduler = new Scheduler(configuration(), new MockServerLogger());
+
+    private RequestMatchers requestMatchers;
+
+    @Before
+    public void prepareTestFixture() {
+        Configuration configuration = configuration().indexedExpectationLookup(true);
+        requestMatchers = new RequestMatchers(configuration, mock(MockServerLogger.class), scheduler, mock(WebSocketClientRegistry.class));
+    }
+
+    @AfterClass
+    public static void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldMatchLiteralMethodAndPathIgnoringCase() {
+        // given
+        Expectation other = new Expectation(request().withMethod("GET").withPath("/other")).thenRespond(response().withBody("other"));
+        Expectation expectation = new Expectation(request().withMethod("GET").withPath("/somePath")).thenRespond(response().withBody("some"));
+        requestMatchers.add(other, API);
+        requestMatchers.add(expectation, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("get").withPath("/SOMEPATH")), is(expectation));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("POST").withPath("/somePath")), nullValue());
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/unknown")), nullValue());
+    }
+
+    @Test
+    public void shouldMatchRegexNottedAndBlankExpectations() {
+        // given
+        Expectation regexPath = new Expectation(request().withMethod("GET").withPath("/regex/.*")).thenRespond(response().withBody("regex"));
+        Expectation nottedMethod = new Expectation(request().withMethod(not("GET")).withPath("/notted")).thenRespond(response().withBody("notted"));
+        Expectation pathOnly = new Expectation(request().withPath("/pathOnly")).thenRespond(response().withBody("pathOnly"));
+        Expectation pathParameters = new Expectation(request().withPath("/pets/{petId}").withPathParameter("petId", "[0-9]+")).thenRespond(response().withBody("pathParameters"));
+        requestMatchers.add(regexPath, API);
+        requestMatchers.add(nottedMethod, API);
+        requestMatchers.add(pathOnly, API);
+        requestMatchers.add(pathParameters, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/regex/some")), is(regexPath));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("POST").withPath("/notted")), is(nottedMethod));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/notted")), nullValue());
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("DELETE").withPath("/pathOnly")), is(pathOnly));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/pets/123")), is(pathParameters));
+    }
+
+    @Test
+    public void shouldPreservePriorityAndCreationOrderAcrossBuckets() {
+        // given
+        Expectation literalLowPriority = new Expectation(request().withMethod("GET").withPath("/some"), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(response().withBody("literalLowPriority"));
+        Expectation regexHighPriority = new Expectation(request().withPath("/so.*"), Times.unlimited(), TimeToLive.unlimited(), 10).thenRespond(response().withBody("regexHighPriority"));
+        Expectation literalFirstCreated = new Expectation(request().withMethod("GET").withPath("/other")).thenRespond(response().withBody("literalFirstCreated"));
+        Expectation blankSecondCreated = new Expectation(request()).thenRespond(response().withBody("blankSecondCreated"));
+        requestMatchers.add(literalLowPriority, API);
+        requestMatchers.add(regexHighPriority, API);
+        requestMatchers.add(literalFirstCreated, API);
+        requestMatchers.add(blankSecondCreated, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/some")), is(regexHighPriority));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/other")), is(literalFirstCreated));
+    }
+
+    @Test
+    public void shouldReindexUpdatedAndRemovedExpectations() {
+        // given
+        Expectation expectation = new Expectation(request().withMethod("GET").withPath("/before")).withId("one").thenRespond(response().withBody("before"));
+        requestMatchers.add(expectation, API);
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/before")), is(expectation));
+
+        // when
+        Expectation updatedExpectation = new Expectation(request().withMethod("GET").withPath("/after")).withId("one").thenRespond(response().withBody("after"));
+        requestMatchers.add(updatedExpectation, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/before")), nullValue());
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/after")), is(updatedExpectation));
+        assertThat(requestMatchers.httpRequestMatcherIndex.size(), is(1));
+
+        // when
+        requestMatchers.clear(new ExpectationId().withId("one"), "");
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/after")), nullValue());
+        assertThat(requestMatchers.httpRequestMatcherIndex.size(), is(0));
+    }
+
+    @Test
+    public void shouldEvaluateAllExpectationsForBlankRequestPath() {
+        // given
+        Expectation expectation = new Expectation(request().withMethod("GET").withPath("/some")).thenRespond(response().withBody("some"));
+        requestMatchers.add(expectation, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod(string("GET"))), is(expectation));
+    }
+
+    @Test
+    public void shouldBucketExpectationsByLiteralMethodAndPath() {
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(request().withMethod("GET").withPath("/Some/Path"))), is("get /some/path"));
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(request().withPath("/some"))), is("* /some"));
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(request().withMethod("P.*").withPath("/some"))), is("* /some"));
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(request().withMethod("GET").withPath("/some/[a-z]+"))), is("get *"));
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(request().withMethod("GET").withPath(not("/some")))), is("get *"));
+        assertThat(HttpRequestMatcherIndex.bucketKey(new Expectation(org.mockserver.model.Not.not(request().withMethod("GET").withPath("/some")))), is("* *"));
+    }
+
+    @Test
+    public void shouldOnlyCheckCandidatesForBodyMatchers() {
+        // given
+        requestMatchers.add(new Expectation(request().withMethod("POST").withPath("/body").withBody("some_body")).thenRespond(response()), API);
+        requestMatchers.add(new Expectation(request().withMethod("POST").withPath("/noBody")).thenRespond(response()), API);
+
+        // then
+        assertThat(requestMatchers.isBodyMatchedByAnyCandidate(request().withMethod("POST").withPath("/body")), is(true));
+        assertThat(requestMatchers.isBodyMatchedByAnyCandidate(request().withMethod("POST").withPath("/noBody")), is(false));
+        assertThat(requestMatchers.isBodyMatchedByAnyCandidate(request().withMethod("GET").withPath("/body")), is(false));
+
+        // when
+        requestMatchers.add(new Expectation(request().withPath("/.*").withBody("other_body")).thenRespond(response()), API);
+
+        // then
+        assertThat(requestMatchers.isBodyMatchedByAnyCandidate(request().withMethod("POST").withPath("/noBody")), is(true));
+    }
+}
@@ -0,0 +1,155 @@
+package org.mockserver.mock;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.Parameters;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.Parameter.param;
+import static org.mockserver.model.XPathBody.xpath;
+
+public class MockServerMatcherParallelMatchingTest {
+
+    private static final Scheduler scheduler = new Scheduler(configuration(), new MockServerLogger());
+
+    private RequestMatchers requestMatchers;
+
+    @Before
+    public void prepareTestFixture() {
+        Configuration configuration = configuration()
+            .maxExpectations(5000)
+            .parallelExpectationMatching(true)
+            .parallelExpectationMatchingThreshold(100);
+        requestMatchers = new RequestMatchers(configuration, mock(MockServerLogger.class), scheduler, mock(WebSocketClientRegistry.class));
+    }
+
+    @AfterClass
+    public static void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    private List<Expectation> addExpectations(int count) {
+        List<Expectation> expectations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Expectation expectation = new Expectation(request().withMethod("GET").withPath("/path_" + i)).thenRespond(response().withBody("body_" + i));
+            requestMatchers.add(expectation, API);
+            expectations.add(expectation);
+        }
+        return expectations;
+    }
+
+    @Test
+    public void shouldReturnHighestPriorityMatch() {
+        // given
+        List<Expectation> expectations = addExpectations(2000);
+        Expectation lowPriority = new Expectation(request().withPath("/path_1500"), Times.unlimited(), TimeToLive.unlimited(), -10).thenRespond(response().withBody("low"));
+        Expectation highPriority = new Expectation(request().withPath("/path_.*"), Times.unlimited(), TimeToLive.unlimited(), 10).thenRespond(response().withBody("high"));
+        requestMatchers.add(lowPriority, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/path_1500")), is(expectations.get(1500)));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/path_3")), is(expectations.get(3)));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("POST").withPath("/path_1500")), is(lowPriority));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/other")), nullValue());
+
+        // when
+        requestMatchers.add(highPriority, API);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/path_1999")), is(highPriority));
+    }
+
+    @Test
+    public void shouldOnlyDecrementRemainingTimesOfHighestPriorityMatch() {
+        // given
+        addExpectations(1000);
+        List<Expectation> onceExpectations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Expectation once = new Expectation(request().withPath("/once"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withBody("once_" + i));
+            requestMatchers.add(once, API);
+            onceExpectations.add(once);
+        }
+
+        // when
+        List<Expectation> matched = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Expectation expectation = requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/once"));
+            matched.add(expectation);
+            requestMatchers.postProcess(expectation);
+        }
+
+        // then
+        assertThat(matched, contains(onceExpectations.get(0), onceExpectations.get(1), onceExpectations.get(2)));
+        assertThat(onceExpectations.get(0).getTimes().getRemainingTimes(), is(0));
+        for (int i = 3; i < onceExpectations.size(); i++) {
+            assertThat(onceExpectations.get(i).getTimes().getRemainingTimes(), is(1));
+        }
+    }
+
+    @Test
+    public void shouldSetPathParametersOfMatch() {
+        // given
+        addExpectations(1000);
+        Expectation pathParameters = new Expectation(request().withPath("/pets/{petId}").withPathParameter("petId", "[0-9]+")).thenRespond(response().withBody("pathParameters"));
+        requestMatchers.add(pathParameters, API);
+
+        // when
+        HttpRequest httpRequest = request().withMethod("GET").withPath("/pets/123");
+        Expectation expectation = requestMatchers.firstMatchingExpectation(httpRequest);
+
+        // then
+        assertThat(expectation, is(pathParameters));
+        assertThat(httpRequest.getPathParameters(), is(new Parameters(param("petId", "123"))));
+    }
+
+    @Test
+    public void shouldMatchXPathBodyConcurrently() {
+        // given
+        List<Expectation> expectations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Expectation expectation = new Expectation(request().withPath("/order").withBody(xpath("/order/item[@id='" + i + "']/quantity[text()='" + i + "']"))).thenRespond(response().withBody("order_" + i));
+            requestMatchers.add(expectation, API);
+            expectations.add(expectation);
+        }
+
+        for (int i = 499; i > 0; i -= 23) {
+            // when
+            StringBuilder order = new StringBuilder("<order>");
+            for (int item = i - 20; item <= i; item++) {
+                order.append("<item id=\"").append(item).append("\"><quantity>").append(item == i ? i : -1).append("</quantity></item>");
+            }
+            order.append("</order>");
+            Expectation expectation = requestMatchers.firstMatchingExpectation(request().withMethod("POST").withPath("/order").withBody(order.toString()));
+
+            // then
+            assertThat(expectation, is(expectations.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldMatchSequentiallyBelowThreshold() {
+        // given
+        List<Expectation> expectations = addExpectations(50);
+
+        // then
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/path_49")), is(expectations.get(49)));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/other")), nullValue());
+    }
+}
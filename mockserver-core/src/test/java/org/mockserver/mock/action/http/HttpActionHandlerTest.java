@@ -3,6 +3,7 @@ package org.mockserver.mock.action.http;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.Attribute;
+import io.prometheus.client.CollectorRegistry;
 import org.junit.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -11,6 +12,7 @@ import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.httpclient.NettyHttpClient;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
 import org.mockserver.model.*;
@@ -25,6 +27,8 @@ import java.net.InetSocketAddress;
 import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -341,6 +345,31 @@ public class HttpActionHandlerTest {
         verify(httpRequestToCurlSerializer).toCurl(forwardedHttpRequest, remoteAddress);
     }
 
+    @Test
+    public void shouldRecordForwardActionDurationWhenForwardedResponseReceived() {
+        // given
+        HttpActionHandler metricsActionHandler = new HttpActionHandler(configuration().metricsEnabled(true), null, mockHttpStateHandler, null, null);
+        Metrics metrics = new Metrics(configuration().metricsEnabled(true));
+        CompletableFuture<HttpResponse> forwardedResponse = new CompletableFuture<>();
+        String[] labelNames = {"action_type"};
+        String[] labelValues = {"forward"};
+        double countBefore = forwardActionDurationCount(labelNames, labelValues);
+
+        // when
+        metricsActionHandler.writeForwardActionResponse(new HttpForwardActionResult(forwardedHttpRequest, forwardedResponse, null, new InetSocketAddress(1234)), mockResponseWriter, request, forward(), false, metrics.startTimer());
+
+        // then
+        assertThat(forwardActionDurationCount(labelNames, labelValues), is(countBefore));
+        forwardedResponse.complete(response);
+        verify(mockResponseWriter, timeout(5000)).writeResponse(request, response, false);
+        assertThat(forwardActionDurationCount(labelNames, labelValues), is(countBefore + 1));
+    }
+
+    private static double forwardActionDurationCount(String[] labelNames, String[] labelValues) {
+        Double value = CollectorRegistry.defaultRegistry.getSampleValue("action_duration_seconds_count", labelNames, labelValues);
+        return value != null ? value : 0;
+    }
+
     @Test
     public void shouldProcessForwardTemplateAction() {
         // given
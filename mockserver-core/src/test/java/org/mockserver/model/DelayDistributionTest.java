@@ -0,0 +1,84 @@
+package org.mockserver.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DelayDistributionTest {
+
+    private static final int SAMPLES = 10001;
+
+    @Test
+    public void shouldSampleUniformDistributionBetweenMinAndMax() {
+        // given
+        DelayDistribution distribution = DelayDistribution.uniform(50, 150);
+
+        // when
+        long[] samples = samples(distribution);
+
+        // then
+        assertThat(samples[0], greaterThanOrEqualTo(50L));
+        assertThat(samples[SAMPLES - 1], lessThanOrEqualTo(150L));
+        assertThat(samples[SAMPLES / 2], allOf(greaterThan(90L), lessThan(110L)));
+    }
+
+    @Test
+    public void shouldSampleGaussianDistributionAroundMean() {
+        // given
+        DelayDistribution distribution = DelayDistribution.gaussian(100, 10);
+
+        // when
+        long[] samples = samples(distribution);
+
+        // then
+        assertThat(samples[SAMPLES / 2], allOf(greaterThan(95L), lessThan(105L)));
+        assertThat(samples[(int) (SAMPLES * 0.84)], allOf(greaterThan(105L), lessThan(115L)));
+    }
+
+    @Test
+    public void shouldSampleLogNormalDistributionWithMedianAndP99() {
+        // given
+        DelayDistribution distribution = DelayDistribution.logNormal(100, 1000);
+
+        // when
+        long[] samples = samples(distribution);
+
+        // then
+        assertThat(samples[SAMPLES / 2], allOf(greaterThan(90L), lessThan(110L)));
+        assertThat(samples[(int) (SAMPLES * 0.99)], allOf(greaterThan(800L), lessThan(1250L)));
+    }
+
+    @Test
+    public void shouldNeverSampleNegativeDelay() {
+        // given
+        DelayDistribution distribution = DelayDistribution.gaussian(0, 100);
+
+        // when
+        long[] samples = samples(distribution);
+
+        // then
+        assertThat(samples[0], is(0L));
+    }
+
+    @Test
+    public void shouldBeEqualForSameTypeAndParameters() {
+        assertThat(DelayDistribution.uniform(1, 2), is(DelayDistribution.uniform(1, 2)));
+        assertThat(DelayDistribution.uniform(1, 2).hashCode(), is(DelayDistribution.uniform(1, 2).hashCode()));
+        assertThat(DelayDistribution.uniform(1, 2), not(DelayDistribution.uniform(1, 3)));
+        assertThat(DelayDistribution.uniform(1, 2), not(DelayDistribution.gaussian(1, 2)));
+    }
+
+    private long[] samples(DelayDistribution distribution) {
+        Random random = new Random(1);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = distribution.sample(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+}
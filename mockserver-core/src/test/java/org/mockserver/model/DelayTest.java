@@ -5,7 +5,7 @@ import org.junit.Test;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.core.Is.is;
+import static org.hamcrest.Matchers.*;
 import static org.mockserver.model.Delay.*;
 
 /**
@@ -62,4 +62,43 @@ public class DelayTest {
         assertThat(delay.getTimeUnit(), is(TimeUnit.DAYS));
         assertThat(delay.getValue(), is(5L));
     }
+
+    @Test
+    public void shouldBeEqualForSameTimeUnitAndValue() {
+        assertThat(seconds(3), is(delay(TimeUnit.SECONDS, 3)));
+        assertThat(seconds(3).hashCode(), is(delay(TimeUnit.SECONDS, 3).hashCode()));
+        assertThat(seconds(3), not(milliseconds(3)));
+        assertThat(seconds(3), not(seconds(4)));
+    }
+
+    @Test
+    public void shouldReturnValuesFromUniformStaticBuilder() {
+        // when
+        Delay delay = uniform(TimeUnit.MILLISECONDS, 10, 20);
+
+        // then
+        assertThat(delay.getTimeUnit(), is(TimeUnit.MILLISECONDS));
+        assertThat(delay.getDistribution(), is(DelayDistribution.uniform(10, 20)));
+        for (int i = 0; i < 100; i++) {
+            assertThat(delay.sampleValue(), allOf(greaterThanOrEqualTo(10L), lessThanOrEqualTo(20L)));
+        }
+    }
+
+    @Test
+    public void shouldReturnValueWhenNoDistribution() {
+        // when
+        Delay delay = milliseconds(15);
+
+        // then
+        assertThat(delay.getDistribution(), is(nullValue()));
+        assertThat(delay.sampleValue(), is(15L));
+    }
+
+    @Test
+    public void shouldBeEqualForSameDistribution() {
+        assertThat(gaussian(TimeUnit.MILLISECONDS, 100, 10), is(gaussian(TimeUnit.MILLISECONDS, 100, 10)));
+        assertThat(gaussian(TimeUnit.MILLISECONDS, 100, 10).hashCode(), is(gaussian(TimeUnit.MILLISECONDS, 100, 10).hashCode()));
+        assertThat(gaussian(TimeUnit.MILLISECONDS, 100, 10), not(gaussian(TimeUnit.MILLISECONDS, 100, 20)));
+        assertThat(logNormal(TimeUnit.MILLISECONDS, 100, 500), not(milliseconds(0)));
+    }
 }
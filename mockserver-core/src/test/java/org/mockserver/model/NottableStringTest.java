@@ -104,4 +104,15 @@ public class NottableStringTest {
         assertThat(String.valueOf(NottableString.string("value")), is("value"));
     }
 
+    @Test
+    public void shouldOnlyBeLiteralIfNotNegatedSchemaBlankOrRegex() {
+        assertThat(string("/some/path").isLiteral(), is(true));
+        assertThat(string("GET").isLiteral(), is(true));
+        assertThat(NottableString.not("/some/path").isLiteral(), is(false));
+        assertThat(NottableSchemaString.schemaString("{ \"type\": \"string\" }").isLiteral(), is(false));
+        assertThat(string("").isLiteral(), is(false));
+        assertThat(string("/some/.*").isLiteral(), is(false));
+        assertThat(string("/some/p\u00e4th").isLiteral(), is(false));
+    }
+
 }
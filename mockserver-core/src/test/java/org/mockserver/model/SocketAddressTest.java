@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.mockserver.model.SocketAddress.socketAddress;
 
 /**
@@ -51,4 +52,18 @@ public class SocketAddressTest {
         assertThat(socketAddress.getScheme(), is(scheme));
     }
 
+    @Test
+    public void shouldUpdateHashCodeWhenValuesChange() {
+        // given
+        SocketAddress socketAddress = socketAddress().withHost("someHost").withPort(1234);
+        int hashCode = socketAddress.hashCode();
+
+        // when
+        socketAddress.withScheme(SocketAddress.Scheme.HTTPS);
+
+        // then
+        assertThat(socketAddress.hashCode(), not(hashCode));
+        assertThat(socketAddress, is(socketAddress().withHost("someHost").withPort(1234).withScheme(SocketAddress.Scheme.HTTPS)));
+        assertThat(socketAddress, not(socketAddress().withHost("someHost").withPort(1234)));
+    }
 }
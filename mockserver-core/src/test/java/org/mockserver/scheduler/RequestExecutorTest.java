@@ -0,0 +1,163 @@
+package org.mockserver.scheduler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeFalse;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Name.REQUEST_HANDOFF_BACKLOG_COUNT;
+
+public class RequestExecutorTest {
+
+    @Test
+    public void shouldHandleRequestOnEventLoop() {
+        // given
+        RequestExecutor requestExecutor = new RequestExecutor(configuration(), new MockServerLogger());
+        List<Thread> threads = new ArrayList<>();
+
+        // when
+        requestExecutor.execute(new EmbeddedChannel(), () -> threads.add(Thread.currentThread()));
+
+        // then
+        assertThat(threads, contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void shouldHandleRequestsForEachChannelInOrderOnWorkerPool() throws InterruptedException {
+        // given
+        RequestExecutor requestExecutor = new RequestExecutor(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL).requestWorkerThreadCount(4).metricsEnabled(true), new MockServerLogger());
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+            List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch allHandled = new CountDownLatch(100);
+
+            // when
+            for (int i = 0; i < 100; i++) {
+                int request = i;
+                requestExecutor.execute(channel, () -> {
+                    handled.add(request);
+                    threadNames.add(Thread.currentThread().getName());
+                    allHandled.countDown();
+                });
+            }
+
+            // then
+            assertThat(allHandled.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(handled, equalTo(IntStream.range(0, 100).boxed().collect(Collectors.toList())));
+            assertThat(threadNames, everyItem(startsWith("MockServer-RequestWorker")));
+            assertThat(Metrics.get(REQUEST_HANDOFF_BACKLOG_COUNT), is(0));
+        } finally {
+            requestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotBlockOtherChannelsOnWorkerPool() throws InterruptedException {
+        // given
+        RequestExecutor requestExecutor = new RequestExecutor(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL).requestWorkerThreadCount(2), new MockServerLogger());
+        try {
+            EmbeddedChannel slowChannel = new EmbeddedChannel();
+            CountDownLatch slowRequestReleased = new CountDownLatch(1);
+            CountDownLatch slowChannelHandled = new CountDownLatch(2);
+            CountDownLatch otherChannelHandled = new CountDownLatch(1);
+            requestExecutor.execute(slowChannel, () -> {
+                try {
+                    slowRequestReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignore) {
+                    // ignore
+                }
+                slowChannelHandled.countDown();
+            });
+            requestExecutor.execute(slowChannel, slowChannelHandled::countDown);
+
+            // when
+            requestExecutor.execute(new EmbeddedChannel(), otherChannelHandled::countDown);
+
+            // then
+            assertThat(otherChannelHandled.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(slowChannelHandled.getCount(), is(2L));
+            slowRequestReleased.countDown();
+            assertThat(slowChannelHandled.await(10, TimeUnit.SECONDS), is(true));
+        } finally {
+            requestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldStopReadingChannelWhileTooManyRequestsQueued() throws InterruptedException {
+        // given
+        RequestExecutor requestExecutor = new RequestExecutor(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL).requestWorkerThreadCount(1), new MockServerLogger());
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            CountDownLatch firstRequestReleased = new CountDownLatch(1);
+            CountDownLatch allHandled = new CountDownLatch(RequestExecutor.MAX_QUEUED_REQUESTS_PER_CHANNEL + 1);
+            requestExecutor.execute(channel, () -> {
+                try {
+                    firstRequestReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignore) {
+                    // ignore
+                }
+                allHandled.countDown();
+            });
+
+            // when
+            for (int i = 0; i < RequestExecutor.MAX_QUEUED_REQUESTS_PER_CHANNEL; i++) {
+                requestExecutor.execute(channel, allHandled::countDown);
+            }
+
+            // then
+            assertThat(channel.config().isAutoRead(), is(false));
+            firstRequestReleased.countDown();
+            assertThat(allHandled.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(channel.config().isAutoRead(), is(true));
+        } finally {
+            requestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldHandleNextRequestWhenRequestThrowsException() throws InterruptedException {
+        // given
+        RequestExecutor requestExecutor = new RequestExecutor(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL), new MockServerLogger());
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            CountDownLatch handled = new CountDownLatch(1);
+
+            // when
+            requestExecutor.execute(channel, () -> {
+                throw new RuntimeException("TEST EXCEPTION");
+            });
+            requestExecutor.execute(channel, handled::countDown);
+
+            // then
+            assertThat(handled.await(10, TimeUnit.SECONDS), is(true));
+        } finally {
+            requestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailWhenVirtualThreadsNotAvailable() {
+        assumeFalse(RequestExecutionModel.VIRTUAL_THREADS.isAvailable());
+
+        // when
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class, () -> new RequestExecutor(configuration().requestExecutionModel(RequestExecutionModel.VIRTUAL_THREADS), new MockServerLogger()));
+
+        // then
+        assertThat(illegalArgumentException.getMessage(), is("VIRTUAL_THREADS request execution model is not available - virtual threads require Java 21 or later"));
+    }
+}
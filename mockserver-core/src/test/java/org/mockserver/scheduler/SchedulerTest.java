@@ -0,0 +1,134 @@
+package org.mockserver.scheduler;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.Delay;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Name.ACTION_HANDLER_VIRTUAL_THREADS_ENABLED;
+
+public class SchedulerTest {
+
+    @Test
+    public void shouldHandleActionsOnActionHandlerThreadPool() throws Exception {
+        // given
+        Scheduler scheduler = new Scheduler(configuration().metricsEnabled(true), new MockServerLogger());
+        try {
+            CompletableFuture<String> submitted = new CompletableFuture<>();
+            CompletableFuture<String> delayed = new CompletableFuture<>();
+
+            // when
+            scheduler.submit(() -> submitted.complete(Thread.currentThread().getName()));
+            scheduler.schedule(() -> delayed.complete(Thread.currentThread().getName()), false, new Delay(TimeUnit.MILLISECONDS, 10));
+
+            // then
+            assertThat(scheduler.isVirtualThreads(), is(false));
+            assertThat(submitted.get(10, TimeUnit.SECONDS), startsWith("MockServer-Scheduler"));
+            assertThat(delayed.get(10, TimeUnit.SECONDS), startsWith("MockServer-Scheduler"));
+            assertThat(Metrics.get(ACTION_HANDLER_VIRTUAL_THREADS_ENABLED), is(0));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldTimeManyDelayedActionsWithoutBlockingActionHandlerThreads() throws Exception {
+        // given
+        Scheduler scheduler = new Scheduler(configuration().actionHandlerThreadCount(2), new MockServerLogger());
+        try {
+            CountDownLatch delayed = new CountDownLatch(1000);
+            long startTime = System.currentTimeMillis();
+
+            // when
+            for (int i = 0; i < 1000; i++) {
+                scheduler.schedule(delayed::countDown, false, Delay.uniform(TimeUnit.MILLISECONDS, 100, 200));
+            }
+
+            // then
+            assertThat(delayed.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(System.currentTimeMillis() - startTime, allOf(greaterThanOrEqualTo(100L), lessThan(5000L)));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldStopDelayTimerOnShutdown() throws Exception {
+        // given
+        Set<Thread> existingDelayTimerThreads = delayTimerThreads();
+        Scheduler scheduler = new Scheduler(configuration(), new MockServerLogger());
+        CompletableFuture<String> delayed = new CompletableFuture<>();
+        scheduler.schedule(() -> delayed.complete("delayed"), false, new Delay(TimeUnit.MILLISECONDS, 10));
+        assertThat(delayed.get(10, TimeUnit.SECONDS), is("delayed"));
+        Set<Thread> delayTimerThreads = delayTimerThreads();
+        delayTimerThreads.removeAll(existingDelayTimerThreads);
+        assertThat(delayTimerThreads, hasSize(1));
+
+        // when
+        scheduler.shutdown();
+
+        // then
+        Thread delayTimerThread = delayTimerThreads.iterator().next();
+        delayTimerThread.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(delayTimerThread.isAlive(), is(false));
+    }
+
+    private static Set<Thread> delayTimerThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("MockServer-DelayTimer")).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void shouldUseActionHandlerThreadPoolWhenVirtualThreadsNotAvailable() throws Exception {
+        assumeFalse(RequestExecutionModel.VIRTUAL_THREADS.isAvailable());
+
+        // given
+        Scheduler scheduler = new Scheduler(configuration().actionHandlerVirtualThreads(true), new MockServerLogger());
+        try {
+            CompletableFuture<String> submitted = new CompletableFuture<>();
+
+            // when
+            scheduler.submit(() -> submitted.complete(Thread.currentThread().getName()));
+
+            // then
+            assertThat(scheduler.isVirtualThreads(), is(false));
+            assertThat(submitted.get(10, TimeUnit.SECONDS), startsWith("MockServer-Scheduler"));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldHandleActionsOnVirtualThreads() throws Exception {
+        assumeTrue(RequestExecutionModel.VIRTUAL_THREADS.isAvailable());
+
+        // given
+        Scheduler scheduler = new Scheduler(configuration().actionHandlerVirtualThreads(true).metricsEnabled(true), new MockServerLogger());
+        try {
+            CompletableFuture<Thread> submitted = new CompletableFuture<>();
+            CompletableFuture<Thread> delayed = new CompletableFuture<>();
+
+            // when
+            scheduler.submit(() -> submitted.complete(Thread.currentThread()));
+            scheduler.schedule(() -> delayed.complete(Thread.currentThread()), false, new Delay(TimeUnit.MILLISECONDS, 10));
+
+            // then
+            assertThat(scheduler.isVirtualThreads(), is(true));
+            assertThat(Thread.class.getMethod("isVirtual").invoke(submitted.get(10, TimeUnit.SECONDS)), is(true));
+            assertThat(Thread.class.getMethod("isVirtual").invoke(delayed.get(10, TimeUnit.SECONDS)), is(true));
+            assertThat(Metrics.get(ACTION_HANDLER_VIRTUAL_THREADS_ENABLED), is(1));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
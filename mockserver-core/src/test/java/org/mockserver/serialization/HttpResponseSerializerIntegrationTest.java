@@ -16,6 +16,7 @@ import org.mockserver.serialization.model.*;
 import java.io.IOException;
 import java.util.Arrays;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static junit.framework.TestCase.assertEquals;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -215,6 +216,31 @@ public class HttpResponseSerializerIntegrationTest {
             .buildObject(), httpResponse);
     }
 
+    @Test
+    public void shouldDeserializeDelayWithDistribution() {
+        // given
+        String requestBytes = "{" + NEW_LINE +
+            "  \"statusCode\" : 123," + NEW_LINE +
+            "  \"delay\" : {" + NEW_LINE +
+            "    \"timeUnit\" : \"MILLISECONDS\"," + NEW_LINE +
+            "    \"distribution\" : {" + NEW_LINE +
+            "      \"type\" : \"LOG_NORMAL\"," + NEW_LINE +
+            "      \"median\" : 100," + NEW_LINE +
+            "      \"p99\" : 500" + NEW_LINE +
+            "    }" + NEW_LINE +
+            "  }" + NEW_LINE +
+            "}";
+
+        // when
+        HttpResponse httpResponse = new HttpResponseSerializer(new MockServerLogger()).deserialize(requestBytes);
+
+        // then
+        assertEquals(new HttpResponseDTO()
+            .setStatusCode(123)
+            .setDelay(new DelayDTO(Delay.logNormal(MILLISECONDS, 100, 500)))
+            .buildObject(), httpResponse);
+    }
+
     @Test
     public void shouldDeserializeAsHttpResponseField() {
         // given
@@ -584,6 +610,30 @@ public class HttpResponseSerializerIntegrationTest {
             "}", jsonHttpResponse);
     }
 
+    @Test
+    public void shouldSerializeDelayWithDistribution() {
+        // when
+        String jsonHttpResponse = new HttpResponseSerializer(new MockServerLogger()).serialize(new HttpResponseDTO()
+            .setStatusCode(123)
+            .setDelay(new DelayDTO(Delay.uniform(MILLISECONDS, 50, 150)))
+            .buildObject()
+        );
+
+        // then
+        assertEquals("{" + NEW_LINE +
+            "  \"statusCode\" : 123," + NEW_LINE +
+            "  \"delay\" : {" + NEW_LINE +
+            "    \"distribution\" : {" + NEW_LINE +
+            "      \"max\" : 150," + NEW_LINE +
+            "      \"min\" : 50," + NEW_LINE +
+            "      \"type\" : \"UNIFORM\"" + NEW_LINE +
+            "    }," + NEW_LINE +
+            "    \"timeUnit\" : \"MILLISECONDS\"," + NEW_LINE +
+            "    \"value\" : 0" + NEW_LINE +
+            "  }" + NEW_LINE +
+            "}", jsonHttpResponse);
+    }
+
     @Test
     public void shouldSerializePartialHttpResponse() {
         // when
@@ -21,4 +21,17 @@ public class DelayToJavaSerializerTest {
         );
     }
 
+    @Test
+    public void shouldSerializeDelayWithDistributionAsJava() {
+        assertEquals("Delay.uniform(TimeUnit.MILLISECONDS, 50, 150)",
+            new DelayToJavaSerializer().serialize(1,
+                Delay.uniform(TimeUnit.MILLISECONDS, 50, 150)
+            )
+        );
+        assertEquals("Delay.logNormal(TimeUnit.SECONDS, 1, 5)",
+            new DelayToJavaSerializer().serialize(1,
+                Delay.logNormal(TimeUnit.SECONDS, 1, 5)
+            )
+        );
+    }
 }
@@ -2,6 +2,7 @@ package org.mockserver.serialization.model;
 
 import org.junit.Test;
 import org.mockserver.model.Delay;
+import org.mockserver.model.DelayDistribution;
 
 import java.util.concurrent.TimeUnit;
 
@@ -45,4 +46,19 @@ public class DelayDTOTest {
         assertThat(delay.getTimeUnit(), is(nullValue()));
         assertThat(delay.getValue(), is(0L));
     }
+
+    @Test
+    public void shouldBuildObjectWithDistribution() {
+        // given
+        Delay delay = Delay.logNormal(TimeUnit.MILLISECONDS, 100, 500);
+
+        // when
+        DelayDTO delayDTO = new DelayDTO(delay);
+
+        // then
+        assertThat(delayDTO.getDistribution().getType(), is(DelayDistribution.Type.LOG_NORMAL));
+        assertThat(delayDTO.getDistribution().getMedian(), is(100L));
+        assertThat(delayDTO.getDistribution().getP99(), is(500L));
+        assertThat(delayDTO.buildObject(), is(delay));
+    }
 }
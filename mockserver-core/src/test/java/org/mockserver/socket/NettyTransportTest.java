@@ -0,0 +1,85 @@
+package org.mockserver.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+import org.mockserver.scheduler.Scheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+
+public class NettyTransportTest {
+
+    @Test
+    public void shouldResolveNioTransport() {
+        // when
+        NettyTransport transport = NettyTransport.NIO.resolve();
+
+        // then
+        assertThat(transport, is(NettyTransport.NIO));
+        assertThat(transport.serverSocketChannelClass(), equalTo(NioServerSocketChannel.class));
+        assertThat(transport.socketChannelClass(), equalTo(NioSocketChannel.class));
+        assertThat(transport.supportsReusePort(), is(false));
+        assertThat(transport.reusePortOption(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldResolveAutoTransportToAvailableTransport() {
+        // when
+        NettyTransport transport = NettyTransport.AUTO.resolve();
+
+        // then
+        assertThat(transport, not(NettyTransport.AUTO));
+        assertThat(transport.isAvailable(), is(true));
+        if (Epoll.isAvailable()) {
+            assertThat(transport, isOneOf(NettyTransport.EPOLL, NettyTransport.IO_URING));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnavailableTransport() {
+        assumeTrue(!NettyTransport.IO_URING.isAvailable());
+
+        // then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, NettyTransport.IO_URING::resolve);
+        assertThat(exception.getMessage(), startsWith("IO_URING transport is not available"));
+    }
+
+    @Test
+    public void shouldMatchSocketChannelToNioEventLoopGroup() {
+        // given
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportTest.class.getSimpleName() + "-eventLoop"));
+        try {
+            // then
+            assertThat(NettyTransport.transportFor(eventLoopGroup), is(NettyTransport.NIO));
+            assertThat(NettyTransport.transportFor(eventLoopGroup.next()), is(NettyTransport.NIO));
+            assertThat(NettyTransport.socketChannelClass(eventLoopGroup), equalTo(NioSocketChannel.class));
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void shouldMatchSocketChannelToEpollEventLoopGroup() {
+        assumeTrue(Epoll.isAvailable());
+
+        // given
+        EventLoopGroup eventLoopGroup = NettyTransport.EPOLL.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportTest.class.getSimpleName() + "-eventLoop"));
+        try {
+            // then
+            assertThat(NettyTransport.transportFor(eventLoopGroup), is(NettyTransport.EPOLL));
+            assertThat(NettyTransport.transportFor(eventLoopGroup.next()), is(NettyTransport.EPOLL));
+            assertThat(NettyTransport.socketChannelClass(eventLoopGroup), equalTo(EpollSocketChannel.class));
+            assertThat(NettyTransport.EPOLL.supportsReusePort(), is(true));
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+        }
+    }
+}
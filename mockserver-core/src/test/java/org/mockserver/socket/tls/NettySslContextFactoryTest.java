@@ -0,0 +1,264 @@
+package org.mockserver.socket.tls;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.socket.tls.bouncycastle.BCKeyAndCertificateFactory;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.nio.ByteBuffer;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+
+public class NettySslContextFactoryTest {
+
+    private KeyAndCertificateFactorySupplier originalCustomKeyAndCertificateFactorySupplier;
+    private final Set<String> hostCertificatesCreated = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void recordHostCertificatesCreated() {
+        originalCustomKeyAndCertificateFactorySupplier = KeyAndCertificateFactoryFactory.getCustomKeyAndCertificateFactorySupplier();
+        KeyAndCertificateFactoryFactory.setCustomKeyAndCertificateFactorySupplier((mockServerLogger, forServer, configuration) -> new BCKeyAndCertificateFactory(configuration, mockServerLogger) {
+            @Override
+            public List<X509Certificate> hostCertificateChain(String host, PublicKey publicKey) {
+                hostCertificatesCreated.add(host);
+                return super.hostCertificateChain(host, publicKey);
+            }
+        });
+    }
+
+    @After
+    public void resetKeyAndCertificateFactorySupplier() {
+        KeyAndCertificateFactoryFactory.setCustomKeyAndCertificateFactorySupplier(originalCustomKeyAndCertificateFactorySupplier);
+    }
+
+    private Configuration perHostCertificatesConfiguration() {
+        return configuration()
+            .perHostCertificates(true)
+            .perHostCertificateKeyAlgorithm(AsymmetricKeyPairAlgorithm.EC256_SHA256);
+    }
+
+    @Test
+    public void shouldPresentCertificateForSniHost() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration(), new MockServerLogger(), true);
+
+        // when
+        X509Certificate oneX509Certificate = handshake(nettySslContextFactory.createServerSslContext("www.one.com").get(10, TimeUnit.SECONDS), "www.one.com");
+        X509Certificate twoX509Certificate = handshake(nettySslContextFactory.createServerSslContext("www.two.com").get(10, TimeUnit.SECONDS), "www.two.com");
+
+        // then
+        assertThat(oneX509Certificate.getSubjectDN().getName(), containsString("CN=www.one.com"));
+        assertThat(twoX509Certificate.getSubjectDN().getName(), containsString("CN=www.two.com"));
+        assertThat(hostCertificatesCreated, containsInAnyOrder("www.one.com", "www.two.com"));
+    }
+
+    @Test
+    public void shouldCacheSslContextForEachHost() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration(), new MockServerLogger(), true);
+
+        // when
+        CompletableFuture<SslContext> sslContext = nettySslContextFactory.createServerSslContext("www.one.com");
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext("WWW.ONE.COM"), sameInstance(sslContext));
+        assertThat(nettySslContextFactory.createServerSslContext("www.two.com").get(10, TimeUnit.SECONDS), not(sameInstance(sslContext.get(10, TimeUnit.SECONDS))));
+        assertThat(sslContext.get(10, TimeUnit.SECONDS), not(sameInstance(nettySslContextFactory.createServerSslContext())));
+        assertThat(hostCertificatesCreated, containsInAnyOrder("www.one.com", "www.two.com"));
+    }
+
+    @Test
+    public void shouldUseServerSslContextWithoutSni() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration(), new MockServerLogger(), true);
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext((String) null).get(10, TimeUnit.SECONDS), sameInstance(nettySslContextFactory.createServerSslContext()));
+        assertThat(hostCertificatesCreated, empty());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedHost() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration().perHostCertificateCacheSize(2), new MockServerLogger(), true);
+        CompletableFuture<SslContext> oneSslContext = nettySslContextFactory.createServerSslContext("www.one.com");
+        CompletableFuture<SslContext> twoSslContext = nettySslContextFactory.createServerSslContext("www.two.com");
+        assertThat(nettySslContextFactory.createServerSslContext("www.one.com"), sameInstance(oneSslContext));
+
+        // when
+        nettySslContextFactory.createServerSslContext("www.three.com").get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext("www.one.com"), sameInstance(oneSslContext));
+        assertThat(nettySslContextFactory.createServerSslContext("www.two.com"), not(sameInstance(twoSslContext)));
+    }
+
+    @Test
+    public void shouldNotCacheFailedSslContext() throws Exception {
+        // given
+        AtomicBoolean failing = new AtomicBoolean(true);
+        KeyAndCertificateFactoryFactory.setCustomKeyAndCertificateFactorySupplier((mockServerLogger, forServer, configuration) -> new BCKeyAndCertificateFactory(configuration, mockServerLogger) {
+            @Override
+            public void buildAndSavePrivateKeyAndX509Certificate() {
+                if (failing.get()) {
+                    throw new IllegalStateException("some_failure");
+                }
+                super.buildAndSavePrivateKeyAndX509Certificate();
+            }
+
+            @Override
+            public List<X509Certificate> hostCertificateChain(String host, PublicKey publicKey) {
+                if (failing.get()) {
+                    throw new IllegalStateException("some_failure");
+                }
+                return super.hostCertificateChain(host, publicKey);
+            }
+        });
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration(), new MockServerLogger(), true);
+        CompletableFuture<SslContext> failedSslContext = nettySslContextFactory.createServerSslContext("www.one.com");
+        assertThat(failedSslContext.get(10, TimeUnit.SECONDS), nullValue());
+
+        // when
+        failing.set(false);
+        CompletableFuture<SslContext> sslContext = nettySslContextFactory.createServerSslContext("www.one.com");
+
+        // then
+        assertThat(sslContext, not(sameInstance(failedSslContext)));
+        assertThat(handshake(sslContext.get(10, TimeUnit.SECONDS), "www.one.com").getSubjectDN().getName(), containsString("CN=www.one.com"));
+    }
+
+    @Test
+    public void shouldPreWarmHosts() throws Exception {
+        // when
+        new NettySslContextFactory(perHostCertificatesConfiguration().perHostCertificatePreWarmHosts("www.one.com", "www.two.com"), new MockServerLogger(), true);
+
+        // then
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (hostCertificatesCreated.size() < 2 && System.currentTimeMillis() < timeout) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(hostCertificatesCreated, containsInAnyOrder("www.one.com", "www.two.com"));
+    }
+
+    @Test
+    public void shouldNotCreateHostCertificatesWhenDisabled() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(configuration().perHostCertificatePreWarmHosts("www.one.com"), new MockServerLogger(), true);
+
+        // then
+        assertThat(hostCertificatesCreated, empty());
+        assertThat(nettySslContextFactory.createServerSslContext(), notNullValue());
+    }
+
+    @Test
+    public void shouldUseServerSslContextWhenHostCertificatesNotSupported() throws Exception {
+        // given
+        KeyAndCertificateFactoryFactory.setCustomKeyAndCertificateFactorySupplier((mockServerLogger, forServer, configuration) -> {
+            KeyAndCertificateFactory keyAndCertificateFactory = new BCKeyAndCertificateFactory(configuration, mockServerLogger);
+            return new KeyAndCertificateFactory() {
+                @Override
+                public void buildAndSaveCertificateAuthorityPrivateKeyAndX509Certificate() {
+                    keyAndCertificateFactory.buildAndSaveCertificateAuthorityPrivateKeyAndX509Certificate();
+                }
+
+                @Override
+                public void buildAndSavePrivateKeyAndX509Certificate() {
+                    keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
+                }
+
+                @Override
+                public boolean certificateNotYetCreated() {
+                    return keyAndCertificateFactory.certificateNotYetCreated();
+                }
+
+                @Override
+                public PrivateKey privateKey() {
+                    return keyAndCertificateFactory.privateKey();
+                }
+
+                @Override
+                public X509Certificate x509Certificate() {
+                    return keyAndCertificateFactory.x509Certificate();
+                }
+
+                @Override
+                public X509Certificate certificateAuthorityX509Certificate() {
+                    return keyAndCertificateFactory.certificateAuthorityX509Certificate();
+                }
+
+                @Override
+                public List<X509Certificate> certificateChain() {
+                    return keyAndCertificateFactory.certificateChain();
+                }
+            };
+        });
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(perHostCertificatesConfiguration(), new MockServerLogger(), true);
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext("www.one.com").get(10, TimeUnit.SECONDS), sameInstance(nettySslContextFactory.createServerSslContext()));
+    }
+
+    private static X509Certificate handshake(SslContext serverSslContext, String host) throws SSLException {
+        SSLEngine clientEngine = SslContextBuilder
+            .forClient()
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .build()
+            .newEngine(ByteBufAllocator.DEFAULT, host, 443);
+        SSLEngine serverEngine = serverSslContext.newEngine(ByteBufAllocator.DEFAULT);
+        ByteBuffer clientToServer = ByteBuffer.allocate(clientEngine.getSession().getPacketBufferSize());
+        ByteBuffer serverToClient = ByteBuffer.allocate(serverEngine.getSession().getPacketBufferSize());
+        ByteBuffer clientApplication = ByteBuffer.allocate(clientEngine.getSession().getApplicationBufferSize());
+        ByteBuffer serverApplication = ByteBuffer.allocate(serverEngine.getSession().getApplicationBufferSize());
+        ByteBuffer empty = ByteBuffer.allocate(0);
+        clientEngine.beginHandshake();
+        serverEngine.beginHandshake();
+        for (int i = 0; i < 100 && !(finished(clientEngine) && finished(serverEngine)); i++) {
+            clientEngine.wrap(empty, clientToServer);
+            runDelegatedTasks(clientEngine);
+            clientToServer.flip();
+            serverEngine.unwrap(clientToServer, serverApplication);
+            runDelegatedTasks(serverEngine);
+            clientToServer.compact();
+            serverEngine.wrap(empty, serverToClient);
+            runDelegatedTasks(serverEngine);
+            serverToClient.flip();
+            clientEngine.unwrap(serverToClient, clientApplication);
+            runDelegatedTasks(clientEngine);
+            serverToClient.compact();
+        }
+        return (X509Certificate) clientEngine.getSession().getPeerCertificates()[0];
+    }
+
+    private static boolean finished(SSLEngine sslEngine) {
+        SSLEngineResult.HandshakeStatus handshakeStatus = sslEngine.getHandshakeStatus();
+        return handshakeStatus == SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING || handshakeStatus == SSLEngineResult.HandshakeStatus.FINISHED;
+    }
+
+    private static void runDelegatedTasks(SSLEngine sslEngine) {
+        Runnable task;
+        while ((task = sslEngine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+}
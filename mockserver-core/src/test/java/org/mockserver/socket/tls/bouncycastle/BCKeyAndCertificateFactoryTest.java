@@ -2,12 +2,20 @@ package org.mockserver.socket.tls.bouncycastle;
 
 import org.junit.Test;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.keys.AsymmetricKeyGenerator;
+import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 
 import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.List;
 
 import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.mockserver.configuration.Configuration.configuration;
 
 /**
@@ -31,4 +39,34 @@ public class BCKeyAndCertificateFactoryTest {
         assertTrue("The client cert serial number is non-negative", keyAndCertificateFactory.x509Certificate().getSerialNumber().compareTo(BigInteger.ZERO) > 0);
     }
 
+    @Test
+    public void shouldCreateHostCertificateChainSignedByCertificateAuthority() throws Exception {
+        // given
+        KeyPair keyPair = AsymmetricKeyGenerator.createKeyPair(AsymmetricKeyPairAlgorithm.EC256_SHA256);
+
+        // when
+        List<X509Certificate> certificateChain = keyAndCertificateFactory.hostCertificateChain("www.example.com", keyPair.getPublic());
+
+        // then
+        X509Certificate hostX509Certificate = certificateChain.get(0);
+        assertThat(certificateChain, hasSize(2));
+        assertThat(certificateChain.get(1), is(keyAndCertificateFactory.certificateAuthorityX509Certificate()));
+        assertThat(hostX509Certificate.getPublicKey(), is(keyPair.getPublic()));
+        assertThat(hostX509Certificate.getSubjectDN().getName(), containsString("CN=www.example.com"));
+        assertThat(hostX509Certificate.getSubjectAlternativeNames(), contains(Arrays.<Object>asList(2, "www.example.com")));
+        hostX509Certificate.verify(keyAndCertificateFactory.certificateAuthorityX509Certificate().getPublicKey());
+    }
+
+    @Test
+    public void shouldCreateHostCertificateChainForIpAddress() throws Exception {
+        // given
+        KeyPair keyPair = AsymmetricKeyGenerator.createKeyPair(AsymmetricKeyPairAlgorithm.EC256_SHA256);
+
+        // when
+        List<X509Certificate> certificateChain = keyAndCertificateFactory.hostCertificateChain("127.0.0.2", keyPair.getPublic());
+
+        // then
+        assertThat(certificateChain.get(0).getSubjectAlternativeNames(), contains(Arrays.<Object>asList(7, "127.0.0.2")));
+    }
+
 }
@@ -2,20 +2,23 @@ package org.mockserver.lifecycle;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
+import org.mockserver.scheduler.RequestExecutor;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,23 +38,38 @@ import static org.slf4j.event.Level.*;
  */
 public abstract class LifeCycle implements Stoppable {
 
+    private static final int BOSS_THREAD_COUNT = 5;
     protected final MockServerLogger mockServerLogger;
+    protected final NettyTransport nettyTransport;
     protected final EventLoopGroup bossGroup;
     protected final EventLoopGroup workerGroup;
     protected final HttpState httpState;
+    protected HttpActionHandler httpActionHandler;
     private final Configuration configuration;
     protected ServerBootstrap serverServerBootstrap;
     private final List<Future<Channel>> serverChannelFutures = new ArrayList<>();
+    private final List<Channel> reusePortChannels = new CopyOnWriteArrayList<>();
     private final CompletableFuture<String> stopFuture = new CompletableFuture<>();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
     private final Scheduler scheduler;
+    private final RequestExecutor requestExecutor;
 
     protected LifeCycle(Configuration configuration) {
         this.configuration = configuration != null ? configuration : configuration();
         this.mockServerLogger = new MockServerLogger(MockServerEventLog.class);
-        this.bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-        this.workerGroup = new NioEventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+        this.nettyTransport = this.configuration.nettyTransport().resolve();
+        if (this.configuration.socketReusePort() && !nettyTransport.supportsReusePort() && MockServerLogger.isEnabled(WARN)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(SERVER_CONFIGURATION)
+                    .setLogLevel(WARN)
+                    .setMessageFormat("SO_REUSEPORT is not supported by the " + nettyTransport.name() + " transport, each port is bound once with a single accept thread, use the EPOLL or IO_URING transport for SO_REUSEPORT")
+            );
+        }
+        this.bossGroup = nettyTransport.eventLoopGroup(BOSS_THREAD_COUNT, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+        this.workerGroup = nettyTransport.eventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
         this.scheduler = new Scheduler(this.configuration, this.mockServerLogger);
+        this.requestExecutor = new RequestExecutor(this.configuration, this.mockServerLogger);
         this.httpState = new HttpState(this.configuration, this.mockServerLogger, this.scheduler);
     }
 
@@ -80,6 +98,7 @@ public abstract class LifeCycle implements Stoppable {
                     })
                     .map(ChannelOutboundInvoker::disconnect)
                     .collect(Collectors.toList());
+                reusePortChannels.forEach(ChannelOutboundInvoker::close);
                 try {
                     for (ChannelFuture channelFuture : collect) {
                         channelFuture.get();
@@ -90,6 +109,10 @@ public abstract class LifeCycle implements Stoppable {
                 }
 
                 httpState.stop();
+                if (httpActionHandler != null) {
+                    httpActionHandler.stop();
+                }
+                requestExecutor.shutdown();
                 scheduler.shutdown();
 
                 // Shut down all event loops to terminate all threads.
@@ -134,6 +157,10 @@ public abstract class LifeCycle implements Stoppable {
         return scheduler;
     }
 
+    public RequestExecutor getRequestExecutor() {
+        return requestExecutor;
+    }
+
     public boolean isRunning() {
         return !bossGroup.isShuttingDown() || !workerGroup.isShuttingDown();
     }
@@ -191,6 +218,14 @@ public abstract class LifeCycle implements Stoppable {
         return ports;
     }
 
+    /**
+     * If SO_REUSEPORT is enabled each port is bound once for each boss event loop thread, so the kernel spreads new
+     * connections across all boss threads instead of accepting every connection on a single thread
+     */
+    protected boolean reusePort() {
+        return configuration.socketReusePort() && nettyTransport.supportsReusePort();
+    }
+
     public List<Integer> bindServerPorts(final List<Integer> requestedPortBindings) {
         return bindPorts(serverServerBootstrap, requestedPortBindings, serverChannelFutures);
     }
@@ -214,6 +249,9 @@ public abstract class LifeCycle implements Stoppable {
                             .bind(inetSocketAddress)
                             .addListener((ChannelFutureListener) future -> {
                                 if (future.isSuccess()) {
+                                    if (reusePort()) {
+                                        bindReusePortChannels(serverBootstrap, (InetSocketAddress) future.channel().localAddress());
+                                    }
                                     channelOpened.complete(future.channel());
                                 } else {
                                     channelOpened.completeExceptionally(future.cause());
@@ -234,6 +272,25 @@ public abstract class LifeCycle implements Stoppable {
         return actualPortBindings;
     }
 
+    private void bindReusePortChannels(final ServerBootstrap serverBootstrap, final InetSocketAddress boundAddress) {
+        for (int i = 1; i < BOSS_THREAD_COUNT; i++) {
+            serverBootstrap
+                .bind(boundAddress)
+                .addListener((ChannelFutureListener) future -> {
+                    if (future.isSuccess()) {
+                        reusePortChannels.add(future.channel());
+                    } else if (MockServerLogger.isEnabled(WARN) && mockServerLogger != null) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(WARN)
+                                .setMessageFormat("exception binding additional SO_REUSEPORT socket to port " + boundAddress.getPort() + " - " + future.cause().getMessage())
+                                .setArguments(future.cause())
+                        );
+                    }
+                });
+        }
+    }
+
     protected void startedServer(List<Integer> ports) {
         final String message = "started on port" + (ports.size() == 1 ? ": " + ports.get(0) : "s: " + ports);
         setPort(ports);
@@ -12,6 +12,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.metrics.Metrics;
 import org.mockserver.metrics.MetricsHandler;
+import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.model.HttpRequest;
@@ -21,6 +22,7 @@ import org.mockserver.model.PortBinding;
 import org.mockserver.netty.proxy.connect.HttpConnectHandler;
 import org.mockserver.netty.responsewriter.NettyResponseWriter;
 import org.mockserver.responsewriter.ResponseWriter;
+import org.mockserver.scheduler.RequestExecutor;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.Base64Converter;
 import org.mockserver.serialization.PortBindingSerializer;
@@ -30,6 +32,7 @@ import java.net.BindException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
@@ -40,6 +43,7 @@ import static org.mockserver.exception.ExceptionHandling.connectionClosedExcepti
 import static org.mockserver.log.model.LogEntry.LogMessageType.AUTHENTICATION_FAILED;
 import static org.mockserver.metrics.Metrics.Name.REQUESTS_RECEIVED_COUNT;
 import static org.mockserver.mock.HttpState.PATH_PREFIX;
+import static org.mockserver.mock.action.http.HttpActionHandler.takeMatchedExpectation;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.PortBinding.portBinding;
 import static org.mockserver.netty.unification.PortUnificationHandler.enableSslUpstreamAndDownstream;
@@ -64,6 +68,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
     private HttpActionHandler httpActionHandler;
     private DashboardHandler dashboardHandler;
     private MetricsHandler metricsHandler;
+    private RequestExecutor requestExecutor;
 
     public HttpRequestHandler(Configuration configuration, LifeCycle server, HttpState httpState, HttpActionHandler httpActionHandler) {
         super(false);
@@ -76,6 +81,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
         this.httpActionHandler = httpActionHandler;
         this.dashboardHandler = new DashboardHandler();
         this.metricsHandler = new MetricsHandler(configuration);
+        this.requestExecutor = server.getRequestExecutor();
     }
 
     private static boolean isProxyingRequest(ChannelHandlerContext ctx) {
@@ -101,6 +107,16 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
             metrics.increment(REQUESTS_RECEIVED_COUNT);
         }
 
+        // taken on the event loop so a pipelined request can't replace it before this request is processed
+        Optional<Expectation> matchedExpectation = takeMatchedExpectation(ctx);
+        if (requestExecutor != null) {
+            requestExecutor.execute(ctx.channel(), () -> handle(ctx, request, matchedExpectation));
+        } else {
+            handle(ctx, request, matchedExpectation);
+        }
+    }
+
+    private void handle(final ChannelHandlerContext ctx, final HttpRequest request, final Optional<Expectation> matchedExpectation) {
         ResponseWriter responseWriter = new NettyResponseWriter(configuration, mockServerLogger, ctx, httpState.getScheduler());
         try {
             configuration.addSubjectAlternativeName(request.getFirstHeader(HOST.toString()));
@@ -180,7 +196,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
                 } else {
 
                     try {
-                        httpActionHandler.processAction(request, responseWriter, ctx, getLocalAddresses(ctx), isProxyingRequest(ctx), false);
+                        httpActionHandler.processAction(request, responseWriter, ctx, getLocalAddresses(ctx), isProxyingRequest(ctx), false, matchedExpectation);
                     } catch (Throwable throwable) {
                         mockServerLogger.logEvent(
                             new LogEntry()
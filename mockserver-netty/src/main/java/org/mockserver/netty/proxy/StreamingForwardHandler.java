@@ -0,0 +1,477 @@
+package org.mockserver.netty.proxy;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.codec.BodyDecoderEncoder;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpRequestToMockServerHttpRequest;
+import org.mockserver.mappers.FullHttpResponseToMockServerHttpResponse;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
+import org.mockserver.mock.action.http.StreamedForward;
+import org.mockserver.model.Header;
+import org.mockserver.model.NottableString;
+import org.mockserver.netty.HttpRequestHandler;
+import org.mockserver.netty.responsewriter.NettyResponseWriter;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.util.*;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static org.mockserver.mock.HttpState.isControlPlaneRequest;
+import static org.mockserver.mock.HttpState.setPort;
+import static org.mockserver.mock.action.http.HttpActionHandler.MATCHED_EXPECTATION;
+import static org.mockserver.netty.HttpRequestHandler.LOCAL_HOST_HEADERS;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
+import static org.mockserver.socket.NettyTransport.socketChannelClass;
+
+/**
+ * Streams requests with a large (or chunked) body to the remote server chunk by chunk, instead of aggregating the whole
+ * request in memory, when the request is forwarded by a forward expectation or proxied without a matching expectation,
+ * all other requests are passed unchanged to the next handler
+ * <p>
+ * the client is only read as fast as the remote server accepts the request body, and the remote server is only read as
+ * fast as the client accepts the response body, so only a few chunks of each body are buffered, the event log records
+ * the start of each body together with the total length and SHA-256 hash of the streamed body
+ */
+public class StreamingForwardHandler extends ChannelInboundHandlerAdapter {
+
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final HttpState httpState;
+    private final HttpActionHandler httpActionHandler;
+    private final FullHttpRequestToMockServerHttpRequest fullHttpRequestToMockServerRequest;
+    private final FullHttpResponseToMockServerHttpResponse fullHttpResponseToMockServerResponse;
+    private final BodyDecoderEncoder bodyDecoderEncoder = new BodyDecoderEncoder();
+    private final Queue<Object> pendingInbound = new ArrayDeque<>();
+    private StreamedExchange exchange;
+
+    public StreamingForwardHandler(Configuration configuration, MockServerLogger mockServerLogger, HttpState httpState, HttpActionHandler httpActionHandler, boolean isSecure, Certificate[] clientCertificates, Integer port) {
+        this.configuration = configuration;
+        this.mockServerLogger = mockServerLogger;
+        this.httpState = httpState;
+        this.httpActionHandler = httpActionHandler;
+        this.fullHttpRequestToMockServerRequest = new FullHttpRequestToMockServerHttpRequest(configuration, mockServerLogger, isSecure, clientCertificates, port);
+        this.fullHttpResponseToMockServerResponse = new FullHttpResponseToMockServerHttpResponse(mockServerLogger);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (exchange != null) {
+            if (exchange.isReadingRequest() && msg instanceof HttpContent) {
+                exchange.requestContent((HttpContent) msg);
+            } else {
+                // pipelined request received before the streamed response has completed
+                pendingInbound.add(msg);
+            }
+        } else if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest)) {
+            ctx.channel().attr(MATCHED_EXPECTATION).set(null);
+            StreamedForward streamedForward = null;
+            org.mockserver.model.HttpRequest request = null;
+            HttpRequest head = (HttpRequest) msg;
+            if (isLargeBody(head)) {
+                request = fullHttpRequestToMockServerRequest.mapFullHttpRequestToMockServerRequest(new DefaultFullHttpRequest(head.protocolVersion(), head.method(), head.uri(), Unpooled.EMPTY_BUFFER, head.headers(), EmptyHttpHeaders.INSTANCE), null, ctx.channel().localAddress(), ctx.channel().remoteAddress());
+                if (!isControlPlaneRequest(request)) {
+                    // same as HttpState.handle, the socket address holds the local port so must be removed before forwarding
+                    setPort(request);
+                    streamedForward = httpActionHandler.streamedForward(request, ctx, localAddresses(ctx), Boolean.TRUE.equals(ctx.channel().attr(PROXYING).get()));
+                }
+            }
+            if (streamedForward != null) {
+                exchange = new StreamedExchange(ctx, head, request, streamedForward);
+                exchange.start();
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (exchange != null && exchange.upstreamChannel != null) {
+            exchange.upstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (exchange != null) {
+            exchange.abort();
+        }
+        Object msg;
+        while ((msg = pendingInbound.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        super.channelInactive(ctx);
+    }
+
+    private boolean isLargeBody(HttpRequest head) {
+        int threshold = configuration.forwardStreamingThresholdInBytes();
+        return threshold > 0
+            && !HttpMethod.CONNECT.equals(head.method())
+            && !head.headers().contains(UPGRADE)
+            && (HttpUtil.getContentLength(head, -1L) >= threshold || HttpUtil.isTransferEncodingChunked(head));
+    }
+
+    private static Set<String> localAddresses(ChannelHandlerContext ctx) {
+        Set<String> localAddresses = ctx.channel().attr(LOCAL_HOST_HEADERS).get();
+        return localAddresses != null ? localAddresses : new HashSet<>();
+    }
+
+    private void exchangeCompleted(ChannelHandlerContext ctx) {
+        exchange = null;
+        ctx.channel().config().setAutoRead(true);
+        Object msg;
+        while (exchange == null && (msg = pendingInbound.poll()) != null) {
+            channelRead(ctx, msg);
+        }
+    }
+
+    private class StreamedExchange {
+
+        private final ChannelHandlerContext ctx;
+        private final HttpRequest head;
+        private final org.mockserver.model.HttpRequest request;
+        private final StreamedForward streamedForward;
+        private final boolean keepAlive;
+        private final RecordedBody requestBody = new RecordedBody(configuration.forwardStreamingRecordedBodySize());
+        private final RecordedBody responseBody = new RecordedBody(configuration.forwardStreamingRecordedBodySize());
+        private final Queue<HttpContent> pendingContent = new ArrayDeque<>();
+        private Channel upstreamChannel;
+        private HttpResponse responseHead;
+        private boolean requestComplete;
+        private boolean informationalResponse;
+        private boolean loopPrevented;
+        private boolean closeAfterResponse;
+        private boolean failed;
+        private boolean completed;
+
+        private StreamedExchange(ChannelHandlerContext ctx, HttpRequest head, org.mockserver.model.HttpRequest request, StreamedForward streamedForward) {
+            this.ctx = ctx;
+            this.head = head;
+            this.request = request;
+            this.streamedForward = streamedForward;
+            this.keepAlive = HttpUtil.isKeepAlive(head) && !configuration.alwaysCloseSocketConnections();
+        }
+
+        private boolean isReadingRequest() {
+            return !requestComplete;
+        }
+
+        private void start() {
+            // stop reading the request body until the remote server is connected
+            ctx.channel().config().setAutoRead(false);
+            if (HttpUtil.is100ContinueExpected(head)) {
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+            }
+            InetSocketAddress remoteAddress = streamedForward.getRemoteAddress();
+            boolean secure = Boolean.TRUE.equals(streamedForward.getHttpRequest().isSecure());
+            new Bootstrap()
+                .group(ctx.channel().eventLoop())
+                .channel(socketChannelClass(ctx.channel()))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) streamedForward.getConnectionTimeoutInMillis())
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        if (secure) {
+                            channel.pipeline().addLast(nettySslContextFactory(ctx.channel()).createClientSslContext(true).newHandler(channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
+                        }
+                        channel.pipeline().addLast(new HttpClientCodec(configuration.maxInitialLineLength(), configuration.maxHeaderSize(), configuration.maxChunkSize()));
+                        channel.pipeline().addLast(new UpstreamHandler(StreamedExchange.this));
+                    }
+                })
+                .connect(remoteAddress)
+                .addListener((ChannelFutureListener) future -> {
+                    if (future.isSuccess()) {
+                        connected(future.channel());
+                    } else {
+                        failed(future.cause());
+                    }
+                });
+        }
+
+        private void connected(Channel channel) {
+            if (completed) {
+                channel.close();
+                return;
+            }
+            upstreamChannel = channel;
+
+            upstreamChannel.write(upstreamHead());
+            HttpContent content;
+            while ((content = pendingContent.poll()) != null) {
+                upstreamChannel.write(content);
+            }
+            upstreamChannel.flush();
+            if (!requestComplete) {
+                ctx.channel().config().setAutoRead(upstreamChannel.isWritable());
+            }
+        }
+
+        private HttpRequest upstreamHead() {
+            HttpRequest upstreamHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, head.method(), originForm(head.uri()));
+            for (Header header : streamedForward.getHttpRequest().getHeaderList()) {
+                for (NottableString value : header.getValues()) {
+                    upstreamHead.headers().add(header.getName().getValue(), value.getValue());
+                }
+            }
+            // the body is sent exactly as it was received
+            upstreamHead.headers().remove(EXPECT);
+            if (HttpUtil.isTransferEncodingChunked(head)) {
+                HttpUtil.setTransferEncodingChunked(upstreamHead, true);
+            } else {
+                HttpUtil.setContentLength(upstreamHead, HttpUtil.getContentLength(head));
+            }
+            return upstreamHead;
+        }
+
+        private String originForm(String uri) {
+            int schemeEnd = uri.indexOf("://");
+            if (schemeEnd > 0 && !uri.startsWith("/")) {
+                int pathStart = uri.indexOf('/', schemeEnd + 3);
+                return pathStart > 0 ? uri.substring(pathStart) : "/";
+            }
+            return uri;
+        }
+
+        private void requestContent(HttpContent content) {
+            requestBody.record(content.content());
+            boolean last = content instanceof LastHttpContent;
+            if (failed || completed) {
+                content.release();
+            } else if (upstreamChannel == null) {
+                pendingContent.add(content);
+            } else {
+                upstreamChannel.writeAndFlush(content);
+                if (!upstreamChannel.isWritable()) {
+                    ctx.channel().config().setAutoRead(false);
+                }
+            }
+            if (last) {
+                requestComplete = true;
+                httpActionHandler.streamedRequestReceived(recordedRequest());
+                if (failed || completed) {
+                    exchangeCompleted(ctx);
+                } else {
+                    // don't read any pipelined request until the response has been returned
+                    ctx.channel().config().setAutoRead(false);
+                }
+            }
+        }
+
+        private void responseHead(HttpResponse upstreamHead) {
+            if (upstreamHead.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+                // i.e. 100 Continue, which has already been returned to the client
+                informationalResponse = true;
+                return;
+            }
+            responseHead = new DefaultHttpResponse(HttpVersion.HTTP_1_1, upstreamHead.status());
+            responseHead.headers().set(upstreamHead.headers());
+            if (responseHead.headers().contains(httpState.getUniqueLoopPreventionHeaderName(), httpState.getUniqueLoopPreventionHeaderValue(), false)) {
+                responseHead.headers().remove(httpState.getUniqueLoopPreventionHeaderName());
+                loopPrevented = true;
+            }
+            responseHead.headers().remove(CONNECTION).remove(KEEP_ALIVE).remove(PROXY_CONNECTION);
+            if (!HttpUtil.isContentLengthSet(responseHead) && !HttpUtil.isTransferEncodingChunked(responseHead)) {
+                // body is delimited by the remote server closing the connection
+                closeAfterResponse = true;
+            }
+            HttpUtil.setKeepAlive(responseHead, keepAlive && !closeAfterResponse);
+            ctx.writeAndFlush(responseHead);
+        }
+
+        private void responseContent(HttpContent content) {
+            boolean last = content instanceof LastHttpContent;
+            if (informationalResponse) {
+                content.release();
+                informationalResponse = !last;
+                return;
+            }
+            responseBody.record(content.content());
+            ctx.writeAndFlush(content);
+            if (!ctx.channel().isWritable()) {
+                upstreamChannel.config().setAutoRead(false);
+            }
+            if (last) {
+                responseCompleted();
+            }
+        }
+
+        private void responseCompleted() {
+            completed = true;
+            upstreamChannel.close();
+            httpActionHandler.streamedForwardResponse(streamedForward, recordedRequest(), recordedResponse(), loopPrevented, "streamed request body of " + requestBody + " and streamed response body of " + responseBody);
+            if (closeAfterResponse || !keepAlive || !requestComplete) {
+                ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+            } else {
+                exchangeCompleted(ctx);
+            }
+        }
+
+        private void failed(Throwable cause) {
+            if (failed || completed) {
+                return;
+            }
+            failed = true;
+            releasePendingContent();
+            if (upstreamChannel != null) {
+                upstreamChannel.close();
+            }
+            ChannelHandlerContext responseCtx = ctx.pipeline().context(HttpRequestHandler.class);
+            if (responseHead != null || responseCtx == null) {
+                // response has already been partially returned
+                httpState.postProcess(streamedForward.getExpectation());
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setHttpRequest(request)
+                        .setMessageFormat("exception while streaming response for request{}from remote address{}")
+                        .setArguments(request, streamedForward.getRemoteAddress())
+                        .setThrowable(cause)
+                );
+                ctx.close();
+            } else {
+                httpActionHandler.streamedForwardFailed(streamedForward, recordedRequest(), cause, new NettyResponseWriter(configuration, mockServerLogger, responseCtx, httpState.getScheduler()));
+                if (requestComplete) {
+                    exchangeCompleted(ctx);
+                } else {
+                    // discard the remainder of the request body
+                    ctx.channel().config().setAutoRead(true);
+                }
+            }
+        }
+
+        private void abort() {
+            if (!failed && !completed) {
+                completed = true;
+                httpState.postProcess(streamedForward.getExpectation());
+            }
+            releasePendingContent();
+            if (upstreamChannel != null) {
+                upstreamChannel.close();
+            }
+            exchange = null;
+        }
+
+        private void releasePendingContent() {
+            HttpContent content;
+            while ((content = pendingContent.poll()) != null) {
+                content.release();
+            }
+        }
+
+        private org.mockserver.model.HttpRequest recordedRequest() {
+            return request.clone().withBody(bodyDecoderEncoder.bytesToBody(requestBody.recordedBytes(), head.headers().get(CONTENT_TYPE)));
+        }
+
+        private org.mockserver.model.HttpResponse recordedResponse() {
+            return fullHttpResponseToMockServerResponse.mapFullHttpResponseToMockServerResponse(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, responseHead.status(), Unpooled.wrappedBuffer(responseBody.recordedBytes()), responseHead.headers(), EmptyHttpHeaders.INSTANCE));
+        }
+    }
+
+    private class UpstreamHandler extends ChannelInboundHandlerAdapter {
+
+        private final StreamedExchange streamedExchange;
+
+        private UpstreamHandler(StreamedExchange streamedExchange) {
+            this.streamedExchange = streamedExchange;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (streamedExchange.completed || streamedExchange.failed) {
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            if (msg instanceof HttpResponse) {
+                streamedExchange.responseHead((HttpResponse) msg);
+            }
+            if (msg instanceof HttpContent) {
+                streamedExchange.responseContent((HttpContent) msg);
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            if (!streamedExchange.requestComplete && !streamedExchange.failed) {
+                streamedExchange.ctx.channel().config().setAutoRead(ctx.channel().isWritable());
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            streamedExchange.failed(new IOException("Channel closed before response was received from " + streamedExchange.streamedForward.getRemoteAddress()));
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            streamedExchange.failed(cause);
+        }
+    }
+
+    /**
+     * Counts and hashes every byte of a body but only keeps the first bytes
+     */
+    private static class RecordedBody {
+
+        private final int recordedBodySize;
+        private final ByteArrayOutputStream recordedBytes = new ByteArrayOutputStream();
+        private final MessageDigest messageDigest;
+        private long length;
+        private String hash;
+
+        private RecordedBody(int recordedBodySize) {
+            this.recordedBodySize = recordedBodySize;
+            try {
+                this.messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void record(ByteBuf content) {
+            int readableBytes = content.readableBytes();
+            if (readableBytes > 0) {
+                messageDigest.update(content.nioBuffer());
+                int recordedLength = (int) Math.min(readableBytes, Math.max(0, recordedBodySize - length));
+                if (recordedLength > 0) {
+                    recordedBytes.write(ByteBufUtil.getBytes(content, content.readerIndex(), recordedLength), 0, recordedLength);
+                }
+                length += readableBytes;
+            }
+        }
+
+        private byte[] recordedBytes() {
+            return recordedBytes.toByteArray();
+        }
+
+        @Override
+        public String toString() {
+            if (hash == null) {
+                hash = ByteBufUtil.hexDump(messageDigest.digest());
+            }
+            return length + " bytes (sha-256 " + hash + ")";
+        }
+    }
+}
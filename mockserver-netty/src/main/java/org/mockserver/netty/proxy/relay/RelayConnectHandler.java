@@ -5,7 +5,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -24,6 +23,7 @@ import java.nio.charset.StandardCharsets;
 import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
 import static org.mockserver.mock.action.http.HttpActionHandler.getRemoteAddress;
 import static org.mockserver.netty.unification.PortUnificationHandler.*;
+import static org.mockserver.socket.NettyTransport.socketChannelClass;
 import static org.slf4j.event.Level.DEBUG;
 
 @ChannelHandler.Sharable
@@ -50,7 +50,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
     public void channelRead0(final ChannelHandlerContext proxyClientCtx, final T request) {
         Bootstrap bootstrap = new Bootstrap()
             .group(proxyClientCtx.channel().eventLoop())
-            .channel(NioSocketChannel.class)
+            .channel(socketChannelClass(proxyClientCtx.channel()))
             .handler(new ChannelInboundHandlerAdapter() {
                 @Override
                 public void channelActive(final ChannelHandlerContext mockServerCtx) {
@@ -7,13 +7,17 @@ import io.netty.handler.codec.ReplayingDecoder;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.*;
 import io.netty.handler.codec.socksx.v4.Socks4ServerDecoder;
 import io.netty.handler.codec.socksx.v4.Socks4ServerEncoder;
 import io.netty.handler.codec.socksx.v5.Socks5InitialRequestDecoder;
 import io.netty.handler.codec.socksx.v5.Socks5ServerEncoder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
+import org.mockserver.codec.Http2ExtensionHeaderRemover;
 import org.mockserver.codec.MockServerHttpServerCodec;
 import org.mockserver.codec.PreserveHeadersNettyRemoves;
 import org.mockserver.configuration.Configuration;
@@ -28,6 +32,7 @@ import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.netty.HttpRequestHandler;
 import org.mockserver.netty.proxy.BinaryRequestProxyingHandler;
+import org.mockserver.netty.proxy.StreamingForwardHandler;
 import org.mockserver.netty.proxy.socks.Socks4ProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.netty.proxy.socks.SocksDetector;
@@ -40,6 +45,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.security.cert.Certificate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -70,6 +76,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     private final LoggingHandler loggingHandler = new LoggingHandler(PortUnificationHandler.class.getName() + "-first");
     private final HttpContentLengthRemover httpContentLengthRemover = new HttpContentLengthRemover();
     private final PreserveHeadersNettyRemoves preserveHeadersNettyRemoves = new PreserveHeadersNettyRemoves();
+    private final Http2ExtensionHeaderRemover http2ExtensionHeaderRemover = new Http2ExtensionHeaderRemover();
     private final Configuration configuration;
     private final LifeCycle server;
     private final HttpState httpState;
@@ -148,6 +155,9 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         } else if (isTls(msg)) {
             logStage(ctx, "adding TLS decoders");
             enableTls(ctx, msg);
+        } else if (isHttp2(msg)) {
+            logStage(ctx, "adding HTTP/2 decoders");
+            switchToHttp2(ctx, msg);
         } else if (isHttp(msg)) {
             logStage(ctx, "adding HTTP decoders");
             switchToHttp(ctx, msg);
@@ -235,15 +245,30 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
 
             ChannelPipeline pipeline = ctx.pipeline();
 
-            addLastIfNotPresent(pipeline, new HttpServerCodec(
+            HttpServerCodec httpServerCodec = new HttpServerCodec(
                 configuration.maxInitialLineLength(),
                 configuration.maxHeaderSize(),
                 configuration.maxChunkSize()
-            ));
+            );
+            addLastIfNotPresent(pipeline, httpServerCodec);
+            if (configuration.forwardStreamingThresholdInBytes() > 0) {
+                // must see raw (still encoded) body chunks before they are decompressed or aggregated
+                addLastIfNotPresent(pipeline, new StreamingForwardHandler(configuration, mockServerLogger, httpState, actionHandler, isSslEnabledUpstream(ctx.channel()), SniHandler.retrieveClientCertificates(mockServerLogger, ctx), ctx.channel().localAddress() instanceof InetSocketAddress ? ((InetSocketAddress) ctx.channel().localAddress()).getPort() : null));
+            }
             addLastIfNotPresent(pipeline, preserveHeadersNettyRemoves);
             addLastIfNotPresent(pipeline, new HttpContentDecompressor());
             addLastIfNotPresent(pipeline, httpContentLengthRemover);
             addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
+            if (configuration.http2Enabled() && !isSslEnabledUpstream(ctx.channel())) {
+                // allow cleartext clients to upgrade to HTTP/2 (h2c) using "Upgrade: h2c"
+                pipeline.addAfter(pipeline.context(httpServerCodec).name(), null, new HttpServerUpgradeHandler(httpServerCodec, protocol -> {
+                    if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+                        return new Http2ServerUpgradeCodec(Http2FrameCodecBuilder.forServer().build(), new Http2MultiplexHandler(http2StreamInitializer(ctx)));
+                    } else {
+                        return null;
+                    }
+                }, Integer.MAX_VALUE));
+            }
             if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
                 HttpResponse httpResponse = response()
                     .withStatusCode(426)
@@ -281,6 +306,77 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         }
     }
 
+    private boolean isHttp2(ByteBuf msg) {
+        // HTTP/2 connection preface, sent by clients using prior knowledge (h2c) or after negotiating h2 with ALPN
+        return configuration.http2Enabled() && msg.toString(msg.readerIndex(), 8, StandardCharsets.US_ASCII).startsWith("PRI * HT");
+    }
+
+    private void switchToHttp2(ChannelHandlerContext ctx, ByteBuf msg) {
+        if (!isHttpEnabled(ctx.channel())) {
+            httpEnabled(ctx.channel());
+
+            if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
+                if (MockServerLogger.isEnabled(Level.INFO)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.INFO)
+                            .setMessageFormat("no tls for HTTP/2 connection:{}closing connection")
+                            .setArguments(ctx.channel().localAddress())
+                    );
+                }
+                msg.skipBytes(actualReadableBytes());
+                ctx.close();
+            } else {
+                ctx.channel().attr(LOCAL_HOST_HEADERS).set(getLocalAddresses(ctx));
+
+                ChannelPipeline pipeline = ctx.pipeline();
+                pipeline.addLast(Http2FrameCodecBuilder.forServer().build());
+                pipeline.addLast(new Http2MultiplexHandler(http2StreamInitializer(ctx)));
+                pipeline.remove(this);
+
+                // fire message back through pipeline
+                ctx.fireChannelRead(msg.readBytes(actualReadableBytes()));
+            }
+        }
+    }
+
+    /**
+     * Each HTTP/2 stream is handled as a separate channel converting frames into the same HTTP/1.1 messages the
+     * HTTP/1.1 pipeline produces, websockets and CONNECT are not supported over HTTP/2
+     */
+    private ChannelInitializer<Http2StreamChannel> http2StreamInitializer(ChannelHandlerContext ctx) {
+        Channel connection = ctx.channel();
+        boolean sslEnabledUpstream = isSslEnabledUpstream(connection);
+        SocketAddress localAddress = connection.localAddress();
+        Certificate[] clientCertificates = SniHandler.retrieveClientCertificates(mockServerLogger, ctx);
+        return new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(Http2StreamChannel stream) {
+                copyAttribute(connection, stream, PROXYING);
+                copyAttribute(connection, stream, REMOTE_SOCKET);
+                copyAttribute(connection, stream, LOCAL_HOST_HEADERS);
+                copyAttribute(connection, stream, TLS_ENABLED_UPSTREAM);
+                copyAttribute(connection, stream, TLS_ENABLED_DOWNSTREAM);
+                copyAttribute(connection, stream, NETTY_SSL_CONTEXT_FACTORY);
+                copyAttribute(connection, stream, HTTP_ENABLED);
+
+                ChannelPipeline pipeline = stream.pipeline();
+                pipeline.addLast(new Http2StreamFrameToHttpObjectCodec(true));
+                pipeline.addLast(http2ExtensionHeaderRemover);
+                pipeline.addLast(new PreserveHeadersNettyRemoves());
+                pipeline.addLast(new HttpContentDecompressor());
+                pipeline.addLast(httpContentLengthRemover);
+                pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                pipeline.addLast(new MockServerHttpServerCodec(configuration, mockServerLogger, sslEnabledUpstream, localAddress, clientCertificates));
+                pipeline.addLast(new HttpRequestHandler(configuration, server, httpState, actionHandler));
+            }
+        };
+    }
+
+    private <T> void copyAttribute(Channel from, Channel to, AttributeKey<T> attributeKey) {
+        to.attr(attributeKey).set(from.attr(attributeKey).get());
+    }
+
     private boolean isProxyConnected(ByteBuf msg) {
         return msg.toString(msg.readerIndex(), 8, StandardCharsets.US_ASCII).startsWith(PROXIED);
     }
@@ -0,0 +1,67 @@
+package org.mockserver.lifecycle;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import org.junit.Test;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.netty.MockServer;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeTrue;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+
+public class NettyTransportIntegrationTest {
+
+    @Test
+    public void shouldServeRequestsUsingEpollTransportWithReusePort() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        // given
+        MockServer mockServer = new MockServer(configuration().nettyTransport(NettyTransport.EPOLL).socketReusePort(true));
+        EventLoopGroup clientEventLoopGroup = NettyTransport.EPOLL.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportIntegrationTest.class.getSimpleName() + "-eventLoop"));
+        try {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+            for (int i = 0; i < 10; i++) {
+                // when
+                HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/some_path").withHeader("Host", "localhost:" + mockServer.getLocalPort())).get(10, TimeUnit.SECONDS);
+
+                // then
+                assertThat(httpResponse.getStatusCode(), is(404));
+            }
+            assertThat(mockServer.getLocalPorts().size(), is(1));
+        } finally {
+            clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+            mockServer.stop();
+        }
+    }
+
+    @Test
+    public void shouldServeRequestsUsingNioTransportWhenReusePortEnabled() throws Exception {
+        // given
+        MockServer mockServer = new MockServer(configuration().nettyTransport(NettyTransport.NIO).socketReusePort(true));
+        EventLoopGroup clientEventLoopGroup = NettyTransport.NIO.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportIntegrationTest.class.getSimpleName() + "-eventLoop"));
+        try {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+            // when
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/some_path").withHeader("Host", "localhost:" + mockServer.getLocalPort())).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(404));
+            assertThat(mockServer.getLocalPorts().size(), is(1));
+        } finally {
+            clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+            mockServer.stop();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.mockserver.lifecycle;
+
+import org.junit.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.scheduler.RequestExecutionModel;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+public class RequestExecutionModelIntegrationTest {
+
+    @Test
+    public void shouldRespondToPipelinedRequestsInOrderUsingWorkerPool() throws Exception {
+        // given
+        ClientAndServer clientAndServer = new ClientAndServer(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL).requestWorkerThreadCount(4));
+        try {
+            StringBuilder pipelinedRequests = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                clientAndServer.when(request().withPath("/path_" + i)).respond(response().withBody("body_" + i + "_"));
+                pipelinedRequests.append("GET /path_").append(i).append(" HTTP/1.1\r\nHost: localhost:").append(clientAndServer.getPort()).append("\r\n\r\n");
+            }
+
+            try (Socket socket = new Socket("localhost", clientAndServer.getPort())) {
+                socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+
+                // when
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write(pipelinedRequests.toString().getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+
+                // then
+                String responses = read(socket.getInputStream(), "body_19_");
+                for (int i = 1; i < 20; i++) {
+                    assertThat(responses.indexOf("body_" + i + "_"), greaterThan(responses.indexOf("body_" + (i - 1) + "_")));
+                }
+                assertThat(responses.indexOf("body_0_") >= 0, is(true));
+            }
+        } finally {
+            clientAndServer.stop();
+        }
+    }
+
+    @Test
+    public void shouldRespondWithMatchedExpectationToPipelinedLargeRequestsUsingWorkerPool() throws Exception {
+        // given - bodies over the streaming threshold are matched, on the event loop, before they are aggregated
+        ClientAndServer clientAndServer = new ClientAndServer(configuration().requestExecutionModel(RequestExecutionModel.WORKER_POOL).requestWorkerThreadCount(4).forwardStreamingThresholdInBytes(10));
+        try {
+            StringBuilder pipelinedRequests = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                clientAndServer.when(request().withPath("/path_" + i)).respond(response().withBody("body_" + i + "_"));
+                String body = "request_body_" + i;
+                pipelinedRequests
+                    .append("POST /path_").append(i).append(" HTTP/1.1\r\nHost: localhost:").append(clientAndServer.getPort())
+                    .append("\r\nContent-Length: ").append(body.length()).append("\r\n\r\n").append(body);
+            }
+
+            try (Socket socket = new Socket("localhost", clientAndServer.getPort())) {
+                socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+
+                // when
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write(pipelinedRequests.toString().getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+
+                // then
+                String responses = read(socket.getInputStream(), "body_19_");
+                for (int i = 1; i < 20; i++) {
+                    assertThat(responses.indexOf("body_" + i + "_"), greaterThan(responses.indexOf("body_" + (i - 1) + "_")));
+                    assertThat(responses.indexOf("body_" + i + "_"), is(responses.lastIndexOf("body_" + i + "_")));
+                }
+                assertThat(responses.indexOf("body_0_") >= 0, is(true));
+            }
+        } finally {
+            clientAndServer.stop();
+        }
+    }
+
+    private static String read(InputStream inputStream, String lastBody) throws Exception {
+        StringBuilder responses = new StringBuilder();
+        byte[] buffer = new byte[8192];
+        int read;
+        while (!responses.toString().contains(lastBody) && (read = inputStream.read(buffer)) != -1) {
+            responses.append(new String(buffer, 0, read, StandardCharsets.US_ASCII));
+        }
+        return responses.toString();
+    }
+}
@@ -393,7 +393,8 @@ public class HttpRequestHandlerTest {
                 "127.0.0.1:666"
             )),
             eq(true),
-            eq(false));
+            eq(false),
+            isNull());
     }
 
     @Test
@@ -423,6 +424,7 @@ public class HttpRequestHandlerTest {
                 "127.0.0.1:666"
             )),
             eq(false),
-            eq(false));
+            eq(false),
+            isNull());
     }
 }
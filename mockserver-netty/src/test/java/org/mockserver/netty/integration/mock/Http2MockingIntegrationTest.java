@@ -0,0 +1,216 @@
+package org.mockserver.netty.integration.mock;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.*;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class Http2MockingIntegrationTest {
+
+    private static EventLoopGroup clientEventLoopGroup;
+    private static ClientAndServer clientAndServer;
+
+    @BeforeClass
+    public static void startServer() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(Http2MockingIntegrationTest.class.getSimpleName() + "-eventLoop"));
+        clientAndServer = ClientAndServer.startClientAndServer(configuration().http2Enabled(true));
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        stopQuietly(clientAndServer);
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Before
+    public void createExpectation() {
+        clientAndServer.reset();
+        clientAndServer
+            .when(
+                request()
+                    .withMethod("POST")
+                    .withPath("/some_path")
+                    .withBody("some_request_body")
+            )
+            .respond(
+                response()
+                    .withHeader("x-test", "some_header_value")
+                    .withBody("some_response_body")
+            );
+    }
+
+    @Test
+    public void shouldReturnResponseForHttp2PriorKnowledgeRequest() throws Exception {
+        // given
+        CompletableFuture<FullHttpResponse> responseFuture = new CompletableFuture<>();
+        Channel channel = new Bootstrap()
+            .group(clientEventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+                    channel.pipeline().addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+                }
+            })
+            .connect("127.0.0.1", clientAndServer.getPort())
+            .syncUninterruptibly()
+            .channel();
+        try {
+            Http2StreamChannel stream = new Http2StreamChannelBootstrap(channel)
+                .handler(new ChannelInitializer<Http2StreamChannel>() {
+                    @Override
+                    protected void initChannel(Http2StreamChannel stream) {
+                        stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false), new HttpObjectAggregator(1024 * 1024), new SimpleChannelInboundHandler<FullHttpResponse>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                                responseFuture.complete(response.retainedDuplicate());
+                            }
+                        });
+                    }
+                })
+                .open()
+                .syncUninterruptibly()
+                .getNow();
+
+            // when
+            FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path", Unpooled.copiedBuffer("some_request_body", UTF_8));
+            request.headers().set(HttpHeaderNames.HOST, "127.0.0.1:" + clientAndServer.getPort());
+            stream.writeAndFlush(request);
+            FullHttpResponse response = responseFuture.get(10, TimeUnit.SECONDS);
+
+            // then
+            try {
+                assertThat(response.status().code(), is(200));
+                assertThat(response.headers().get("x-test"), is("some_header_value"));
+                assertThat(response.content().toString(UTF_8), is("some_response_body"));
+            } finally {
+                response.release();
+            }
+            HttpRequest[] recordedRequests = clientAndServer.retrieveRecordedRequests(request().withPath("/some_path"));
+            assertThat(recordedRequests.length, is(1));
+            assertThat(recordedRequests[0].containsHeader("x-http2-stream-id"), is(false));
+            assertThat(recordedRequests[0].containsHeader("x-http2-scheme"), is(false));
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void shouldReturnResponseForHttp2CleartextUpgradeRequest() throws Exception {
+        // given
+        CompletableFuture<FullHttpResponse> responseFuture = new CompletableFuture<>();
+        Channel channel = new Bootstrap()
+            .group(clientEventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    HttpClientCodec httpClientCodec = new HttpClientCodec();
+                    Http2ClientUpgradeCodec http2ClientUpgradeCodec = new Http2ClientUpgradeCodec(
+                        (Http2ConnectionHandler) Http2FrameCodecBuilder.forClient().build(),
+                        new Http2MultiplexHandler(new ChannelInboundHandlerAdapter(), new ChannelInitializer<Http2StreamChannel>() {
+                            @Override
+                            protected void initChannel(Http2StreamChannel stream) {
+                                stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false), new HttpObjectAggregator(1024 * 1024), new SimpleChannelInboundHandler<FullHttpResponse>() {
+                                    @Override
+                                    protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                                        responseFuture.complete(response.retainedDuplicate());
+                                    }
+                                });
+                            }
+                        })
+                    );
+                    channel.pipeline().addLast(httpClientCodec, new HttpClientUpgradeHandler(httpClientCodec, http2ClientUpgradeCodec, 1024 * 1024));
+                }
+            })
+            .connect("127.0.0.1", clientAndServer.getPort())
+            .syncUninterruptibly()
+            .channel();
+        try {
+            // when
+            FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path", Unpooled.copiedBuffer("some_request_body", UTF_8));
+            request.headers().set(HttpHeaderNames.HOST, "127.0.0.1:" + clientAndServer.getPort());
+            HttpUtil.setContentLength(request, request.content().readableBytes());
+            channel.writeAndFlush(request);
+            FullHttpResponse response = responseFuture.get(10, TimeUnit.SECONDS);
+
+            // then
+            try {
+                assertThat(response.status().code(), is(200));
+                assertThat(response.headers().get("x-test"), is("some_header_value"));
+                assertThat(response.content().toString(UTF_8), is("some_response_body"));
+            } finally {
+                response.release();
+            }
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void shouldReturnResponseForHttp2RequestNegotiatedWithAlpn() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration().http2Enabled(true), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+        // when
+        HttpResponse response = nettyHttpClient.sendRequest(
+            request()
+                .withSecure(true)
+                .withMethod("POST")
+                .withPath("/some_path")
+                .withBody("some_request_body")
+                .withHeader("Host", "localhost:" + clientAndServer.getPort())
+        ).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getFirstHeader("x-test"), is("some_header_value"));
+        assertThat(response.getBodyAsString(), is("some_response_body"));
+    }
+
+    @Test
+    public void shouldReturnResponseForHttp11RequestWhenHttp2Enabled() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+        // when
+        HttpResponse response = nettyHttpClient.sendRequest(
+            request()
+                .withMethod("POST")
+                .withPath("/some_path")
+                .withBody("some_request_body")
+                .withHeader("Host", "localhost:" + clientAndServer.getPort())
+        ).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getBodyAsString(), is("some_response_body"));
+    }
+}
@@ -0,0 +1,254 @@
+package org.mockserver.netty.integration.proxy;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpForward.forward;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.stop.Stop.stopQuietly;
+import static org.mockserver.verify.VerificationTimes.once;
+
+public class StreamingForwardIntegrationTest {
+
+    private static final int STREAMING_THRESHOLD = 64 * 1024;
+    private static EventLoopGroup eventLoopGroup;
+    private static Channel upstreamServerChannel;
+    private static int upstreamPort;
+    private static ClientAndServer clientAndServer;
+    private static NettyHttpClient httpClient;
+
+    @BeforeClass
+    public static void startServers() {
+        eventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(StreamingForwardIntegrationTest.class.getSimpleName() + "-eventLoop"));
+        // upstream server that counts the request body bytes without aggregating them
+        upstreamServerChannel = new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(new HttpServerCodec(), new SimpleChannelInboundHandler<HttpObject>() {
+                        private long receivedBytes;
+                        private String uri;
+
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+                            if (msg instanceof io.netty.handler.codec.http.HttpRequest) {
+                                receivedBytes = 0;
+                                uri = ((io.netty.handler.codec.http.HttpRequest) msg).uri();
+                            }
+                            if (msg instanceof HttpContent) {
+                                receivedBytes += ((HttpContent) msg).content().readableBytes();
+                                if (msg instanceof LastHttpContent) {
+                                    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer("received " + receivedBytes + " bytes", UTF_8));
+                                    response.headers().set("x-received-uri", uri);
+                                    HttpUtil.setContentLength(response, response.content().readableBytes());
+                                    ctx.writeAndFlush(response);
+                                }
+                            }
+                        }
+                    });
+                }
+            })
+            .bind(0)
+            .syncUninterruptibly()
+            .channel();
+        upstreamPort = ((InetSocketAddress) upstreamServerChannel.localAddress()).getPort();
+        clientAndServer = ClientAndServer.startClientAndServer(configuration().forwardStreamingThresholdInBytes(STREAMING_THRESHOLD).forwardStreamingRecordedBodySize(16));
+        httpClient = new NettyHttpClient(configuration(), new MockServerLogger(), eventLoopGroup, null, false);
+    }
+
+    @AfterClass
+    public static void stopServers() {
+        stopQuietly(clientAndServer);
+        upstreamServerChannel.close().syncUninterruptibly();
+        eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Before
+    public void reset() {
+        clientAndServer.reset();
+    }
+
+    private static String body(int length) {
+        char[] body = new char[length];
+        Arrays.fill(body, 'a');
+        return new String(body);
+    }
+
+    @Test
+    public void shouldStreamLargeRequestBodyForForwardExpectation() throws Exception {
+        // given
+        clientAndServer
+            .when(request().withPath("/large"))
+            .forward(forward().withHost("127.0.0.1").withPort(upstreamPort));
+
+        // when
+        HttpResponse response = httpClient.sendRequest(
+            request()
+                .withMethod("POST")
+                .withPath("/large")
+                .withBody(body(4 * 1024 * 1024))
+                .withHeader(HOST.toString(), "localhost:" + clientAndServer.getPort()),
+            new InetSocketAddress("127.0.0.1", clientAndServer.getPort())
+        ).get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getBodyAsString(), is("received 4194304 bytes"));
+        HttpRequest[] recordedRequests = clientAndServer.retrieveRecordedRequests(request().withPath("/large"));
+        assertThat(recordedRequests.length, is(1));
+        assertThat(recordedRequests[0].getBodyAsString(), is(body(16)));
+        assertThat(clientAndServer.retrieveLogMessages(request().withPath("/large")), containsString("streamed request body of 4194304 bytes (sha-256 "));
+    }
+
+    @Test
+    public void shouldStreamChunkedRequestBodyForForwardExpectation() throws Exception {
+        // given
+        clientAndServer
+            .when(request().withPath("/chunked"))
+            .forward(forward().withHost("127.0.0.1").withPort(upstreamPort));
+        CompletableFuture<FullHttpResponse> responseFuture = new CompletableFuture<>();
+        Channel channel = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(new HttpClientCodec(), new HttpObjectAggregator(1024 * 1024), new SimpleChannelInboundHandler<FullHttpResponse>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                            if (response.status().code() != HttpResponseStatus.CONTINUE.code()) {
+                                responseFuture.complete(response.retainedDuplicate());
+                            }
+                        }
+                    });
+                }
+            })
+            .connect("127.0.0.1", clientAndServer.getPort())
+            .syncUninterruptibly()
+            .channel();
+        try {
+            // when
+            DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/chunked?some=parameter");
+            request.headers().set(HOST, "localhost:" + clientAndServer.getPort());
+            request.headers().set(HttpHeaderNames.EXPECT, HttpHeaderValues.CONTINUE);
+            HttpUtil.setTransferEncodingChunked(request, true);
+            channel.write(request);
+            for (int i = 0; i < 10; i++) {
+                channel.write(new DefaultHttpContent(Unpooled.copiedBuffer(body(1000), UTF_8)));
+            }
+            channel.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            FullHttpResponse response = responseFuture.get(30, TimeUnit.SECONDS);
+
+            // then
+            try {
+                assertThat(response.status().code(), is(200));
+                assertThat(response.content().toString(UTF_8), is("received 10000 bytes"));
+                assertThat(response.headers().get("x-received-uri"), is("/chunked?some=parameter"));
+            } finally {
+                response.release();
+            }
+            clientAndServer.verify(request().withPath("/chunked"), once());
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void shouldStreamLargeRequestBodyWhenProxiedWithoutMatchingExpectation() throws Exception {
+        // when
+        HttpResponse response = httpClient.sendRequest(
+            request()
+                .withMethod("PUT")
+                .withPath("/proxied")
+                .withBody(body(1024 * 1024))
+                .withHeader(HOST.toString(), "127.0.0.1:" + upstreamPort),
+            new InetSocketAddress("127.0.0.1", clientAndServer.getPort())
+        ).get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getBodyAsString(), is("received 1048576 bytes"));
+        assertThat(clientAndServer.retrieveRecordedRequests(request().withPath("/proxied")).length, is(1));
+    }
+
+    @Test
+    public void shouldAggregateLargeRequestBodyWhenExpectationMatchesBody() throws Exception {
+        // given
+        clientAndServer
+            .when(request().withPath("/mocked").withBody(body(STREAMING_THRESHOLD * 2)), Times.once())
+            .respond(response().withBody("matched body"));
+
+        // when
+        HttpResponse response = httpClient.sendRequest(
+            request()
+                .withMethod("POST")
+                .withPath("/mocked")
+                .withBody(body(STREAMING_THRESHOLD * 2))
+                .withHeader(HOST.toString(), "localhost:" + clientAndServer.getPort()),
+            new InetSocketAddress("127.0.0.1", clientAndServer.getPort())
+        ).get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getBodyAsString(), is("matched body"));
+    }
+
+    @Test
+    public void shouldOnlyMatchExpectationOnceWhenLargeRequestNotStreamed() throws Exception {
+        // given
+        clientAndServer
+            .when(request().withPath("/mocked"), Times.once())
+            .respond(response().withBody("first response"));
+
+        for (int expectedStatusCode : new int[]{200, 404}) {
+            // when
+            HttpResponse response = httpClient.sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/mocked")
+                    .withBody(body(STREAMING_THRESHOLD * 2))
+                    .withHeader(HOST.toString(), "localhost:" + clientAndServer.getPort()),
+                new InetSocketAddress("127.0.0.1", clientAndServer.getPort())
+            ).get(30, TimeUnit.SECONDS);
+
+            // then
+            assertThat(response.getStatusCode(), is(expectedStatusCode));
+        }
+        HttpRequest[] recordedRequests = clientAndServer.retrieveRecordedRequests(request().withPath("/mocked"));
+        assertThat(recordedRequests.length, is(2));
+        assertThat(recordedRequests[0].getBodyAsString(), is(body(STREAMING_THRESHOLD * 2)));
+    }
+}
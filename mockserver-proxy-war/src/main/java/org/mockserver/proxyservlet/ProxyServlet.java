@@ -85,6 +85,7 @@ public class ProxyServlet extends HttpServlet implements ServletContextListener
     }
 
     private void shutdown() {
+        this.actionHandler.stop();
         this.scheduler.shutdown();
         if (!this.workerGroup.isShuttingDown()) {
             this.workerGroup.shutdownGracefully(100, 750, MILLISECONDS).syncUninterruptibly();
@@ -85,6 +85,7 @@ public class MockServerServlet extends HttpServlet implements ServletContextList
     }
 
     private void shutdown() {
+        this.actionHandler.stop();
         this.scheduler.shutdown();
         if (!this.workerGroup.isShuttingDown()) {
             this.workerGroup.shutdownGracefully(100, 750, MILLISECONDS).syncUninterruptibly();